@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmark;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static com.hazelcast.instance.TestUtil.getNode;
+import static com.hazelcast.instance.TestUtil.warmUpPartitions;
+
+/**
+ * Base state for benchmarks that need a running member.
+ *
+ * The member is created through the {@link TestHazelcastInstanceFactory} so it runs on the mock network:
+ * no sockets are opened and the benchmarks can be run offline. All partitions are owned by this single
+ * member by the time {@link #onSetup()} is called.
+ */
+@State(Scope.Benchmark)
+public abstract class MemberBenchmarkSupport {
+
+    protected TestHazelcastInstanceFactory factory;
+    protected HazelcastInstance hz;
+    protected Node node;
+    protected NodeEngineImpl nodeEngine;
+    protected SerializationService serializationService;
+
+    static {
+        System.setProperty(GroupProperties.PROP_VERSION_CHECK_ENABLED, "false");
+        System.setProperty("hazelcast.logging.type", "none");
+        System.setProperty("hazelcast.test.use.network", "false");
+    }
+
+    @Setup
+    public void setupMember() throws Exception {
+        factory = new TestHazelcastInstanceFactory(1);
+        hz = factory.newHazelcastInstance(createConfig());
+        warmUpPartitions(hz);
+        node = getNode(hz);
+        nodeEngine = node.nodeEngine;
+        serializationService = nodeEngine.getSerializationService();
+        onSetup();
+    }
+
+    /**
+     * Called once the member is running; subclasses prepare their benchmark state here.
+     */
+    protected void onSetup() throws Exception {
+    }
+
+    @TearDown
+    public void tearDownMember() {
+        if (factory != null) {
+            factory.terminateAll();
+        }
+    }
+
+    protected Config createConfig() {
+        return new Config();
+    }
+
+    /**
+     * Creates {@code count} distinct keys that are all owned by the given partition.
+     */
+    protected Data[] keysForPartition(int partitionId, int count) {
+        Data[] keys = new Data[count];
+        int found = 0;
+        for (int i = 0; found < count; i++) {
+            Data key = serializationService.toData("key-" + i);
+            if (nodeEngine.getPartitionService().getPartitionId(key) == partitionId) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
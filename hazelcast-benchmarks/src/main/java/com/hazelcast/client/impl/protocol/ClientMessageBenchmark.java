@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ClientMessage} encoding and decoding through the generated codecs, including the copy to and
+ * from the socket {@link ByteBuffer} done by the client and member IO threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    private static final String MAP_NAME = "clientMessageBenchmark";
+
+    @Param({"100", "10000"})
+    public int valueSize;
+
+    private SerializationService serializationService;
+    private Data key;
+    private Data value;
+    private ClientMessage putRequest;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[valueSize]);
+        putRequest = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        buffer = ByteBuffer.allocate(putRequest.getFrameLength());
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public ClientMessage encodePutRequest() {
+        return MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decodePutRequest() {
+        ClientMessage message = ClientMessage.createForDecode(putRequest.buffer(), 0);
+        return MapPutCodec.decodeRequest(message);
+    }
+
+    @Benchmark
+    public MapGetCodec.ResponseParameters encodeAndDecodeGetResponse() {
+        ClientMessage response = MapGetCodec.encodeResponse(value);
+        return MapGetCodec.decodeResponse(ClientMessage.createForDecode(response.buffer(), 0));
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters writeAndReadPutRequest() {
+        ClientMessage request = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        buffer.clear();
+        request.writeTo(buffer);
+        buffer.flip();
+
+        ClientMessage received = ClientMessage.create();
+        received.readFrom(buffer);
+        return MapPutCodec.decodeRequest(ClientMessage.createForDecode(received.buffer(), 0));
+    }
+}
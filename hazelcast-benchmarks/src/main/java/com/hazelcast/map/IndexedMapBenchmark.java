@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.benchmark.MemberBenchmarkSupport;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Measures put throughput on a map with an ordered index while another thread keeps running
+ * {@link Predicates#between(String, Comparable, Comparable)} queries served by that index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IndexedMapBenchmark extends MemberBenchmarkSupport {
+
+    private static final String MAP_NAME = "indexedMapBenchmark";
+
+    @Param({"100000"})
+    public int keyCount;
+
+    @Param({"10000"})
+    public int distinctValues;
+
+    private IMap<Integer, Integer> map;
+
+    @Override
+    protected Config createConfig() {
+        Config config = new Config();
+        config.getMapConfig(MAP_NAME).addMapIndexConfig(new MapIndexConfig(THIS_ATTRIBUTE_NAME, true));
+        return config;
+    }
+
+    @Override
+    protected void onSetup() {
+        map = hz.getMap(MAP_NAME);
+        Random random = new Random(0);
+        for (int i = 0; i < keyCount; i++) {
+            map.set(i, random.nextInt(distinctValues));
+        }
+    }
+
+    @Benchmark
+    @Group("putUnderRangeQueries")
+    @GroupThreads(3)
+    public void put(ThreadState state) {
+        map.set(state.random.nextInt(keyCount), state.random.nextInt(distinctValues));
+    }
+
+    @Benchmark
+    @Group("putUnderRangeQueries")
+    @GroupThreads(1)
+    public Collection<Integer> between(ThreadState state) {
+        int from = state.random.nextInt(distinctValues);
+        return map.values(Predicates.between(THIS_ATTRIBUTE_NAME, from, from + 10));
+    }
+
+    /**
+     * Per thread random source.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final Random random = new Random();
+    }
+}
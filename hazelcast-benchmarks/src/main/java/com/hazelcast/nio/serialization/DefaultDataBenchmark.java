@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultData#hashCode()} and map lookups keyed by {@link DefaultData}, the way record stores
+ * and near caches look up keys.
+ * <ul>
+ * <li>{@code cachedHashCode} and {@code lookup} reuse key instances, so their hash is computed once and
+ * then served from the cached field.</li>
+ * <li>{@code lookupFreshKey} wraps the key bytes in a new {@link DefaultData} each time, like a key that has
+ * just been read from the wire, so it includes one hash computation.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefaultDataBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int keyLength;
+
+    @Param({"10000"})
+    public int keyCount;
+
+    private SerializationService serializationService;
+    private Data[] keys;
+    private byte[][] keyBytes;
+    private Map<Data, Object> map;
+    private int index;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        keys = new Data[keyCount];
+        keyBytes = new byte[keyCount][];
+        map = new HashMap<Data, Object>();
+        Random random = new Random(0);
+        for (int i = 0; i < keyCount; i++) {
+            char[] chars = new char[keyLength];
+            for (int k = 0; k < keyLength; k++) {
+                chars[k] = (char) ('a' + random.nextInt(26));
+            }
+            keys[i] = serializationService.toData(new String(chars));
+            keyBytes[i] = keys[i].toByteArray();
+            map.put(keys[i], i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public int cachedHashCode() {
+        return keys[nextIndex()].hashCode();
+    }
+
+    @Benchmark
+    public Object lookup() {
+        return map.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object lookupFreshKey() {
+        return map.get(new DefaultData(keyBytes[nextIndex()]));
+    }
+
+    private int nextIndex() {
+        int i = index;
+        index = i + 1 == keyCount ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SerializationServiceImpl#toData(Object)} and {@link SerializationServiceImpl#toObject(Object)}
+ * for the value types that dominate map traffic.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SerializationServiceBenchmark {
+
+    @Param({"string", "long", "bytes", "dataSerializable"})
+    public String type;
+
+    @Param({"100"})
+    public int size;
+
+    private SerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        object = createObject();
+        data = serializationService.toData(object);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    private Object createObject() {
+        if ("string".equals(type)) {
+            StringBuilder sb = new StringBuilder(size);
+            for (int i = 0; i < size; i++) {
+                sb.append((char) ('a' + i % 26));
+            }
+            return sb.toString();
+        } else if ("long".equals(type)) {
+            return Long.valueOf(size);
+        } else if ("bytes".equals(type)) {
+            return new byte[size];
+        } else if ("dataSerializable".equals(type)) {
+            return new SampleValue(size);
+        }
+        throw new IllegalArgumentException("Unknown type: " + type);
+    }
+
+    public static class SampleValue implements DataSerializable {
+
+        private int id;
+        private long timestamp;
+        private String name;
+        private byte[] payload;
+
+        public SampleValue() {
+        }
+
+        public SampleValue(int size) {
+            this.id = size;
+            this.timestamp = System.currentTimeMillis();
+            this.name = "value-" + size;
+            this.payload = new byte[size];
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(id);
+            out.writeLong(timestamp);
+            out.writeUTF(name);
+            out.writeByteArray(payload);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readInt();
+            timestamp = in.readLong();
+            name = in.readUTF();
+            payload = in.readByteArray();
+        }
+    }
+}
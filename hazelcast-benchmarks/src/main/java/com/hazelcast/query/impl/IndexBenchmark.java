@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Measures {@link IndexImpl} lookups for sorted and unsorted indexes: equality, range and comparison queries
+ * against an index on the {@code this} attribute of integer values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IndexBenchmark {
+
+    @Param({"100000"})
+    public int entryCount;
+
+    @Param({"1000"})
+    public int distinctValues;
+
+    @Param({"true", "false"})
+    public boolean ordered;
+
+    private SerializationService serializationService;
+    private IndexImpl index;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new IndexImpl(THIS_ATTRIBUTE_NAME, ordered);
+        random = new Random(0);
+        for (int i = 0; i < entryCount; i++) {
+            Data key = serializationService.toData(i);
+            Integer value = i % distinctValues;
+            index.saveEntryIndex(new QueryEntry(serializationService, key, i, value));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> equal() {
+        return index.getRecords(nextValue());
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> in() {
+        return index.getRecords(new Comparable[]{nextValue(), nextValue(), nextValue()});
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> between() {
+        int from = nextValue();
+        return index.getSubRecordsBetween(from, from + 10);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> greaterThan() {
+        return index.getSubRecords(ComparisonType.GREATER, distinctValues - 10);
+    }
+
+    private Integer nextValue() {
+        return random.nextInt(distinctValues);
+    }
+}
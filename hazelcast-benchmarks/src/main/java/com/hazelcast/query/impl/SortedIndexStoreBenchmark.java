@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+
+/**
+ * Compares the ordered index stores under a mixed load: three threads update entries of the index while one
+ * thread runs range queries. With {@link SortedIndexStore} every update and query contends on one store wide
+ * lock, {@link SegmentedSortedIndexStore} only locks the segment of the updated key.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortedIndexStoreBenchmark {
+
+    @Param({"sorted", "segmented"})
+    public String store;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    @Param({"10000"})
+    public int distinctValues;
+
+    private SerializationService serializationService;
+    private IndexImpl index;
+    private Data[] keys;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        IndexStore indexStore = "sorted".equals(store) ? new SortedIndexStore() : new SegmentedSortedIndexStore();
+        index = new IndexImpl(THIS_ATTRIBUTE_NAME, true, indexStore);
+        keys = new Data[entryCount];
+        Random random = new Random(0);
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = serializationService.toData(i);
+            index.saveEntryIndex(new QueryEntry(serializationService, keys[i], i, random.nextInt(distinctValues)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void update(ThreadState state) {
+        int i = state.random.nextInt(entryCount);
+        index.saveEntryIndex(new QueryEntry(serializationService, keys[i], i, state.random.nextInt(distinctValues)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public int between(ThreadState state) {
+        int from = state.random.nextInt(distinctValues);
+        Set<QueryableEntry> result = index.getSubRecordsBetween(from, from + 10);
+        return result.size();
+    }
+
+    /**
+     * Per thread random source, {@link Random} is thread safe but contended when shared.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final Random random = new Random();
+    }
+}
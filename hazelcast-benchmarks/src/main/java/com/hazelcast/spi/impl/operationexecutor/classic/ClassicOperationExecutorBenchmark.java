@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.benchmark.MemberBenchmarkSupport;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the hand-off latency of {@link ClassicOperationExecutor#execute(com.hazelcast.spi.Operation)} and
+ * {@link ClassicOperationExecutor#execute(PartitionSpecificRunnable)}: the time between scheduling a task from a
+ * non-operation thread and the partition thread having run it.
+ *
+ * Each benchmark thread has a single task in flight and busy waits for its completion, so the score is the
+ * round trip through the {@link ScheduleQueue} and the wake-up of the partition thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClassicOperationExecutorBenchmark extends MemberBenchmarkSupport {
+
+    private final AtomicInteger partitionIdGenerator = new AtomicInteger();
+
+    private OperationExecutor operationExecutor;
+    private int partitionCount;
+
+    @Override
+    protected void onSetup() {
+        OperationServiceImpl operationService = (OperationServiceImpl) nodeEngine.getOperationService();
+        operationExecutor = operationService.getOperationExecutor();
+        partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+    }
+
+    @Benchmark
+    public void executeOperation(ThreadState state) {
+        SignalOperation op = state.operation;
+        op.done = false;
+        operationExecutor.execute(op);
+        while (!op.done) {
+            // busy wait; parking would add the very latency we are measuring
+        }
+    }
+
+    @Benchmark
+    public void executePartitionSpecificRunnable(ThreadState state) {
+        SignalRunnable task = state.runnable;
+        task.done = false;
+        operationExecutor.execute(task);
+        while (!task.done) {
+            // busy wait; parking would add the very latency we are measuring
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        SignalOperation operation;
+        SignalRunnable runnable;
+
+        @Setup
+        public void setup(ClassicOperationExecutorBenchmark benchmark) {
+            int partitionId = benchmark.partitionIdGenerator.getAndIncrement() % benchmark.partitionCount;
+            operation = new SignalOperation();
+            operation.setPartitionId(partitionId);
+            operation.setNodeEngine(benchmark.nodeEngine);
+            runnable = new SignalRunnable(partitionId);
+        }
+    }
+
+    static class SignalOperation extends AbstractOperation {
+
+        volatile boolean done;
+
+        @Override
+        public void run() throws Exception {
+            done = true;
+        }
+
+        @Override
+        public boolean returnsResponse() {
+            return false;
+        }
+    }
+
+    static class SignalRunnable implements PartitionSpecificRunnable {
+
+        final int partitionId;
+        volatile boolean done;
+
+        SignalRunnable(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.benchmark.MemberBenchmarkSupport;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.PartitionAwareOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures a full {@link Invocation} / {@link InvocationFuture} round trip on a local member: registration in the
+ * {@link InvocationRegistry}, execution on the partition thread, response notification and the caller being woken
+ * up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InvocationBenchmark extends MemberBenchmarkSupport {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final AtomicInteger partitionIdGenerator = new AtomicInteger();
+
+    private OperationService operationService;
+    private int partitionCount;
+
+    @Override
+    protected void onSetup() {
+        operationService = nodeEngine.getOperationService();
+        partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+    }
+
+    @Benchmark
+    public Object invokeOnPartition(ThreadState state) {
+        InternalCompletableFuture<Object> f = operationService.invokeOnPartition(null, new EchoOperation(state),
+                state.partitionId);
+        return f.getSafely();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object invokeOnPartitionAsyncBatch(ThreadState state) {
+        InternalCompletableFuture[] futures = state.futures;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = operationService.invokeOnPartition(null, new EchoOperation(state), state.partitionId);
+        }
+        Object result = null;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            result = futures[i].getSafely();
+            futures[i] = null;
+        }
+        return result;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        final InternalCompletableFuture[] futures = new InternalCompletableFuture[BATCH_SIZE];
+        int partitionId;
+
+        @Setup
+        public void setup(InvocationBenchmark benchmark) {
+            partitionId = benchmark.partitionIdGenerator.getAndIncrement() % benchmark.partitionCount;
+        }
+    }
+
+    static class EchoOperation extends AbstractOperation implements PartitionAwareOperation {
+
+        private final Object value;
+
+        EchoOperation(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public void run() throws Exception {
+        }
+
+        @Override
+        public Object getResponse() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the call-id bookkeeping of an invocation: register it under a fresh call-id, look it up when its
+ * response arrives and deregister it. The map is pre-filled with other pending invocations, the way the
+ * invocation registry looks under load. Compares {@link ConcurrentHashMap} with boxed keys against
+ * {@link ConcurrentLong2ObjectHashMap}. Results are in operations per millisecond, so one million
+ * registrations per second shows up as 1000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(4)
+@Fork(1)
+public class CallIdRegistryBenchmark {
+
+    private static final Object INVOCATION = new Object();
+
+    @Param({"chm", "long2object"})
+    public String map;
+
+    @Param({"1000"})
+    public int pendingInvocations;
+
+    private final AtomicLong callIdSequence = new AtomicLong();
+    private CallIdMap callIds;
+
+    @Setup
+    public void setup() {
+        callIds = "chm".equals(map) ? new ChmCallIdMap() : new Long2ObjectCallIdMap();
+        for (int i = 0; i < pendingInvocations; i++) {
+            callIds.put(callIdSequence.incrementAndGet(), INVOCATION);
+        }
+    }
+
+    @Benchmark
+    public Object registerAndMatchResponse() {
+        long callId = callIdSequence.incrementAndGet();
+        callIds.put(callId, INVOCATION);
+        Object invocation = callIds.get(callId);
+        callIds.remove(callId);
+        return invocation;
+    }
+
+    private interface CallIdMap {
+        void put(long callId, Object invocation);
+
+        Object get(long callId);
+
+        Object remove(long callId);
+    }
+
+    private static final class ChmCallIdMap implements CallIdMap {
+        private final ConcurrentMap<Long, Object> map = new ConcurrentHashMap<Long, Object>(1000, 0.75f, 16);
+
+        @Override
+        public void put(long callId, Object invocation) {
+            map.put(callId, invocation);
+        }
+
+        @Override
+        public Object get(long callId) {
+            return map.get(callId);
+        }
+
+        @Override
+        public Object remove(long callId) {
+            return map.remove(callId);
+        }
+    }
+
+    private static final class Long2ObjectCallIdMap implements CallIdMap {
+        private final ConcurrentLong2ObjectHashMap<Object> map = new ConcurrentLong2ObjectHashMap<Object>(1000, 0.5f, 16);
+
+        @Override
+        public void put(long callId, Object invocation) {
+            map.put(callId, invocation);
+        }
+
+        @Override
+        public Object get(long callId) {
+            return map.get(callId);
+        }
+
+        @Override
+        public Object remove(long callId) {
+            return map.remove(callId);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerToKeyCodec;
@@ -25,6 +26,7 @@ import com.hazelcast.client.impl.protocol.codec.MapAddIndexCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddInterceptorCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddNearCacheEntryListenerCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddPartitionLostListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.MapAggregateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapClearCodec;
 import com.hazelcast.client.impl.protocol.codec.MapContainsKeyCodec;
 import com.hazelcast.client.impl.protocol.codec.MapContainsValueCodec;
@@ -52,6 +54,7 @@ import com.hazelcast.client.impl.protocol.codec.MapKeySetWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLoadAllCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLoadGivenKeysCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLockCodec;
+import com.hazelcast.client.impl.protocol.codec.MapProjectCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutAllCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutAsyncCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
@@ -82,6 +85,7 @@ import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryListener;
@@ -98,8 +102,11 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.querycache.AbstractQueryCache;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -117,9 +124,11 @@ import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
 import com.hazelcast.util.Preconditions;
@@ -145,6 +154,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
@@ -154,6 +164,18 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private final QueryCacheRegistry<K, V> queryCacheRegistry = new QueryCacheRegistry<K, V>(name) {
+        @Override
+        protected QueryCacheConfig getQueryCacheConfig(String cacheName) {
+            Map<String, QueryCacheConfig> queryCacheConfigs = getContext().getClientConfig().getQueryCacheConfigs().get(name);
+            return queryCacheConfigs == null ? null : queryCacheConfigs.get(cacheName);
+        }
+
+        @Override
+        protected AbstractQueryCache<K, V> createQueryCache(QueryCacheConfig queryCacheConfig) {
+            return new ClientQueryCache<K, V>(queryCacheConfig, ClientMapProxy.this, getContext());
+        }
+    };
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -1402,6 +1424,89 @@ public final class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return aggregate(aggregator, predicate);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "Aggregator should not be null!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        ClientMessage request = MapAggregateCodec.encodeRequest(name, toData(aggregator), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapAggregateCodec.ResponseParameters resultParameters = MapAggregateCodec.decodeResponse(response);
+        return toObject(resultParameters.response);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return project(projection, predicate);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, "Projection should not be null!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        ClientMessage request = MapProjectCodec.encodeRequest(name, toData(projection), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapProjectCodec.ResponseParameters resultParameters = MapProjectCodec.decodeResponse(response);
+
+        Collection<Data> collectionData = resultParameters.list;
+        List<R> result = new ArrayList<R>(collectionData.size());
+        for (Data data : collectionData) {
+            R value = toObject(data);
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return iterator(fetchSize, predicate);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        return new ClientMapQueryIterator<K, V>(getContext(), name, toData(predicate), fetchSize);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        return queryCacheRegistry.getQueryCache(name);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, null, predicate, includeValue);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, listener, predicate, includeValue);
+    }
+
     @Override
     public String toString() {
         return "IMap{" + "name='" + getName() + '\'' + '}';
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapQueryIteratorCodec;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.map.impl.AbstractMapQueryIterator;
+import com.hazelcast.map.impl.MapQueryIteratorResult;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.ExceptionUtil;
+
+/**
+ * Client side paged query iterator of {@link com.hazelcast.core.IMap}.
+ * <p/>
+ * Note: For more information on the iterator details, see {@link AbstractMapQueryIterator}.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ */
+public class ClientMapQueryIterator<K, V> extends AbstractMapQueryIterator<K, V> {
+
+    private final ClientContext context;
+    private final String name;
+    private final Data predicate;
+
+    public ClientMapQueryIterator(ClientContext context, String name, Data predicate, int fetchSize) {
+        super(context.getPartitionService().getPartitionCount(), fetchSize);
+        this.context = context;
+        this.name = name;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected MapQueryIteratorResult fetch(int partitionId, int tableIndex) {
+        ClientMessage request = MapQueryIteratorCodec.encodeRequest(name, tableIndex, fetchSize, predicate);
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        try {
+            ClientInvocationFuture future = new ClientInvocation(client, request, partitionId).invoke();
+            return toObject(MapQueryIteratorCodec.decodeResponse(future.get()).response);
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
+    @Override
+    protected <T> T toObject(Data data) {
+        return context.getSerializationService().toObject(data);
+    }
+}
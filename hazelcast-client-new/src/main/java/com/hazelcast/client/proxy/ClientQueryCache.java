@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapAddQueryCacheListenerCodec;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.map.impl.MapEventData;
+import com.hazelcast.map.impl.querycache.AbstractQueryCache;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link com.hazelcast.map.QueryCache} of a client. Subscribes with a {@link MapAddQueryCacheListenerCodec} request,
+ * so the predicate is evaluated on the members and only the matching updates are sent to the client.
+ * <p/>
+ * When the subscription is registered again, e.g. after the member it was registered on has left, updates may
+ * have been lost in between; the cache then recovers by repopulating itself.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public class ClientQueryCache<K, V> extends AbstractQueryCache<K, V> {
+
+    private final ClientContext context;
+
+    public ClientQueryCache(QueryCacheConfig config, IMap<K, V> delegate, ClientContext context) {
+        super(config, delegate, context.getSerializationService(), context.getClientConfig().getClassLoader(),
+                context.getPartitionService().getPartitionCount(), context.getExecutionService().getAsyncExecutor());
+        this.context = context;
+    }
+
+    @Override
+    protected String subscribe() {
+        ClientMessage request = MapAddQueryCacheListenerCodec.encodeRequest(delegate.getName(),
+                serializationService.toData(createEventFilter()));
+        return context.getListenerService().startListening(request, null, new QueryCacheEventHandler());
+    }
+
+    @Override
+    protected boolean unsubscribe(String registrationId) {
+        return delegate.removeEntryListener(registrationId);
+    }
+
+    /**
+     * Receives the updates of this cache and the map wide events of the underlying map.
+     */
+    private final class QueryCacheEventHandler extends MapAddQueryCacheListenerCodec.AbstractEventHandler
+            implements EventHandler<ClientMessage> {
+
+        private final AtomicBoolean registered = new AtomicBoolean();
+
+        @Override
+        public void handle(Data eventData) {
+            EventData event = serializationService.toObject(eventData);
+            if (event instanceof MapEventData) {
+                onMapEvent();
+            } else {
+                onQueryCacheEvent(event);
+            }
+        }
+
+        @Override
+        public void beforeListenerRegister() {
+        }
+
+        @Override
+        public void onListenerRegister() {
+            if (!registered.compareAndSet(false, true)) {
+                scheduleRecovery();
+            }
+        }
+    }
+}
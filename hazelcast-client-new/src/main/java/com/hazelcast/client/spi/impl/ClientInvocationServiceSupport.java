@@ -33,13 +33,13 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionListener;
 import com.hazelcast.spi.exception.TargetDisconnectedException;
+import com.hazelcast.util.ConcurrentLong2ObjectHashMap;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -61,8 +61,8 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     protected final ClientExecutionService executionService;
     private final ILogger logger = Logger.getLogger(ClientInvocationService.class);
     private final ResponseThread responseThread;
-    private final ConcurrentMap<Integer, ClientInvocation> callIdMap
-            = new ConcurrentHashMap<Integer, ClientInvocation>();
+    private final ConcurrentLong2ObjectHashMap<ClientInvocation> callIdMap
+            = new ConcurrentLong2ObjectHashMap<ClientInvocation>();
     private final ConcurrentMap<Integer, ClientInvocation> eventHandlerMap
             = new ConcurrentHashMap<Integer, ClientInvocation>();
     private final AtomicInteger callIdIncrementer = new AtomicInteger();
@@ -162,14 +162,13 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
 
 
     public void cleanResources(ConstructorFunction<Object, Throwable> responseCtor, ClientConnection connection) {
-        final Iterator<Map.Entry<Integer, ClientInvocation>> iter = callIdMap.entrySet().iterator();
+        final Iterator<ClientInvocation> iter = callIdMap.values().iterator();
         while (iter.hasNext()) {
-            final Map.Entry<Integer, ClientInvocation> entry = iter.next();
-            final ClientInvocation invocation = entry.getValue();
+            final ClientInvocation invocation = iter.next();
             if (connection.equals(invocation.getSendConnection())) {
                 iter.remove();
                 invocation.notifyException(responseCtor.createNew(null));
-                eventHandlerMap.remove(entry.getKey());
+                eventHandlerMap.remove(invocation.getClientMessage().getCorrelationId());
             }
         }
         final Iterator<ClientInvocation> iterator = eventHandlerMap.values().iterator();
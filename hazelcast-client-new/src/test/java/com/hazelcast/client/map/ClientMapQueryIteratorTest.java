@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapQueryIteratorTest {
+
+    static HazelcastInstance server;
+    static HazelcastInstance client;
+
+    @BeforeClass
+    public static void init() {
+        server = Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testIterator_returnsAllEntries() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        Map<Integer, Integer> iterated = toMap(map.iterator(10));
+
+        assertEquals(1000, iterated.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) iterated.get(i));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIterator_withPredicate() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        Map<Integer, Integer> iterated = toMap(map.iterator(10, new SqlPredicate("this < 100")));
+
+        assertEquals(100, iterated.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) iterated.get(i));
+        }
+    }
+
+    private static Map<Integer, Integer> toMap(Iterator<Map.Entry<Integer, Integer>> iterator) {
+        Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+}
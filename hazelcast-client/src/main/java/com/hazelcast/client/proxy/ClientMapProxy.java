@@ -16,14 +16,17 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.client.BaseClientRemoveListenerRequest;
 import com.hazelcast.client.impl.client.ClientRequest;
 import com.hazelcast.client.nearcache.ClientHeapNearCache;
 import com.hazelcast.client.nearcache.ClientNearCache;
+import com.hazelcast.client.spi.ClientPartitionService;
 import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
@@ -39,6 +42,7 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.MapEntrySet;
 import com.hazelcast.map.impl.MapKeySet;
@@ -49,6 +53,7 @@ import com.hazelcast.map.impl.client.MapAddIndexRequest;
 import com.hazelcast.map.impl.client.MapAddInterceptorRequest;
 import com.hazelcast.map.impl.client.MapAddNearCacheEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapAddPartitionLostListenerRequest;
+import com.hazelcast.map.impl.client.MapAggregateRequest;
 import com.hazelcast.map.impl.client.MapClearRequest;
 import com.hazelcast.map.impl.client.MapContainsKeyRequest;
 import com.hazelcast.map.impl.client.MapContainsValueRequest;
@@ -61,6 +66,7 @@ import com.hazelcast.map.impl.client.MapExecuteOnKeyRequest;
 import com.hazelcast.map.impl.client.MapExecuteOnKeysRequest;
 import com.hazelcast.map.impl.client.MapExecuteWithPredicateRequest;
 import com.hazelcast.map.impl.client.MapFlushRequest;
+import com.hazelcast.map.impl.client.MapGetAllPartitionRequest;
 import com.hazelcast.map.impl.client.MapGetAllRequest;
 import com.hazelcast.map.impl.client.MapGetEntryViewRequest;
 import com.hazelcast.map.impl.client.MapGetRequest;
@@ -70,6 +76,8 @@ import com.hazelcast.map.impl.client.MapKeySetRequest;
 import com.hazelcast.map.impl.client.MapLoadAllKeysRequest;
 import com.hazelcast.map.impl.client.MapLoadGivenKeysRequest;
 import com.hazelcast.map.impl.client.MapLockRequest;
+import com.hazelcast.map.impl.client.MapProjectRequest;
+import com.hazelcast.map.impl.client.MapPutAllPartitionRequest;
 import com.hazelcast.map.impl.client.MapPutAllRequest;
 import com.hazelcast.map.impl.client.MapPutIfAbsentRequest;
 import com.hazelcast.map.impl.client.MapPutRequest;
@@ -88,6 +96,8 @@ import com.hazelcast.map.impl.client.MapTryPutRequest;
 import com.hazelcast.map.impl.client.MapTryRemoveRequest;
 import com.hazelcast.map.impl.client.MapUnlockRequest;
 import com.hazelcast.map.impl.client.MapValuesRequest;
+import com.hazelcast.map.impl.querycache.AbstractQueryCache;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -104,9 +114,11 @@ import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.spi.impl.PortableEntryEvent;
 import com.hazelcast.spi.impl.PortableMapPartitionLostEvent;
 import com.hazelcast.util.ExceptionUtil;
@@ -136,6 +148,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
@@ -145,6 +158,18 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     private final String name;
     private final AtomicBoolean nearCacheInitialized = new AtomicBoolean();
     private volatile ClientHeapNearCache<Data> nearCache;
+    private final QueryCacheRegistry<K, V> queryCacheRegistry = new QueryCacheRegistry<K, V>(name) {
+        @Override
+        protected QueryCacheConfig getQueryCacheConfig(String cacheName) {
+            Map<String, QueryCacheConfig> queryCacheConfigs = getContext().getClientConfig().getQueryCacheConfigs().get(name);
+            return queryCacheConfigs == null ? null : queryCacheConfigs.get(cacheName);
+        }
+
+        @Override
+        protected AbstractQueryCache<K, V> createQueryCache(QueryCacheConfig queryCacheConfig) {
+            return new ClientQueryCache<K, V>(queryCacheConfig, ClientMapProxy.this, getContext());
+        }
+    };
 
     public ClientMapProxy(String serviceName, String name) {
         super(serviceName, name);
@@ -725,20 +750,58 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         if (keySet.isEmpty()) {
             return result;
         }
-        MapGetAllRequest request = new MapGetAllRequest(name, keySet);
-        MapEntrySet mapEntrySet = invoke(request);
-        Set<Entry<Data, Data>> entrySet = mapEntrySet.getEntrySet();
-        for (Entry<Data, Data> dataEntry : entrySet) {
-            final V value = toObject(dataEntry.getValue());
-            final K key = toObject(dataEntry.getKey());
-            result.put(key, value);
-            if (nearCache != null) {
-                nearCache.put(dataEntry.getKey(), value);
+        List<MapEntrySet> responses;
+        if (isSmartRouting()) {
+            responses = getAllFromPartitionOwners(keySet);
+        } else {
+            MapGetAllRequest request = new MapGetAllRequest(name, keySet);
+            MapEntrySet mapEntrySet = invoke(request);
+            responses = Collections.singletonList(mapEntrySet);
+        }
+        for (MapEntrySet mapEntrySet : responses) {
+            Set<Entry<Data, Data>> entrySet = mapEntrySet.getEntrySet();
+            for (Entry<Data, Data> dataEntry : entrySet) {
+                final V value = toObject(dataEntry.getValue());
+                final K key = toObject(dataEntry.getKey());
+                result.put(key, value);
+                if (nearCache != null) {
+                    nearCache.put(dataEntry.getKey(), value);
+                }
             }
         }
         return result;
     }
 
+    /**
+     * Groups the keys by partition and fetches every group directly from its partition owner, with all
+     * requests in flight at once. Only used by smart clients: a non-smart client would route each of these
+     * requests through the same member, which then is better off doing the fan-out itself.
+     */
+    private List<MapEntrySet> getAllFromPartitionOwners(Set<Data> keys) {
+        ClientPartitionService partitionService = getContext().getPartitionService();
+        Map<Integer, Set<Data>> keysByPartition = new HashMap<Integer, Set<Data>>();
+        for (Data key : keys) {
+            int partitionId = partitionService.getPartitionId(key);
+            Set<Data> partitionKeys = keysByPartition.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new HashSet<Data>();
+                keysByPartition.put(partitionId, partitionKeys);
+            }
+            partitionKeys.add(key);
+        }
+        Map<Integer, ClientRequest> requests = new HashMap<Integer, ClientRequest>(keysByPartition.size());
+        for (Entry<Integer, Set<Data>> entry : keysByPartition.entrySet()) {
+            int partitionId = entry.getKey();
+            requests.put(partitionId, new MapGetAllPartitionRequest(name, partitionId, entry.getValue()));
+        }
+        List<Object> results = invokeOnPartitionOwners(requests);
+        List<MapEntrySet> responses = new ArrayList<MapEntrySet>(results.size());
+        for (Object result : results) {
+            responses.add((MapEntrySet) result);
+        }
+        return responses;
+    }
+
     @Override
     public Collection<V> values() {
         MapValuesRequest request = new MapValuesRequest(name);
@@ -1078,8 +1141,56 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             invalidateNearCache(keyData);
             entrySet.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, toData(entry.getValue())));
         }
-        MapPutAllRequest request = new MapPutAllRequest(name, entrySet);
-        invoke(request);
+        if (isSmartRouting()) {
+            putAllToPartitionOwners(entrySet);
+        } else {
+            MapPutAllRequest request = new MapPutAllRequest(name, entrySet);
+            invoke(request);
+        }
+    }
+
+    private void putAllToPartitionOwners(MapEntrySet entrySet) {
+        ClientPartitionService partitionService = getContext().getPartitionService();
+        Map<Integer, MapEntrySet> entriesByPartition = new HashMap<Integer, MapEntrySet>();
+        for (Entry<Data, Data> entry : entrySet.getEntrySet()) {
+            int partitionId = partitionService.getPartitionId(entry.getKey());
+            MapEntrySet partitionEntries = entriesByPartition.get(partitionId);
+            if (partitionEntries == null) {
+                partitionEntries = new MapEntrySet();
+                entriesByPartition.put(partitionId, partitionEntries);
+            }
+            partitionEntries.add(entry);
+        }
+        Map<Integer, ClientRequest> requests = new HashMap<Integer, ClientRequest>(entriesByPartition.size());
+        for (Entry<Integer, MapEntrySet> entry : entriesByPartition.entrySet()) {
+            int partitionId = entry.getKey();
+            requests.put(partitionId, new MapPutAllPartitionRequest(name, partitionId, entry.getValue()));
+        }
+        invokeOnPartitionOwners(requests);
+    }
+
+    /**
+     * Sends every request to the owner of its partition without waiting in between, then collects the
+     * deserialized responses. The first failure is rethrown once all requests have been sent.
+     */
+    private List<Object> invokeOnPartitionOwners(Map<Integer, ClientRequest> requests) {
+        List<Future> futures = new ArrayList<Future>(requests.size());
+        for (Entry<Integer, ClientRequest> entry : requests.entrySet()) {
+            futures.add(new ClientInvocation(getClient(), entry.getValue(), entry.getKey()).invoke());
+        }
+        List<Object> responses = new ArrayList<Object>(futures.size());
+        try {
+            for (Future future : futures) {
+                responses.add(toObject(future.get()));
+            }
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        return responses;
+    }
+
+    private boolean isSmartRouting() {
+        return getContext().getClientConfig().getNetworkConfig().isSmartRouting();
     }
 
     @Override
@@ -1292,6 +1403,86 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return aggregate(aggregator, predicate);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "Aggregator should not be null!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        MapAggregateRequest request = new MapAggregateRequest(name, aggregator, predicate);
+        return invoke(request);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return project(projection, predicate);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, "Projection should not be null!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        MapProjectRequest request = new MapProjectRequest(name, projection, predicate);
+        MapValueCollection mapValueCollection = invoke(request);
+
+        Collection<Data> collectionData = mapValueCollection.getValues();
+        List<R> result = new ArrayList<R>(collectionData.size());
+        for (Data data : collectionData) {
+            R value = toObject(data);
+            result.add(value);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return iterator(fetchSize, predicate);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive!");
+        checkNotNull(predicate, "Predicate should not be null!");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        return new ClientMapQueryIterator<K, V>(getContext(), name, predicate, fetchSize);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        return queryCacheRegistry.getQueryCache(name);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, null, predicate, includeValue);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, listener, predicate, includeValue);
+    }
+
     @Override
     public String toString() {
         return "IMap{" + "name='" + getName() + '\'' + '}';
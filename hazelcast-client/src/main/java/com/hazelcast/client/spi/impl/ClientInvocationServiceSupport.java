@@ -38,11 +38,11 @@ import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.spi.exception.TargetDisconnectedException;
+import com.hazelcast.util.ConcurrentLong2ObjectHashMap;
 import com.hazelcast.util.ConstructorFunction;
 
 import java.io.IOException;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -64,8 +64,8 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
     protected final ClientExecutionService executionService;
     private final ILogger logger = Logger.getLogger(ClientInvocationService.class);
     private final ResponseThread responseThread;
-    private final ConcurrentMap<Integer, ClientInvocation> callIdMap
-            = new ConcurrentHashMap<Integer, ClientInvocation>();
+    private final ConcurrentLong2ObjectHashMap<ClientInvocation> callIdMap
+            = new ConcurrentLong2ObjectHashMap<ClientInvocation>();
     private final ConcurrentMap<Integer, ClientInvocation> eventHandlerMap
             = new ConcurrentHashMap<Integer, ClientInvocation>();
     private final AtomicInteger callIdIncrementer = new AtomicInteger();
@@ -164,14 +164,13 @@ abstract class ClientInvocationServiceSupport implements ClientInvocationService
 
 
     public void cleanResources(ConstructorFunction<Object, Throwable> responseCtor, ClientConnection connection) {
-        final Iterator<Map.Entry<Integer, ClientInvocation>> iter = callIdMap.entrySet().iterator();
+        final Iterator<ClientInvocation> iter = callIdMap.values().iterator();
         while (iter.hasNext()) {
-            final Map.Entry<Integer, ClientInvocation> entry = iter.next();
-            final ClientInvocation invocation = entry.getValue();
+            final ClientInvocation invocation = iter.next();
             if (connection.equals(invocation.getSendConnection())) {
                 iter.remove();
                 invocation.notify(responseCtor.createNew(null));
-                eventHandlerMap.remove(entry.getKey());
+                eventHandlerMap.remove(invocation.getRequest().getCallId());
             }
         }
         final Iterator<ClientInvocation> iterator = eventHandlerMap.values().iterator();
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapAggregationTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    static HazelcastInstance client;
+
+    @BeforeClass
+    public static void init() {
+        Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testAggregate() {
+        IMap<Integer, Employee> map = populate();
+
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count()));
+        assertEquals(ENTRY_COUNT * (ENTRY_COUNT - 1) / 2d,
+                map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleSum("salary")), 0d);
+    }
+
+    @Test
+    public void testAggregate_withPredicate() {
+        IMap<Integer, Employee> map = populate();
+        Predicate<Integer, Employee> predicate = Predicates.lessThan("age", 10);
+
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count(), predicate));
+        assertEquals(Long.valueOf(9), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longMax("age"), predicate));
+    }
+
+    private static IMap<Integer, Employee> populate() {
+        IMap<Integer, Employee> map = client.getMap(randomString());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name" + i, i % 100, i % 2 == 0, i));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies getAll and putAll for smart clients, which send per-partition requests to the partition owners,
+ * and for non-smart clients, which keep sending a single request that is fanned out by the member.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMapGetAllPutAllTest {
+
+    static HazelcastInstance server;
+    static HazelcastInstance smartClient;
+    static HazelcastInstance nonSmartClient;
+
+    @BeforeClass
+    public static void init() {
+        server = Hazelcast.newHazelcastInstance();
+        Hazelcast.newHazelcastInstance();
+        smartClient = HazelcastClient.newHazelcastClient();
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.getNetworkConfig().setSmartRouting(false);
+        nonSmartClient = HazelcastClient.newHazelcastClient(clientConfig);
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testPutAll_smartClient() {
+        testPutAll(smartClient);
+    }
+
+    @Test
+    public void testPutAll_nonSmartClient() {
+        testPutAll(nonSmartClient);
+    }
+
+    @Test
+    public void testGetAll_smartClient() {
+        testGetAll(smartClient);
+    }
+
+    @Test
+    public void testGetAll_nonSmartClient() {
+        testGetAll(nonSmartClient);
+    }
+
+    @Test
+    public void testGetAll_smartClient_fewKeys() {
+        String mapName = randomString();
+        server.getMap(mapName).put(1, "value");
+
+        Set<Integer> keys = new HashSet<Integer>();
+        keys.add(1);
+        keys.add(2);
+        Map<Integer, String> result = smartClient.<Integer, String>getMap(mapName).getAll(keys);
+
+        assertEquals(1, result.size());
+        assertEquals("value", result.get(1));
+    }
+
+    @Test
+    public void testPutAll_smartClient_emptyMap() {
+        IMap<Integer, Integer> map = smartClient.getMap(randomString());
+
+        map.putAll(new HashMap<Integer, Integer>());
+
+        assertTrue(map.isEmpty());
+    }
+
+    private void testPutAll(HazelcastInstance client) {
+        String mapName = randomString();
+        Map<Integer, Integer> expected = createEntries(1000);
+
+        client.<Integer, Integer>getMap(mapName).putAll(expected);
+
+        IMap<Integer, Integer> serverMap = server.getMap(mapName);
+        assertEquals(expected.size(), serverMap.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), serverMap.get(entry.getKey()));
+        }
+    }
+
+    private void testGetAll(HazelcastInstance client) {
+        String mapName = randomString();
+        Map<Integer, Integer> expected = createEntries(1000);
+        server.<Integer, Integer>getMap(mapName).putAll(expected);
+
+        Set<Integer> keys = new HashSet<Integer>(expected.keySet());
+        keys.add(-1);
+        Map<Integer, Integer> result = client.<Integer, Integer>getMap(mapName).getAll(keys);
+
+        assertEquals(expected, result);
+    }
+
+    private static Map<Integer, Integer> createEntries(int count) {
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int i = 0; i < count; i++) {
+            entries.put(i, i * 2);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertTrueEventually;
+import static com.hazelcast.test.HazelcastTestSupport.randomString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ClientQueryCacheTest {
+
+    static HazelcastInstance server;
+    static HazelcastInstance client;
+
+    @BeforeClass
+    public static void init() {
+        server = Hazelcast.newHazelcastInstance();
+        client = HazelcastClient.newHazelcastClient();
+    }
+
+    @AfterClass
+    public static void destroy() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testQueryCache_isPopulatedWithMatchingEntries() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        assertEquals(50, cache.size());
+        assertEquals(50, (int) cache.get(50));
+        assertNull(cache.get(49));
+    }
+
+    @Test
+    public void testQueryCache_followsUpdatesOfMembers() {
+        String mapName = randomString();
+        IMap<Integer, Integer> map = server.getMap(mapName);
+        final QueryCache<Integer, Integer> cache = client.<Integer, Integer>getMap(mapName)
+                .getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        // leaves the predicate
+        map.put(60, 0);
+        map.remove(70);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(48, cache.size());
+                assertFalse(cache.containsKey(60));
+                assertFalse(cache.containsKey(70));
+                assertEquals(99, (int) cache.get(99));
+            }
+        });
+    }
+
+    @Test
+    public void testQueryCache_recoversAfterClear() {
+        IMap<Integer, Integer> map = client.getMap(randomString());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        map.clear();
+        map.put(80, 80);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, cache.size());
+                assertTrue(cache.containsKey(80));
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import java.io.Serializable;
+
+/**
+ * Defines an aggregation executed directly on the map entries, without the MapReduce framework.
+ * <p/>
+ * An aggregation is executed in three phases:
+ * <ol>
+ * <li>{@link #accumulate(Object)} is called for every matching entry of a partition, on the partition thread
+ * or with the entries found by an index;</li>
+ * <li>{@link #combine(Aggregator)} merges the partial results, first of the partitions of a member and then of
+ * the members of the cluster;</li>
+ * <li>{@link #aggregate()} returns the final result on the caller.</li>
+ * </ol>
+ * A new copy of the aggregator is deserialized for each partition and each member, so implementations can keep their
+ * state in plain fields. The instance passed to the map is never modified.
+ * <p/>
+ * Built-in aggregators with primitive accumulators are available in {@link Aggregators}.
+ *
+ * @param <I> input type, the map entry
+ * @param <R> result type
+ */
+public abstract class Aggregator<I, R> implements Serializable {
+
+    /**
+     * Accumulates the given input.
+     *
+     * @param input the input to accumulate
+     */
+    public abstract void accumulate(I input);
+
+    /**
+     * Merges the partial result of another aggregator of the same type into this one.
+     *
+     * @param aggregator the aggregator to merge
+     */
+    public abstract void combine(Aggregator aggregator);
+
+    /**
+     * Returns the result of the aggregation, called once after all partial results are combined.
+     *
+     * @return the result of the aggregation
+     */
+    public abstract R aggregate();
+}
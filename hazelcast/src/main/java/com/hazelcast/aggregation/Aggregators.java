@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
+import com.hazelcast.aggregation.impl.DoubleMaxAggregator;
+import com.hazelcast.aggregation.impl.DoubleMinAggregator;
+import com.hazelcast.aggregation.impl.DoubleSumAggregator;
+import com.hazelcast.aggregation.impl.LongAverageAggregator;
+import com.hazelcast.aggregation.impl.LongMaxAggregator;
+import com.hazelcast.aggregation.impl.LongMinAggregator;
+import com.hazelcast.aggregation.impl.LongSumAggregator;
+
+/**
+ * Factory of the built-in {@link Aggregator}s.
+ * <p/>
+ * The attribute path is resolved the same way as in predicates, e.g. {@code "age"} or {@code "address.city"};
+ * {@code "this"} stands for the value itself. Entries whose attribute is {@code null} are skipped.
+ * The numeric aggregators keep primitive accumulators, the extracted values have to be {@link Number}s.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * @param <I> input type
+     * @return an aggregator counting all entries
+     */
+    public static <I> Aggregator<I, Long> count() {
+        return new CountAggregator<I>();
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator counting the entries with a non-null attribute
+     */
+    public static <I> Aggregator<I, Long> count(String attributePath) {
+        return new CountAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator summing the attribute as long
+     */
+    public static <I> Aggregator<I, Long> longSum(String attributePath) {
+        return new LongSumAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator averaging the attribute as long, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Double> longAvg(String attributePath) {
+        return new LongAverageAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator finding the minimum of the attribute as long, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Long> longMin(String attributePath) {
+        return new LongMinAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator finding the maximum of the attribute as long, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Long> longMax(String attributePath) {
+        return new LongMaxAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator summing the attribute as double
+     */
+    public static <I> Aggregator<I, Double> doubleSum(String attributePath) {
+        return new DoubleSumAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator averaging the attribute as double, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Double> doubleAvg(String attributePath) {
+        return new DoubleAverageAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator finding the minimum of the attribute as double, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Double> doubleMin(String attributePath) {
+        return new DoubleMinAggregator<I>(attributePath);
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @return an aggregator finding the maximum of the attribute as double, {@code null} if nothing matched
+     */
+    public static <I> Aggregator<I, Double> doubleMax(String attributePath) {
+        return new DoubleMaxAggregator<I>(attributePath);
+    }
+}
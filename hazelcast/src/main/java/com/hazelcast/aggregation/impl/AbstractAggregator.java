@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.impl.Extractors;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.io.IOException;
+
+/**
+ * Base class of the built-in aggregators. Extracts the configured attribute of every entry and passes
+ * non-null values to {@link #accumulateValue(Object)}.
+ * <p/>
+ * Without an attribute path the value of the entry is accumulated. On members the entries are
+ * {@link QueryableEntry}s and the attribute is extracted the same way as for predicates; plain map entries
+ * are handled by reflection on their value.
+ *
+ * @param <I> input type
+ * @param <E> type of the extracted value
+ * @param <R> result type
+ */
+public abstract class AbstractAggregator<I, E, R> extends Aggregator<I, R> implements DataSerializable {
+
+    protected String attributePath;
+
+    protected AbstractAggregator() {
+    }
+
+    protected AbstractAggregator(String attributePath) {
+        this.attributePath = attributePath;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final void accumulate(I input) {
+        E value = (E) Extractors.extractAttribute(input, attributePath);
+        if (value != null) {
+            accumulateValue(value);
+        }
+    }
+
+    /**
+     * Accumulates a non-null extracted value.
+     *
+     * @param value the extracted value
+     */
+    protected abstract void accumulateValue(E value);
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        writeInternal(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attributePath = in.readUTF();
+        readInternal(in);
+    }
+
+    protected abstract void writeInternal(ObjectDataOutput out) throws IOException;
+
+    protected abstract void readInternal(ObjectDataInput in) throws IOException;
+}
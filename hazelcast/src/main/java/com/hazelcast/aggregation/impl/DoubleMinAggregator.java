@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Finds the minimum of the attribute values as doubles, returns {@code null} if there are no values.
+ *
+ * @param <I> input type
+ */
+public class DoubleMinAggregator<I> extends AbstractAggregator<I, Number, Double> {
+
+    private double min = Double.MAX_VALUE;
+    private long count;
+
+    public DoubleMinAggregator() {
+    }
+
+    public DoubleMinAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateValue(Number value) {
+        double v = value.doubleValue();
+        if (v < min) {
+            min = v;
+        }
+        count++;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        DoubleMinAggregator other = (DoubleMinAggregator) aggregator;
+        if (other.count > 0 && other.min < min) {
+            min = other.min;
+        }
+        count += other.count;
+    }
+
+    @Override
+    public Double aggregate() {
+        return count == 0 ? null : min;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeDouble(min);
+        out.writeLong(count);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        min = in.readDouble();
+        count = in.readLong();
+    }
+}
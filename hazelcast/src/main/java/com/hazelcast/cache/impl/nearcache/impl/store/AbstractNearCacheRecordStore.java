@@ -233,6 +233,7 @@ public abstract class AbstractNearCacheRecordStore<
     @Override
     public void onEvict(KS key, R record) {
         nearCacheStats.decrementOwnedEntryCount();
+        nearCacheStats.incrementEvictions();
     }
 
     @Override
@@ -369,8 +370,10 @@ public abstract class AbstractNearCacheRecordStore<
     public void doEvictionIfRequired() {
         checkAvailable();
 
-        if (isEvictionEnabled()) {
-            evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
+        if (isEvictionEnabled() && evictionChecker.isEvictionRequired()) {
+            long startNanos = System.nanoTime();
+            evictionStrategy.evict(records, evictionPolicyEvaluator, EvictionChecker.EVICT_ALWAYS, this);
+            nearCacheStats.addEvictionTimeNanos(System.nanoTime() - startNanos);
         }
     }
 
@@ -44,4 +44,5 @@ public final class EventMessageConst {
     public static final int EVENT_MAPPARTITIONLOST = 209;
     public static final int EVENT_CACHE = 210;
     public static final int EVENT_CACHEBATCHINVALIDATION = 211;
+    public static final int EVENT_QUERYCACHE = 212;
 }
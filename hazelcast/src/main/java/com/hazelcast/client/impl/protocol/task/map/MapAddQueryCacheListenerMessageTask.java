@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.client.ClientEndpoint;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapAddQueryCacheListenerCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.map.impl.MapEventData;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCacheListenerAdapter;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.EventRegistration;
+
+import java.security.Permission;
+
+/**
+ * Subscribes a client {@link com.hazelcast.map.QueryCache} to the updates of a map. The predicate of the
+ * {@link QueryCacheEventFilter} is evaluated on the partition owners, so the client only receives the batched and
+ * sequenced updates of the entries matching it. Map wide events, e.g. clear, are sent as {@link MapEventData}.
+ */
+public class MapAddQueryCacheListenerMessageTask
+        extends AbstractCallableMessageTask<MapAddQueryCacheListenerCodec.RequestParameters> {
+
+    public MapAddQueryCacheListenerMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() {
+        final ClientEndpoint endpoint = getEndpoint();
+        QueryCacheEventFilter filter = serializationService.toObject(parameters.filter);
+
+        QueryCacheListenerAdapter listener = new QueryCacheListenerAdapter() {
+            @Override
+            public void onQueryCacheEvent(EventData eventData) {
+                if (endpoint.isAlive()) {
+                    sendEvent(eventData);
+                }
+            }
+
+            @Override
+            public void onEvent(IMapEvent event) {
+                if (endpoint.isAlive() && event instanceof MapEvent) {
+                    MapEvent mapEvent = (MapEvent) event;
+                    sendEvent(new MapEventData(mapEvent.getMember().getUuid(), parameters.name,
+                            null, mapEvent.getEventType().getType(),
+                            mapEvent.getNumberOfEntriesAffected()));
+                }
+            }
+        };
+
+        EventRegistration registration = nodeEngine.getEventService()
+                .registerListener(MapService.SERVICE_NAME, parameters.name, filter, listener);
+        String registrationId = registration.getId();
+        endpoint.setListenerRegistration(MapService.SERVICE_NAME, parameters.name, registrationId);
+        return registrationId;
+    }
+
+    private void sendEvent(EventData eventData) {
+        ClientMessage eventMessage = MapAddQueryCacheListenerCodec.encodeQueryCacheEvent(
+                serializationService.toData(eventData));
+        sendClientMessage(null, eventMessage);
+    }
+
+    @Override
+    protected MapAddQueryCacheListenerCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAddQueryCacheListenerCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return MapAddQueryCacheListenerCodec.encodeResponse((String) response);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getQueryCache";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_LISTEN);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+}
@@ -47,7 +47,9 @@ public class MapExecuteWithPredicateMessageTask
     protected OperationFactory createOperationFactory() {
         EntryProcessor entryProcessor = serializationService.toObject(parameters.entryProcessor);
         Predicate predicate = serializationService.toObject(parameters.predicate);
-        return new PartitionWideEntryWithPredicateOperationFactory(parameters.name, entryProcessor, predicate);
+        MapService mapService = getService(MapService.SERVICE_NAME);
+        return new PartitionWideEntryWithPredicateOperationFactory(parameters.name, entryProcessor, predicate,
+                mapService.getMapServiceContext());
     }
 
     @Override
@@ -73,4 +73,7 @@ public interface EventResponseTemplate {
     @EventResponse(EventMessageConst.EVENT_CACHE)
     void Cache(int type, Set<CacheEventData> keys, int completionId);
 
+    @EventResponse(EventMessageConst.EVENT_QUERYCACHE)
+    void QueryCache(Data eventData);
+
 }
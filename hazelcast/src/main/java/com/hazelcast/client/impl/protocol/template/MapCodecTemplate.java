@@ -204,4 +204,16 @@ public interface MapCodecTemplate {
     @Request(id = 58, retryable = false, response = ResponseMessageConst.MAP_DATA_DATA)
     void entriesWithPagingPredicate(String name, Data predicate);
 
+    @Request(id = 59, retryable = true, response = ResponseMessageConst.DATA)
+    void queryIterator(String name, int tableIndex, int fetchSize, Data predicate);
+
+    @Request(id = 60, retryable = true, response = ResponseMessageConst.STRING, event = EventMessageConst.EVENT_QUERYCACHE)
+    void addQueryCacheListener(String name, Data filter);
+
+    @Request(id = 61, retryable = true, response = ResponseMessageConst.DATA)
+    void aggregate(String name, Data aggregator, Data predicate);
+
+    @Request(id = 62, retryable = true, response = ResponseMessageConst.LIST_DATA)
+    void project(String name, Data projection, Data predicate);
+
 }
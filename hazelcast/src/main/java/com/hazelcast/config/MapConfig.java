@@ -212,7 +212,7 @@ public class MapConfig {
      * Possible values:
      * BINARY (default): keys and values will be stored as binary data
      * OBJECT : values will be stored in their object forms
-     * NATIVE : values will be stored in non-heap region of JVM
+     * NATIVE : values will be stored in non-heap region of JVM, requires {@link NativeMemoryConfig} to be enabled
      *
      * @param inMemoryFormat the record type to set for this {@link com.hazelcast.core.IMap}
      * @throws IllegalArgumentException if inMemoryFormat is null.
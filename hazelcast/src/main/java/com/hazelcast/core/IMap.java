@@ -16,9 +16,11 @@
 
 package com.hazelcast.core;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -26,9 +28,11 @@ import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -1381,4 +1385,128 @@ public interface IMap<K, V>
     <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                              Aggregation<K, SuppliedValue, Result> aggregation,
                                              JobTracker jobTracker);
+
+    /**
+     * Applies the aggregation logic on all map entries and returns the result.
+     * <p/>
+     * Unlike {@link #aggregate(Supplier, Aggregation)} this does not use the MapReduce framework: the entries are
+     * accumulated on the partition threads, combined per member and then on the caller. Built-in aggregators
+     * can be found in {@link com.hazelcast.aggregation.Aggregators}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException if the aggregator is null
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Applies the aggregation logic on map entries filtered with the predicate and returns the result.
+     * <p/>
+     * If the predicate can be evaluated with the indexes of the map, only the indexed entries are accumulated,
+     * otherwise the entries are scanned on the partition threads.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param predicate  predicate to filter the entries with, paging predicates are not supported
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException     if the aggregator or the predicate is null
+     * @throws IllegalArgumentException if the predicate is a paging predicate
+     */
+    <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
+    /**
+     * Applies the projection logic on all map entries and returns the result.
+     * <p/>
+     * The projection is executed on the members owning the entries, only the projected values are sent back.
+     * Built-in projections can be found in {@link com.hazelcast.projection.Projections}.
+     *
+     * @param projection projection to transform the entries with, may return {@code null}
+     * @param <R>        type of the projected value
+     * @return the projected values, one for each entry
+     * @throws NullPointerException if the projection is null
+     */
+    <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection);
+
+    /**
+     * Applies the projection logic on map entries filtered with the predicate and returns the result.
+     * <p/>
+     * If the predicate can be evaluated with the indexes of the map, only the indexed entries are projected,
+     * otherwise the entries are scanned on the partition threads. Attributes of portable values are extracted
+     * without deserializing the values.
+     *
+     * @param projection projection to transform the entries with, may return {@code null}
+     * @param predicate  predicate to filter the entries with, paging predicates are not supported
+     * @param <R>        type of the projected value
+     * @return the projected values, one for each matching entry
+     * @throws NullPointerException     if the projection or the predicate is null
+     * @throws IllegalArgumentException if the predicate is a paging predicate
+     */
+    <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate);
+
+    /**
+     * Returns an iterator over all entries of the map, which fetches them from the cluster in pages.
+     * <p/>
+     * See {@link #iterator(int, Predicate)}.
+     *
+     * @param fetchSize maximum number of entries fetched at once
+     * @return an iterator over the entries of the map
+     * @throws IllegalArgumentException if the fetch size is not positive
+     */
+    Iterator<Map.Entry<K, V>> iterator(int fetchSize);
+
+    /**
+     * Returns an iterator over the entries matching the predicate, which fetches them from the cluster in pages.
+     * <p/>
+     * Unlike {@link #entrySet(Predicate)} the result is not materialized on the caller: the partitions are
+     * queried one by one, at most {@code fetchSize} entries at a time, and each page resumes the scan of the
+     * partition where the previous one stopped. Hence large result sets can be processed with bounded memory and
+     * are not subject to the query result size limit.
+     * <p/>
+     * The iteration is weakly consistent: entries updated during the iteration may or may not be returned, and
+     * an entry may be returned twice if its partition shrinks or is migrated in the meantime. No entry that exists
+     * during the whole iteration is missed. The returned
+     * entries are not sorted and the iterator does not support {@link Iterator#remove()}.
+     *
+     * @param fetchSize maximum number of entries fetched at once
+     * @param predicate predicate to filter the entries with, paging predicates are not supported
+     * @return an iterator over the matching entries
+     * @throws NullPointerException     if the predicate is null
+     * @throws IllegalArgumentException if the fetch size is not positive or the predicate is a paging predicate
+     */
+    Iterator<Map.Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate);
+
+    /**
+     * Returns the {@link com.hazelcast.map.QueryCache} configured for this map with the given name.
+     * The cache is created on the first call; subsequent calls return the same instance until it is destroyed.
+     *
+     * @param name name of the query cache, see {@link com.hazelcast.config.QueryCacheConfig#getName()}.
+     * @return the query cache.
+     * @throws IllegalArgumentException if no query cache with the given name is configured for this map.
+     */
+    QueryCache<K, V> getQueryCache(String name);
+
+    /**
+     * Returns the {@link com.hazelcast.map.QueryCache} with the given name, creating it with the given predicate
+     * if it does not exist yet. Other settings of the cache are taken from the matching configuration if any,
+     * otherwise defaults are used.
+     *
+     * @param name         name of the query cache.
+     * @param predicate    only entries matching this predicate are kept in the cache.
+     * @param includeValue <tt>true</tt> if the cache should hold values, <tt>false</tt> if only keys.
+     * @return the query cache.
+     */
+    QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue);
+
+    /**
+     * Same as {@link #getQueryCache(String, Predicate, boolean)} but additionally registers the given listener
+     * on the cache when it is created. The listener is notified of the changes after the initial population.
+     *
+     * @param name         name of the query cache.
+     * @param listener     listener notified of the changes of the cache.
+     * @param predicate    only entries matching this predicate are kept in the cache.
+     * @param includeValue <tt>true</tt> if the cache should hold values, <tt>false</tt> if only keys.
+     * @return the query cache.
+     */
+    QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate, boolean includeValue);
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Bounds the number of asynchronous calls in flight and collects their results.
+ * <p/>
+ * Waiting on every call before sending the next one leaves the connection idle for a full round trip per call.
+ * Firing all calls without waiting can flood the invocation service until it throws
+ * {@link HazelcastOverloadException}. A pipelining sits between the two: {@link #add(ICompletableFuture)}
+ * blocks while {@code depth} calls are still pending, so a bulk load keeps the connection busy without
+ * outrunning the cluster.
+ * <pre>
+ * Pipelining&lt;String&gt; pipelining = new Pipelining&lt;String&gt;(10);
+ * for (Long key : keys) {
+ *     pipelining.add((ICompletableFuture&lt;String&gt;) map.getAsync(key));
+ * }
+ * List&lt;String&gt; values = pipelining.results();
+ * </pre>
+ * Any call returning an {@link ICompletableFuture} can be pipelined. The async methods of the map proxies,
+ * on members and clients, return an {@link ICompletableFuture} even where their signature declares a
+ * {@link java.util.concurrent.Future}.
+ * <p/>
+ * The call passed to {@link #add(ICompletableFuture)} has already been sent, so at most {@code depth + 1}
+ * calls are in flight. A pipelining is meant to be filled by a single thread. It keeps every future until
+ * {@link #results()} is called, so a very large job should be split across several pipelinings.
+ *
+ * @param <E> the result type of the pipelined calls
+ */
+@Beta
+public class Pipelining<E> {
+
+    private static final Executor CALLER_RUNS = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private final Semaphore permits;
+    private final List<ICompletableFuture<E>> futures = new ArrayList<ICompletableFuture<E>>();
+    private final ExecutionCallback<E> releasePermit = new ExecutionCallback<E>() {
+        @Override
+        public void onResponse(E response) {
+            permits.release();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            permits.release();
+        }
+    };
+
+    /**
+     * Creates a pipelining.
+     *
+     * @param depth the maximum number of pending calls before {@link #add(ICompletableFuture)} blocks
+     * @throws IllegalArgumentException if depth is not positive
+     */
+    public Pipelining(int depth) {
+        checkPositive(depth, "depth must be positive");
+        this.permits = new Semaphore(depth);
+    }
+
+    /**
+     * Adds a call to the pipelining. Blocks while the maximum number of calls is pending.
+     *
+     * @param future the future of the call
+     * @return the given future
+     * @throws InterruptedException if the thread is interrupted while waiting for a pending call to complete
+     * @throws NullPointerException if the future is null
+     */
+    public ICompletableFuture<E> add(ICompletableFuture<E> future) throws InterruptedException {
+        checkNotNull(future, "future can't be null");
+        permits.acquire();
+        futures.add(future);
+        future.andThen(releasePermit, CALLER_RUNS);
+        return future;
+    }
+
+    /**
+     * Waits for all added calls to complete and returns their results in the order the calls were added.
+     *
+     * @return the results of the calls
+     * @throws Exception the exception thrown by {@link ICompletableFuture#get()} for the first failed call,
+     *                   in the order the calls were added
+     */
+    public List<E> results() throws Exception {
+        List<E> results = new ArrayList<E>(futures.size());
+        for (ICompletableFuture<E> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
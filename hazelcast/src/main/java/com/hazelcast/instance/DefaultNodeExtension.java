@@ -19,6 +19,7 @@ package com.hazelcast.instance;
 import com.hazelcast.cache.impl.CacheService;
 import com.hazelcast.cache.impl.ICacheService;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.logging.ILogger;
@@ -44,6 +45,7 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.internal.storage.DataRef;
 import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.internal.storage.impl.OffHeapStorage;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.wan.WanReplicationService;
@@ -57,7 +59,9 @@ public class DefaultNodeExtension implements NodeExtension {
     protected volatile ILogger logger;
     protected volatile ILogger systemLogger;
 
-    private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final MemoryStats memoryStats = new NativeAwareMemoryStats();
+    private final Object nativeStorageMutex = new Object();
+    private volatile OffHeapStorage nativeStorage;
 
     @Override
     public void beforeStart(Node node) {
@@ -92,7 +96,21 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public Storage<DataRef> getNativeDataStorage() {
-        throw new UnsupportedOperationException("Native memory feature is only available on Hazelcast Enterprise!");
+        OffHeapStorage storage = nativeStorage;
+        if (storage != null) {
+            return storage;
+        }
+        NativeMemoryConfig nativeMemoryConfig = node.getConfig().getNativeMemoryConfig();
+        if (!nativeMemoryConfig.isEnabled()) {
+            throw new UnsupportedOperationException("Native memory is not enabled, see Config.getNativeMemoryConfig()!");
+        }
+        synchronized (nativeStorageMutex) {
+            if (nativeStorage == null) {
+                nativeStorage = new OffHeapStorage(nativeMemoryConfig);
+                logger.info("Created off-heap storage of " + nativeMemoryConfig.getSize().toPrettyString());
+            }
+            return nativeStorage;
+        }
     }
 
     public SerializationService createSerializationService() {
@@ -184,10 +202,43 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public void destroy() {
         logger.info("Destroying node NodeExtension.");
+        OffHeapStorage storage = nativeStorage;
+        if (storage != null) {
+            storage.destroy();
+        }
     }
 
     @Override
     public void beforeJoin() {
     }
 
+    /**
+     * Reports the native memory figures of the off-heap storage, once it is in use.
+     */
+    private final class NativeAwareMemoryStats extends DefaultMemoryStats {
+
+        @Override
+        public long getMaxNativeMemory() {
+            OffHeapStorage storage = nativeStorage;
+            return storage == null ? 0 : storage.getMaxMemory();
+        }
+
+        @Override
+        public long getCommittedNativeMemory() {
+            OffHeapStorage storage = nativeStorage;
+            return storage == null ? 0 : storage.getCommittedMemory();
+        }
+
+        @Override
+        public long getUsedNativeMemory() {
+            OffHeapStorage storage = nativeStorage;
+            return storage == null ? 0 : storage.getUsedMemory();
+        }
+
+        @Override
+        public long getFreeNativeMemory() {
+            OffHeapStorage storage = nativeStorage;
+            return storage == null ? 0 : storage.getMaxMemory() - storage.getUsedMemory();
+        }
+    }
 }
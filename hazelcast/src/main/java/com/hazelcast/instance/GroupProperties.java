@@ -83,10 +83,27 @@ public class GroupProperties {
      * partition operations will queue behind other operations of different partitions. The default is 4.
      */
     public static final String PROP_PARTITION_OPERATION_THREAD_COUNT = "hazelcast.operation.thread.count";
+    /**
+     * The way an idle partition thread waits for work: {@code block} (the default) blocks on a queue; {@code spin},
+     * {@code yield} and {@code backoff} poll a lock-free queue and respectively busy-spin, yield or back off from
+     * spinning to parking. The polling strategies lower the hand-off latency at the cost of CPU.
+     */
+    public static final String PROP_PARTITION_OPERATION_THREAD_IDLE_STRATEGY = "hazelcast.operation.thread.idle.strategy";
     public static final String PROP_GENERIC_OPERATION_THREAD_COUNT = "hazelcast.operation.generic.thread.count";
     public static final String PROP_EVENT_THREAD_COUNT = "hazelcast.event.thread.count";
     public static final String PROP_EVENT_QUEUE_CAPACITY = "hazelcast.event.queue.capacity";
     public static final String PROP_EVENT_QUEUE_TIMEOUT_MILLIS = "hazelcast.event.queue.timeout.millis";
+    /**
+     * Maximum number of events sent to a remote subscriber in a single packet. Events are queued per subscriber
+     * and sent when this many have accumulated or {@link #PROP_EVENT_BATCH_MAX_DELAY_MILLIS} has passed.
+     * The default 1 disables batching.
+     */
+    public static final String PROP_EVENT_BATCH_SIZE = "hazelcast.event.batch.size";
+    /**
+     * Maximum time in milliseconds an event waits in a batch before being sent, used when batching is enabled
+     * with {@link #PROP_EVENT_BATCH_SIZE}.
+     */
+    public static final String PROP_EVENT_BATCH_MAX_DELAY_MILLIS = "hazelcast.event.batch.max.delay.millis";
     public static final String PROP_CONNECT_ALL_WAIT_SECONDS = "hazelcast.connect.all.wait.seconds";
     public static final String PROP_MEMCACHE_ENABLED = "hazelcast.memcache.enabled";
     public static final String PROP_REST_ENABLED = "hazelcast.rest.enabled";
@@ -118,6 +135,19 @@ public class GroupProperties {
     public static final String PROP_SOCKET_CONNECT_TIMEOUT_SECONDS = "hazelcast.socket.connect.timeout.seconds";
     public static final String PROP_SOCKET_KEEP_ALIVE = "hazelcast.socket.keep.alive";
     public static final String PROP_SOCKET_NO_DELAY = "hazelcast.socket.no.delay";
+
+    /**
+     * If the output buffers of the member connections should be direct buffers. A heap buffer is copied by the JDK into a
+     * temporary direct buffer on every socket write; a direct buffer is handed to the socket as is. Direct buffers are
+     * pooled by the connection manager and reused when a connection closes.
+     */
+    public static final String PROP_SOCKET_BUFFER_DIRECT = "hazelcast.socket.buffer.direct";
+
+    /**
+     * The number of output buffers a connection fills before writing them to the socket with a single gathering write.
+     * With the default of 1, every write is made from a single buffer.
+     */
+    public static final String PROP_SOCKET_WRITE_GATHERING_BUFFER_COUNT = "hazelcast.socket.write.gathering.buffer.count";
     public static final String PROP_SHUTDOWNHOOK_ENABLED = "hazelcast.shutdownhook.enabled";
     public static final String PROP_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.wait.seconds.before.join";
     public static final String PROP_MAX_WAIT_SECONDS_BEFORE_JOIN = "hazelcast.max.wait.seconds.before.join";
@@ -151,6 +181,17 @@ public class GroupProperties {
      * you will end up with an unprocessed key.
      */
     public static final String PROP_MAP_EXPIRY_DELAY_SECONDS = "hazelcast.map.expiry.delay.seconds";
+    /**
+     * Number of records sampled to choose each record evicted by LRU or LFU eviction of a map. With the default 0
+     * all records of a partition are sorted to find the ones to evict; sampling makes the cost of an eviction
+     * independent of the partition size at the price of evicting approximately least used records.
+     */
+    public static final String PROP_MAP_EVICTION_SAMPLE_COUNT = "hazelcast.map.eviction.sample.count";
+    /**
+     * When sampling based eviction is enabled, makes LFU eviction estimate the access frequencies with an aging
+     * frequency sketch instead of the never decaying hit counts of the records.
+     */
+    public static final String PROP_MAP_EVICTION_FREQUENCY_SKETCH_ENABLED = "hazelcast.map.eviction.frequency.sketch.enabled";
     public static final String PROP_PARTITION_COUNT = "hazelcast.partition.count";
     public static final String PROP_LOGGING_TYPE = "hazelcast.logging.type";
     public static final String PROP_ENABLE_JMX = "hazelcast.jmx";
@@ -163,6 +204,12 @@ public class GroupProperties {
     public static final String PROP_PARTITION_MIGRATION_INTERVAL = "hazelcast.partition.migration.interval";
     public static final String PROP_PARTITION_MIGRATION_TIMEOUT = "hazelcast.partition.migration.timeout";
     public static final String PROP_PARTITION_MIGRATION_ZIP_ENABLED = "hazelcast.partition.migration.zip.enabled";
+    /**
+     * Approximate maximum size in kilobytes of the records sent in a single chunk while a partition is migrated
+     * or a backup replica is synchronized. Chunks are sent one after the other, each after the previous one is
+     * applied by the receiver. 0 sends all records of a partition at once.
+     */
+    public static final String PROP_PARTITION_MIGRATION_CHUNK_SIZE_KB = "hazelcast.partition.migration.chunk.size.kb";
     public static final String PROP_PARTITION_TABLE_SEND_INTERVAL = "hazelcast.partition.table.send.interval";
     public static final String PROP_PARTITION_BACKUP_SYNC_INTERVAL = "hazelcast.partition.backup.sync.interval";
     public static final String PROP_PARTITION_MAX_PARALLEL_REPLICATIONS
@@ -218,6 +265,36 @@ public class GroupProperties {
     public static final String PROP_ENTERPRISE_LICENSE_KEY = "hazelcast.enterprise.license.key";
     public static final String PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY = "hazelcast.map.write.behind.queue.capacity";
 
+    /**
+     * The number of store workers per write-behind map. Each worker stores the entries of its own share of the partitions,
+     * so the MapStore of the map is called by that many threads concurrently and must be thread-safe.
+     */
+    public static final String PROP_MAP_WRITE_BEHIND_WORKER_COUNT = "hazelcast.map.write.behind.worker.count";
+
+    /**
+     * The target latency in milliseconds of a single batch store call of a write-behind map. When set, each store worker
+     * halves its batch size when a batch takes longer and doubles it, up to the configured write batch size, when a full
+     * batch takes less than half of it. The default of 0 disables the adaptive batch size.
+     */
+    public static final String PROP_MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+            = "hazelcast.map.write.behind.batch.target.latency.millis";
+
+    /**
+     * The maximum time in milliseconds a write through a member proxy to a write-behind map waits for room when the
+     * write-behind queues of the member hold {@link #PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY} entries. The wait is done by the
+     * calling thread, never by a partition thread. A write still finding no room afterwards fails with a
+     * {@link com.hazelcast.map.ReachedMaxSizeException}, and later writes do not wait until the queues are below capacity.
+     */
+    public static final String PROP_MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS
+            = "hazelcast.map.write.behind.queue.full.max.wait.millis";
+
+    /**
+     * Whether {@link #PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY} also bounds the queues of write-coalescing maps.
+     * Disabled by default, so write-coalescing queues are unbounded.
+     */
+    public static final String PROP_MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED
+            = "hazelcast.map.write.behind.coalescing.queue.bounded";
+
     /**
      * Defines event queue capacity for WAN replication. Replication Events are dropped when queue capacity is reached.
      * Having too big queue capacity may lead to OOME problems,only valid for Hazelcast Enterprise
@@ -276,6 +353,38 @@ public class GroupProperties {
     public static final String PROP_ENTERPRISE_WAN_REP_OP_TIMEOUT_MILLIS
             = "hazelcast.enterprise.wanrep.optimeout.millis";
 
+    /**
+     * Defines the event queue capacity of the batching WAN replication endpoint
+     * {@link com.hazelcast.wan.impl.WanBatchReplication}. When the queue is full, the publishing thread is blocked
+     * until the queue drains; events are never dropped.
+     */
+    public static final String PROP_WAN_BATCH_QUEUE_CAPACITY = "hazelcast.wan.batch.queue.capacity";
+
+    /**
+     * Defines the maximum number of events sent to the target cluster in a single batch by
+     * {@link com.hazelcast.wan.impl.WanBatchReplication}.
+     */
+    public static final String PROP_WAN_BATCH_SIZE = "hazelcast.wan.batch.size";
+
+    /**
+     * Defines the maximum time in milliseconds {@link com.hazelcast.wan.impl.WanBatchReplication} waits for a batch
+     * to fill up before sending it.
+     */
+    public static final String PROP_WAN_BATCH_MAX_DELAY_MILLIS = "hazelcast.wan.batch.max.delay.millis";
+
+    /**
+     * Defines the maximum number of unacknowledged batches {@link com.hazelcast.wan.impl.WanBatchReplication}
+     * keeps in flight per target cluster. Map entries are split into this many stripes, each with at most one
+     * batch in flight, so the events of an entry are applied in order.
+     */
+    public static final String PROP_WAN_BATCH_MAX_IN_FLIGHT = "hazelcast.wan.batch.max.inflight";
+
+    /**
+     * Defines the timeout in milliseconds for the acknowledgement of a batch sent by
+     * {@link com.hazelcast.wan.impl.WanBatchReplication}. Unacknowledged batches are resent.
+     */
+    public static final String PROP_WAN_BATCH_ACK_TIMEOUT_MILLIS = "hazelcast.wan.batch.ack.timeout.millis";
+
     public static final String PROP_CLIENT_MAX_NO_HEARTBEAT_SECONDS = "hazelcast.client.max.no.heartbeat.seconds";
     public static final String PROP_MIGRATION_MIN_DELAY_ON_MEMBER_REMOVED_SECONDS
             = "hazelcast.migration.min.delay.on.member.removed.seconds";
@@ -400,6 +509,8 @@ public class GroupProperties {
 
     public final GroupProperty PARTITION_OPERATION_THREAD_COUNT;
 
+    public final GroupProperty PARTITION_OPERATION_THREAD_IDLE_STRATEGY;
+
     public final GroupProperty GENERIC_OPERATION_THREAD_COUNT;
 
     public final GroupProperty EVENT_THREAD_COUNT;
@@ -420,6 +531,10 @@ public class GroupProperties {
 
     public final GroupProperty EVENT_QUEUE_TIMEOUT_MILLIS;
 
+    public final GroupProperty EVENT_BATCH_SIZE;
+
+    public final GroupProperty EVENT_BATCH_MAX_DELAY_MILLIS;
+
     public final GroupProperty PREFER_IPv4_STACK;
 
     public final GroupProperty CONNECT_ALL_WAIT_SECONDS;
@@ -452,6 +567,10 @@ public class GroupProperties {
     // number of kilobytes
     public final GroupProperty SOCKET_SEND_BUFFER_SIZE;
 
+    public final GroupProperty SOCKET_BUFFER_DIRECT;
+
+    public final GroupProperty SOCKET_WRITE_GATHERING_BUFFER_COUNT;
+
     public final GroupProperty SOCKET_LINGER_SECONDS;
 
     public final GroupProperty SOCKET_CONNECT_TIMEOUT_SECONDS;
@@ -496,6 +615,10 @@ public class GroupProperties {
 
     public final GroupProperty MAP_EXPIRY_DELAY_SECONDS;
 
+    public final GroupProperty MAP_EVICTION_SAMPLE_COUNT;
+
+    public final GroupProperty MAP_EVICTION_FREQUENCY_SKETCH_ENABLED;
+
     public final GroupProperty PARTITION_COUNT;
 
     public final GroupProperty LOGGING_TYPE;
@@ -520,6 +643,8 @@ public class GroupProperties {
 
     public final GroupProperty PARTITION_MIGRATION_ZIP_ENABLED;
 
+    public final GroupProperty PARTITION_MIGRATION_CHUNK_SIZE_KB;
+
     public final GroupProperty PARTITION_TABLE_SEND_INTERVAL;
 
     public final GroupProperty PARTITION_BACKUP_SYNC_INTERVAL;
@@ -551,22 +676,35 @@ public class GroupProperties {
     public final GroupProperty ENTERPRISE_LICENSE_KEY;
 
     /**
-     * Setting this capacity is valid if you set
-     * {@link com.hazelcast.config.MapStoreConfig#writeCoalescing} to {@code false}. Otherwise
-     * its value will not be taken into account.
-     * <p/>
      * The per node maximum write-behind queue capacity is the total of all write-behind queue sizes in a node,
-     * including backups.
+     * including backups. Setting this capacity is valid if you set
+     * {@link com.hazelcast.config.MapStoreConfig#writeCoalescing} to {@code false}, or if you enable
+     * {@link #MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED}. Backups and replicated entries are counted but never rejected.
+     * Writes to full queues wait for room, see {@link #MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS}.
      * <p/>
      * The maximum value which can be set is {@link Integer#MAX_VALUE}
      */
     public final GroupProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY;
 
+    public final GroupProperty MAP_WRITE_BEHIND_WORKER_COUNT;
+
+    public final GroupProperty MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS;
+
+    public final GroupProperty MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS;
+
+    public final GroupProperty MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED;
+
     public final GroupProperty ENTERPRISE_WAN_REP_QUEUE_CAPACITY;
     public final GroupProperty ENTERPRISE_WAN_REP_BATCH_SIZE;
     public final GroupProperty ENTERPRISE_WAN_REP_BATCH_FREQUENCY_SECONDS;
     public final GroupProperty ENTERPRISE_WAN_REP_OP_TIMEOUT_MILLIS;
 
+    public final GroupProperty WAN_BATCH_QUEUE_CAPACITY;
+    public final GroupProperty WAN_BATCH_SIZE;
+    public final GroupProperty WAN_BATCH_MAX_DELAY_MILLIS;
+    public final GroupProperty WAN_BATCH_MAX_IN_FLIGHT;
+    public final GroupProperty WAN_BATCH_ACK_TIMEOUT_MILLIS;
+
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED;
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_SIZE;
     public final GroupProperty CACHE_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS;
@@ -601,10 +739,14 @@ public class GroupProperties {
 
         //-1 means that the value is worked out dynamically.
         PARTITION_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_PARTITION_OPERATION_THREAD_COUNT, "-1");
+        PARTITION_OPERATION_THREAD_IDLE_STRATEGY = new GroupProperty(config, PROP_PARTITION_OPERATION_THREAD_IDLE_STRATEGY,
+                "block");
         GENERIC_OPERATION_THREAD_COUNT = new GroupProperty(config, PROP_GENERIC_OPERATION_THREAD_COUNT, "-1");
         EVENT_THREAD_COUNT = new GroupProperty(config, PROP_EVENT_THREAD_COUNT, "5");
         EVENT_QUEUE_CAPACITY = new GroupProperty(config, PROP_EVENT_QUEUE_CAPACITY, "1000000");
         EVENT_QUEUE_TIMEOUT_MILLIS = new GroupProperty(config, PROP_EVENT_QUEUE_TIMEOUT_MILLIS, "250");
+        EVENT_BATCH_SIZE = new GroupProperty(config, PROP_EVENT_BATCH_SIZE, "1");
+        EVENT_BATCH_MAX_DELAY_MILLIS = new GroupProperty(config, PROP_EVENT_BATCH_MAX_DELAY_MILLIS, "10");
         CLIENT_ENGINE_THREAD_COUNT = new GroupProperty(config, PROP_CLIENT_ENGINE_THREAD_COUNT, "-1");
 
         CONNECT_ALL_WAIT_SECONDS = new GroupProperty(config, PROP_CONNECT_ALL_WAIT_SECONDS, "120");
@@ -622,6 +764,8 @@ public class GroupProperties {
         SOCKET_CLIENT_BIND = new GroupProperty(config, PROP_SOCKET_CLIENT_BIND, "true");
         SOCKET_RECEIVE_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_RECEIVE_BUFFER_SIZE, "32");
         SOCKET_SEND_BUFFER_SIZE = new GroupProperty(config, PROP_SOCKET_SEND_BUFFER_SIZE, "32");
+        SOCKET_BUFFER_DIRECT = new GroupProperty(config, PROP_SOCKET_BUFFER_DIRECT, "false");
+        SOCKET_WRITE_GATHERING_BUFFER_COUNT = new GroupProperty(config, PROP_SOCKET_WRITE_GATHERING_BUFFER_COUNT, "1");
         SOCKET_LINGER_SECONDS = new GroupProperty(config, PROP_SOCKET_LINGER_SECONDS, "0");
         SOCKET_CONNECT_TIMEOUT_SECONDS = new GroupProperty(config, PROP_SOCKET_CONNECT_TIMEOUT_SECONDS, "0");
         SOCKET_KEEP_ALIVE = new GroupProperty(config, PROP_SOCKET_KEEP_ALIVE, "true");
@@ -647,6 +791,9 @@ public class GroupProperties {
         MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS
                 = new GroupProperty(config, PROP_MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS, "10");
         MAP_EXPIRY_DELAY_SECONDS = new GroupProperty(config, PROP_MAP_EXPIRY_DELAY_SECONDS, "10");
+        MAP_EVICTION_SAMPLE_COUNT = new GroupProperty(config, PROP_MAP_EVICTION_SAMPLE_COUNT, "0");
+        MAP_EVICTION_FREQUENCY_SKETCH_ENABLED = new GroupProperty(config, PROP_MAP_EVICTION_FREQUENCY_SKETCH_ENABLED,
+                "false");
         PARTITION_COUNT = new GroupProperty(config, PROP_PARTITION_COUNT, "271");
         LOGGING_TYPE = new GroupProperty(config, PROP_LOGGING_TYPE, "jdk");
         ENABLE_JMX = new GroupProperty(config, PROP_ENABLE_JMX, "false");
@@ -659,6 +806,7 @@ public class GroupProperties {
         PARTITION_MIGRATION_INTERVAL = new GroupProperty(config, PROP_PARTITION_MIGRATION_INTERVAL, "0");
         PARTITION_MIGRATION_TIMEOUT = new GroupProperty(config, PROP_PARTITION_MIGRATION_TIMEOUT, "300");
         PARTITION_MIGRATION_ZIP_ENABLED = new GroupProperty(config, PROP_PARTITION_MIGRATION_ZIP_ENABLED, "true");
+        PARTITION_MIGRATION_CHUNK_SIZE_KB = new GroupProperty(config, PROP_PARTITION_MIGRATION_CHUNK_SIZE_KB, "4096");
         PARTITION_TABLE_SEND_INTERVAL = new GroupProperty(config, PROP_PARTITION_TABLE_SEND_INTERVAL, "15");
         PARTITION_BACKUP_SYNC_INTERVAL = new GroupProperty(config, PROP_PARTITION_BACKUP_SYNC_INTERVAL, "30");
         PARTITION_MAX_PARALLEL_REPLICATIONS = new GroupProperty(config, PROP_PARTITION_MAX_PARALLEL_REPLICATIONS, "5");
@@ -685,6 +833,13 @@ public class GroupProperties {
         ENTERPRISE_LICENSE_KEY = new GroupProperty(config, PROP_ENTERPRISE_LICENSE_KEY);
         MAP_WRITE_BEHIND_QUEUE_CAPACITY
                 = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY, "50000");
+        MAP_WRITE_BEHIND_WORKER_COUNT = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_WORKER_COUNT, "1");
+        MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+                = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS, "0");
+        MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS
+                = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS, "1000");
+        MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED
+                = new GroupProperty(config, PROP_MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED, "false");
 
         ENTERPRISE_WAN_REP_QUEUE_CAPACITY = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_QUEUE_CAPACITY, "100000");
         ENTERPRISE_WAN_REP_BATCH_SIZE = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_BATCH_SIZE, "50");
@@ -692,6 +847,12 @@ public class GroupProperties {
                 = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_BATCH_FREQUENCY_SECONDS, "5");
         ENTERPRISE_WAN_REP_OP_TIMEOUT_MILLIS = new GroupProperty(config, PROP_ENTERPRISE_WAN_REP_OP_TIMEOUT_MILLIS, "60000");
 
+        WAN_BATCH_QUEUE_CAPACITY = new GroupProperty(config, PROP_WAN_BATCH_QUEUE_CAPACITY, "100000");
+        WAN_BATCH_SIZE = new GroupProperty(config, PROP_WAN_BATCH_SIZE, "500");
+        WAN_BATCH_MAX_DELAY_MILLIS = new GroupProperty(config, PROP_WAN_BATCH_MAX_DELAY_MILLIS, "1000");
+        WAN_BATCH_MAX_IN_FLIGHT = new GroupProperty(config, PROP_WAN_BATCH_MAX_IN_FLIGHT, "4");
+        WAN_BATCH_ACK_TIMEOUT_MILLIS = new GroupProperty(config, PROP_WAN_BATCH_ACK_TIMEOUT_MILLIS, "60000");
+
         CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED
                 = new GroupProperty(config, PROP_CACHE_INVALIDATION_MESSAGE_BATCH_ENABLED, "true");
         CACHE_INVALIDATION_MESSAGE_BATCH_SIZE
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+
+/**
+ * Reference to a value stored by {@link OffHeapStorage}.
+ * <p/>
+ * Values that fit in a page occupy a single block, larger values are chained over several page sized blocks.
+ * All fields except {@code released} are immutable, {@code released} is guarded by the lock of the owning segment.
+ */
+final class OffHeapDataRef implements DataRef {
+
+    // object header (12) + length (4) + address (8) + chain reference (4) + released (1), aligned to 8 bytes
+    private static final int SHALLOW_HEAP_COST = 32;
+    // array header (12) + array length (4)
+    private static final int ARRAY_HEADER_HEAP_COST = 16;
+    private static final int LONG_HEAP_COST = 8;
+
+    final int length;
+    final long address;
+    final long[] chain;
+
+    boolean released;
+
+    OffHeapDataRef(int length, long address, long[] chain) {
+        this.length = length;
+        this.address = address;
+        this.chain = chain;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public int heapCost() {
+        if (chain == null) {
+            return SHALLOW_HEAP_COST;
+        }
+        return SHALLOW_HEAP_COST + ARRAY_HEADER_HEAP_COST + chain.length * LONG_HEAP_COST;
+    }
+}
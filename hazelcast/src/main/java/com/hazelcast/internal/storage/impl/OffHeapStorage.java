@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.internal.storage.Storage;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultData;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * {@link Storage} implementation keeping serialized values outside of the Java heap.
+ * <p/>
+ * Memory is taken from the OS in pages of direct {@link ByteBuffer}s and carved by a slab allocator into blocks of
+ * power-of-two size classes, ranging from the minimum block size up to the page size. A value is copied into the
+ * smallest block it fits in; values larger than a page are chained over several page sized blocks. Each page holds
+ * blocks of a single size class. Freed blocks are reused by later allocations of their class, and a page whose blocks
+ * are all free goes back to a pool shared by all segments and size classes. So the memory of a class whose values went
+ * away can be reused when value sizes shift. Pages are never given back to the OS until the storage is destroyed.
+ * <p/>
+ * Storage is split into segments selected by the hash passed by the caller (the partition hash of the key), so that
+ * partition threads rarely contend with each other. Each segment owns its pages and is guarded by its own lock.
+ * <p/>
+ * Pages are allocated lazily, so the JVM has to be started with a {@code -XX:MaxDirectMemorySize} large enough for the
+ * configured {@link NativeMemoryConfig#getSize() native memory size}.
+ */
+public class OffHeapStorage implements Storage<DataRef> {
+
+    static final int SEGMENT_COUNT = 16;
+
+    private static final int ADDRESS_SHIFT = 32;
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private final long capacity;
+    private final int pageSize;
+    private final int minBlockSizePower;
+    private final int sizeClassCount;
+    private final Segment[] segments;
+
+    // pages without allocated blocks, shared by all segments and size classes
+    private final Queue<ByteBuffer> freePages = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicLong committedMemory = new AtomicLong();
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    private volatile boolean destroyed;
+
+    public OffHeapStorage(NativeMemoryConfig config) {
+        this(config.getSize().bytes(), config.getPageSize(), config.getMinBlockSize());
+    }
+
+    public OffHeapStorage(long capacity, int pageSize, int minBlockSize) {
+        checkPositive(capacity, "Capacity should be positive");
+        checkPositive(pageSize, "Page size should be positive");
+        checkPositive(minBlockSize, "Minimum block size should be positive");
+        if (!isPowerOfTwo(pageSize)) {
+            throw new IllegalArgumentException("Page size should be a power of two! -> " + pageSize);
+        }
+        if (minBlockSize > pageSize) {
+            throw new IllegalArgumentException("Minimum block size " + minBlockSize
+                    + " cannot be greater than page size " + pageSize);
+        }
+        this.capacity = capacity;
+        this.pageSize = pageSize;
+        this.minBlockSizePower = log2(nextPowerOfTwo(minBlockSize));
+        this.sizeClassCount = log2(pageSize) - minBlockSizePower + 1;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public DataRef put(int hash, Data data) {
+        byte[] bytes = data.toByteArray();
+        return segmentFor(hash).put(bytes == null ? new byte[0] : bytes);
+    }
+
+    @Override
+    public Data get(int hash, DataRef ref) {
+        byte[] bytes = segmentFor(hash).get((OffHeapDataRef) ref);
+        return bytes == null ? null : new DefaultData(bytes);
+    }
+
+    @Override
+    public void remove(int hash, DataRef ref) {
+        segmentFor(hash).remove((OffHeapDataRef) ref);
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+        for (Segment segment : segments) {
+            segment.destroy();
+        }
+        while (freePages.poll() != null) {
+            committedMemory.addAndGet(-pageSize);
+        }
+    }
+
+    /**
+     * @return the number of bytes held by allocated blocks
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the number of bytes held by pages taken from the OS
+     */
+    public long getCommittedMemory() {
+        return committedMemory.get();
+    }
+
+    /**
+     * @return the maximum number of bytes this storage may take from the OS
+     */
+    public long getMaxMemory() {
+        return capacity;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash & Integer.MAX_VALUE) % SEGMENT_COUNT];
+    }
+
+    int sizeClassOf(int length) {
+        if (length <= (1 << minBlockSizePower)) {
+            return 0;
+        }
+        return log2(nextPowerOfTwo(length)) - minBlockSizePower;
+    }
+
+    private int blockSizeOf(int sizeClass) {
+        return 1 << (minBlockSizePower + sizeClass);
+    }
+
+    private void reservePage() {
+        long committed = committedMemory.addAndGet(pageSize);
+        if (committed > capacity) {
+            committedMemory.addAndGet(-pageSize);
+            throw new NativeOutOfMemoryError("Cannot allocate a page of " + pageSize + " bytes, committed: "
+                    + (committed - pageSize) + ", capacity: " + capacity);
+        }
+    }
+
+    private ByteBuffer allocatePage() {
+        ByteBuffer page = freePages.poll();
+        if (page != null) {
+            return page;
+        }
+        reservePage();
+        try {
+            return ByteBuffer.allocateDirect(pageSize);
+        } catch (OutOfMemoryError e) {
+            committedMemory.addAndGet(-pageSize);
+            throw new NativeOutOfMemoryError("Cannot allocate a direct buffer of " + pageSize
+                    + " bytes, check -XX:MaxDirectMemorySize", e);
+        }
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Page> pages = new ArrayList<Page>();
+        private final IntStack freePageIndexes = new IntStack();
+        // per size class, the head of the list of pages having a free block
+        private final Page[] availablePages = new Page[sizeClassCount];
+
+        OffHeapDataRef put(byte[] bytes) {
+            int length = bytes.length;
+            lock.lock();
+            try {
+                ensureNotDestroyed();
+                if (length <= pageSize) {
+                    long address = allocate(sizeClassOf(length));
+                    write(address, bytes, 0, length);
+                    return new OffHeapDataRef(length, address, null);
+                }
+                return putChained(bytes);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private OffHeapDataRef putChained(byte[] bytes) {
+            int length = bytes.length;
+            int topClass = sizeClassCount - 1;
+            long[] chain = new long[(length + pageSize - 1) / pageSize];
+            int allocated = 0;
+            try {
+                for (; allocated < chain.length; allocated++) {
+                    chain[allocated] = allocate(topClass);
+                }
+            } catch (NativeOutOfMemoryError e) {
+                for (int i = 0; i < allocated; i++) {
+                    free(chain[i]);
+                }
+                throw e;
+            }
+            for (int i = 0; i < chain.length; i++) {
+                int offset = i * pageSize;
+                write(chain[i], bytes, offset, Math.min(pageSize, length - offset));
+            }
+            return new OffHeapDataRef(length, chain[0], chain);
+        }
+
+        byte[] get(OffHeapDataRef ref) {
+            lock.lock();
+            try {
+                if (ref.released || destroyed) {
+                    return null;
+                }
+                byte[] bytes = new byte[ref.length];
+                if (ref.chain == null) {
+                    read(ref.address, bytes, 0, ref.length);
+                } else {
+                    for (int i = 0; i < ref.chain.length; i++) {
+                        int offset = i * pageSize;
+                        read(ref.chain[i], bytes, offset, Math.min(pageSize, ref.length - offset));
+                    }
+                }
+                return bytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(OffHeapDataRef ref) {
+            lock.lock();
+            try {
+                if (ref.released || destroyed) {
+                    return;
+                }
+                ref.released = true;
+                if (ref.chain == null) {
+                    free(ref.address);
+                } else {
+                    for (long address : ref.chain) {
+                        free(address);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void destroy() {
+            lock.lock();
+            try {
+                long usedBytes = 0;
+                long pageBytes = 0;
+                for (Page page : pages) {
+                    if (page != null) {
+                        // blocks still referenced by records are released together with their pages
+                        usedBytes += (long) page.usedBlocks * page.blockSize;
+                        pageBytes += pageSize;
+                    }
+                }
+                usedMemory.addAndGet(-usedBytes);
+                committedMemory.addAndGet(-pageBytes);
+                pages.clear();
+                freePageIndexes.clear();
+                Arrays.fill(availablePages, null);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long allocate(int sizeClass) {
+            Page page = availablePages[sizeClass];
+            if (page == null) {
+                page = assignPage(sizeClass);
+            }
+            int offset = page.allocate();
+            if (page.isFull()) {
+                unlink(page);
+            }
+            usedMemory.addAndGet(page.blockSize);
+            return ((long) page.index << ADDRESS_SHIFT) | offset;
+        }
+
+        private void free(long address) {
+            Page page = pages.get((int) (address >>> ADDRESS_SHIFT));
+            boolean wasFull = page.isFull();
+            page.free((int) (address & OFFSET_MASK));
+            usedMemory.addAndGet(-page.blockSize);
+            if (page.isEmpty()) {
+                if (!wasFull) {
+                    unlink(page);
+                }
+                releasePage(page);
+            } else if (wasFull) {
+                link(page);
+            }
+        }
+
+        /**
+         * Takes a page from the pool shared by all segments, or from the OS, and dedicates it to a size class.
+         */
+        private Page assignPage(int sizeClass) {
+            ByteBuffer buffer = allocatePage();
+            int index;
+            if (freePageIndexes.isEmpty()) {
+                index = pages.size();
+                pages.add(null);
+            } else {
+                index = freePageIndexes.pop();
+            }
+            Page page = new Page(index, sizeClass, blockSizeOf(sizeClass), buffer);
+            pages.set(index, page);
+            link(page);
+            return page;
+        }
+
+        /**
+         * Gives a page without allocated blocks back to the shared pool, so any size class of any segment can reuse it.
+         */
+        private void releasePage(Page page) {
+            pages.set(page.index, null);
+            freePageIndexes.push(page.index);
+            freePages.offer(page.buffer);
+        }
+
+        private void link(Page page) {
+            Page head = availablePages[page.sizeClass];
+            page.next = head;
+            if (head != null) {
+                head.prev = page;
+            }
+            availablePages[page.sizeClass] = page;
+        }
+
+        private void unlink(Page page) {
+            if (page.prev == null) {
+                availablePages[page.sizeClass] = page.next;
+            } else {
+                page.prev.next = page.next;
+            }
+            if (page.next != null) {
+                page.next.prev = page.prev;
+            }
+            page.prev = null;
+            page.next = null;
+        }
+
+        private void write(long address, byte[] bytes, int offset, int length) {
+            ByteBuffer buffer = pages.get((int) (address >>> ADDRESS_SHIFT)).buffer;
+            buffer.position((int) (address & OFFSET_MASK));
+            buffer.put(bytes, offset, length);
+        }
+
+        private void read(long address, byte[] bytes, int offset, int length) {
+            ByteBuffer buffer = pages.get((int) (address >>> ADDRESS_SHIFT)).buffer;
+            buffer.position((int) (address & OFFSET_MASK));
+            buffer.get(bytes, offset, length);
+        }
+
+        private void ensureNotDestroyed() {
+            if (destroyed) {
+                throw new IllegalStateException("Off-heap storage is already destroyed!");
+            }
+        }
+    }
+
+    /**
+     * A page dedicated to the blocks of one size class. Blocks are carved from the page on demand; freed blocks are
+     * kept on a free list of the page, so the page can be released once all of its blocks are free.
+     */
+    private static final class Page {
+
+        final int index;
+        final int sizeClass;
+        final int blockSize;
+        final ByteBuffer buffer;
+        final IntStack freeOffsets = new IntStack();
+
+        int carvedOffset;
+        int usedBlocks;
+
+        Page prev;
+        Page next;
+
+        Page(int index, int sizeClass, int blockSize, ByteBuffer buffer) {
+            this.index = index;
+            this.sizeClass = sizeClass;
+            this.blockSize = blockSize;
+            this.buffer = buffer;
+        }
+
+        int allocate() {
+            usedBlocks++;
+            if (!freeOffsets.isEmpty()) {
+                return freeOffsets.pop();
+            }
+            int offset = carvedOffset;
+            carvedOffset += blockSize;
+            return offset;
+        }
+
+        void free(int offset) {
+            usedBlocks--;
+            freeOffsets.push(offset);
+        }
+
+        boolean isFull() {
+            return freeOffsets.isEmpty() && carvedOffset == buffer.capacity();
+        }
+
+        boolean isEmpty() {
+            return usedBlocks == 0;
+        }
+    }
+
+    /**
+     * Growable stack of ints.
+     */
+    private static final class IntStack {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] elements = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void push(int value) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size << 1);
+            }
+            elements[size++] = value;
+        }
+
+        int pop() {
+            return elements[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            elements = new int[INITIAL_CAPACITY];
+            size = 0;
+        }
+    }
+}
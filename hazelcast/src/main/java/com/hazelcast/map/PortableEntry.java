@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.nio.serialization.PortableReader;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A map entry which exposes its {@link com.hazelcast.nio.serialization.Portable} value in serialized form.
+ * <p/>
+ * Entries of this type are passed to {@link com.hazelcast.map.EntryProcessor}s and
+ * {@link com.hazelcast.map.EntryBackupProcessor}s implementing {@link com.hazelcast.map.PortableEntryAware}.
+ * Fields can be read with {@link #getReader()} and fixed-size fields can be updated with the setters
+ * without deserializing the value. {@link #getValue()} still returns the deserialized value, so processors
+ * which only use the binary view never pay for deserialization.
+ * <p/>
+ * Calling any of the setters marks the entry as updated in the same way {@link #setValue(Object)} does.
+ * A subsequent {@link #setValue(Object)} discards field updates done before it.
+ *
+ * @param <K> Type of key of a {@link java.util.Map.Entry}
+ * @see com.hazelcast.map.PortableEntryAware
+ */
+public interface PortableEntry<K> extends Map.Entry<K, Object> {
+
+    /**
+     * Returns a reader on the serialized value of this entry, reflecting field updates done so far.
+     *
+     * @return reader on the value or {@code null} if the entry has no value or the value is not a portable.
+     * @throws IOException if the value can not be read.
+     */
+    PortableReader getReader() throws IOException;
+
+    void setInt(String fieldName, int value) throws IOException;
+
+    void setLong(String fieldName, long value) throws IOException;
+
+    void setShort(String fieldName, short value) throws IOException;
+
+    void setChar(String fieldName, char value) throws IOException;
+
+    void setByte(String fieldName, byte value) throws IOException;
+
+    void setBoolean(String fieldName, boolean value) throws IOException;
+
+    void setFloat(String fieldName, float value) throws IOException;
+
+    void setDouble(String fieldName, double value) throws IOException;
+}
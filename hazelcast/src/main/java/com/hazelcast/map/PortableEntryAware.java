@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+/**
+ * Marker for {@link com.hazelcast.map.EntryProcessor}s and {@link com.hazelcast.map.EntryBackupProcessor}s
+ * which work on the serialized form of {@link com.hazelcast.nio.serialization.Portable} values.
+ * <p/>
+ * Processors implementing this interface receive {@link com.hazelcast.map.PortableEntry} instances, whose values
+ * are only deserialized when {@link java.util.Map.Entry#getValue()} is called. Values updated through the
+ * entry setters are stored as they are, without being serialized again.
+ *
+ * @see com.hazelcast.map.PortableEntry
+ */
+public interface PortableEntryAware {
+}
@@ -20,6 +20,7 @@ import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
+import com.hazelcast.map.impl.eviction.FrequencySketch;
 import com.hazelcast.map.impl.eviction.MaxSizeChecker;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.Data;
@@ -80,6 +81,16 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     private final long backupExpiryDelayMillis;
 
+    /**
+     * Number of records sampled per evicted record, 0 if eviction sorts all records.
+     */
+    private final int evictionSampleCount;
+
+    /**
+     * Estimates access frequencies for sampling based LFU eviction, null if not used.
+     */
+    private final FrequencySketch frequencySketch;
+
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
         super(mapContainer, partitionId);
         final MapConfig mapConfig = mapContainer.getMapConfig();
@@ -88,6 +99,10 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         this.evictionEnabled = !EvictionPolicy.NONE.equals(evictionPolicy);
         this.expirable = isRecordStoreExpirable();
         this.backupExpiryDelayMillis = getBackupExpiryDelayMillis();
+        GroupProperties groupProperties = mapServiceContext.getNodeEngine().getGroupProperties();
+        this.evictionSampleCount = Math.max(0, groupProperties.MAP_EVICTION_SAMPLE_COUNT.getInteger());
+        this.frequencySketch = evictionSampleCount > 0 && EvictionPolicy.LFU.equals(evictionPolicy)
+                && groupProperties.MAP_EVICTION_FREQUENCY_SKETCH_ENABLED.getBoolean() ? new FrequencySketch(0) : null;
     }
 
     private boolean isRecordStoreExpirable() {
@@ -234,7 +249,12 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
             return;
         }
         final MapConfig mapConfig = mapContainer.getMapConfig();
-        getEvictionOperator().removeEvictableRecords(this, evictableSize, mapConfig, backup);
+        if (evictionSampleCount > 0) {
+            getEvictionOperator().removeEvictableRecordsBySampling(this, evictableSize, mapConfig,
+                    evictionSampleCount, frequencySketch, backup);
+        } else {
+            getEvictionOperator().removeEvictableRecords(this, evictableSize, mapConfig, backup);
+        }
     }
 
     private int getEvictableSize() {
@@ -377,6 +397,10 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     protected void accessRecord(Record record, long now) {
         super.accessRecord(record, now);
         increaseRecordEvictionCriteriaNumber(record, evictionPolicy);
+        if (frequencySketch != null) {
+            frequencySketch.ensureCapacity(size());
+            frequencySketch.increment(record.getKey().hashCode());
+        }
 
         final long maxIdleMillis = mapContainer.getMaxIdleMillis();
         setExpirationTime(record, maxIdleMillis);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the entries of a map matching a predicate, which keeps at most one page of entries in memory.
+ * <p/>
+ * The partitions are iterated one by one. The entries of a partition are fetched in pages of a fixed size together
+ * with the cursor the scan stopped at, and the next page is fetched by resuming the scan of the partition from
+ * that cursor. Unlike {@link com.hazelcast.query.PagingPredicate} the predicate is never evaluated twice on an entry
+ * and no sorting takes place, so a large result set can be processed with bounded memory on both sides.
+ * <p/>
+ * The iteration is weakly consistent: entries changed during the iteration may or may not be returned. The cursor
+ * is based on key hashes rather than slots, so no entry that exists during the whole iteration is missed when a
+ * partition is resized or migrated between two pages, but a shrink may cause entries to be returned twice.
+ * The iterator is read-only.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ * @see MapQueryIteratorResult
+ * @see com.hazelcast.map.impl.record.SingleWriterRecordMap#fetch(int, int, java.util.List)
+ */
+public abstract class AbstractMapQueryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    protected final int partitionCount;
+    protected final int fetchSize;
+
+    private int partitionIndex = -1;
+    private int lastTableIndex = -1;
+    private MapQueryIteratorResult result;
+    private int index;
+
+    protected AbstractMapQueryIterator(int partitionCount, int fetchSize) {
+        this.partitionCount = partitionCount;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (result != null && index < result.getCount()) {
+            return true;
+        }
+        return advance();
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        K key = toObject(result.getKey(index));
+        V value = toObject(result.getValue(index));
+        index++;
+        return new AbstractMap.SimpleImmutableEntry<K, V>(key, value);
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove() is not supported by this iterator");
+    }
+
+    private boolean advance() {
+        while (true) {
+            if (lastTableIndex < 0) {
+                partitionIndex++;
+                if (partitionIndex >= partitionCount) {
+                    result = null;
+                    return false;
+                }
+                lastTableIndex = 0;
+            }
+            result = fetch(partitionIndex, lastTableIndex);
+            lastTableIndex = result.getTableIndex();
+            index = 0;
+            if (result.getCount() > 0) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Fetches the next page of a partition.
+     *
+     * @param partitionId partition to fetch from
+     * @param tableIndex  cursor to resume from
+     * @return the page
+     */
+    protected abstract MapQueryIteratorResult fetch(int partitionId, int tableIndex);
+
+    protected abstract <T> T toObject(Data data);
+}
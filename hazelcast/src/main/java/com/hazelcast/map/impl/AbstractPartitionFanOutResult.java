@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Base class for the result of a partition fan-out on a member: the ids of the partitions the result covers,
+ * followed by the result itself. {@code partitionIds} is {@code null} if the partition table changed while
+ * the member was evaluating, in that case the result is dropped and the partitions are evaluated one by one.
+ */
+public abstract class AbstractPartitionFanOutResult implements DataSerializable {
+
+    private Collection<Integer> partitionIds;
+
+    public AbstractPartitionFanOutResult() {
+    }
+
+    public AbstractPartitionFanOutResult(Collection<Integer> partitionIds) {
+        this.partitionIds = partitionIds;
+    }
+
+    public Collection<Integer> getPartitionIds() {
+        return partitionIds;
+    }
+
+    protected abstract void writeResult(ObjectDataOutput out) throws IOException;
+
+    protected abstract void readResult(ObjectDataInput in) throws IOException;
+
+    @Override
+    public final void writeData(ObjectDataOutput out) throws IOException {
+        int partitionSize = (partitionIds == null) ? -1 : partitionIds.size();
+        out.writeInt(partitionSize);
+        if (partitionSize > 0) {
+            for (Integer partitionId : partitionIds) {
+                out.writeInt(partitionId);
+            }
+        }
+        writeResult(out);
+    }
+
+    @Override
+    public final void readData(ObjectDataInput in) throws IOException {
+        int partitionSize = in.readInt();
+        if (partitionSize >= 0) {
+            partitionIds = new ArrayList<Integer>(partitionSize);
+            for (int i = 0; i < partitionSize; i++) {
+                partitionIds.add(in.readInt());
+            }
+        }
+        readResult(in);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Partial result of an aggregation on a member: the combined aggregator of the member and the ids of the
+ * partitions it covers.
+ */
+public class AggregationResult extends AbstractPartitionFanOutResult {
+
+    private Aggregator aggregator;
+
+    public AggregationResult() {
+    }
+
+    public AggregationResult(Aggregator aggregator, Collection<Integer> partitionIds) {
+        super(partitionIds);
+        this.aggregator = aggregator;
+    }
+
+    public Aggregator getAggregator() {
+        return aggregator;
+    }
+
+    @Override
+    protected void writeResult(ObjectDataOutput out) throws IOException {
+        out.writeObject(aggregator);
+    }
+
+    @Override
+    protected void readResult(ObjectDataInput in) throws IOException {
+        aggregator = in.readObject();
+    }
+}
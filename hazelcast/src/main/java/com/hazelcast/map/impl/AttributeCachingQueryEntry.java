@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.QueryEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link QueryEntry} which remembers extracted attribute values, so predicates of many listeners evaluated
+ * against the same event read each attribute only once. Not thread-safe, used within a single event publication.
+ */
+class AttributeCachingQueryEntry extends QueryEntry {
+
+    private static final Comparable NULL_ATTRIBUTE = new Comparable() {
+        @Override
+        public int compareTo(Object o) {
+            return 0;
+        }
+    };
+
+    private Map<String, Comparable> attributes;
+
+    AttributeCachingQueryEntry(SerializationService serializationService, Data key, Object value) {
+        super(serializationService, key, key, value);
+    }
+
+    @Override
+    public Comparable getAttribute(String attributeName) throws QueryException {
+        if (attributes == null) {
+            attributes = new HashMap<String, Comparable>();
+        }
+        Comparable attribute = attributes.get(attributeName);
+        if (attribute == null) {
+            attribute = super.getAttribute(attributeName);
+            attributes.put(attributeName, attribute == null ? NULL_ATTRIBUTE : attribute);
+            return attribute;
+        }
+        return attribute == NULL_ATTRIBUTE ? null : attribute;
+    }
+}
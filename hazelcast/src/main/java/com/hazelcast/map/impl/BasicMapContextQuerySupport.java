@@ -16,14 +16,20 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.operation.AggregationOperation;
+import com.hazelcast.map.impl.operation.AggregationPartitionOperation;
+import com.hazelcast.map.impl.operation.ProjectionOperation;
+import com.hazelcast.map.impl.operation.ProjectionPartitionOperation;
 import com.hazelcast.map.impl.operation.QueryOperation;
 import com.hazelcast.map.impl.operation.QueryPartitionOperation;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.Predicate;
@@ -53,12 +59,15 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Support methods which are used in map specific query operations.
  */
 class BasicMapContextQuerySupport implements MapContextQuerySupport {
 
+    private static final long FAN_OUT_CALL_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final MapServiceContext mapServiceContext;
     private final NodeEngine nodeEngine;
     private final ILogger logger;
@@ -104,6 +113,78 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return getPage(queryEntries, pagingPredicate);
     }
 
+    @Override
+    public MapQueryIteratorResult queryOnPartition(String mapName, Predicate predicate, int partitionId,
+                                                   int tableIndex, int fetchSize) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(mapName);
+        List<Data> keys = new ArrayList<Data>();
+        List<Data> values = new ArrayList<Data>();
+        List<Record> records = new ArrayList<Record>(fetchSize);
+        long now = getNow();
+        int nextTableIndex = tableIndex;
+        // never fetch more records than the missing matches, so the page ends at the last scanned hash bucket
+        while (nextTableIndex >= 0 && keys.size() < fetchSize) {
+            records.clear();
+            nextTableIndex = recordStore.fetch(nextTableIndex, fetchSize - keys.size(), now, records);
+            for (Record record : records) {
+                Data key = record.getKey();
+                Object value = getValueOrCachedValue(record);
+                if (value == null) {
+                    continue;
+                }
+                QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
+                if (predicate.apply(queryEntry)) {
+                    keys.add(key);
+                    values.add(serializationService.toData(record.getValue()));
+                }
+            }
+        }
+        return new MapQueryIteratorResult(keys, values, nextTableIndex);
+    }
+
+    @Override
+    public Aggregator aggregateOnPartition(String mapName, Predicate predicate, Aggregator aggregator, int partitionId) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        Iterator<Record> iterator = container.getRecordStore(mapName).loadAwareIterator(getNow(), false);
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            Data key = record.getKey();
+            Object value = getValueOrCachedValue(record);
+            if (value == null) {
+                continue;
+            }
+            QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
+            if (predicate.apply(queryEntry)) {
+                aggregator.accumulate(queryEntry);
+            }
+        }
+        return aggregator;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Data> projectOnPartition(String mapName, Predicate predicate, Projection projection, int partitionId) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        List<Data> result = new ArrayList<Data>();
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        Iterator<Record> iterator = container.getRecordStore(mapName).loadAwareIterator(getNow(), false);
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            Data key = record.getKey();
+            Object value = getValueOrCachedValue(record);
+            if (value == null) {
+                continue;
+            }
+            QueryEntry queryEntry = new QueryEntry(serializationService, key, key, value);
+            if (predicate.apply(queryEntry)) {
+                result.add(serializationService.toData(projection.transform(queryEntry)));
+            }
+        }
+        return result;
+    }
+
     private Object getValueOrCachedValue(Record record) {
         Object value = record.getCachedValue();
         if (value == Record.NOT_CACHED) {
@@ -283,6 +364,98 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return result;
     }
 
+    /**
+     * Runs the aggregation on all members and merges their results. Partitions not covered by a member result,
+     * because of a failure or a migration, are aggregated one by one afterwards.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(String mapName, Aggregator<?, R> aggregator, Predicate predicate) {
+        checkIfNotPagingPredicate(predicate);
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        Data aggregatorData = serializationService.toData(aggregator);
+        Aggregator<?, R> result = serializationService.toObject(aggregatorData);
+        Set<Integer> partitionIds = getAllPartitionIds();
+
+        try {
+            List<Future<AggregationResult>> futures = aggregateOnMembers(mapName, aggregatorData, predicate);
+            for (Future<AggregationResult> future : futures) {
+                AggregationResult memberResult = future.get();
+                Collection<Integer> memberPartitionIds = memberResult.getPartitionIds();
+                // a member result overlapping with an already merged one is dropped, its partitions are retried below
+                if (memberPartitionIds != null && partitionIds.containsAll(memberPartitionIds)) {
+                    partitionIds.removeAll(memberPartitionIds);
+                    result.combine(memberResult.getAggregator());
+                }
+            }
+            if (partitionIds.isEmpty()) {
+                return result.aggregate();
+            }
+        } catch (Throwable t) {
+            logger.warning("Could not get aggregation results", t);
+        }
+
+        try {
+            OperationService operationService = nodeEngine.getOperationService();
+            List<Future<Aggregator>> futures = new ArrayList<Future<Aggregator>>(partitionIds.size());
+            for (Integer partitionId : partitionIds) {
+                AggregationPartitionOperation operation = new AggregationPartitionOperation(mapName, aggregatorData, predicate);
+                futures.add(operationService.<Aggregator>invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId));
+            }
+            for (Future<Aggregator> future : futures) {
+                result.combine(future.get());
+            }
+        } catch (Throwable t) {
+            throw ExceptionUtil.rethrow(t);
+        }
+        return result.aggregate();
+    }
+
+    /**
+     * Runs the projection on all members and collects their results. Partitions not covered by a member result,
+     * because of a failure or a migration, are projected one by one afterwards.
+     */
+    @Override
+    public <R> Collection<R> project(String mapName, Projection<?, R> projection, Predicate predicate) {
+        List<Data> projected = projectToData(mapName, projection, predicate);
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        List<R> result = new ArrayList<R>(projected.size());
+        for (Data data : projected) {
+            result.add(serializationService.<R>toObject(data));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Data> projectToData(String mapName, Projection projection, Predicate predicate) {
+        checkIfNotPagingPredicate(predicate);
+        List<Data> projected = new ArrayList<Data>();
+        Set<Integer> partitionIds = getAllPartitionIds();
+
+        try {
+            List<Future<ProjectionResult>> futures = projectOnMembers(mapName, projection, predicate);
+            addResultsOfProjection(futures, projected, partitionIds);
+        } catch (Throwable t) {
+            logger.warning("Could not get projection results", t);
+        }
+
+        if (!partitionIds.isEmpty()) {
+            try {
+                OperationService operationService = nodeEngine.getOperationService();
+                List<Future<ProjectionResult>> futures = new ArrayList<Future<ProjectionResult>>(partitionIds.size());
+                for (Integer partitionId : partitionIds) {
+                    ProjectionPartitionOperation operation = new ProjectionPartitionOperation(mapName, projection, predicate);
+                    futures.add(operationService.<ProjectionResult>invokeOnPartition(MapService.SERVICE_NAME, operation,
+                            partitionId));
+                }
+                addResultsOfProjection(futures, projected, partitionIds);
+            } catch (Throwable t) {
+                throw ExceptionUtil.rethrow(t);
+            }
+        }
+        return projected;
+    }
+
     @Override
     public QueryResult newQueryResult(int numberOfPartitions) {
         return new QueryResult(queryResultSizeLimiter.getNodeResultLimit(numberOfPartitions));
@@ -311,6 +484,36 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         return futures;
     }
 
+    private List<Future<AggregationResult>> aggregateOnMembers(String mapName, Data aggregatorData, Predicate predicate) {
+        OperationService operationService = nodeEngine.getOperationService();
+        Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+        List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>(members.size());
+        for (MemberImpl member : members) {
+            AggregationOperation operation = new AggregationOperation(mapName, aggregatorData, predicate);
+            // the member responds once all of its partitions are evaluated, which may exceed the default call timeout
+            Future<AggregationResult> future = operationService
+                    .createInvocationBuilder(MapService.SERVICE_NAME, operation, member.getAddress())
+                    .setCallTimeout(FAN_OUT_CALL_TIMEOUT_MILLIS).<AggregationResult>invoke();
+            futures.add(future);
+        }
+        return futures;
+    }
+
+    private List<Future<ProjectionResult>> projectOnMembers(String mapName, Projection projection, Predicate predicate) {
+        OperationService operationService = nodeEngine.getOperationService();
+        Collection<MemberImpl> members = nodeEngine.getClusterService().getMemberList();
+        List<Future<ProjectionResult>> futures = new ArrayList<Future<ProjectionResult>>(members.size());
+        for (MemberImpl member : members) {
+            ProjectionOperation operation = new ProjectionOperation(mapName, projection, predicate);
+            // the member responds once all of its partitions are evaluated, which may exceed the default call timeout
+            Future<ProjectionResult> future = operationService
+                    .createInvocationBuilder(MapService.SERVICE_NAME, operation, member.getAddress())
+                    .setCallTimeout(FAN_OUT_CALL_TIMEOUT_MILLIS).<ProjectionResult>invoke();
+            futures.add(future);
+        }
+        return futures;
+    }
+
     private List<Future<QueryResult>> queryOnPartitions(String mapName, Predicate predicate, Collection<Integer> partitionIds) {
         if (partitionIds == null || partitionIds.isEmpty()) {
             return Collections.emptyList();
@@ -374,6 +577,23 @@ class BasicMapContextQuerySupport implements MapContextQuerySupport {
         }
     }
 
+    /**
+     * Adds projected values to the result and removes projected partition ids. A result overlapping with an
+     * already added one is dropped, its partitions are retried.
+     */
+    private void addResultsOfProjection(List<Future<ProjectionResult>> futures, List<Data> result,
+                                        Collection<Integer> partitionIds)
+            throws ExecutionException, InterruptedException {
+        for (Future<ProjectionResult> future : futures) {
+            ProjectionResult projectionResult = future.get();
+            Collection<Integer> projectedPartitionIds = projectionResult.getPartitionIds();
+            if (projectedPartitionIds != null && partitionIds.containsAll(projectedPartitionIds)) {
+                partitionIds.removeAll(projectedPartitionIds);
+                result.addAll(projectionResult.getResults());
+            }
+        }
+    }
+
     private Object toObject(Object obj) {
         return nodeEngine.getSerializationService().toObject(obj);
     }
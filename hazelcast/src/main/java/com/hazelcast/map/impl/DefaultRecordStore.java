@@ -44,7 +44,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 
 import static com.hazelcast.map.impl.ExpirationTimeSetter.updateExpiryTime;
@@ -94,9 +93,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
     }
 
     @Override
-    public void loadAllFromStore(List<Data> keys, boolean replaceExistingValues, boolean lastBatch) {
+    public Future<?> loadAllFromStore(List<Data> keys, boolean replaceExistingValues, boolean lastBatch) {
+        Future<?> f = null;
         if (!keys.isEmpty()) {
-            Future f = recordStoreLoader.loadValues(keys, replaceExistingValues);
+            f = recordStoreLoader.loadValues(keys, replaceExistingValues);
             loadingFutures.add(f);
         }
 
@@ -105,6 +105,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         if (lastBatch) {
             logger.finest("Completed loading map " + name + " on partitionId=" + partitionId);
         }
+        return f;
     }
 
     @Override
@@ -159,6 +160,17 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         updateSizeEstimator(calculateRecordHeapCost(record));
     }
 
+    @Override
+    public void removeRecords(Collection<Data> keys) {
+        for (Data key : keys) {
+            Record record = records.get(key);
+            if (record != null) {
+                updateSizeEstimator(-calculateRecordHeapCost(record));
+                deleteRecord(key);
+            }
+        }
+    }
+
     @Override
     public Record putBackup(Data key, Object value) {
         return putBackup(key, value, DEFAULT_TTL, false);
@@ -204,6 +216,24 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         return iterator(now, backup);
     }
 
+    @Override
+    public int fetch(int tableIndex, int size, long now, List<Record> result) {
+        checkIfLoaded();
+        List<Record> fetched = new ArrayList<Record>(size);
+        int nextTableIndex = records.fetch(tableIndex, size, fetched);
+        for (Record record : fetched) {
+            if (!isExpired(record, now, false)) {
+                result.add(record);
+            }
+        }
+        return nextTableIndex;
+    }
+
+    @Override
+    public void sample(int sampleCount, List<Record> samples) {
+        records.sample(sampleCount, samples);
+    }
+
     @Override
     public Map<Data, Record> getRecordMap() {
         return records;
@@ -311,7 +341,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         checkIfLoaded();
         final long now = getNow();
 
-        final ConcurrentMap<Data, Record> records = this.records;
+        final Map<Data, Record> records = this.records;
         final Collection<Record> values = records.values();
         Map<Data, Data> tempMap = null;
         for (Record record : values) {
@@ -365,7 +395,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         checkIfLoaded();
         final long now = getNow();
 
-        final ConcurrentMap<Data, Record> records = this.records;
+        final Map<Data, Record> records = this.records;
         final Collection<Record> values = records.values();
         Set<Data> keySet = null;
         for (Record record : values) {
@@ -390,7 +420,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore implements
         checkIfLoaded();
         final long now = getNow();
 
-        final ConcurrentMap<Data, Record> records = this.records;
+        final Map<Data, Record> records = this.records;
         final Collection<Record> values = records.values();
         List<Data> dataValueList = null;
         for (Record record : values) {
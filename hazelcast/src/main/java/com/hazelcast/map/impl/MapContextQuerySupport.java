@@ -16,12 +16,16 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.util.IterationType;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -39,6 +43,19 @@ public interface MapContextQuerySupport {
      */
     Collection<QueryableEntry> queryOnPartition(String mapName, Predicate predicate, int partitionId);
 
+    /**
+     * Queries the next page of a specific partition, resuming the scan from the given cursor.
+     *
+     * @param mapName     map name.
+     * @param predicate   any predicate, except paging predicate.
+     * @param partitionId partition id.
+     * @param tableIndex  cursor to resume from, {@code 0} to start from the beginning.
+     * @param fetchSize   maximum number of matching entries to return.
+     * @return the matching entries and the cursor to resume from
+     */
+    MapQueryIteratorResult queryOnPartition(String mapName, Predicate predicate, int partitionId,
+                                            int tableIndex, int fetchSize);
+
     /**
      * Used for predicates which queries on node local entries, except paging predicate.
      *
@@ -93,4 +110,58 @@ public interface MapContextQuerySupport {
      * @return {@link QueryResult}
      */
     QueryResult newQueryResult(int numberOfPartitions);
+
+    /**
+     * Accumulates the entries of a specific partition matching the predicate.
+     *
+     * @param mapName     map name.
+     * @param predicate   any predicate, except paging predicate.
+     * @param aggregator  aggregator to accumulate into.
+     * @param partitionId partition id.
+     * @return the given aggregator
+     */
+    Aggregator aggregateOnPartition(String mapName, Predicate predicate, Aggregator aggregator, int partitionId);
+
+    /**
+     * Aggregates the entries matching the predicate on all members.
+     *
+     * @param mapName    map name.
+     * @param aggregator aggregator, it is copied and never modified.
+     * @param predicate  any predicate, except paging predicate.
+     * @param <R>        result type of the aggregator
+     * @return the result of the aggregation
+     */
+    <R> R aggregate(String mapName, Aggregator<?, R> aggregator, Predicate predicate);
+
+    /**
+     * Projects the entries of a specific partition matching the predicate.
+     *
+     * @param mapName     map name.
+     * @param predicate   any predicate, except paging predicate.
+     * @param projection  projection to apply.
+     * @param partitionId partition id.
+     * @return serialized projected values
+     */
+    List<Data> projectOnPartition(String mapName, Predicate predicate, Projection projection, int partitionId);
+
+    /**
+     * Projects the entries matching the predicate on all members.
+     *
+     * @param mapName    map name.
+     * @param projection projection to apply.
+     * @param predicate  any predicate, except paging predicate.
+     * @param <R>        result type of the projection
+     * @return the projected values
+     */
+    <R> Collection<R> project(String mapName, Projection<?, R> projection, Predicate predicate);
+
+    /**
+     * Projects the entries matching the predicate on all members, without deserializing the projected values.
+     *
+     * @param mapName    map name.
+     * @param projection projection to apply.
+     * @param predicate  any predicate, except paging predicate.
+     * @return serialized projected values
+     */
+    List<Data> projectToData(String mapName, Projection projection, Predicate predicate);
 }
@@ -18,6 +18,8 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.map.impl.querycache.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.QueryCachePublisher;
 import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
@@ -36,15 +38,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
 class MapEventPublisherImpl implements MapEventPublisher {
 
     protected final MapServiceContext mapServiceContext;
+    protected final QueryCachePublisher queryCachePublisher;
+    private final ConcurrentMap<String, QueryEventFilterIndex> filterIndexes
+            = new ConcurrentHashMap<String, QueryEventFilterIndex>();
 
     protected MapEventPublisherImpl(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
+        this.queryCachePublisher = mapServiceContext.getQueryCachePublisher();
     }
 
     @Override
@@ -76,6 +84,9 @@ class MapEventPublisherImpl implements MapEventPublisher {
             return;
         }
 
+        // buffered query cache updates happened before this event
+        queryCachePublisher.flush(mapName);
+
         final String source = getThisNodesAddress();
         final MapEventData mapEventData = new MapEventData(source, mapName, caller,
                 eventType.getType(), numberOfEntriesAffected);
@@ -101,15 +112,34 @@ class MapEventPublisherImpl implements MapEventPublisher {
                              final Data dataKey, Data dataOldValue, Data dataValue, Data dataMergingValue) {
         final Collection<EventRegistration> registrations = getRegistrations(mapName);
         if (registrations.isEmpty()) {
+            // drop the index so it does not keep removed listeners reachable.
+            if (filterIndexes.containsKey(mapName)) {
+                filterIndexes.remove(mapName);
+            }
             return;
         }
 
         List<EventRegistration> registrationsWithValue = null;
         List<EventRegistration> registrationsWithoutValue = null;
+        int partitionId = -1;
+        // shared by all query filters of this event, so values are deserialized and attributes read only once.
+        final QueryEntry queryEntry = createQueryEntry(eventType, dataKey, dataOldValue, dataValue);
+        final QueryEventFilterIndex filterIndex = getFilterIndex(mapName, registrations);
 
         for (final EventRegistration candidate : registrations) {
             final EventFilter filter = candidate.getFilter();
-            final Result result = applyEventFilter(filter, syntheticEvent, dataKey, dataOldValue, dataValue, eventType);
+            if (filter instanceof QueryCacheEventFilter) {
+                if (partitionId == -1) {
+                    partitionId = mapServiceContext.getNodeEngine().getPartitionService().getPartitionId(dataKey);
+                }
+                queryCachePublisher.publish(candidate, caller, mapName, eventType, partitionId,
+                        dataKey, dataOldValue, dataValue);
+                continue;
+            }
+            if (filterIndex.isIndexed(candidate)) {
+                continue;
+            }
+            final Result result = applyEventFilter(filter, syntheticEvent, dataKey, queryEntry);
 
             registrationsWithValue = initRegistrationsWithValue(registrationsWithValue, result);
             registrationsWithoutValue = initRegistrationsWithoutValue(registrationsWithoutValue, result);
@@ -117,6 +147,18 @@ class MapEventPublisherImpl implements MapEventPublisher {
             registerCandidate(result, candidate, registrationsWithValue, registrationsWithoutValue);
         }
 
+        if (!filterIndex.isEmpty()) {
+            for (EventRegistration candidate : filterIndex.getMatchingRegistrations(queryEntry)) {
+                final QueryEventFilter filter = (QueryEventFilter) candidate.getFilter();
+                final Result result = filter.isIncludeValue() ? Result.VALUE_INCLUDED : Result.NO_VALUE_INCLUDED;
+
+                registrationsWithValue = initRegistrationsWithValue(registrationsWithValue, result);
+                registrationsWithoutValue = initRegistrationsWithoutValue(registrationsWithoutValue, result);
+
+                registerCandidate(result, candidate, registrationsWithValue, registrationsWithoutValue);
+            }
+        }
+
         final boolean withValueRegistrationExists = isNotEmpty(registrationsWithValue);
         final boolean withoutValueRegistrationExists = isNotEmpty(registrationsWithoutValue);
 
@@ -189,10 +231,9 @@ class MapEventPublisherImpl implements MapEventPublisher {
         return !(collection == null || collection.isEmpty());
     }
 
-    protected Result applyEventFilter(EventFilter filter, boolean syntheticEvent, Data dataKey,
-                                      Data dataOldValue, Data dataValue, EntryEventType eventType) {
+    protected Result applyEventFilter(EventFilter filter, boolean syntheticEvent, Data dataKey, QueryEntry queryEntry) {
 
-        if (filter instanceof MapPartitionLostEventFilter) {
+        if (filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter) {
             return Result.NONE;
         }
 
@@ -213,7 +254,7 @@ class MapEventPublisherImpl implements MapEventPublisher {
 
 
         if (filter instanceof QueryEventFilter) {
-            return processQueryEventFilter(filter, eventType, dataKey, dataOldValue, dataValue);
+            return processQueryEventFilter(filter, queryEntry);
         }
 
         if (filter instanceof EntryEventFilter) {
@@ -281,8 +322,15 @@ class MapEventPublisherImpl implements MapEventPublisher {
         return Result.NO_VALUE_INCLUDED;
     }
 
-    private Result processQueryEventFilter(EventFilter filter, EntryEventType eventType,
-                                           final Data dataKey, Data dataOldValue, Data dataValue) {
+    private Result processQueryEventFilter(EventFilter filter, QueryEntry entry) {
+        final QueryEventFilter queryEventFilter = (QueryEventFilter) filter;
+        if (queryEventFilter.eval(entry)) {
+            return queryEventFilter.isIncludeValue() ? Result.VALUE_INCLUDED : Result.NO_VALUE_INCLUDED;
+        }
+        return Result.NONE;
+    }
+
+    private QueryEntry createQueryEntry(EntryEventType eventType, Data dataKey, Data dataOldValue, Data dataValue) {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         final SerializationService serializationService = nodeEngine.getSerializationService();
         Data testValue;
@@ -291,12 +339,16 @@ class MapEventPublisherImpl implements MapEventPublisher {
         } else {
             testValue = dataValue;
         }
-        final QueryEventFilter queryEventFilter = (QueryEventFilter) filter;
-        final QueryEntry entry = new QueryEntry(serializationService, dataKey, dataKey, testValue);
-        if (queryEventFilter.eval(entry)) {
-            return queryEventFilter.isIncludeValue() ? Result.VALUE_INCLUDED : Result.NO_VALUE_INCLUDED;
+        return new AttributeCachingQueryEntry(serializationService, dataKey, testValue);
+    }
+
+    private QueryEventFilterIndex getFilterIndex(String mapName, Collection<EventRegistration> registrations) {
+        QueryEventFilterIndex filterIndex = filterIndexes.get(mapName);
+        if (filterIndex == null || !filterIndex.isValidFor(registrations)) {
+            filterIndex = QueryEventFilterIndex.create(registrations);
+            filterIndexes.put(mapName, filterIndex);
         }
-        return Result.NONE;
+        return filterIndex;
     }
 
     void publishWanReplicationEventInternal(String mapName, ReplicationEventObject event) {
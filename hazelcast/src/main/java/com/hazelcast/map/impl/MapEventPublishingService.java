@@ -22,6 +22,9 @@ import com.hazelcast.core.MapEvent;
 import com.hazelcast.map.MapPartitionLostEvent;
 import com.hazelcast.core.Member;
 import com.hazelcast.instance.MemberImpl;
+import com.hazelcast.map.impl.querycache.BatchQueryCacheEventData;
+import com.hazelcast.map.impl.querycache.QueryCacheEventData;
+import com.hazelcast.map.impl.querycache.QueryCacheListenerAdapter;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.NodeEngine;
 
@@ -56,6 +59,11 @@ class MapEventPublishingService implements EventPublishingService<EventData, Lis
             return;
         }
 
+        if (eventData instanceof QueryCacheEventData || eventData instanceof BatchQueryCacheEventData) {
+            ((QueryCacheListenerAdapter) listener).onQueryCacheEvent(eventData);
+            return;
+        }
+
         throw new IllegalArgumentException("Unknown map event data");
     }
 
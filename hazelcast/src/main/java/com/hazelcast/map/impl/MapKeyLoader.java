@@ -22,6 +22,7 @@ import com.hazelcast.core.MapLoader;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.operation.LoadAllOperation;
 import com.hazelcast.map.impl.operation.PartitionCheckIfLoadedOperation;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.spi.ExecutionService;
@@ -42,6 +43,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -62,6 +64,12 @@ public class MapKeyLoader {
 
     private static final long LOADING_TRIGGER_DELAY = SECONDS.toMillis(5);
 
+    /**
+     * Number of key batches per partition which may be sent and not yet loaded. Bounds the memory used while
+     * streaming the keys of a large map, while still keeping all partitions busy.
+     */
+    private static final int MAX_PENDING_BATCHES_PER_PARTITION = 2;
+
     private String mapName;
     private OperationService opService;
     private InternalPartitionService partitionService;
@@ -73,6 +81,7 @@ public class MapKeyLoader {
     private int maxBatch;
     private int mapNamePartition;
     private boolean hasBackup;
+    private LocalMapStatsImpl localMapStats;
 
     private LoadFinishedFuture loadFinished = new LoadFinishedFuture(true);
 
@@ -228,9 +237,14 @@ public class MapKeyLoader {
         return state.is(State.NOT_LOADED);
     }
 
-    private void sendKeysInBatches(MapStoreContext mapStoreContext, boolean replaceExistingValues) {
+    private void sendKeysInBatches(MapStoreContext mapStoreContext, boolean replaceExistingValues)
+            throws InterruptedException {
 
         int clusterSize = partitionService.getMemberPartitionsMap().size();
+        Semaphore[] pendingBatches = new Semaphore[partitionService.getPartitionCount()];
+        for (int i = 0; i < pendingBatches.length; i++) {
+            pendingBatches[i] = new Semaphore(MAX_PENDING_BATCHES_PER_PARTITION);
+        }
         Iterator<Object> keys = null;
 
         try {
@@ -248,7 +262,7 @@ public class MapKeyLoader {
 
             while (batches.hasNext()) {
                 Map<Integer, List<Data>> batch = batches.next();
-                sendBatch(batch, replaceExistingValues);
+                sendBatch(batch, replaceExistingValues, pendingBatches);
             }
         } finally {
             sendLoadCompleted(clusterSize, partitionService.getPartitionCount(), replaceExistingValues);
@@ -259,12 +273,37 @@ public class MapKeyLoader {
         }
     }
 
-    private void sendBatch(Map<Integer, List<Data>> batch, boolean replaceExistingValues) {
+    /**
+     * Sends the keys of a batch to their partitions. Blocks while a partition has too many batches which are not loaded
+     * yet, so the keys are consumed from the {@link MapLoader} only as fast as the partitions load their values.
+     * A permit is released when the values of the keys are put to the partition, or when loading them failed.
+     */
+    private void sendBatch(Map<Integer, List<Data>> batch, boolean replaceExistingValues, Semaphore[] pendingBatches)
+            throws InterruptedException {
         for (Entry<Integer, List<Data>> e : batch.entrySet()) {
             int partitionId = e.getKey();
             List<Data> keys = e.getValue();
-            LoadAllOperation op = new LoadAllOperation(mapName, keys, replaceExistingValues, false);
-            opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
+            LoadAllOperation op = new LoadAllOperation(mapName, keys, replaceExistingValues, false, true);
+            final Semaphore partitionPendingBatches = pendingBatches[partitionId];
+            partitionPendingBatches.acquire();
+            // the response is sent only after the values are loaded, which may take longer than the default call timeout
+            opService.createInvocationBuilder(SERVICE_NAME, op, partitionId)
+                    .setCallTimeout(Long.MAX_VALUE)
+                    .<Object>invoke()
+                    .andThen(new ExecutionCallback<Object>() {
+                        @Override
+                        public void onResponse(Object response) {
+                            partitionPendingBatches.release();
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            partitionPendingBatches.release();
+                        }
+                    });
+            if (localMapStats != null) {
+                localMapStats.incrementLoadedKeys(keys.size());
+            }
         }
     }
 
@@ -299,6 +338,10 @@ public class MapKeyLoader {
         this.hasBackup = hasBackup;
     }
 
+    public void setLocalMapStats(LocalMapStatsImpl localMapStats) {
+        this.localMapStats = localMapStats;
+    }
+
     private ExecutionCallback<Boolean> ifLoadedCallback() {
         return new ExecutionCallback<Boolean>() {
             @Override
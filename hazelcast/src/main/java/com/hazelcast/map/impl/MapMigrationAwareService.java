@@ -20,9 +20,9 @@ import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.serialization.SerializationService;
 import com.hazelcast.partition.MigrationEndpoint;
+import com.hazelcast.partition.ReplicaDigestAwareService;
 import com.hazelcast.query.impl.IndexService;
 import com.hazelcast.query.impl.QueryEntry;
-import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
@@ -35,7 +35,7 @@ import java.util.Iterator;
  *
  * @see MapService
  */
-class MapMigrationAwareService implements MigrationAwareService {
+class MapMigrationAwareService implements ReplicaDigestAwareService {
 
     private final MapServiceContext mapServiceContext;
     private final SerializationService serializationService;
@@ -59,11 +59,28 @@ class MapMigrationAwareService implements MigrationAwareService {
         return operation.isEmpty() ? null : operation;
     }
 
+    @Override
+    public Object createReplicaDigest(int partitionId, int replicaIndex) {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+        return MapReplicaDigest.create(mapServiceContext, container, replicaIndex);
+    }
+
+    @Override
+    public Operation prepareReplicationOperation(PartitionReplicationEvent event, Object digest) {
+        final PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
+        final MapReplicationOperation operation
+                = new MapReplicationOperation(mapServiceContext.getService(), container,
+                event.getPartitionId(), event.getReplicaIndex(), (MapReplicaDigest) digest);
+        operation.setService(mapServiceContext.getService());
+        return operation.isEmpty() ? null : operation;
+    }
+
     @Override
     public void commitMigration(PartitionMigrationEvent event) {
         migrateIndex(event);
         if (event.getMigrationEndpoint() == MigrationEndpoint.SOURCE) {
             mapServiceContext.clearPartitionData(event.getPartitionId());
+            mapServiceContext.getQueryCachePublisher().clearPartition(event.getPartitionId());
         }
         mapServiceContext.reloadOwnedPartitions();
     }
@@ -72,6 +89,7 @@ class MapMigrationAwareService implements MigrationAwareService {
     public void rollbackMigration(PartitionMigrationEvent event) {
         if (event.getMigrationEndpoint() == MigrationEndpoint.DESTINATION) {
             mapServiceContext.clearPartitionData(event.getPartitionId());
+            mapServiceContext.getQueryCachePublisher().clearPartition(event.getPartitionId());
         }
         mapServiceContext.reloadOwnedPartitions();
     }
@@ -22,6 +22,8 @@ import com.hazelcast.map.impl.client.MapAddIndexRequest;
 import com.hazelcast.map.impl.client.MapAddInterceptorRequest;
 import com.hazelcast.map.impl.client.MapAddNearCacheEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapAddPartitionLostListenerRequest;
+import com.hazelcast.map.impl.client.MapAddQueryCacheListenerRequest;
+import com.hazelcast.map.impl.client.MapAggregateRequest;
 import com.hazelcast.map.impl.client.MapClearRequest;
 import com.hazelcast.map.impl.client.MapContainsKeyRequest;
 import com.hazelcast.map.impl.client.MapContainsValueRequest;
@@ -34,6 +36,7 @@ import com.hazelcast.map.impl.client.MapExecuteOnKeyRequest;
 import com.hazelcast.map.impl.client.MapExecuteOnKeysRequest;
 import com.hazelcast.map.impl.client.MapExecuteWithPredicateRequest;
 import com.hazelcast.map.impl.client.MapFlushRequest;
+import com.hazelcast.map.impl.client.MapGetAllPartitionRequest;
 import com.hazelcast.map.impl.client.MapGetAllRequest;
 import com.hazelcast.map.impl.client.MapGetEntryViewRequest;
 import com.hazelcast.map.impl.client.MapGetRequest;
@@ -43,10 +46,13 @@ import com.hazelcast.map.impl.client.MapKeySetRequest;
 import com.hazelcast.map.impl.client.MapLoadAllKeysRequest;
 import com.hazelcast.map.impl.client.MapLoadGivenKeysRequest;
 import com.hazelcast.map.impl.client.MapLockRequest;
+import com.hazelcast.map.impl.client.MapProjectRequest;
+import com.hazelcast.map.impl.client.MapPutAllPartitionRequest;
 import com.hazelcast.map.impl.client.MapPutAllRequest;
 import com.hazelcast.map.impl.client.MapPutIfAbsentRequest;
 import com.hazelcast.map.impl.client.MapPutRequest;
 import com.hazelcast.map.impl.client.MapPutTransientRequest;
+import com.hazelcast.map.impl.client.MapQueryIteratorRequest;
 import com.hazelcast.map.impl.client.MapQueryRequest;
 import com.hazelcast.map.impl.client.MapRemoveEntryListenerRequest;
 import com.hazelcast.map.impl.client.MapRemoveIfSameRequest;
@@ -125,6 +131,12 @@ public class MapPortableHook implements PortableHook {
     public static final int ADD_NEAR_CACHE_ENTRY_LISTENER = 50;
     public static final int ADD_MAP_PARTITION_LOST_LISTENER = 51;
     public static final int REMOVE_MAP_PARTITION_LOST_LISTENER = 52;
+    public static final int QUERY_ITERATOR = 53;
+    public static final int GET_ALL_PARTITION = 54;
+    public static final int PUT_ALL_PARTITION = 55;
+    public static final int ADD_QUERY_CACHE_LISTENER = 56;
+    public static final int AGGREGATE = 57;
+    public static final int PROJECT = 58;
 
     public int getFactoryId() {
         return F_ID;
@@ -133,7 +145,7 @@ public class MapPortableHook implements PortableHook {
     public PortableFactory createFactory() {
         return new PortableFactory() {
             final ConstructorFunction<Integer, Portable>[] constructors
-                    = new ConstructorFunction[REMOVE_MAP_PARTITION_LOST_LISTENER + 1];
+                    = new ConstructorFunction[PROJECT + 1];
 
             {
                 constructors[GET] = new ConstructorFunction<Integer, Portable>() {
@@ -422,6 +434,41 @@ public class MapPortableHook implements PortableHook {
                         return new MapRemovePartitionLostListenerRequest();
                     }
                 };
+
+                constructors[QUERY_ITERATOR] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapQueryIteratorRequest();
+                    }
+                };
+
+                constructors[GET_ALL_PARTITION] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapGetAllPartitionRequest();
+                    }
+                };
+
+                constructors[PUT_ALL_PARTITION] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapPutAllPartitionRequest();
+                    }
+                };
+
+                constructors[ADD_QUERY_CACHE_LISTENER] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAddQueryCacheListenerRequest();
+                    }
+                };
+
+                constructors[AGGREGATE] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapAggregateRequest();
+                    }
+                };
+                constructors[PROJECT] = new ConstructorFunction<Integer, Portable>() {
+                    public Portable createNew(Integer arg) {
+                        return new MapProjectRequest();
+                    }
+                };
             }
 
             public Portable create(int classId) {
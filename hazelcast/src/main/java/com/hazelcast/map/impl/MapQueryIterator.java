@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.map.impl.operation.MapQueryIteratorOperation;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.OperationService;
+
+/**
+ * Paged query iterator of {@link com.hazelcast.core.IMap}, used in server or embedded mode.
+ * <p/>
+ * Note: For more information on the iterator details, see {@link AbstractMapQueryIterator}.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ */
+public class MapQueryIterator<K, V> extends AbstractMapQueryIterator<K, V> {
+
+    private final NodeEngine nodeEngine;
+    private final String name;
+    private final Predicate predicate;
+
+    public MapQueryIterator(NodeEngine nodeEngine, String name, Predicate predicate, int fetchSize) {
+        super(nodeEngine.getPartitionService().getPartitionCount(), fetchSize);
+        this.nodeEngine = nodeEngine;
+        this.name = name;
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected MapQueryIteratorResult fetch(int partitionId, int tableIndex) {
+        MapQueryIteratorOperation operation = new MapQueryIteratorOperation(name, predicate, tableIndex, fetchSize);
+        OperationService operationService = nodeEngine.getOperationService();
+        return operationService.<MapQueryIteratorResult>invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId)
+                .getSafely();
+    }
+
+    @Override
+    protected <T> T toObject(Data data) {
+        return nodeEngine.toObject(data);
+    }
+}
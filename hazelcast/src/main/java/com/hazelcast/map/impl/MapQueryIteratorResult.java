@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Response data object returned by {@link com.hazelcast.map.impl.operation.MapQueryIteratorOperation}.</p>
+ * Holds a page of the serialized keys and values of a partition matching a predicate, and the cursor
+ * to resume the scan of the partition from.
+ *
+ * @see AbstractMapQueryIterator
+ */
+public class MapQueryIteratorResult implements DataSerializable {
+
+    private int tableIndex;
+    private List<Data> keys;
+    private List<Data> values;
+
+    public MapQueryIteratorResult() {
+    }
+
+    public MapQueryIteratorResult(List<Data> keys, List<Data> values, int tableIndex) {
+        this.keys = keys;
+        this.values = values;
+        this.tableIndex = tableIndex;
+    }
+
+    /**
+     * @return cursor to resume from, {@code -1} if the partition is exhausted
+     */
+    public int getTableIndex() {
+        return tableIndex;
+    }
+
+    public int getCount() {
+        return keys != null ? keys.size() : 0;
+    }
+
+    public Data getKey(int index) {
+        return keys.get(index);
+    }
+
+    public Data getValue(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(tableIndex);
+        int size = keys.size();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeData(keys.get(i));
+            out.writeData(values.get(i));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        tableIndex = in.readInt();
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+            values.add(in.readData());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MapQueryIteratorResult{tableIndex=" + tableIndex + ", count=" + getCount() + '}';
+    }
+}
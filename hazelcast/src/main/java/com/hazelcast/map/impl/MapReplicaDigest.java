@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Digest of the maps of a partition replica: the records of each map are divided into ranges by the hashes of their
+ * keys, and a hash of the keys and values of the records is kept per range.
+ * <p/>
+ * A backup replica sends its digest along with its replica sync request. The owner hashes its records into the same
+ * ranges and replicates only the records of the ranges whose hashes differ, instead of the whole partition.
+ * The hash of a range is the sum of the hashes of its records, so it does not depend on the iteration order.
+ */
+public class MapReplicaDigest implements DataSerializable {
+
+    private static final int RECORDS_PER_RANGE = 32;
+    private static final int MAX_RANGE_COUNT = 1024;
+    private static final long VALUE_HASH_MULTIPLIER = 31;
+
+    private Map<String, long[]> rangeHashes;
+
+    public MapReplicaDigest() {
+    }
+
+    MapReplicaDigest(Map<String, long[]> rangeHashes) {
+        this.rangeHashes = rangeHashes;
+    }
+
+    /**
+     * Creates the digest of the maps which have records in the given partition and which are backed up by the given
+     * replica.
+     *
+     * @return the digest, {@code null} if there are no records
+     */
+    public static MapReplicaDigest create(MapServiceContext mapServiceContext, PartitionContainer container,
+                                          int replicaIndex) {
+        Map<String, long[]> rangeHashes = new HashMap<String, long[]>();
+        for (Map.Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
+            RecordStore recordStore = entry.getValue();
+            MapConfig mapConfig = recordStore.getMapContainer().getMapConfig();
+            if (mapConfig.getTotalBackupCount() < replicaIndex || recordStore.size() == 0) {
+                continue;
+            }
+            int rangeCount = rangeCount(recordStore.size());
+            rangeHashes.put(entry.getKey(), hashRanges(mapServiceContext, recordStore, rangeCount));
+        }
+        return rangeHashes.isEmpty() ? null : new MapReplicaDigest(rangeHashes);
+    }
+
+    /**
+     * Returns the hashes of the ranges of the given map, {@code null} if the map has no records in this digest.
+     */
+    public long[] getRangeHashes(String mapName) {
+        return rangeHashes.get(mapName);
+    }
+
+    /**
+     * Hashes the records of the given record store into the same ranges as the given hashes and returns the ranges
+     * whose hashes differ.
+     *
+     * @return the differing ranges, {@code null} if all ranges are equal
+     */
+    public static Ranges differingRanges(MapServiceContext mapServiceContext, RecordStore recordStore,
+                                         long[] replicaRangeHashes) {
+        int rangeCount = replicaRangeHashes.length;
+        long[] ownRangeHashes = hashRanges(mapServiceContext, recordStore, rangeCount);
+        List<Integer> differing = new ArrayList<Integer>();
+        for (int i = 0; i < rangeCount; i++) {
+            if (ownRangeHashes[i] != replicaRangeHashes[i]) {
+                differing.add(i);
+            }
+        }
+        if (differing.isEmpty()) {
+            return null;
+        }
+        int[] indexes = new int[differing.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = differing.get(i);
+        }
+        return new Ranges(rangeCount, indexes);
+    }
+
+    static int rangeCount(int recordCount) {
+        int rangeCount = nextPowerOfTwo(Math.max(1, recordCount / RECORDS_PER_RANGE));
+        return Math.min(rangeCount, MAX_RANGE_COUNT);
+    }
+
+    static int rangeOf(Data key, int rangeCount) {
+        return MurmurHash3_fmix(key.hashCode()) & (rangeCount - 1);
+    }
+
+    private static long[] hashRanges(MapServiceContext mapServiceContext, RecordStore recordStore, int rangeCount) {
+        long[] hashes = new long[rangeCount];
+        Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            Data key = record.getKey();
+            Data value = mapServiceContext.toData(record.getValue());
+            long valueHash = value != null ? value.hash64() : 0;
+            hashes[rangeOf(key, rangeCount)] += MurmurHash3_fmix(key.hash64() * VALUE_HASH_MULTIPLIER + valueHash);
+        }
+        return hashes;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(rangeHashes.size());
+        for (Map.Entry<String, long[]> entry : rangeHashes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLongArray(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        rangeHashes = new HashMap<String, long[]>(size);
+        for (int i = 0; i < size; i++) {
+            String mapName = in.readUTF();
+            rangeHashes.put(mapName, in.readLongArray());
+        }
+    }
+
+    /**
+     * A set of the key ranges of a map.
+     */
+    public static final class Ranges implements DataSerializable {
+
+        private int rangeCount;
+        private int[] indexes;
+        private boolean[] contained;
+
+        public Ranges() {
+        }
+
+        Ranges(int rangeCount, int[] indexes) {
+            this.rangeCount = rangeCount;
+            this.indexes = indexes;
+        }
+
+        /**
+         * Returns {@code true} if the range of the given key is in this set.
+         */
+        public boolean contains(Data key) {
+            if (contained == null) {
+                contained = new boolean[rangeCount];
+                for (int index : indexes) {
+                    contained[index] = true;
+                }
+            }
+            return contained[rangeOf(key, rangeCount)];
+        }
+
+        /**
+         * Returns the keys in the given collection whose ranges are in this set.
+         */
+        public List<Data> filter(Collection<Data> keys) {
+            List<Data> filtered = new ArrayList<Data>();
+            for (Data key : keys) {
+                if (contains(key)) {
+                    filtered.add(key);
+                }
+            }
+            return filtered;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(rangeCount);
+            out.writeIntArray(indexes);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            rangeCount = in.readInt();
+            indexes = in.readIntArray();
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.partition.InternalPartitionLostEvent;
+import com.hazelcast.partition.ReplicaDigestAwareService;
 import com.hazelcast.spi.ClientAwareService;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.ManagedService;
@@ -59,7 +60,7 @@ import java.util.Properties;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, MigrationAwareService,
+public class MapService implements ManagedService, ReplicaDigestAwareService,
         TransactionalService, RemoteService, EventPublishingService<EventData, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService,
         PartitionAwareService, ClientAwareService, QuorumAwareService {
@@ -112,6 +113,22 @@ public class MapService implements ManagedService, MigrationAwareService,
         return migrationAwareService.prepareReplicationOperation(event);
     }
 
+    @Override
+    public Object createReplicaDigest(int partitionId, int replicaIndex) {
+        if (migrationAwareService instanceof ReplicaDigestAwareService) {
+            return ((ReplicaDigestAwareService) migrationAwareService).createReplicaDigest(partitionId, replicaIndex);
+        }
+        return null;
+    }
+
+    @Override
+    public Operation prepareReplicationOperation(PartitionReplicationEvent event, Object digest) {
+        if (migrationAwareService instanceof ReplicaDigestAwareService) {
+            return ((ReplicaDigestAwareService) migrationAwareService).prepareReplicationOperation(event, digest);
+        }
+        return migrationAwareService.prepareReplicationOperation(event);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -19,6 +19,8 @@ package com.hazelcast.map.impl;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindBackpressure;
+import com.hazelcast.map.impl.querycache.QueryCachePublisher;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
@@ -86,6 +88,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     AtomicInteger getWriteBehindQueueItemCounter();
 
+    WriteBehindBackpressure getWriteBehindBackpressure();
+
     ExpirationManager getExpirationManager();
 
     EvictionOperator getEvictionOperator();
@@ -98,6 +102,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapEventPublisher getMapEventPublisher();
 
+    QueryCachePublisher getQueryCachePublisher();
+
     MapContextQuerySupport getMapContextQuerySupport();
 
     LocalMapStatsProvider getLocalMapStatsProvider();
@@ -19,9 +19,12 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.eviction.EvictionOperator;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindBackpressure;
+import com.hazelcast.map.impl.querycache.QueryCachePublisher;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.nio.serialization.Data;
@@ -70,12 +73,14 @@ class MapServiceContextImpl implements MapServiceContext {
      * getting this into account.
      */
     private final AtomicInteger writeBehindQueueItemCounter = new AtomicInteger(0);
+    private final WriteBehindBackpressure writeBehindBackpressure;
     private final ExpirationManager expirationManager;
     private final NearCacheProvider nearCacheProvider;
     private final LocalMapStatsProvider localMapStatsProvider;
     private final MergePolicyProvider mergePolicyProvider;
     private final MapContextQuerySupport mapContextQuerySupport;
     private MapEventPublisher mapEventPublisher;
+    private QueryCachePublisher queryCachePublisher;
     private EvictionOperator evictionOperator;
     private MapService mapService;
 
@@ -90,8 +95,13 @@ class MapServiceContextImpl implements MapServiceContext {
         this.nearCacheProvider = new NearCacheProvider(this, nodeEngine);
         this.localMapStatsProvider = new LocalMapStatsProvider(this, nodeEngine);
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
+        this.queryCachePublisher = new QueryCachePublisher(nodeEngine);
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.mapContextQuerySupport = new BasicMapContextQuerySupport(this);
+        GroupProperties groupProperties = nodeEngine.getGroupProperties();
+        this.writeBehindBackpressure = new WriteBehindBackpressure(writeBehindQueueItemCounter,
+                groupProperties.MAP_WRITE_BEHIND_QUEUE_CAPACITY.getInteger(),
+                groupProperties.MAP_WRITE_BEHIND_QUEUE_FULL_MAX_WAIT_MILLIS.getLong());
     }
 
     MapEventPublisherImpl createMapEventPublisherSupport() {
@@ -224,6 +234,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return writeBehindQueueItemCounter;
     }
 
+    @Override
+    public WriteBehindBackpressure getWriteBehindBackpressure() {
+        return writeBehindBackpressure;
+    }
+
     @Override
     public ExpirationManager getExpirationManager() {
         return expirationManager;
@@ -254,6 +269,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return mapEventPublisher;
     }
 
+    @Override
+    public QueryCachePublisher getQueryCachePublisher() {
+        return queryCachePublisher;
+    }
+
     @Override
     public MapContextQuerySupport getMapContextQuerySupport() {
         return mapContextQuerySupport;
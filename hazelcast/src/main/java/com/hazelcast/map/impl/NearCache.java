@@ -16,6 +16,16 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.cache.impl.eviction.Evictable;
+import com.hazelcast.cache.impl.eviction.EvictionCandidate;
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.AbstractEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
@@ -23,33 +33,32 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.SerializationService;
-import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.util.SampleableConcurrentHashMap;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * NearCache.
+ * <p/>
+ * When a put fills the near cache, it evicts one entry chosen by the eviction policy out of a random sample of
+ * entries, see {@link SamplingBasedEvictionStrategy}, so puts take constant time independent of the cache size.
  */
-public class NearCache {
+public class NearCache implements EvictionListener<Data, NearCacheRecord> {
     /**
      * Used when caching nonexistent values.
      */
     public static final Object NULL_OBJECT = new Object();
     public static final String NEAR_CACHE_EXECUTOR_NAME = "hz:near-cache";
-    private static final double EVICTION_FACTOR = 0.2;
     private static final int CLEANUP_INTERVAL = 5000;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
     private final int maxSize;
     private volatile long lastCleanup;
     private final long maxIdleMillis;
@@ -58,11 +67,12 @@ public class NearCache {
     private final InMemoryFormat inMemoryFormat;
     private final NodeEngine nodeEngine;
     private final AtomicBoolean canCleanUp;
-    private final AtomicBoolean canEvict;
-    private final ConcurrentMap<Data, NearCacheRecord> cache;
+    private final NearCacheRecordMap cache;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final EvictionPolicyEvaluator<Data, NearCacheRecord> evictionPolicyEvaluator;
+    private final SamplingBasedEvictionStrategy<Data, NearCacheRecord, NearCacheRecordMap> evictionStrategy;
+    private final EvictionChecker evictionChecker;
 
     private SizeEstimator nearCacheSizeEstimator;
 
@@ -79,10 +89,16 @@ public class NearCache {
         inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        cache = new ConcurrentHashMap<Data, NearCacheRecord>();
+        cache = new NearCacheRecordMap(DEFAULT_INITIAL_CAPACITY);
+        evictionPolicyEvaluator = createEvictionPolicyEvaluator(evictionPolicy);
+        evictionStrategy = new SamplingBasedEvictionStrategy<Data, NearCacheRecord, NearCacheRecordMap>();
+        evictionChecker = new EvictionChecker() {
+            @Override
+            public boolean isEvictionRequired() {
+                return cache.size() >= maxSize;
+            }
+        };
         canCleanUp = new AtomicBoolean(true);
-        canEvict = new AtomicBoolean(true);
         nearCacheStats = new NearCacheStatsImpl();
         lastCleanup = Clock.currentTimeMillis();
         serializationService = nodeEngine.getSerializationService();
@@ -99,8 +115,9 @@ public class NearCache {
                 return inMemoryFormat.equals(InMemoryFormat.OBJECT) ? serializationService.toObject(data) : data;
             }
         }
-        if (evictionPolicy != EvictionPolicy.NONE && cache.size() >= maxSize) {
-            fireEvictCache();
+        if (evictionPolicy != EvictionPolicy.NONE && evictionChecker.isEvictionRequired() && !cache.containsKey(key)) {
+            // make room before inserting, so the new record is never a candidate and the cache stays at maxSize
+            evict();
         }
         final Object value;
         if (data == null) {
@@ -134,43 +151,38 @@ public class NearCache {
         return nearCacheStats;
     }
 
-    private void fireEvictCache() {
-        if (canEvict.compareAndSet(true, false)) {
-            try {
-                final ExecutionService executionService = nodeEngine.getExecutionService();
-                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
-                    public void run() {
-                        try {
-                            TreeSet<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
-                            int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                updateSizeEstimator(-calculateCost(record));
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
-                        } finally {
-                            canEvict.set(true);
-                        }
-
-                        if (cache.size() >= maxSize && canEvict.compareAndSet(true, false)) {
-                            try {
-                                executionService.execute(NEAR_CACHE_EXECUTOR_NAME, this);
-                            } catch (RejectedExecutionException e) {
-                                canEvict.set(true);
-                            }
-                        }
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                canEvict.set(true);
-            } catch (Exception e) {
-                throw ExceptionUtil.rethrow(e);
-            }
+    private static EvictionPolicyEvaluator<Data, NearCacheRecord> createEvictionPolicyEvaluator(EvictionPolicy policy) {
+        if (policy == EvictionPolicy.LFU) {
+            return new LFUEvictionPolicyEvaluator<Data, NearCacheRecord>();
+        } else if (policy == EvictionPolicy.RANDOM) {
+            // the samples are random already, keep the first one
+            return new AbstractEvictionPolicyEvaluator<Data, NearCacheRecord>() {
+                @Override
+                protected Evictable selectEvictableAsPolicy(Evictable current, Evictable candidate) {
+                    return current;
+                }
+            };
         }
+        return new LRUEvictionPolicyEvaluator<Data, NearCacheRecord>();
+    }
+
+    /**
+     * Evicts sampled entries until the near cache is below its maximum size, so there is room for one more entry;
+     * unless other threads put concurrently a single eviction is enough.
+     */
+    private void evict() {
+        long startNanos = System.nanoTime();
+        int evictedCount;
+        do {
+            evictedCount = evictionStrategy.evict(cache, evictionPolicyEvaluator, EvictionChecker.EVICT_ALWAYS, this);
+        } while (evictedCount > 0 && evictionChecker.isEvictionRequired());
+        nearCacheStats.addEvictionTimeNanos(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public void onEvict(Data key, NearCacheRecord record) {
+        updateSizeEstimator(-calculateCost(record));
+        nearCacheStats.incrementEvictions();
     }
 
     private void fireTtlCleanup() {
@@ -275,4 +287,63 @@ public class NearCache {
     public void setNearCacheSizeEstimator(SizeEstimator nearCacheSizeEstimator) {
         this.nearCacheSizeEstimator = nearCacheSizeEstimator;
     }
+
+    /**
+     * Near cache records which can be sampled for eviction.
+     */
+    static final class NearCacheRecordMap extends SampleableConcurrentHashMap<Data, NearCacheRecord>
+            implements SampleableEvictableStore<Data, NearCacheRecord> {
+
+        NearCacheRecordMap(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        final class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate<Data, NearCacheRecord> {
+
+            EvictableSamplingEntry(Data key, NearCacheRecord value) {
+                super(key, value);
+            }
+
+            @Override
+            public Data getAccessor() {
+                return getKey();
+            }
+
+            @Override
+            public NearCacheRecord getEvictable() {
+                return getValue();
+            }
+        }
+
+        @Override
+        protected <E extends SamplingEntry> E createSamplingEntry(Data key, NearCacheRecord value) {
+            return (E) new EvictableSamplingEntry(key, value);
+        }
+
+        @Override
+        public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+            return super.getRandomSamples(sampleCount);
+        }
+
+        @Override
+        public <C extends EvictionCandidate<Data, NearCacheRecord>> int evict(Iterable<C> evictionCandidates,
+                EvictionListener<Data, NearCacheRecord> evictionListener) {
+            if (evictionCandidates == null) {
+                return 0;
+            }
+            int actualEvictedCount = 0;
+            for (EvictionCandidate<Data, NearCacheRecord> evictionCandidate : evictionCandidates) {
+                Data key = evictionCandidate.getAccessor();
+                NearCacheRecord record = evictionCandidate.getEvictable();
+                // only evict the sampled record, it may have been replaced concurrently
+                if (remove(key, record)) {
+                    actualEvictedCount++;
+                    if (evictionListener != null) {
+                        evictionListener.onEvict(key, record);
+                    }
+                }
+            }
+            return actualEvictedCount;
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.cache.impl.eviction.Evictable;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
@@ -27,7 +28,7 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Entry holder to be used in Client and Node side Near cache
  */
-public class NearCacheRecord {
+public class NearCacheRecord implements Evictable {
     private static final Comparator<NearCacheRecord> LRU_COMPARATOR = new Comparator<NearCacheRecord>() {
         public int compare(NearCacheRecord o1, NearCacheRecord o2) {
             final int result = QuickMath.compareLongs(o1.lastAccessTime, o2.lastAccessTime);
@@ -77,6 +78,22 @@ public class NearCacheRecord {
         return value;
     }
 
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public long getAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public int getAccessHit() {
+        long hits = hit.get();
+        return hits > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) hits;
+    }
+
     public void access() {
         hit.incrementAndGet();
         lastAccessTime = Clock.currentTimeMillis();
@@ -58,6 +58,7 @@ public class PartitionContainer {
             keyLoader.setMaxBatch(groupProperties.MAP_LOAD_CHUNK_SIZE.getInteger());
             keyLoader.setMaxSize(getMaxSizePerNode(mapConfig.getMaxSizeConfig()));
             keyLoader.setHasBackup(mapConfig.getBackupCount() > 0 || mapConfig.getAsyncBackupCount() > 0);
+            keyLoader.setLocalMapStats(serviceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name));
 
             ILogger logger = nodeEngine.getLogger(DefaultRecordStore.class);
             DefaultRecordStore recordStore = new DefaultRecordStore(mapContainer, partitionId, keyLoader, logger);
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.map.PortableEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.PortableFieldUpdater;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.SerializationService;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * {@link PortableEntry} implementation which keeps the value in the form it is stored in the record store
+ * and deserializes it only on {@link #getValue()}.
+ * <p/>
+ * After processing, {@link #toStoredEntry()} converts this entry to a {@link MapEntrySimple} holding
+ * the value to be stored, so the rest of the entry operation flow stays the same.
+ *
+ * @param <K> type of key.
+ */
+public class PortableMapEntry<K> implements PortableEntry<K> {
+
+    private final K key;
+    private final SerializationService serializationService;
+    private Object value;
+    private Data dataValue;
+    private PortableFieldUpdater updater;
+    private boolean valueResolved;
+    private boolean modified;
+
+    public PortableMapEntry(K key, Object storedValue, SerializationService serializationService) {
+        this.key = key;
+        this.serializationService = serializationService;
+        if (storedValue instanceof Data) {
+            this.dataValue = (Data) storedValue;
+        } else {
+            this.value = storedValue;
+            this.valueResolved = true;
+        }
+    }
+
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Override
+    public Object getValue() {
+        if (!valueResolved) {
+            value = serializationService.toObject(getValueData());
+            valueResolved = true;
+        }
+        return value;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+        final Object oldValue = getValue();
+        this.value = value;
+        this.valueResolved = true;
+        this.dataValue = null;
+        this.updater = null;
+        this.modified = true;
+        return oldValue;
+    }
+
+    @Override
+    public PortableReader getReader() throws IOException {
+        final Data data = getValueData();
+        if (data == null || !data.isPortable()) {
+            return null;
+        }
+        return serializationService.createPortableReader(data);
+    }
+
+    @Override
+    public void setInt(String fieldName, int value) throws IOException {
+        getUpdater().setInt(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setLong(String fieldName, long value) throws IOException {
+        getUpdater().setLong(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setShort(String fieldName, short value) throws IOException {
+        getUpdater().setShort(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setChar(String fieldName, char value) throws IOException {
+        getUpdater().setChar(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setByte(String fieldName, byte value) throws IOException {
+        getUpdater().setByte(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setBoolean(String fieldName, boolean value) throws IOException {
+        getUpdater().setBoolean(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setFloat(String fieldName, float value) throws IOException {
+        getUpdater().setFloat(fieldName, value);
+        fieldUpdated();
+    }
+
+    @Override
+    public void setDouble(String fieldName, double value) throws IOException {
+        getUpdater().setDouble(fieldName, value);
+        fieldUpdated();
+    }
+
+    /**
+     * Returns an entry holding the value to be stored: the updated data if fields were updated,
+     * the value given to {@link #setValue(Object)} if it was called, otherwise the original stored value.
+     */
+    public MapEntrySimple toStoredEntry() {
+        final Object storedValue;
+        if (updater != null) {
+            storedValue = updater.toData();
+        } else if (dataValue != null) {
+            storedValue = dataValue;
+        } else {
+            storedValue = value;
+        }
+        final MapEntrySimple entry = new MapEntrySimple(key, storedValue);
+        if (modified) {
+            entry.setValue(storedValue);
+        }
+        return entry;
+    }
+
+    private Data getValueData() {
+        if (updater != null) {
+            return updater.toData();
+        }
+        if (dataValue == null && value != null) {
+            dataValue = serializationService.toData(value);
+        }
+        return dataValue;
+    }
+
+    private PortableFieldUpdater getUpdater() throws IOException {
+        if (updater == null) {
+            final Data data = getValueData();
+            if (data == null || !data.isPortable()) {
+                throw new IllegalStateException("Value of entry is not a Portable, key: " + key);
+            }
+            updater = new PortableFieldUpdater(serializationService, data);
+        }
+        return updater;
+    }
+
+    private void fieldUpdated() {
+        value = null;
+        valueResolved = false;
+        modified = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Map.Entry)) {
+            return false;
+        }
+        final Map.Entry entry = (Map.Entry) o;
+        return equal(key, entry.getKey()) && equal(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        final Object value = getValue();
+        return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + getValue();
+    }
+
+    private static boolean equal(Object o1, Object o2) {
+        return o1 == null ? o2 == null : o1.equals(o2);
+    }
+}
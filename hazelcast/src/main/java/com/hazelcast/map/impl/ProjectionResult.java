@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Partial result of a projection on a member or a partition: the serialized projected values and the ids of
+ * the partitions they cover.
+ */
+public class ProjectionResult extends AbstractPartitionFanOutResult {
+
+    private List<Data> results;
+
+    public ProjectionResult() {
+    }
+
+    public ProjectionResult(List<Data> results, Collection<Integer> partitionIds) {
+        super(partitionIds);
+        this.results = results;
+    }
+
+    public List<Data> getResults() {
+        return results;
+    }
+
+    @Override
+    protected void writeResult(ObjectDataOutput out) throws IOException {
+        out.writeInt(results.size());
+        for (Data result : results) {
+            out.writeData(result);
+        }
+    }
+
+    @Override
+    protected void readResult(ObjectDataInput in) throws IOException {
+        int resultSize = in.readInt();
+        results = new ArrayList<Data>(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            results.add(in.readData());
+        }
+    }
+}
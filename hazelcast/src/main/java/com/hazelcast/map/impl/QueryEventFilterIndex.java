@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.query.Predicates.EqualPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.EventRegistration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups listener registrations having a {@link QueryEventFilter} with an equality predicate by the attribute
+ * they compare. For an event, each attribute is read once and the matching registrations of its group are found
+ * with a hash lookup on the attribute value, instead of applying every predicate one by one.
+ * <p/>
+ * An index is an immutable snapshot of the registrations it was created from; {@link #isValidFor(Collection)}
+ * tells whether it still describes the current registrations.
+ */
+final class QueryEventFilterIndex {
+
+    private final EventRegistration[] registrations;
+    private final Map<EventRegistration, Boolean> indexedRegistrations;
+    private final AttributeGroup[] groups;
+
+    private QueryEventFilterIndex(EventRegistration[] registrations, Map<EventRegistration, Boolean> indexedRegistrations,
+                                  AttributeGroup[] groups) {
+        this.registrations = registrations;
+        this.indexedRegistrations = indexedRegistrations;
+        this.groups = groups;
+    }
+
+    static QueryEventFilterIndex create(Collection<EventRegistration> registrations) {
+        EventRegistration[] snapshot = registrations.toArray(new EventRegistration[registrations.size()]);
+        Map<EventRegistration, Boolean> indexed = new IdentityHashMap<EventRegistration, Boolean>();
+        Map<String, AttributeGroup> groupsByAttribute = new LinkedHashMap<String, AttributeGroup>();
+        for (EventRegistration registration : snapshot) {
+            EqualPredicate predicate = getIndexablePredicate(registration);
+            if (predicate == null) {
+                continue;
+            }
+            String attribute = predicate.getAttribute();
+            AttributeGroup group = groupsByAttribute.get(attribute);
+            if (group == null) {
+                group = new AttributeGroup(attribute);
+                groupsByAttribute.put(attribute, group);
+            }
+            group.add(predicate, registration);
+            indexed.put(registration, Boolean.TRUE);
+        }
+        Collection<AttributeGroup> groups = groupsByAttribute.values();
+        return new QueryEventFilterIndex(snapshot, indexed, groups.toArray(new AttributeGroup[groups.size()]));
+    }
+
+    boolean isValidFor(Collection<EventRegistration> currentRegistrations) {
+        if (currentRegistrations.size() != registrations.length) {
+            return false;
+        }
+        Iterator<EventRegistration> iterator = currentRegistrations.iterator();
+        for (EventRegistration registration : registrations) {
+            if (!iterator.hasNext() || iterator.next() != registration) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isEmpty() {
+        return groups.length == 0;
+    }
+
+    boolean isIndexed(EventRegistration registration) {
+        return indexedRegistrations.containsKey(registration);
+    }
+
+    /**
+     * Returns the indexed registrations whose predicate matches the given entry.
+     */
+    List<EventRegistration> getMatchingRegistrations(QueryableEntry entry) {
+        List<EventRegistration> matches = null;
+        for (AttributeGroup group : groups) {
+            Collection<EventRegistration> groupMatches = group.getMatchingRegistrations(entry);
+            if (groupMatches.isEmpty()) {
+                continue;
+            }
+            if (matches == null) {
+                matches = new ArrayList<EventRegistration>(groupMatches);
+            } else {
+                matches.addAll(groupMatches);
+            }
+        }
+        return matches == null ? Collections.<EventRegistration>emptyList() : matches;
+    }
+
+    /**
+     * Returns the equality predicate of the registration if it can be answered from the index: the filter is a
+     * plain {@link QueryEventFilter} which is not bound to a key, and its predicate is an {@link EqualPredicate}
+     * either directly or as the whole of an {@link SqlPredicate}.
+     */
+    private static EqualPredicate getIndexablePredicate(EventRegistration registration) {
+        if (registration.getFilter() == null || registration.getFilter().getClass() != QueryEventFilter.class) {
+            return null;
+        }
+        QueryEventFilter filter = (QueryEventFilter) registration.getFilter();
+        if (filter.getKey() != null) {
+            return null;
+        }
+        Object predicate = filter.getPredicate();
+        if (predicate instanceof SqlPredicate) {
+            predicate = ((SqlPredicate) predicate).getPredicate();
+        }
+        if (predicate == null || predicate.getClass() != EqualPredicate.class) {
+            return null;
+        }
+        return (EqualPredicate) predicate;
+    }
+
+    /**
+     * Registrations comparing the same attribute. The lookup table is keyed by the predicate values converted
+     * to the attribute type, which is only known once an entry with a non-null attribute is seen, so it is
+     * built lazily on first use.
+     */
+    private static final class AttributeGroup {
+
+        private final String attribute;
+        private final List<EqualPredicate> predicates = new ArrayList<EqualPredicate>();
+        private final List<EventRegistration> registrations = new ArrayList<EventRegistration>();
+        private final List<EventRegistration> nullValueRegistrations = new ArrayList<EventRegistration>();
+        private volatile Map<Object, List<EventRegistration>> registrationsByValue;
+
+        private AttributeGroup(String attribute) {
+            this.attribute = attribute;
+        }
+
+        private void add(EqualPredicate predicate, EventRegistration registration) {
+            predicates.add(predicate);
+            registrations.add(registration);
+            Comparable value = predicate.getValue();
+            if (value == null || value == IndexImpl.NULL) {
+                nullValueRegistrations.add(registration);
+            }
+        }
+
+        private Collection<EventRegistration> getMatchingRegistrations(QueryableEntry entry) {
+            Comparable attributeValue = readAttribute(entry);
+            if (attributeValue == null) {
+                return nullValueRegistrations;
+            }
+            Map<Object, List<EventRegistration>> lookup = registrationsByValue;
+            if (lookup == null) {
+                lookup = createLookup(entry);
+            }
+            List<EventRegistration> matches = lookup.get(attributeValue);
+            return matches == null ? Collections.<EventRegistration>emptyList() : matches;
+        }
+
+        private synchronized Map<Object, List<EventRegistration>> createLookup(QueryableEntry entry) {
+            Map<Object, List<EventRegistration>> lookup = registrationsByValue;
+            if (lookup != null) {
+                return lookup;
+            }
+            lookup = new HashMap<Object, List<EventRegistration>>();
+            for (int i = 0; i < predicates.size(); i++) {
+                EqualPredicate predicate = predicates.get(i);
+                Comparable value = predicate.getValue();
+                if (value == null || value == IndexImpl.NULL) {
+                    continue;
+                }
+                // applying the predicate converts its value to the attribute type, as a regular evaluation would.
+                predicate.apply(entry);
+                Comparable convertedValue = predicate.getValue();
+                List<EventRegistration> list = lookup.get(convertedValue);
+                if (list == null) {
+                    list = new ArrayList<EventRegistration>(1);
+                    lookup.put(convertedValue, list);
+                }
+                list.add(registrations.get(i));
+            }
+            registrationsByValue = lookup;
+            return lookup;
+        }
+
+        private Comparable readAttribute(QueryableEntry entry) {
+            // same as the attribute read of an equality predicate, enums are compared by name.
+            Comparable value = entry.getAttribute(attribute);
+            if (value != null && value.getClass().isEnum()) {
+                value = value.toString();
+            }
+            return value;
+        }
+    }
+}
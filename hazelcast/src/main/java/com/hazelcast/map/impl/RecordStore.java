@@ -28,6 +28,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * Defines a record-store.
@@ -151,6 +152,15 @@ public interface RecordStore {
      */
     void putRecord(Data key, Record record);
 
+    /**
+     * Removes the records of the given data keys from record-store, without touching the map store.
+     * Used in replication operations, to drop the records which are replicated again.
+     *
+     * @param keys the data keys of the records to remove.
+     * @see com.hazelcast.map.impl.operation.MapReplicationOperation
+     */
+    void removeRecords(Collection<Data> keys);
+
     /**
      * Iterates over record store values.
      *
@@ -178,6 +188,30 @@ public interface RecordStore {
      */
     Iterator<Record> loadAwareIterator(long now, boolean backup);
 
+    /**
+     * Fetches up to {@code size} records of this partition, skipping the expired ones, starting from
+     * the given cursor of the record map. Like {@link #loadAwareIterator(long, boolean)},
+     * it can only be used after the initial load.
+     *
+     * @param tableIndex cursor to start from, {@code 0} to start from the beginning.
+     * @param size       maximum number of records to scan.
+     * @param now        current time in millis.
+     * @param records    list the fetched records are added to.
+     * @return cursor to resume from, {@code -1} if all records are fetched.
+     * @see com.hazelcast.map.impl.record.SingleWriterRecordMap#fetch(int, int, List)
+     */
+    int fetch(int tableIndex, int size, long now, List<Record> records);
+
+    /**
+     * Adds up to {@code sampleCount} records of this partition, starting from a random position, to the given list.
+     * Used by sampling based eviction, so the cost depends on the sample count but not on the size of the partition.
+     *
+     * @param sampleCount maximum number of records to sample.
+     * @param samples     list the sampled records are added to.
+     * @see com.hazelcast.map.impl.record.SingleWriterRecordMap#sample(int, List)
+     */
+    void sample(int sampleCount, List<Record> samples);
+
     /**
      * Returns records map.
      *
@@ -264,8 +298,10 @@ public interface RecordStore {
      * @param keys                  keys to be loaded.
      * @param replaceExistingValues <code>true</code> if need to replace existing values otherwise <code>false</code>
      * @param lastBatch when keys are sent is batches this indicates the last batch. Used to indicate loading is complete.
+     * @return future which completes when the loaded values are put to the partitions, or <code>null</code> if no keys
+     * are given.
      */
-    void loadAllFromStore(List<Data> keys, boolean replaceExistingValues, boolean lastBatch);
+    Future<?> loadAllFromStore(List<Data> keys, boolean replaceExistingValues, boolean lastBatch);
 
     MapDataStore<Data, Object> getMapDataStore();
 
@@ -52,7 +52,9 @@ public class MapExecuteWithPredicateRequest extends AllPartitionsClientRequest {
 
     @Override
     protected OperationFactory createOperationFactory() {
-        return new PartitionWideEntryWithPredicateOperationFactory(name, processor, predicate);
+        MapService mapService = getService();
+        return new PartitionWideEntryWithPredicateOperationFactory(name, processor, predicate,
+                mapService.getMapServiceContext());
     }
 
     @Override
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.client.impl.client.PartitionClientRequest;
+import com.hazelcast.client.impl.client.RetryableRequest;
+import com.hazelcast.client.impl.client.SecureRequest;
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.GetAllOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fetches the given keys of a single partition by running a {@link GetAllOperation} on the partition owner.
+ * <p/>
+ * Smart clients group the keys of a {@link com.hazelcast.core.IMap#getAll(Set)} call by partition and send one
+ * of these requests per partition straight to its owner, instead of a {@link MapGetAllRequest} that is
+ * fanned out to every partition of the cluster.
+ */
+public class MapGetAllPartitionRequest extends PartitionClientRequest implements Portable, RetryableRequest, SecureRequest {
+
+    private String name;
+    private int partitionId;
+    private Set<Data> keys = new HashSet<Data>();
+
+    public MapGetAllPartitionRequest() {
+    }
+
+    public MapGetAllPartitionRequest(String name, int partitionId, Set<Data> keys) {
+        this.name = name;
+        this.partitionId = partitionId;
+        this.keys = keys;
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        return new GetAllOperation(name, keys);
+    }
+
+    @Override
+    protected int getPartition() {
+        return partitionId;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.GET_ALL_PARTITION;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+        writer.writeInt("p", partitionId);
+        writer.writeInt("size", keys.size());
+        ObjectDataOutput out = writer.getRawDataOutput();
+        for (Data key : keys) {
+            out.writeData(key);
+        }
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+        partitionId = reader.readInt("p");
+        int size = reader.readInt("size");
+        ObjectDataInput in = reader.getRawDataInput();
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+        }
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "getAll";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{keys};
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.client;
+
+import com.hazelcast.client.impl.client.PartitionClientRequest;
+import com.hazelcast.client.impl.client.SecureRequest;
+import com.hazelcast.map.impl.MapEntrySet;
+import com.hazelcast.map.impl.MapPortableHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PutAllOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.security.Permission;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores the given entries of a single partition by running a {@link PutAllOperation} on the partition owner.
+ * <p/>
+ * This is the per-partition counterpart of {@link MapPutAllRequest}, used by smart clients which already know
+ * the partition of every key they write.
+ */
+public class MapPutAllPartitionRequest extends PartitionClientRequest implements Portable, SecureRequest {
+
+    private String name;
+    private int partitionId;
+    private MapEntrySet entrySet;
+
+    public MapPutAllPartitionRequest() {
+    }
+
+    public MapPutAllPartitionRequest(String name, int partitionId, MapEntrySet entrySet) {
+        this.name = name;
+        this.partitionId = partitionId;
+        this.entrySet = entrySet;
+    }
+
+    @Override
+    protected Operation prepareOperation() {
+        return new PutAllOperation(name, entrySet);
+    }
+
+    @Override
+    protected int getPartition() {
+        return partitionId;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapPortableHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapPortableHook.PUT_ALL_PARTITION;
+    }
+
+    @Override
+    public void write(PortableWriter writer) throws IOException {
+        writer.writeUTF("n", name);
+        writer.writeInt("p", partitionId);
+        ObjectDataOutput out = writer.getRawDataOutput();
+        entrySet.writeData(out);
+    }
+
+    @Override
+    public void read(PortableReader reader) throws IOException {
+        name = reader.readUTF("n");
+        partitionId = reader.readInt("p");
+        ObjectDataInput in = reader.getRawDataInput();
+        entrySet = new MapEntrySet();
+        entrySet.readData(in);
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(name, ActionConstants.ACTION_PUT);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "putAll";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        Map<Data, Data> map = new HashMap<Data, Data>();
+        for (Map.Entry<Data, Data> entry : entrySet.getEntrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+        return new Object[]{map};
+    }
+}
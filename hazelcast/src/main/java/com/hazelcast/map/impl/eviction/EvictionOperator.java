@@ -30,8 +30,10 @@ import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.MemoryInfoAccessor;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
@@ -113,6 +115,65 @@ public final class EvictionOperator {
         }
     }
 
+    /**
+     * Evicts {@code evictableSize} records, choosing each one out of a random sample of {@code sampleCount} records
+     * instead of sorting all records of the partition, so the cost of an eviction does not depend on the partition
+     * size. The evicted records are the approximately least recently or least frequently used ones.
+     *
+     * @param recordStore     the record store to evict from
+     * @param evictableSize   number of records to evict
+     * @param mapConfig       config of the map
+     * @param sampleCount     number of records sampled per evicted record
+     * @param frequencySketch sketch estimating the access frequencies for {@link EvictionPolicy#LFU},
+     *                        {@code null} to use the hit counts of the records
+     * @param backup          <code>true</code> if a backup partition, otherwise <code>false</code>
+     */
+    public void removeEvictableRecordsBySampling(RecordStore recordStore, int evictableSize, MapConfig mapConfig,
+                                                 int sampleCount, FrequencySketch frequencySketch, boolean backup) {
+        final EvictionPolicy evictionPolicy = mapConfig.getEvictionPolicy();
+        final FrequencySketch sketch = evictionPolicy == EvictionPolicy.LFU ? frequencySketch : null;
+        final String mapName = recordStore.getName();
+        final List<Record> samples = new ArrayList<Record>(sampleCount);
+        int evictedRecordCounter = 0;
+        while (evictedRecordCounter < evictableSize && recordStore.size() > 0) {
+            samples.clear();
+            recordStore.sample(sampleCount, samples);
+            final Record record = selectEvictionCandidate(recordStore, samples, evictionPolicy, sketch);
+            if (record == null) {
+                // all sampled records are locked
+                break;
+            }
+            final Data tmpKey = record.getKey();
+            final Object tmpValue = record.getValue();
+            recordStore.evict(tmpKey, backup);
+            evictedRecordCounter++;
+            if (!backup) {
+                mapServiceContext.interceptAfterRemove(mapName, tmpValue);
+                fireEvent(tmpKey, tmpValue, mapName, mapServiceContext);
+            }
+        }
+    }
+
+    private Record selectEvictionCandidate(RecordStore recordStore, List<Record> samples, EvictionPolicy evictionPolicy,
+                                           FrequencySketch sketch) {
+        Record candidate = null;
+        long candidateValue = Long.MAX_VALUE;
+        for (Record record : samples) {
+            final Data key = record.getKey();
+            if (recordStore.isLocked(key)) {
+                continue;
+            }
+            final long value = sketch == null
+                    ? getEvictionCriteriaValue(record, evictionPolicy)
+                    : sketch.frequency(key.hashCode());
+            if (candidate == null || value < candidateValue) {
+                candidate = record;
+                candidateValue = value;
+            }
+        }
+        return candidate;
+    }
+
     private long[] createAndPopulateEvictionCriteriaArray(RecordStore recordStore,
                                                           EvictionPolicy evictionPolicy) {
         final int size = recordStore.size();
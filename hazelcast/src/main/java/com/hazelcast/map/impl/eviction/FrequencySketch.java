@@ -0,0 +1,155 @@
+/*
+ * Copyright 2015 Ben Manes. All Rights Reserved.
+ * Modifications Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Approximate access frequency counter of the keys of a record store, used by the LFU policy of sampling based
+ * eviction.
+ * <p/>
+ * This is a count-min sketch with 4-bit counters: every key is counted in 4 counters picked by different hash
+ * functions and its frequency is estimated as the minimum of them, so collisions can only make the estimate
+ * too high. Frequencies saturate at 15. When the number of increments reaches 10 times the number of counter words
+ * all counters are halved, so keys which were popular a long time ago lose their weight; this aging is what makes
+ * it preferable over the exact, never decaying hit counts of the records.
+ * <p/>
+ * The sketch costs one {@code long}, sixteen counters, per expected entry. It is not thread-safe; like the record
+ * store owning it, it is only accessed by the partition thread.
+ * <p/>
+ * Adapted from the {@code FrequencySketch} of the Caffeine project (https://github.com/ben-manes/caffeine),
+ * licensed under the Apache License, Version 2.0. Unlike the original it keeps its counts when it grows.
+ */
+public final class FrequencySketch {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int RESET_MULTIPLIER = 10;
+    private static final int MAX_FREQUENCY = 15;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final int DEPTH = SEEDS.length;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int expectedEntries) {
+        ensureCapacity(expectedEntries);
+    }
+
+    /**
+     * Grows the sketch if it is too small for the given number of entries.
+     * <p/>
+     * Growing keeps the counts: a key's counter word in the grown table has the same low index bits as in the old
+     * one, so every new word starts as a copy of the old word it maps to, and estimates can only stay too high. The
+     * copies are then halved, since each old collision is now counted in more words.
+     *
+     * @param expectedEntries the number of entries to count
+     */
+    public void ensureCapacity(int expectedEntries) {
+        int capacity = nextPowerOfTwo(Math.min(Math.max(expectedEntries, MIN_CAPACITY), MAX_CAPACITY));
+        if (table != null && table.length >= capacity) {
+            return;
+        }
+        long[] oldTable = table;
+        table = new long[capacity];
+        tableMask = capacity - 1;
+        sampleSize = capacity > Integer.MAX_VALUE / RESET_MULTIPLIER ? Integer.MAX_VALUE : capacity * RESET_MULTIPLIER;
+        if (oldTable == null) {
+            return;
+        }
+        int oldMask = oldTable.length - 1;
+        for (int i = 0; i < capacity; i++) {
+            table[i] = oldTable[i & oldMask];
+        }
+        reset();
+    }
+
+    /**
+     * Returns the estimated number of times the key with the given hash was counted, at most 15.
+     *
+     * @param keyHash the hash code of the key
+     * @return the estimated frequency
+     */
+    public int frequency(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts an access to the key with the given hash.
+     *
+     * @param keyHash the hash code of the key
+     */
+    public void increment(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            added |= incrementAt(index, start + i);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = (long) MAX_FREQUENCY << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all counters.
+     */
+    void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int h = ((hash >>> 16) ^ hash) * SPREAD_MULTIPLIER;
+        h = ((h >>> 16) ^ h) * SPREAD_MULTIPLIER;
+        return (h >>> 16) ^ h;
+    }
+}
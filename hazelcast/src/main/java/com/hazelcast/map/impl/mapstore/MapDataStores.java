@@ -32,6 +32,7 @@ import com.hazelcast.spi.NodeEngine;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createBoundedCoalescedWriteBehindQueue;
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createBoundedWriteBehindQueue;
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createDefaultWriteBehindQueue;
 
@@ -64,11 +65,10 @@ public final class MapDataStores {
         final MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         final int writeDelaySeconds = mapStoreConfig.getWriteDelaySeconds();
         final long writeDelayMillis = TimeUnit.SECONDS.toMillis(writeDelaySeconds);
-        final boolean writeCoalescing = mapStoreConfig.isWriteCoalescing();
         final InMemoryFormat inMemoryFormat = getInMemoryFormat(mapStoreContext);
         final WriteBehindStore mapDataStore
                 = new WriteBehindStore(store, serializationService, writeDelayMillis, partitionId, inMemoryFormat);
-        final WriteBehindQueue writeBehindQueue = newWriteBehindQueue(mapServiceContext, writeCoalescing);
+        final WriteBehindQueue writeBehindQueue = newWriteBehindQueue(mapStoreContext);
         mapDataStore.setWriteBehindQueue(writeBehindQueue);
         mapDataStore.setWriteBehindProcessor(writeBehindProcessor);
         return (MapDataStore<K, V>) mapDataStore;
@@ -84,11 +84,34 @@ public final class MapDataStores {
         return mapConfig.getInMemoryFormat();
     }
 
-    private static WriteBehindQueue newWriteBehindQueue(MapServiceContext mapServiceContext, boolean writeCoalescing) {
+    private static WriteBehindQueue newWriteBehindQueue(MapStoreContext mapStoreContext) {
+        final MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
         final int capacity = mapServiceContext.getNodeEngine().getGroupProperties().MAP_WRITE_BEHIND_QUEUE_CAPACITY.getInteger();
         final AtomicInteger counter = mapServiceContext.getWriteBehindQueueItemCounter();
-        return writeCoalescing ? createDefaultWriteBehindQueue()
-                : createBoundedWriteBehindQueue(capacity, counter);
+        if (!mapStoreContext.getMapStoreConfig().isWriteCoalescing()) {
+            return createBoundedWriteBehindQueue(capacity, counter);
+        }
+        return hasBoundedWriteBehindQueue(mapStoreContext) ? createBoundedCoalescedWriteBehindQueue(capacity, counter)
+                : createDefaultWriteBehindQueue();
+    }
+
+    /**
+     * Tells whether the write-behind queues of a map count against the node-wide write-behind queue capacity.
+     * Non-coalescing queues always do, coalescing ones only if
+     * {@link com.hazelcast.instance.GroupProperties#PROP_MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED} is set.
+     *
+     * @param mapStoreContext context for map store operations.
+     * @return {@code true} if the map is a write-behind map with bounded queues, {@code false} otherwise.
+     */
+    public static boolean hasBoundedWriteBehindQueue(MapStoreContext mapStoreContext) {
+        if (!mapStoreContext.isWriteBehindMapStoreEnabled()) {
+            return false;
+        }
+        if (!mapStoreContext.getMapStoreConfig().isWriteCoalescing()) {
+            return true;
+        }
+        final NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        return nodeEngine.getGroupProperties().MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED.getBoolean();
     }
 
     /**
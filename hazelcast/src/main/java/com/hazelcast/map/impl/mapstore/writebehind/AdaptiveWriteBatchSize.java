@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the number of entries a {@link StoreWorker} passes to its {@link WriteBehindProcessor} in one call to the
+ * observed latency of that call.
+ * <p/>
+ * The batch size is halved when a batch takes longer than the target latency, so a slow MapStore doesn't block the worker
+ * and the retries of its partitions for long. It is doubled, up to the maximum, when a full batch takes less than half of
+ * the target latency.
+ * <p/>
+ * Not thread-safe; every store worker has its own instance.
+ */
+class AdaptiveWriteBatchSize {
+
+    private final int maxBatchSize;
+
+    private final long targetLatencyNanos;
+
+    private int batchSize;
+
+    AdaptiveWriteBatchSize(int maxBatchSize, long targetLatencyMillis) {
+        this.maxBatchSize = maxBatchSize;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.batchSize = maxBatchSize;
+    }
+
+    int get() {
+        return batchSize;
+    }
+
+    /**
+     * Updates the batch size with the latency of a processed batch.
+     *
+     * @param entryCount   the number of entries in the batch.
+     * @param latencyNanos the time it took to process the batch.
+     */
+    void update(int entryCount, long latencyNanos) {
+        if (latencyNanos > targetLatencyNanos) {
+            batchSize = Math.max(1, Math.min(batchSize, entryCount) / 2);
+        } else if (entryCount >= batchSize && latencyNanos < targetLatencyNanos / 2) {
+            batchSize = (int) Math.min(maxBatchSize, 2L * batchSize);
+        }
+    }
+}
@@ -26,7 +26,11 @@ import static java.lang.String.format;
 
 /**
  * A bounded queue which throws {@link com.hazelcast.map.ReachedMaxSizeException}
- * when it exceeds max size. Used when non-write-coalescing mode is on.
+ * when it exceeds max size. Wraps the non-coalescing queues, and the coalescing ones if
+ * {@link com.hazelcast.instance.GroupProperties#PROP_MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED} is set.
+ * It counts the entries the wrapped queue actually holds, so an update coalesced into
+ * an existing entry does not use up capacity. Backups and replicated entries are counted
+ * but never rejected, see {@link #addForcibly}.
  * <p/>
  * Note that this {@link WriteBehindQueue} implementation is not thread-safe. When it is in action, thread-safe access
  * will be provided by wrapping it in a {@link SynchronizedWriteBehindQueue}
@@ -63,8 +67,11 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         if (collection == null || collection.isEmpty()) {
             return;
         }
-        addCapacity(collection.size());
+        int sizeBefore = queue.size();
+        int reserved = collection.size();
+        addCapacity(reserved);
         queue.addFirst(collection);
+        releaseUnused(reserved, sizeBefore);
     }
 
     /**
@@ -74,8 +81,22 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
      */
     @Override
     public void addLast(E e) {
+        int sizeBefore = queue.size();
         addCapacity(1);
         queue.addLast(e);
+        releaseUnused(1, sizeBefore);
+    }
+
+    /**
+     * Inserts to the end of this queue, counting the element but not checking the capacity.
+     *
+     * @param e element to be offered
+     */
+    @Override
+    public void addForcibly(E e) {
+        int sizeBefore = queue.size();
+        queue.addLast(e);
+        writeBehindQueueItemCounter.addAndGet(queue.size() - sizeBefore);
     }
 
     /**
@@ -102,8 +123,9 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
      */
     @Override
     public int drainTo(Collection<E> collection) {
+        int sizeBefore = queue.size();
         int size = queue.drainTo(collection);
-        addCapacity(-size);
+        addCapacity(queue.size() - sizeBefore);
         return size;
     }
 
@@ -190,7 +212,7 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
             return;
         }
 
-        if (maxCapacity < newCapacity) {
+        if (capacity > 0 && maxCapacity < newCapacity) {
             throwException(currentCapacity, maxCapacity, capacity);
         }
 
@@ -202,12 +224,23 @@ class BoundedWriteBehindQueue<E> implements WriteBehindQueue<E> {
                 return;
             }
 
-            if (maxCapacity < newCapacity) {
+            if (capacity > 0 && maxCapacity < newCapacity) {
                 throwException(currentCapacity, maxCapacity, capacity);
             }
         }
     }
 
+    /**
+     * Gives back the part of a reservation the wrapped queue did not use, because a coalescing queue
+     * replaced existing entries instead of adding new ones.
+     */
+    private void releaseUnused(int reserved, int sizeBefore) {
+        int added = queue.size() - sizeBefore;
+        if (added < reserved) {
+            addCapacity(added - reserved);
+        }
+    }
+
     private void throwException(int currentCapacity, int maxSize, int requiredCapacity) {
         final String msg = format("Reached node-wide max capacity for write-behind-stores. Max allowed capacity = [%d],"
                         + " current capacity = [%d], required capacity = [%d]",
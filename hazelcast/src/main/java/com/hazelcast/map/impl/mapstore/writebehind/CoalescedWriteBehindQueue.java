@@ -67,6 +67,11 @@ class CoalescedWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
         map.put(key, delayedEntry);
     }
 
+    @Override
+    public void addForcibly(DelayedEntry delayedEntry) {
+        addLast(delayedEntry);
+    }
+
     /**
      * Removes the first occurrence of the specified element in this queue
      * when searching it by starting from the head of this queue.
@@ -83,6 +83,11 @@ class CyclicWriteBehindQueue implements WriteBehindQueue<DelayedEntry> {
         addCountIndex(entry);
     }
 
+    @Override
+    public void addForcibly(DelayedEntry entry) {
+        addLast(entry);
+    }
+
     /**
      * Removes the first element of this queue instead of searching for it,
      * implementation of this method is strongly tied with {@link StoreWorker} implementation.
@@ -31,9 +31,11 @@ import com.hazelcast.util.CollectionUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.util.CollectionUtil.isEmpty;
@@ -41,7 +43,9 @@ import static com.hazelcast.util.CollectionUtil.isEmpty;
 /**
  * Used to process store operations in another thread.
  * Collects entries from write behind queues and passes them to {@link #writeBehindProcessor}.
- * Created per map.
+ * Created per map and worker; a map has {@link #workerCount} workers and each of them processes the partitions whose id
+ * modulo the worker count equals its {@link #workerIndex}. Since all entries of a key are in one partition, the store
+ * operations on a key stay in order.
  */
 public class StoreWorker implements Runnable {
 
@@ -51,6 +55,20 @@ public class StoreWorker implements Runnable {
 
     private final WriteBehindProcessor writeBehindProcessor;
 
+    private final int workerIndex;
+
+    private final int workerCount;
+
+    /**
+     * Null when the batch size is not adapted to the store latency.
+     */
+    private final AdaptiveWriteBatchSize batchSize;
+
+    /**
+     * Prevents overlapping runs when the scheduled executor has more than one thread.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
     /**
      * Run on backup nodes after this interval.
      */
@@ -63,23 +81,53 @@ public class StoreWorker implements Runnable {
 
 
     public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+        this(mapStoreContext, writeBehindProcessor, 0, 1);
+    }
+
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       int workerIndex, int workerCount) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         this.writeBehindProcessor = writeBehindProcessor;
+        this.workerIndex = workerIndex;
+        this.workerCount = workerCount;
+        this.batchSize = newAdaptiveWriteBatchSize(mapStoreContext);
         this.backupRunIntervalTime = getReplicaWaitTime();
         this.lastRunTime = Clock.currentTimeMillis();
     }
 
+    private AdaptiveWriteBatchSize newAdaptiveWriteBatchSize(MapStoreContext mapStoreContext) {
+        long targetLatencyMillis = mapServiceContext.getNodeEngine().getGroupProperties()
+                .MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS.getLong();
+        if (targetLatencyMillis <= 0) {
+            return null;
+        }
+        // a write batch size of 1 means the processor doesn't split the entries into batches.
+        int writeBatchSize = mapStoreContext.getMapStoreConfig().getWriteBatchSize();
+        int maxBatchSize = writeBatchSize > 1 ? writeBatchSize : Integer.MAX_VALUE;
+        return new AdaptiveWriteBatchSize(maxBatchSize, targetLatencyMillis);
+    }
 
     @Override
     public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runInternal();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runInternal() {
         long now = Clock.currentTimeMillis();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         InternalPartitionService partitionService = nodeEngine.getPartitionService();
         int partitionCount = partitionService.getPartitionCount();
         List<DelayedEntry> entries = new ArrayList<DelayedEntry>();
 
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+        for (int partitionId = workerIndex; partitionId < partitionCount; partitionId += workerCount) {
             InternalPartition partition = partitionService.getPartition(partitionId, false);
             Address owner = partition.getOwnerOrNull();
             if (owner == null) {
@@ -105,12 +153,39 @@ public class StoreWorker implements Runnable {
             return;
         }
 
-        Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(entries);
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = process(entries);
         removeFinishedStoreOperationsFromQueues(mapName, entries);
         readdFailedStoreOperationsToQueues(mapName, failuresPerPartition);
         lastRunTime = now;
     }
 
+    private Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> entries) {
+        if (batchSize == null) {
+            return writeBehindProcessor.process(entries);
+        }
+        // entries of a partition are in queue order, so processing the batches one after the other keeps that order.
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<Integer, List<DelayedEntry>>();
+        int size = entries.size();
+        int start = 0;
+        while (start < size) {
+            int end = (int) Math.min(size, (long) start + batchSize.get());
+            List<DelayedEntry> batch = new ArrayList<DelayedEntry>(entries.subList(start, end));
+            long startNanos = System.nanoTime();
+            Map<Integer, List<DelayedEntry>> failures = writeBehindProcessor.process(batch);
+            batchSize.update(batch.size(), System.nanoTime() - startNanos);
+            for (Map.Entry<Integer, List<DelayedEntry>> entry : failures.entrySet()) {
+                List<DelayedEntry> partitionFailures = failuresPerPartition.get(entry.getKey());
+                if (partitionFailures == null) {
+                    failuresPerPartition.put(entry.getKey(), entry.getValue());
+                } else {
+                    partitionFailures.addAll(entry.getValue());
+                }
+            }
+            start = end;
+        }
+        return failuresPerPartition;
+    }
+
     private List<DelayedEntry> getEntriesToStore(long now, RecordStore recordStore) {
         int flushCount = getNumberOfFlushedEntries(recordStore);
         WriteBehindQueue<DelayedEntry> queue = getWriteBehindQueue(recordStore);
@@ -56,6 +56,13 @@ class SynchronizedWriteBehindQueue<E> implements WriteBehindQueue<E> {
         }
     }
 
+    @Override
+    public void addForcibly(E e) {
+        synchronized (mutex) {
+            queue.addForcibly(e);
+        }
+    }
+
     /**
      * Removes the first occurrence of the specified element in this queue
      * when searching it by starting from the head of this queue.
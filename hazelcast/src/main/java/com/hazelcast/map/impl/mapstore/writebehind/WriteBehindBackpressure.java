@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.spi.impl.operationexecutor.classic.OperationThread;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Slows down callers writing to write-behind maps while the write-behind queues of the node are full.
+ * <p/>
+ * The bounded write-behind queues of a node count their entries in one node-wide counter bounded by
+ * {@link com.hazelcast.instance.GroupProperties#PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY}. The partition threads never
+ * wait for room, a full queue rejects a write at once with a {@link com.hazelcast.map.ReachedMaxSizeException}.
+ * Instead, the map proxy calls {@link #awaitCapacity()} before invoking a write: finding the queues full, it parks
+ * the calling thread in growing steps until the store workers have drained entries or the maximum wait has passed.
+ * So puts are held to the pace of the MapStore as long as it keeps up at all.
+ * <p/>
+ * A wait running out means the MapStore is not draining the queues. The node is then marked as saturated and
+ * later writes skip the wait, instead of each one blocking its caller for the maximum wait, until the queues
+ * are below capacity again.
+ */
+public class WriteBehindBackpressure {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AtomicInteger writeBehindQueueItemCounter;
+    private final int maxCapacity;
+    private final long maxWaitNanos;
+
+    private volatile boolean saturated;
+
+    public WriteBehindBackpressure(AtomicInteger writeBehindQueueItemCounter, int maxCapacity, long maxWaitMillis) {
+        this.writeBehindQueueItemCounter = writeBehindQueueItemCounter;
+        this.maxCapacity = maxCapacity;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Waits until the write-behind queues of the node have room for another entry, at most for the maximum wait.
+     * Returns immediately if the node is saturated, or if called from an operation or IO thread.
+     */
+    public void awaitCapacity() {
+        if (hasCapacity()) {
+            if (saturated) {
+                saturated = false;
+            }
+            return;
+        }
+        if (saturated || isNotAllowedToWait()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        long parkNanos = MIN_PARK_NANOS;
+        for (;;) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                saturated = true;
+                return;
+            }
+            LockSupport.parkNanos(Math.min(parkNanos, remaining));
+            if (hasCapacity()) {
+                return;
+            }
+            parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+        }
+    }
+
+    private static boolean isNotAllowedToWait() {
+        Thread currentThread = Thread.currentThread();
+        return currentThread instanceof OperationThread || currentThread instanceof OperationHostileThread;
+    }
+
+    private boolean hasCapacity() {
+        return writeBehindQueueItemCounter.get() < maxCapacity;
+    }
+}
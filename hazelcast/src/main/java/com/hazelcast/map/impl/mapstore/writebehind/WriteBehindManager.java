@@ -46,7 +46,7 @@ public class WriteBehindManager implements MapStoreManager {
 
     private final WriteBehindProcessor writeBehindProcessor;
 
-    private final StoreWorker storeWorker;
+    private final StoreWorker[] storeWorkers;
 
     private final String executorName;
 
@@ -55,14 +55,16 @@ public class WriteBehindManager implements MapStoreManager {
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
         this.executorName = EXECUTOR_NAME_PREFIX + mapStoreContext.getMapName();
         final MapServiceContext mapServiceContext = mapStoreContext.getMapServiceContext();
-        this.scheduledExecutor = getScheduledExecutorService(mapServiceContext);
+        this.storeWorkers = newStoreWorkers(mapStoreContext, writeBehindProcessor);
+        this.scheduledExecutor = getScheduledExecutorService(mapServiceContext, storeWorkers.length);
     }
 
     public void start() {
-        scheduledExecutor.scheduleAtFixedRate(storeWorker, 1, 1, TimeUnit.SECONDS);
+        for (StoreWorker storeWorker : storeWorkers) {
+            scheduledExecutor.scheduleAtFixedRate(storeWorker, 1, 1, TimeUnit.SECONDS);
+        }
     }
 
     public void stop() {
@@ -84,10 +86,22 @@ public class WriteBehindManager implements MapStoreManager {
         return writeBehindProcessor;
     }
 
-    private ScheduledExecutorService getScheduledExecutorService(MapServiceContext mapServiceContext) {
+    private static StoreWorker[] newStoreWorkers(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+        final NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        final int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        final int configuredWorkerCount = nodeEngine.getGroupProperties().MAP_WRITE_BEHIND_WORKER_COUNT.getInteger();
+        final int workerCount = Math.min(Math.max(1, configuredWorkerCount), partitionCount);
+        final StoreWorker[] storeWorkers = new StoreWorker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            storeWorkers[i] = new StoreWorker(mapStoreContext, writeBehindProcessor, i, workerCount);
+        }
+        return storeWorkers;
+    }
+
+    private ScheduledExecutorService getScheduledExecutorService(MapServiceContext mapServiceContext, int poolSize) {
         final NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         final ExecutionService executionService = nodeEngine.getExecutionService();
-        executionService.register(executorName, 1, EXECUTOR_DEFAULT_QUEUE_CAPACITY, ExecutorType.CACHED);
+        executionService.register(executorName, poolSize, EXECUTOR_DEFAULT_QUEUE_CAPACITY, ExecutorType.CACHED);
         return executionService.getScheduledExecutor(executorName);
     }
 
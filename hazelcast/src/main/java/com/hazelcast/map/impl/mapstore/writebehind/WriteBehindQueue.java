@@ -41,6 +41,14 @@ public interface WriteBehindQueue<E> {
      */
     void addLast(E e);
 
+    /**
+     * Inserts to the end of this queue without checking any capacity bound.
+     * Used for entries a node has to keep anyway, e.g. backups and replicated entries.
+     *
+     * @param e element to be offered
+     */
+    void addForcibly(E e);
+
     /**
      * Removes the first occurrence of the specified element in this queue
      * when searching it by starting from the head of this queue.
@@ -32,6 +32,12 @@ public final class WriteBehindQueues {
         return createSynchronizedWriteBehindQueue(boundedQueue);
     }
 
+    public static WriteBehindQueue createBoundedCoalescedWriteBehindQueue(int maxCapacity, AtomicInteger counter) {
+        final WriteBehindQueue queue = createCoalescedWriteBehindQueue();
+        final WriteBehindQueue boundedQueue = createBoundedWriteBehindQueue(maxCapacity, counter, queue);
+        return createSynchronizedWriteBehindQueue(boundedQueue);
+    }
+
     public static <T> WriteBehindQueue<T> createDefaultWriteBehindQueue() {
         final WriteBehindQueue queue = createCoalescedWriteBehindQueue();
         return createSynchronizedWriteBehindQueue(queue);
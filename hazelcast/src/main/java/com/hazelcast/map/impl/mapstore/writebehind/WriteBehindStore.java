@@ -104,12 +104,7 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
             value = toData(value);
         }
 
-        long writeDelay = this.writeDelayTime;
-        long storeTime = now + writeDelay;
-        DelayedEntry<Data, Object> delayedEntry
-                = DelayedEntries.createDefault(key, value, storeTime, partitionId);
-
-        add(delayedEntry);
+        add(createAddedEntry(key, value, now));
 
         return value;
     }
@@ -119,6 +114,15 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         stagingArea.put(delayedEntry.getKey(), delayedEntry);
     }
 
+    /**
+     * Adds an entry without checking the node-wide write-behind queue capacity.
+     * Used for backups and replicated entries, which the node has to keep even when the queues are full.
+     */
+    public void addForcibly(DelayedEntry<Data, Object> delayedEntry) {
+        writeBehindQueue.addForcibly(delayedEntry);
+        stagingArea.put(delayedEntry.getKey(), delayedEntry);
+    }
+
     @Override
     public void addTransient(Data key, long now) {
         stagingArea.put(key, TRANSIENT);
@@ -126,22 +130,33 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
 
     @Override
     public Object addBackup(Data key, Object value, long time) {
-        return add(key, value, time);
+        if (InMemoryFormat.OBJECT.equals(inMemoryFormat)) {
+            value = toData(value);
+        }
+
+        addForcibly(createAddedEntry(key, value, time));
+
+        return value;
     }
 
     @Override
     public void remove(Data key, long now) {
-        long writeDelay = this.writeDelayTime;
-        long storeTime = now + writeDelay;
-        DelayedEntry<Data, Object> delayedEntry
-                = DelayedEntries.createWithoutValue(key, storeTime, partitionId);
-
-        add(delayedEntry);
+        add(createDeletedEntry(key, now));
     }
 
     @Override
     public void removeBackup(Data key, long time) {
-        remove(key, time);
+        addForcibly(createDeletedEntry(key, time));
+    }
+
+    private DelayedEntry<Data, Object> createAddedEntry(Data key, Object value, long now) {
+        long storeTime = now + writeDelayTime;
+        return DelayedEntries.createDefault(key, value, storeTime, partitionId);
+    }
+
+    private DelayedEntry<Data, Object> createDeletedEntry(Data key, long now) {
+        long storeTime = now + writeDelayTime;
+        return DelayedEntries.createWithoutValue(key, storeTime, partitionId);
     }
 
     @Override
@@ -22,6 +22,7 @@ import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.PortableEntryAware;
 import com.hazelcast.map.impl.LocalMapStatsProvider;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapEntrySet;
@@ -77,7 +78,26 @@ abstract class AbstractMultipleEntryOperation extends AbstractMapOperation imple
 
 
     protected Map.Entry createMapEntry(Object key, Object value) {
-        return new MapEntrySimple(key, value);
+        return ProcessorEntries.createMapEntry(key, value, isPortableEntryAware(), getNodeEngine().getSerializationService());
+    }
+
+    /**
+     * Returns the value to be given to {@link #createMapEntry(Object, Object)}. Processors which are
+     * {@link PortableEntryAware} get the stored value as it is, others get it deserialized.
+     */
+    protected Object toEntryValue(Object storedValue) {
+        return isPortableEntryAware() ? storedValue : toObject(storedValue);
+    }
+
+    /**
+     * Converts a processed entry to a {@link MapEntrySimple} holding the value to be stored.
+     */
+    protected Map.Entry toStoredEntry(Map.Entry entry) {
+        return ProcessorEntries.toStoredEntry(entry);
+    }
+
+    protected boolean isPortableEntryAware() {
+        return ProcessorEntries.isPortableEntryAware(entryProcessor) || ProcessorEntries.isPortableEntryAware(backupProcessor);
     }
 
     protected boolean hasRegisteredListenerForThisMap() {
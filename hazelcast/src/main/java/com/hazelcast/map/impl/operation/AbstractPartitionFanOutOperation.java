@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.ReadonlyOperation;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for operations evaluating a predicate on the partitions owned by a member and combining the
+ * per-partition results into a single member result.
+ * <p/>
+ * If the predicate can be answered by the indexes of the map, the entries found by the index are accumulated
+ * directly. Otherwise a partition operation is sent to the partition thread of every owned partition; a
+ * partition migrated in the meantime is followed to its new owner, so every partition is accumulated exactly
+ * once. The partial results are combined as they arrive and the response is sent when the last one has been
+ * combined, so the calling thread is not blocked while the partitions are evaluated.
+ *
+ * @param <P> the response type of the partition operations
+ */
+public abstract class AbstractPartitionFanOutOperation<P> extends AbstractMapOperation implements ReadonlyOperation {
+
+    protected Predicate predicate;
+
+    private final Object mutex = new Object();
+    private Object result;
+
+    public AbstractPartitionFanOutOperation() {
+    }
+
+    public AbstractPartitionFanOutOperation(String mapName, Predicate predicate) {
+        super(mapName);
+        this.predicate = predicate;
+    }
+
+    @Override
+    public final void run() throws Exception {
+        InternalPartitionService partitionService = getNodeEngine().getPartitionService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+
+        Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+        Set<QueryableEntry> entries = null;
+        if (!partitionService.hasOnGoingMigrationLocal()) {
+            entries = mapContainer.getIndexService().query(predicate);
+        }
+
+        prepare();
+        if (entries != null) {
+            for (QueryableEntry entry : entries) {
+                accumulate(entry);
+            }
+            Collection<Integer> finalPartitions = mapServiceContext.getOwnedPartitions();
+            result = createResult(initialPartitions.equals(finalPartitions) ? finalPartitions : null);
+        } else if (initialPartitions.isEmpty()) {
+            result = createResult(initialPartitions);
+        } else {
+            runOnPartitionThreads(initialPartitions);
+        }
+
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            LocalMapStatsImpl localStats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name);
+            localStats.incrementOtherOperations();
+        }
+    }
+
+    private void runOnPartitionThreads(final Collection<Integer> partitionIds) {
+        final AtomicInteger pending = new AtomicInteger(partitionIds.size());
+        final AtomicBoolean failed = new AtomicBoolean();
+        ExecutionCallback<P> callback = new ExecutionCallback<P>() {
+            @Override
+            public void onResponse(P partial) {
+                synchronized (mutex) {
+                    combine(partial);
+                }
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (mutex) {
+                        getResponseHandler().sendResponse(createResult(partitionIds));
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (failed.compareAndSet(false, true)) {
+                    getResponseHandler().sendResponse(t);
+                }
+            }
+        };
+
+        OperationService operationService = getNodeEngine().getOperationService();
+        for (Integer partitionId : partitionIds) {
+            operationService.<P>invokeOnPartition(MapService.SERVICE_NAME, createPartitionOperation(), partitionId)
+                    .andThen(callback);
+        }
+    }
+
+    /**
+     * Sets up the empty member result, before any entry or partition result is added to it.
+     */
+    protected abstract void prepare();
+
+    /**
+     * Adds an entry found by the indexes to the member result.
+     */
+    protected abstract void accumulate(QueryableEntry entry);
+
+    /**
+     * Creates the operation evaluating the predicate on one partition.
+     */
+    protected abstract Operation createPartitionOperation();
+
+    /**
+     * Adds the result of a partition operation to the member result. Calls are serialized.
+     */
+    protected abstract void combine(P partial);
+
+    /**
+     * Creates the response of this operation.
+     *
+     * @param partitionIds the partitions covered by the member result, or null if they are not known
+     */
+    protected abstract Object createResult(Collection<Integer> partitionIds);
+
+    @Override
+    public boolean returnsResponse() {
+        // without a result the response is sent once the partition results have been combined
+        return result != null;
+    }
+
+    @Override
+    public ExceptionAction onException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        if (throwable instanceof TargetNotMemberException) {
+            return ExceptionAction.THROW_EXCEPTION;
+        }
+        return super.onException(throwable);
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        predicate = in.readObject();
+    }
+}
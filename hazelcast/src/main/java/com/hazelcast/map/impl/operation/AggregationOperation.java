@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.impl.AggregationResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Runs an aggregation on the partitions owned by a member and combines them into a single member result.
+ * Partitions not answered by the indexes are accumulated by {@link AggregationPartitionOperation}s.
+ */
+public class AggregationOperation extends AbstractPartitionFanOutOperation<Aggregator> {
+
+    private Data aggregatorData;
+
+    private transient Aggregator aggregator;
+
+    public AggregationOperation() {
+    }
+
+    public AggregationOperation(String mapName, Data aggregatorData, Predicate predicate) {
+        super(mapName, predicate);
+        this.aggregatorData = aggregatorData;
+    }
+
+    @Override
+    protected void prepare() {
+        aggregator = getNodeEngine().toObject(aggregatorData);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void accumulate(QueryableEntry entry) {
+        aggregator.accumulate(entry);
+    }
+
+    @Override
+    protected Operation createPartitionOperation() {
+        return new AggregationPartitionOperation(name, aggregatorData, predicate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void combine(Aggregator partial) {
+        aggregator.combine(partial);
+    }
+
+    @Override
+    protected Object createResult(Collection<Integer> partitionIds) {
+        return new AggregationResult(aggregator, partitionIds);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeData(aggregatorData);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        aggregatorData = in.readData();
+    }
+}
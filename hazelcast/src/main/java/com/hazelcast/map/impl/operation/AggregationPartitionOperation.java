@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.impl.MapContextQuerySupport;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Accumulates the matching entries of one partition on its partition thread.
+ * The aggregator is carried in serialized form, so every partition works on its own copy
+ * even when the operation is invoked locally.
+ */
+public class AggregationPartitionOperation extends AbstractMapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private Data aggregatorData;
+    private Predicate predicate;
+
+    private Aggregator result;
+
+    public AggregationPartitionOperation() {
+    }
+
+    public AggregationPartitionOperation(String mapName, Data aggregatorData, Predicate predicate) {
+        super(mapName);
+        this.aggregatorData = aggregatorData;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() {
+        MapContextQuerySupport mapQuerySupport = mapService.getMapServiceContext().getMapContextQuerySupport();
+        Aggregator aggregator = getNodeEngine().toObject(aggregatorData);
+        result = mapQuerySupport.aggregateOnPartition(name, predicate, aggregator, getPartitionId());
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeData(aggregatorData);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        aggregatorData = in.readData();
+        predicate = in.readObject();
+    }
+}
@@ -30,6 +30,10 @@ import com.hazelcast.util.Clock;
 import java.io.IOException;
 import java.util.Map;
 
+import static com.hazelcast.map.impl.operation.ProcessorEntries.createMapEntry;
+import static com.hazelcast.map.impl.operation.ProcessorEntries.isPortableEntryAware;
+import static com.hazelcast.map.impl.operation.ProcessorEntries.toStoredEntry;
+
 public class EntryBackupOperation extends KeyBasedMapOperation implements BackupOperation, MutatingOperation {
 
     protected transient Object oldValue;
@@ -57,11 +61,13 @@ public class EntryBackupOperation extends KeyBasedMapOperation implements Backup
         oldValue = getValueFor(dataKey, now);
 
         final Object key = toObject(dataKey);
-        final Object value = toObject(oldValue);
+        final boolean portableEntryAware = isPortableEntryAware(entryProcessor);
+        final Object value = portableEntryAware ? oldValue : toObject(oldValue);
 
-        final Map.Entry entry = createMapEntry(key, value);
+        Map.Entry entry = createMapEntry(key, value, portableEntryAware, getNodeEngine().getSerializationService());
 
         processBackup(entry);
+        entry = toStoredEntry(entry);
 
         if (noOpBackup(entry)) {
             return;
@@ -121,10 +127,6 @@ public class EntryBackupOperation extends KeyBasedMapOperation implements Backup
         return !mapEntrySimple.isModified() || (oldValue == null && entry.getValue() == null);
     }
 
-    private Map.Entry createMapEntry(Object key, Object value) {
-        return new MapEntrySimple(key, value);
-    }
-
     private Object getValueFor(Data dataKey, long now) {
         Map.Entry<Data, Object> mapEntry = recordStore.getMapEntry(dataKey, now);
         return mapEntry.getValue();
@@ -45,6 +45,9 @@ import java.util.Map;
 
 import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.map.impl.operation.ProcessorEntries.createMapEntry;
+import static com.hazelcast.map.impl.operation.ProcessorEntries.isPortableEntryAware;
+import static com.hazelcast.map.impl.operation.ProcessorEntries.toStoredEntry;
 
 /**
  * GOTCHA : This operation LOADS missing keys from map-store, in contrast with PartitionWideEntryOperation.
@@ -78,11 +81,13 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
         oldValue = getValueFor(dataKey, now);
 
         final Object key = toObject(dataKey);
-        final Object value = toObject(oldValue);
+        final boolean portableEntryAware = isPortableEntryAware(entryProcessor);
+        final Object value = portableEntryAware ? oldValue : toObject(oldValue);
 
-        final Map.Entry entry = createMapEntry(key, value);
+        Map.Entry entry = createMapEntry(key, value, portableEntryAware, getNodeEngine().getSerializationService());
 
         response = process(entry);
+        entry = toStoredEntry(entry);
 
         // first call noOp, other if checks below depends on it.
         if (noOp(entry)) {
@@ -229,10 +234,6 @@ public class EntryOperation extends LockAwareOperation implements BackupAwareOpe
         return toData(result);
     }
 
-    private Map.Entry createMapEntry(Object key, Object value) {
-        return new MapEntrySimple(key, value);
-    }
-
     private LocalMapStatsImpl getLocalMapStats() {
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final LocalMapStatsProvider localMapStatsProvider = mapServiceContext.getLocalMapStatsProvider();
@@ -16,12 +16,14 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.RecordStore;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.impl.MutatingOperation;
 import com.hazelcast.spi.PartitionAwareOperation;
 import java.io.IOException;
@@ -29,9 +31,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Triggers map store load of all given keys.
+ * <p/>
+ * By default the response is sent as soon as the loading is handed to the map loader executor. When
+ * {@code respondWhenLoaded} is set, the response is sent only after the loaded values are put to the partition,
+ * so the caller can bound the number of batches being loaded.
  */
 public class LoadAllOperation extends AbstractMapOperation implements PartitionAwareOperation, MutatingOperation {
 
@@ -39,6 +46,9 @@ public class LoadAllOperation extends AbstractMapOperation implements PartitionA
 
     private boolean replaceExistingValues;
     private boolean lastBatch = true;
+    private boolean respondWhenLoaded;
+
+    private transient Future<Object> loadingFuture;
 
     public LoadAllOperation() {
         keys = Collections.emptyList();
@@ -57,13 +67,47 @@ public class LoadAllOperation extends AbstractMapOperation implements PartitionA
         this.lastBatch = lastBatch;
     }
 
+    public LoadAllOperation(String name, List<Data> keys, boolean replaceExistingValues, boolean lastBatch,
+                            boolean respondWhenLoaded) {
+        this(name, keys, replaceExistingValues, lastBatch);
+        this.respondWhenLoaded = respondWhenLoaded;
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public void run() throws Exception {
         final int partitionId = getPartitionId();
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final RecordStore recordStore = mapServiceContext.getRecordStore(partitionId, name);
         keys = selectThisPartitionsKeys(this.keys);
-        recordStore.loadAllFromStore(keys, replaceExistingValues, lastBatch);
+        Future<?> f = recordStore.loadAllFromStore(keys, replaceExistingValues, lastBatch);
+        if (respondWhenLoaded) {
+            loadingFuture = (Future<Object>) f;
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        if (loadingFuture == null) {
+            return;
+        }
+        ExecutionService executionService = getNodeEngine().getExecutionService();
+        executionService.asCompletableFuture(loadingFuture).andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                getResponseHandler().sendResponse(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                getResponseHandler().sendResponse(t);
+            }
+        });
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return loadingFuture == null;
     }
 
     private List<Data> selectThisPartitionsKeys(Collection<Data> keys) {
@@ -95,6 +139,7 @@ public class LoadAllOperation extends AbstractMapOperation implements PartitionA
         }
         out.writeBoolean(replaceExistingValues);
         out.writeBoolean(lastBatch);
+        out.writeBoolean(respondWhenLoaded);
     }
 
     @Override
@@ -110,5 +155,6 @@ public class LoadAllOperation extends AbstractMapOperation implements PartitionA
         }
         replaceExistingValues = in.readBoolean();
         lastBatch = in.readBoolean();
+        respondWhenLoaded = in.readBoolean();
     }
 }
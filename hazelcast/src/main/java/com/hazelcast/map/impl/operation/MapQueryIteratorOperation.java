@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapContextQuerySupport;
+import com.hazelcast.map.impl.MapQueryIteratorResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Fetches the next page of the entries of a partition matching a predicate, starting from the given cursor.
+ * Unlike {@link QueryPartitionOperation} the scan resumes from where the previous page stopped instead of running
+ * the predicate on the whole partition again.
+ *
+ * @see com.hazelcast.map.impl.AbstractMapQueryIterator
+ */
+public class MapQueryIteratorOperation extends AbstractMapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private Predicate predicate;
+    private int tableIndex;
+    private int fetchSize;
+
+    private MapQueryIteratorResult result;
+
+    public MapQueryIteratorOperation() {
+    }
+
+    public MapQueryIteratorOperation(String name, Predicate predicate, int tableIndex, int fetchSize) {
+        super(name);
+        this.predicate = predicate;
+        this.tableIndex = tableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void run() {
+        MapContextQuerySupport mapQuerySupport = mapService.getMapServiceContext().getMapContextQuerySupport();
+        result = mapQuerySupport.queryOnPartition(name, predicate, getPartitionId(), tableIndex, fetchSize);
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(predicate);
+        out.writeInt(tableIndex);
+        out.writeInt(fetchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        predicate = in.readObject();
+        tableIndex = in.readInt();
+        fetchSize = in.readInt();
+    }
+}
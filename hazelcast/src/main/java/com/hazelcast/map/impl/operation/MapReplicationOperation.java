@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapReplicaDigest;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -33,36 +34,76 @@ import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.ChunkedReplicationOperation;
 import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.impl.MutatingOperation;
 import com.hazelcast.util.Clock;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 
 import static com.hazelcast.map.impl.record.Records.applyRecordInfo;
 
-public class MapReplicationOperation extends AbstractOperation implements MutatingOperation {
+/**
+ * Replicates the record stores and write-behind queues of a partition to another replica.
+ * <p/>
+ * On the sender, the records are read lazily: {@link #nextChunk(long)} splits them off in bounded chunks, each one
+ * carrying the records of a few maps, and the operation itself carries the records which are not split off.
+ * A map's record store is reset by the first operation carrying its records. The keys of a map are captured when its
+ * first chunk is taken, so a record which exists until its key is visited is replicated and any later update is
+ * replicated by the backup operations, which are applied after that chunk.
+ * <p/>
+ * When created for a replica sync with the {@link MapReplicaDigest} of the backup replica, only the maps and the
+ * key ranges whose hashes differ are replicated; the records of those ranges are removed, instead of resetting
+ * the record store, before the records of the owner are put.
+ * <p/>
+ * When the owner replica is replicated, e.g. by a migration, the query cache sequences of the partition are handed
+ * over as well, so the subscribers do not mistake the new owner's updates for lost events.
+ */
+public class MapReplicationOperation extends AbstractOperation implements MutatingOperation, ChunkedReplicationOperation {
 
-    private Map<String, Set<RecordReplicationInfo>> data;
+    private Map<String, Collection<RecordReplicationInfo>> data;
+    private Set<String> resetMapNames;
+    private Map<String, MapReplicaDigest.Ranges> resetRanges;
     private Map<String, Collection<DelayedEntry>> delayedEntries;
+    private Map<String, Map<String, Long>> queryCacheSequences = Collections.emptyMap();
+
+    // sender side state of the records which are not split off yet
+    private MapService mapService;
+    private PartitionContainer container;
+    private Map<String, MapReplicaDigest.Ranges> differingRanges;
+    private Queue<String> pendingMapNames;
+    private List<Data> pendingKeys;
+    private int pendingKeyIndex;
 
     public MapReplicationOperation() {
     }
 
     public MapReplicationOperation(MapService mapService, PartitionContainer container, int partitionId,
                                    int replicaIndex) {
+        this(mapService, container, partitionId, replicaIndex, null);
+    }
+
+    public MapReplicationOperation(MapService mapService, PartitionContainer container, int partitionId,
+                                   int replicaIndex, MapReplicaDigest replicaDigest) {
         this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        this.mapService = mapService;
+        this.container = container;
 
-        data = new HashMap<String, Set<RecordReplicationInfo>>(container.getMaps().size());
+        differingRanges = new HashMap<String, MapReplicaDigest.Ranges>();
+        pendingMapNames = new LinkedList<String>();
         for (Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
             RecordStore recordStore = entry.getValue();
             MapContainer mapContainer = recordStore.getMapContainer();
@@ -71,18 +112,95 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
                 continue;
             }
             String name = entry.getKey();
-            // now prepare data to migrate records
-            Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>(recordStore.size());
-            final Iterator<Record> iterator = recordStore.iterator();
-            while (iterator.hasNext()) {
-                final Record record = iterator.next();
-                RecordReplicationInfo recordReplicationInfo;
-                recordReplicationInfo = createRecordReplicationInfo(record, mapService);
-                recordSet.add(recordReplicationInfo);
+            long[] replicaRangeHashes = replicaDigest != null ? replicaDigest.getRangeHashes(name) : null;
+            if (replicaRangeHashes != null) {
+                MapReplicaDigest.Ranges ranges = MapReplicaDigest.differingRanges(mapService.getMapServiceContext(),
+                        recordStore, replicaRangeHashes);
+                if (ranges == null) {
+                    continue;
+                }
+                differingRanges.put(name, ranges);
             }
-            data.put(name, recordSet);
+            pendingMapNames.add(name);
         }
         readDelayedEntries(container);
+        if (replicaIndex == 0) {
+            queryCacheSequences = mapService.getMapServiceContext().getQueryCachePublisher()
+                    .flushAndGetSequences(partitionId);
+        }
+    }
+
+    @Override
+    public Operation nextChunk(long maxChunkSize) {
+        if (pendingMapNames == null) {
+            return null;
+        }
+        MapReplicationOperation chunk = new MapReplicationOperation();
+        chunk.setPartitionId(getPartitionId()).setReplicaIndex(getReplicaIndex());
+        chunk.setService(mapService);
+        chunk.data = new HashMap<String, Collection<RecordReplicationInfo>>();
+        chunk.resetMapNames = new HashSet<String>();
+        chunk.resetRanges = new HashMap<String, MapReplicaDigest.Ranges>();
+        chunk.delayedEntries = Collections.emptyMap();
+
+        long chunkSize = 0;
+        while (chunkSize < maxChunkSize && !pendingMapNames.isEmpty()) {
+            String mapName = pendingMapNames.peek();
+            RecordStore recordStore = container.getMaps().get(mapName);
+            if (recordStore == null) {
+                // map is destroyed meanwhile
+                nextPendingMap();
+                continue;
+            }
+            if (pendingKeys == null) {
+                Set<Data> keys = recordStore.getRecordMap().keySet();
+                MapReplicaDigest.Ranges ranges = differingRanges.get(mapName);
+                if (ranges == null) {
+                    pendingKeys = new ArrayList<Data>(keys);
+                    chunk.resetMapNames.add(mapName);
+                } else {
+                    pendingKeys = ranges.filter(keys);
+                    chunk.resetRanges.put(mapName, ranges);
+                }
+                pendingKeyIndex = 0;
+            }
+            Map<Data, Record> records = recordStore.getRecordMap();
+            List<RecordReplicationInfo> recordReplicationInfos = new ArrayList<RecordReplicationInfo>();
+            while (chunkSize < maxChunkSize && pendingKeyIndex < pendingKeys.size()) {
+                Data key = pendingKeys.set(pendingKeyIndex++, null);
+                Record record = records.get(key);
+                if (record != null) {
+                    RecordReplicationInfo recordReplicationInfo = createRecordReplicationInfo(record, mapService);
+                    recordReplicationInfos.add(recordReplicationInfo);
+                    chunkSize += sizeOf(recordReplicationInfo);
+                }
+            }
+            chunk.data.put(mapName, recordReplicationInfos);
+            if (pendingKeyIndex == pendingKeys.size()) {
+                nextPendingMap();
+            }
+        }
+
+        if (pendingMapNames.isEmpty()) {
+            // read the write-behind queues again, so they are as recent as the records split off
+            readDelayedEntries(container);
+        }
+        return chunk.data.isEmpty() ? null : chunk;
+    }
+
+    @Override
+    public boolean hasNextChunk() {
+        return pendingMapNames != null && !pendingMapNames.isEmpty();
+    }
+
+    private void nextPendingMap() {
+        pendingMapNames.poll();
+        pendingKeys = null;
+    }
+
+    private static long sizeOf(RecordReplicationInfo recordReplicationInfo) {
+        Data value = recordReplicationInfo.getValue();
+        return recordReplicationInfo.getKey().totalSize() + (value != null ? value.totalSize() : 0);
     }
 
     private void readDelayedEntries(PartitionContainer container) {
@@ -90,7 +208,8 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
         for (Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
             RecordStore recordStore = entry.getValue();
             MapContainer mapContainer = recordStore.getMapContainer();
-            if (!mapContainer.getMapStoreContext().isWriteBehindMapStoreEnabled()) {
+            if (!mapContainer.getMapStoreContext().isWriteBehindMapStoreEnabled()
+                    || mapContainer.getMapConfig().getTotalBackupCount() < getReplicaIndex()) {
                 continue;
             }
             final WriteBehindQueue<DelayedEntry> writeBehindQueue = ((WriteBehindStore) recordStore.getMapDataStore())
@@ -108,11 +227,15 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
         MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         if (data != null) {
-            for (Entry<String, Set<RecordReplicationInfo>> dataEntry : data.entrySet()) {
-                Set<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
+            for (Entry<String, Collection<RecordReplicationInfo>> dataEntry : data.entrySet()) {
+                Collection<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), mapName);
-                recordStore.reset();
+                if (resetMapNames.contains(mapName)) {
+                    recordStore.reset();
+                } else if (resetRanges.containsKey(mapName)) {
+                    removeRecords(recordStore, resetRanges.get(mapName));
+                }
 
                 for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
                     Data key = recordReplicationInfo.getKey();
@@ -132,9 +255,18 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
 
             Collection<DelayedEntry> replicatedEntries = entry.getValue();
             for (DelayedEntry delayedEntry : replicatedEntries) {
-                mapDataStore.add(delayedEntry);
+                mapDataStore.addForcibly(delayedEntry);
             }
         }
+
+        if (!queryCacheSequences.isEmpty()) {
+            mapServiceContext.getQueryCachePublisher().setSequences(getPartitionId(), queryCacheSequences);
+        }
+    }
+
+    private static void removeRecords(RecordStore recordStore, MapReplicaDigest.Ranges ranges) {
+        List<Data> keys = ranges.filter(recordStore.getRecordMap().keySet());
+        recordStore.removeRecords(keys);
     }
 
     @Override
@@ -145,11 +277,20 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
     @Override
     protected void readInternal(final ObjectDataInput in) throws IOException {
         int size = in.readInt();
-        data = new HashMap<String, Set<RecordReplicationInfo>>(size);
+        data = new HashMap<String, Collection<RecordReplicationInfo>>(size);
+        resetMapNames = new HashSet<String>(size);
+        resetRanges = new HashMap<String, MapReplicaDigest.Ranges>();
         for (int i = 0; i < size; i++) {
             String name = in.readUTF();
+            if (in.readBoolean()) {
+                resetMapNames.add(name);
+            } else if (in.readBoolean()) {
+                MapReplicaDigest.Ranges ranges = new MapReplicaDigest.Ranges();
+                ranges.readData(in);
+                resetRanges.put(name, ranges);
+            }
             int mapSize = in.readInt();
-            Set<RecordReplicationInfo> recordReplicationInfos = new HashSet<RecordReplicationInfo>(mapSize);
+            List<RecordReplicationInfo> recordReplicationInfos = new ArrayList<RecordReplicationInfo>(mapSize);
             for (int j = 0; j < mapSize; j++) {
                 RecordReplicationInfo recordReplicationInfo = in.readObject();
                 recordReplicationInfos.add(recordReplicationInfo);
@@ -173,18 +314,30 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             }
             delayedEntries.put(mapName, delayedEntriesList);
         }
+        size = in.readInt();
+        queryCacheSequences = new HashMap<String, Map<String, Long>>(size);
+        for (int i = 0; i < size; i++) {
+            String mapName = in.readUTF();
+            int sequenceCount = in.readInt();
+            Map<String, Long> sequences = new HashMap<String, Long>(sequenceCount);
+            for (int j = 0; j < sequenceCount; j++) {
+                sequences.put(in.readUTF(), in.readLong());
+            }
+            queryCacheSequences.put(mapName, sequences);
+        }
     }
 
     @Override
     protected void writeInternal(final ObjectDataOutput out) throws IOException {
-        out.writeInt(data.size());
-        for (Entry<String, Set<RecordReplicationInfo>> mapEntry : data.entrySet()) {
-            out.writeUTF(mapEntry.getKey());
-            Set<RecordReplicationInfo> recordReplicationInfos = mapEntry.getValue();
-            out.writeInt(recordReplicationInfos.size());
-            for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
-                out.writeObject(recordReplicationInfo);
-            }
+        if (data != null) {
+            writeData(out, data, resetMapNames, resetRanges);
+        } else {
+            Map<String, Collection<RecordReplicationInfo>> remainingData
+                    = new HashMap<String, Collection<RecordReplicationInfo>>();
+            Set<String> remainingResetMapNames = new HashSet<String>();
+            Map<String, MapReplicaDigest.Ranges> remainingResetRanges = new HashMap<String, MapReplicaDigest.Ranges>();
+            readRemainingRecords(remainingData, remainingResetMapNames, remainingResetRanges);
+            writeData(out, remainingData, remainingResetMapNames, remainingResetRanges);
         }
         final MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
@@ -202,10 +355,89 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
                 out.writeInt(e.getPartitionId());
             }
         }
+        out.writeInt(queryCacheSequences.size());
+        for (Entry<String, Map<String, Long>> entry : queryCacheSequences.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Entry<String, Long> sequence : entry.getValue().entrySet()) {
+                out.writeUTF(sequence.getKey());
+                out.writeLong(sequence.getValue());
+            }
+        }
+    }
+
+    private static void writeData(ObjectDataOutput out, Map<String, Collection<RecordReplicationInfo>> data,
+                                  Set<String> resetMapNames, Map<String, MapReplicaDigest.Ranges> resetRanges)
+            throws IOException {
+        out.writeInt(data.size());
+        for (Entry<String, Collection<RecordReplicationInfo>> mapEntry : data.entrySet()) {
+            String mapName = mapEntry.getKey();
+            out.writeUTF(mapName);
+            boolean reset = resetMapNames.contains(mapName);
+            out.writeBoolean(reset);
+            if (!reset) {
+                MapReplicaDigest.Ranges ranges = resetRanges.get(mapName);
+                out.writeBoolean(ranges != null);
+                if (ranges != null) {
+                    ranges.writeData(out);
+                }
+            }
+            Collection<RecordReplicationInfo> recordReplicationInfos = mapEntry.getValue();
+            out.writeInt(recordReplicationInfos.size());
+            for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
+                out.writeObject(recordReplicationInfo);
+            }
+        }
+    }
+
+    /**
+     * Reads the records which are not split off by {@link #nextChunk(long)}, without moving the cursor.
+     */
+    private void readRemainingRecords(Map<String, Collection<RecordReplicationInfo>> remainingData,
+                                      Set<String> remainingResetMapNames,
+                                      Map<String, MapReplicaDigest.Ranges> remainingResetRanges) {
+        if (pendingMapNames == null) {
+            return;
+        }
+        boolean resumed = pendingKeys != null;
+        for (String mapName : pendingMapNames) {
+            RecordStore recordStore = container.getMaps().get(mapName);
+            if (recordStore == null) {
+                resumed = false;
+                continue;
+            }
+            List<RecordReplicationInfo> recordReplicationInfos = new ArrayList<RecordReplicationInfo>();
+            if (resumed) {
+                Map<Data, Record> records = recordStore.getRecordMap();
+                for (int i = pendingKeyIndex; i < pendingKeys.size(); i++) {
+                    Record record = records.get(pendingKeys.get(i));
+                    if (record != null) {
+                        recordReplicationInfos.add(createRecordReplicationInfo(record, mapService));
+                    }
+                }
+                resumed = false;
+            } else {
+                MapReplicaDigest.Ranges ranges = differingRanges.get(mapName);
+                Iterator<Record> iterator = recordStore.iterator();
+                while (iterator.hasNext()) {
+                    Record record = iterator.next();
+                    if (ranges == null || ranges.contains(record.getKey())) {
+                        recordReplicationInfos.add(createRecordReplicationInfo(record, mapService));
+                    }
+                }
+                if (ranges == null) {
+                    remainingResetMapNames.add(mapName);
+                } else {
+                    remainingResetRanges.put(mapName, ranges);
+                }
+            }
+            remainingData.put(mapName, recordReplicationInfos);
+        }
     }
 
     public boolean isEmpty() {
-        return data == null || data.isEmpty();
+        return (data == null || data.isEmpty()) && (pendingMapNames == null || pendingMapNames.isEmpty())
+                && delayedEntries.isEmpty() && queryCacheSequences.isEmpty();
     }
 
     private RecordReplicationInfo createRecordReplicationInfo(Record record, MapService mapService) {
@@ -50,11 +50,12 @@ public class MultipleEntryBackupOperation extends AbstractMultipleEntryOperation
             final Object oldValue = getValueFor(dataKey, now);
 
             final Object key = toObject(dataKey);
-            final Object value = toObject(oldValue);
+            final Object value = toEntryValue(oldValue);
 
-            final Map.Entry entry = createMapEntry(key, value);
+            Map.Entry entry = createMapEntry(key, value);
 
             processBackup(entry);
+            entry = toStoredEntry(entry);
 
             if (noOp(entry, oldValue)) {
                 continue;
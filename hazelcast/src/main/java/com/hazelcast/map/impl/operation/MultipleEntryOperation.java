@@ -62,11 +62,12 @@ public class MultipleEntryOperation extends AbstractMultipleEntryOperation imple
             final Object oldValue = getValueFor(dataKey, now);
 
             final Object key = toObject(dataKey);
-            final Object value = toObject(oldValue);
+            final Object value = toEntryValue(oldValue);
 
-            final Map.Entry entry = createMapEntry(key, value);
+            Map.Entry entry = createMapEntry(key, value);
 
             final Data response = process(entry);
+            entry = toStoredEntry(entry);
 
             addToResponses(dataKey, response);
 
@@ -49,14 +49,15 @@ public class PartitionWideEntryBackupOperation extends AbstractMultipleEntryOper
             final Object oldValue = record.getValue();
 
             final Object key = toObject(dataKey);
-            final Object value = toObject(oldValue);
+            final Object value = toEntryValue(oldValue);
 
             if (!applyPredicate(dataKey, key, value)) {
                 continue;
             }
-            final Map.Entry entry = createMapEntry(key, value);
+            Map.Entry entry = createMapEntry(key, value);
 
             processBackup(entry);
+            entry = toStoredEntry(entry);
 
             if (noOp(entry, oldValue)) {
                 continue;
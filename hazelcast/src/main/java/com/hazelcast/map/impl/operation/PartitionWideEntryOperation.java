@@ -56,22 +56,23 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
     public void run() {
         final long now = getNow();
 
-        final Iterator<Record> iterator = recordStore.iterator(now, false);
+        final Iterator<Record> iterator = getRecordIterator(now);
         while (iterator.hasNext()) {
             final Record record = iterator.next();
             final Data dataKey = record.getKey();
             final Object oldValue = record.getValue();
 
             final Object key = toObject(dataKey);
-            final Object value = toObject(oldValue);
+            final Object value = toEntryValue(oldValue);
 
             if (!applyPredicate(dataKey, key, value)) {
                 continue;
             }
 
-            final Map.Entry entry = createMapEntry(key, value);
+            Map.Entry entry = createMapEntry(key, value);
 
             final Data response = process(entry);
+            entry = toStoredEntry(entry);
 
             addToResponses(dataKey, response);
 
@@ -123,6 +124,14 @@ public class PartitionWideEntryOperation extends AbstractMultipleEntryOperation
         return getPredicate().apply(queryEntry);
     }
 
+    /**
+     * Returns an iterator over the records which are candidates to be processed, all records of
+     * the partition by default.
+     */
+    protected Iterator<Record> getRecordIterator(long now) {
+        return recordStore.iterator(now, false);
+    }
+
     protected Predicate getPredicate() {
         return null;
     }
@@ -18,15 +18,21 @@ package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.map.EntryBackupProcessor;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.Operation;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 public class PartitionWideEntryWithPredicateOperation extends PartitionWideEntryOperation {
 
     private Predicate predicate;
+    private transient PartitionedIndexQuery indexQuery;
 
     public PartitionWideEntryWithPredicateOperation() {
     }
@@ -36,11 +42,50 @@ public class PartitionWideEntryWithPredicateOperation extends PartitionWideEntry
         this.predicate = predicate;
     }
 
+    PartitionWideEntryWithPredicateOperation(String name, EntryProcessor entryProcessor, Predicate predicate,
+                                             PartitionedIndexQuery indexQuery) {
+        this(name, entryProcessor, predicate);
+        this.indexQuery = indexQuery;
+    }
+
     @Override
     protected Predicate getPredicate() {
         return predicate;
     }
 
+    /**
+     * Visits only the records matched by the index service when the predicate can be answered
+     * from indexes, otherwise falls back to scanning the whole partition. The index query is run
+     * by the factory creating the operations of this member, never by a partition thread; without
+     * one the partition is scanned.
+     */
+    @Override
+    protected Iterator<Record> getRecordIterator(long now) {
+        final List<Record> records = queryIndexedRecords();
+        if (records == null) {
+            return super.getRecordIterator(now);
+        }
+        return records.iterator();
+    }
+
+    private List<Record> queryIndexedRecords() {
+        if (indexQuery == null) {
+            return null;
+        }
+        final List<Data> keys = indexQuery.getKeys(getPartitionId());
+        if (keys == null) {
+            return null;
+        }
+        final List<Record> records = new ArrayList<Record>(keys.size());
+        for (Data key : keys) {
+            final Record record = recordStore.getRecordOrNull(key);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
     @Override
     public Operation getBackupOperation() {
         EntryBackupProcessor backupProcessor = entryProcessor.getBackupProcessor();
@@ -16,18 +16,27 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.instance.Node;
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.NodeAware;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationFactory;
 import java.io.IOException;
 
-public class PartitionWideEntryWithPredicateOperationFactory implements OperationFactory {
+public class PartitionWideEntryWithPredicateOperationFactory implements OperationFactory, NodeAware {
     private String name;
     private EntryProcessor entryProcessor;
     private Predicate predicate;
+    // set on the member creating the operations, locally by the constructor, remotely after deserialization
+    private transient MapServiceContext mapServiceContext;
+    // operations created on the same member share the index query
+    private transient PartitionedIndexQuery indexQuery;
 
     public PartitionWideEntryWithPredicateOperationFactory() {
     }
@@ -38,9 +47,29 @@ public class PartitionWideEntryWithPredicateOperationFactory implements Operatio
         this.predicate = predicate;
     }
 
+    public PartitionWideEntryWithPredicateOperationFactory(String name, EntryProcessor entryProcessor, Predicate predicate,
+                                                           MapServiceContext mapServiceContext) {
+        this(name, entryProcessor, predicate);
+        this.mapServiceContext = mapServiceContext;
+    }
+
+    /**
+     * Creates the operation of a partition. The first call runs the index query for all partitions of this member;
+     * it is made by the thread fanning out the partition operations, so no partition thread runs or waits for it.
+     */
     @Override
     public Operation createOperation() {
-        return new PartitionWideEntryWithPredicateOperation(name, entryProcessor, predicate);
+        if (indexQuery == null && mapServiceContext != null) {
+            MapContainer mapContainer = mapServiceContext.getMapContainer(name);
+            indexQuery = PartitionedIndexQuery.query(mapServiceContext.getNodeEngine(), mapContainer, predicate);
+        }
+        return new PartitionWideEntryWithPredicateOperation(name, entryProcessor, predicate, indexQuery);
+    }
+
+    @Override
+    public void setNode(Node node) {
+        MapService mapService = node.nodeEngine.getService(MapService.SERVICE_NAME);
+        this.mapServiceContext = mapService.getMapServiceContext();
     }
 
     @Override
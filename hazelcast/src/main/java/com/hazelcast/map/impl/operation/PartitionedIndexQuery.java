@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.NodeEngine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Result of the index query of a predicate, run once per member and split by partition, so the partition operations
+ * created by one {@link PartitionWideEntryWithPredicateOperationFactory} share a single query of the member-wide indexes
+ * instead of running one each.
+ * <p/>
+ * The query is run by {@link #query} on the thread creating the partition operations, before they are handed to
+ * the partition threads; the partition threads only read the immutable result and never wait for the query.
+ * Only the partitions owned by the member when the query runs get keys. Other partitions, e.g. ones that migrated
+ * to the member afterwards, are not covered by the query result and have to be scanned.
+ */
+final class PartitionedIndexQuery {
+
+    private static final PartitionedIndexQuery NOT_INDEXED = new PartitionedIndexQuery(null);
+
+    // null if the predicate cannot be answered from indexes
+    private final Map<Integer, List<Data>> keysByPartition;
+
+    private PartitionedIndexQuery(Map<Integer, List<Data>> keysByPartition) {
+        this.keysByPartition = keysByPartition;
+    }
+
+    /**
+     * Returns the keys of the given partition matching the predicate.
+     *
+     * @return the matching keys, {@code null} if the partition has to be scanned instead.
+     */
+    List<Data> getKeys(int partitionId) {
+        return keysByPartition == null ? null : keysByPartition.get(partitionId);
+    }
+
+    /**
+     * Runs the index query of the given predicate on the partitions this member owns. Must not be called on a
+     * partition thread, since it queries the indexes of all partitions of the member.
+     */
+    static PartitionedIndexQuery query(NodeEngine nodeEngine, MapContainer mapContainer, Predicate predicate) {
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        // indexes may not reflect the partitions of this member while a migration is going on.
+        if (partitionService.hasOnGoingMigrationLocal()) {
+            return NOT_INDEXED;
+        }
+        Set<QueryableEntry> entries = mapContainer.getIndexService().query(predicate);
+        if (entries == null) {
+            return NOT_INDEXED;
+        }
+        Map<Integer, List<Data>> keys = new HashMap<Integer, List<Data>>();
+        for (Integer partitionId : partitionService.getMemberPartitions(nodeEngine.getThisAddress())) {
+            keys.put(partitionId, new ArrayList<Data>());
+        }
+        for (QueryableEntry entry : entries) {
+            Data key = entry.getKeyData();
+            List<Data> partitionKeys = keys.get(partitionService.getPartitionId(key));
+            if (partitionKeys != null) {
+                partitionKeys.add(key);
+            }
+        }
+        return new PartitionedIndexQuery(keys);
+    }
+}
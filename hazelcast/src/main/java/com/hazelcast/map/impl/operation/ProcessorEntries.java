@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.PortableEntryAware;
+import com.hazelcast.map.impl.MapEntrySimple;
+import com.hazelcast.map.impl.PortableMapEntry;
+import com.hazelcast.nio.serialization.SerializationService;
+
+import java.util.Map;
+
+/**
+ * Creates the entries given to entry processors by the entry operations, and converts the processed
+ * entries back to the entries to be stored.
+ */
+final class ProcessorEntries {
+
+    private ProcessorEntries() {
+    }
+
+    /**
+     * Tells whether the given entry processor or backup processor is {@link PortableEntryAware},
+     * so it gets the stored value as it is instead of a deserialized one.
+     */
+    static boolean isPortableEntryAware(Object processor) {
+        return processor instanceof PortableEntryAware;
+    }
+
+    static Map.Entry createMapEntry(Object key, Object value, boolean portableEntryAware,
+                                    SerializationService serializationService) {
+        if (portableEntryAware) {
+            return new PortableMapEntry(key, value, serializationService);
+        }
+        return new MapEntrySimple(key, value);
+    }
+
+    /**
+     * Converts a processed entry to a {@link MapEntrySimple} holding the value to be stored.
+     */
+    static Map.Entry toStoredEntry(Map.Entry entry) {
+        if (entry instanceof PortableMapEntry) {
+            return ((PortableMapEntry) entry).toStoredEntry();
+        }
+        return entry;
+    }
+}
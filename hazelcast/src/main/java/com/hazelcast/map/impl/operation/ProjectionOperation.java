@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.ProjectionResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs a projection on the partitions owned by a member and collects the projected values into a single
+ * member result. Partitions not answered by the indexes are projected by {@link ProjectionPartitionOperation}s.
+ */
+public class ProjectionOperation extends AbstractPartitionFanOutOperation<ProjectionResult> {
+
+    private Projection projection;
+
+    private transient List<Data> projected;
+
+    public ProjectionOperation() {
+    }
+
+    public ProjectionOperation(String mapName, Projection projection, Predicate predicate) {
+        super(mapName, predicate);
+        this.projection = projection;
+    }
+
+    @Override
+    protected void prepare() {
+        projected = new ArrayList<Data>();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void accumulate(QueryableEntry entry) {
+        projected.add(getNodeEngine().toData(projection.transform(entry)));
+    }
+
+    @Override
+    protected Operation createPartitionOperation() {
+        return new ProjectionPartitionOperation(name, projection, predicate);
+    }
+
+    @Override
+    protected void combine(ProjectionResult partial) {
+        projected.addAll(partial.getResults());
+    }
+
+    @Override
+    protected Object createResult(Collection<Integer> partitionIds) {
+        return new ProjectionResult(projected, partitionIds);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(projection);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        projection = in.readObject();
+    }
+}
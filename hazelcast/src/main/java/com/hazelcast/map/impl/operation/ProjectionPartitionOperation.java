@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.MapContextQuerySupport;
+import com.hazelcast.map.impl.ProjectionResult;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class ProjectionPartitionOperation extends AbstractMapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private Projection projection;
+    private Predicate predicate;
+
+    private ProjectionResult result;
+
+    public ProjectionPartitionOperation() {
+    }
+
+    public ProjectionPartitionOperation(String mapName, Projection projection, Predicate predicate) {
+        super(mapName);
+        this.projection = projection;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() {
+        MapContextQuerySupport mapQuerySupport = mapService.getMapServiceContext().getMapContextQuerySupport();
+        int partitionId = getPartitionId();
+        List<Data> projected = mapQuerySupport.projectOnPartition(name, predicate, projection, partitionId);
+        result = new ProjectionResult(projected, Collections.singletonList(partitionId));
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(projection);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        projection = in.readObject();
+        predicate = in.readObject();
+    }
+}
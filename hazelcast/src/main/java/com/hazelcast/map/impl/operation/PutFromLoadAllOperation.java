@@ -64,17 +64,38 @@ public class PutFromLoadAllOperation extends AbstractMapOperation implements Par
         final MapService mapService = this.mapService;
         MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final RecordStore recordStore = mapServiceContext.getRecordStore(partitionId, name);
+        int loadedEntries = 0;
         for (int i = 0; i < keyValueSequence.size(); i += 2) {
             final Data key = keyValueSequence.get(i);
             final Data dataValue = keyValueSequence.get(i + 1);
             // here object conversion is for interceptors.
             final Object objectValue = mapServiceContext.toObject(dataValue);
+            final Record recordBefore = recordStore.getRecord(key);
+            final long versionBefore = recordBefore == null ? 0 : recordBefore.getVersion();
             final Object previousValue = recordStore.putFromLoad(key, objectValue);
+            final Record record = recordStore.getRecord(key);
+            if (!isPut(recordBefore, versionBefore, record)) {
+                continue;
+            }
+            loadedEntries++;
 
             callAfterPutInterceptors(objectValue);
             publishEntryEvent(key, mapServiceContext.toData(previousValue), dataValue);
-            publishWanReplicationEvent(key, dataValue, recordStore.getRecord(key));
+            publishWanReplicationEvent(key, dataValue, record);
+        }
+        mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name)
+                .incrementLoadedEntries(loadedEntries);
+    }
+
+    /**
+     * The record store skips an entry instead of putting it when the map is full, so an entry is loaded only when its
+     * record is created or updated.
+     */
+    private static boolean isPut(Record recordBefore, long versionBefore, Record record) {
+        if (record == null) {
+            return false;
         }
+        return record != recordBefore || record.getVersion() != versionBefore;
     }
 
     private void callAfterPutInterceptors(Object value) {
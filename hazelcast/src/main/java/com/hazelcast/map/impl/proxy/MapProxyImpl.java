@@ -17,6 +17,8 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.config.QueryCacheConfig;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -26,8 +28,13 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.MapQueryIterator;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.querycache.AbstractQueryCache;
+import com.hazelcast.map.impl.querycache.DefaultQueryCache;
+import com.hazelcast.map.impl.querycache.QueryCacheRegistry;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -42,6 +49,8 @@ import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.spi.InitializingObject;
@@ -52,6 +61,7 @@ import com.hazelcast.util.executor.DelegatingFuture;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
@@ -70,6 +80,23 @@ import static com.hazelcast.util.Preconditions.isNotNull;
  */
 public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, InitializingObject {
 
+    private final QueryCacheRegistry<K, V> queryCacheRegistry = new QueryCacheRegistry<K, V>(name) {
+        @Override
+        protected QueryCacheConfig getQueryCacheConfig(String cacheName) {
+            for (QueryCacheConfig queryCacheConfig : getMapConfig().getQueryCacheConfigs()) {
+                if (cacheName.equals(queryCacheConfig.getName())) {
+                    return queryCacheConfig;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected AbstractQueryCache<K, V> createQueryCache(QueryCacheConfig queryCacheConfig) {
+            return new DefaultQueryCache<K, V>(queryCacheConfig, MapProxyImpl.this, getNodeEngine(), partitionStrategy);
+        }
+    };
+
     public MapProxyImpl(final String name, final MapService mapService, final NodeEngine nodeEngine) {
         super(name, mapService, nodeEngine);
     }
@@ -674,6 +701,76 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return aggregate(aggregator, predicate);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, "Aggregator should not be null!");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        return aggregateInternal(aggregator, predicate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return project(projection, predicate);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, "Projection should not be null!");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        return projectInternal(projection, predicate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize) {
+        Predicate<K, V> predicate = TruePredicate.INSTANCE;
+        return iterator(fetchSize, predicate);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize, Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive!");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a type of paging predicate");
+        }
+
+        return new MapQueryIterator<K, V>(getNodeEngine(), name, predicate, fetchSize);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name) {
+        return queryCacheRegistry.getQueryCache(name);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, null, predicate, includeValue);
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        return queryCacheRegistry.getQueryCache(name, listener, predicate, includeValue);
+    }
+
     protected Object invoke(Operation operation, int partitionId) throws Throwable {
         NodeEngine nodeEngine = getNodeEngine();
         Future f = nodeEngine.getOperationService().invokeOnPartition(SERVICE_NAME, operation, partitionId);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.concurrent.lock.LockProxySupport;
 import com.hazelcast.config.EntryListenerConfig;
 import com.hazelcast.config.ListenerConfig;
@@ -48,6 +49,7 @@ import com.hazelcast.map.impl.NearCacheProvider;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.QueryEventFilter;
 import com.hazelcast.map.impl.RecordStore;
+import com.hazelcast.map.impl.mapstore.MapDataStores;
 import com.hazelcast.map.impl.operation.AddIndexOperation;
 import com.hazelcast.map.impl.operation.AddInterceptorOperation;
 import com.hazelcast.map.impl.operation.BasePutOperation;
@@ -90,6 +92,7 @@ import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.PagingPredicate;
@@ -148,6 +151,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     protected final PartitioningStrategy partitionStrategy;
     private MapServiceContext mapServiceContext;
     private InternalPartitionService partitionService;
+    private final boolean boundedWriteBehindQueue;
 
     protected MapProxySupport(final String name, final MapService service, NodeEngine nodeEngine) {
         super(nodeEngine, service);
@@ -157,6 +161,8 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         localMapStats = mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name);
         this.partitionService = getNodeEngine().getPartitionService();
         lockSupport = new LockProxySupport(new DefaultObjectNamespace(MapService.SERVICE_NAME, name));
+        MapContainer mapContainer = mapServiceContext.getMapContainer(name);
+        this.boundedWriteBehindQueue = MapDataStores.hasBoundedWriteBehindQueue(mapContainer.getMapStoreContext());
     }
 
     @Override
@@ -419,6 +425,10 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
     }
 
     private Object invokeOperation(Data key, KeyBasedMapOperation operation) {
+        if ((operation instanceof BasePutOperation && !(operation instanceof PutTransientOperation))
+                || operation instanceof BaseRemoveOperation) {
+            awaitWriteBehindCapacity();
+        }
         final NodeEngine nodeEngine = getNodeEngine();
         int partitionId = nodeEngine.getPartitionService().getPartitionId(key);
         operation.setThreadId(ThreadUtil.getThreadId());
@@ -452,6 +462,17 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         }
     }
 
+    /**
+     * Holds the calling thread back while the write-behind queues of this member are full, so the partition threads
+     * never have to wait for room.
+     * See {@link com.hazelcast.map.impl.mapstore.writebehind.WriteBehindBackpressure}.
+     */
+    private void awaitWriteBehindCapacity() {
+        if (boundedWriteBehindQueue) {
+            mapServiceContext.getWriteBehindBackpressure().awaitCapacity();
+        }
+    }
+
     protected ICompletableFuture<Data> putAsyncInternal(final Data key, final Data value,
                                                         final long ttl, final TimeUnit timeunit) {
         final NodeEngine nodeEngine = getNodeEngine();
@@ -825,6 +846,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         boolean tooManyEntries = entries.size() > (partitionCount * factor);
         try {
             if (tooManyEntries) {
+                awaitWriteBehindCapacity();
                 List<Future> futures = new LinkedList<Future>();
                 Map<Integer, MapEntrySet> entryMap
                         = new HashMap<Integer, MapEntrySet>(nodeEngine.getPartitionService().getPartitionCount());
@@ -1090,7 +1112,8 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
                     .invokeOnAllPartitions(SERVICE_NAME,
                             new PartitionWideEntryWithPredicateOperationFactory(name,
                                     entryProcessor,
-                                    predicate)
+                                    predicate,
+                                    mapServiceContext)
                     );
             for (Object o : results.values()) {
                 if (o != null) {
@@ -1136,6 +1159,14 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         return getMapQuerySupport().query(name, predicate, iterationType, dataResult);
     }
 
+    protected <R> R aggregateInternal(Aggregator<?, R> aggregator, Predicate predicate) {
+        return getMapQuerySupport().aggregate(name, aggregator, predicate);
+    }
+
+    protected <R> Collection<R> projectInternal(Projection<?, R> projection, Predicate predicate) {
+        return getMapQuerySupport().project(name, projection, predicate);
+    }
+
     public void addIndex(final String attribute, final boolean ordered) {
         final NodeEngine nodeEngine = getNodeEngine();
         if (attribute == null) {
@@ -1211,7 +1242,7 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     }
 
-    private MapConfig getMapConfig() {
+    protected MapConfig getMapConfig() {
         final MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
         final MapContainer mapContainer = mapServiceContext.getMapContainer(name);
@@ -0,0 +1,759 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.cache.impl.eviction.EvictionChecker;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.cache.impl.eviction.EvictionPolicyEvaluatorProvider;
+import com.hazelcast.cache.impl.eviction.EvictionStrategy;
+import com.hazelcast.cache.impl.eviction.EvictionStrategyProvider;
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.ListenerAdapters;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexService;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.util.UuidUtil;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Subscriber side of {@link QueryCache}: a locally materialized, predicate filtered and optionally indexed view of
+ * an {@link IMap}.
+ * <p/>
+ * Subclasses subscribe with the {@link QueryCacheEventFilter} of {@link #createEventFilter()}, so the predicate is
+ * evaluated on the partition owners and only matching updates are sent, batched and sequenced per partition by
+ * {@link QueryCachePublisher}. They feed the updates to {@link #onQueryCacheEvent(EventData)} and the map wide
+ * events of the underlying map to {@link #onMapEvent()}. Updates received while the cache is being (re)populated are
+ * buffered and applied after the population, so a population never overwrites newer updates with an older snapshot
+ * of the same entry.
+ * <p/>
+ * Sequences are tracked per partition. A gap, e.g. caused by a failed owner or a lost connection, means that updates
+ * have been lost; the cache then recovers asynchronously by repopulating itself from the underlying map.
+ * <p/>
+ * The cache is bounded by the {@link EvictionConfig} of its {@link QueryCacheConfig}: when a new entry exceeds the
+ * configured entry count, a sampled entry is evicted by the configured eviction policy.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public abstract class AbstractQueryCache<K, V> implements QueryCache<K, V> {
+
+    /**
+     * Marker stored for entries of a query cache which does not include values.
+     */
+    private static final Object NO_VALUE = new Object();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected final String name;
+    protected final IMap<K, V> delegate;
+    protected final QueryCacheConfig config;
+    protected final Predicate predicate;
+    protected final SerializationService serializationService;
+
+    private final ClassLoader classLoader;
+    private final ILogger logger;
+    private final QueryCacheRecordMap store = new QueryCacheRecordMap(INITIAL_CAPACITY);
+    private final IndexService indexService = new IndexService();
+    private final ConcurrentMap<String, LocalListener> listeners = new ConcurrentHashMap<String, LocalListener>();
+    private final AtomicLongArray sequences;
+    private final Executor executor;
+    private final AtomicBoolean recovering = new AtomicBoolean();
+    private final AtomicBoolean recoveryScheduled = new AtomicBoolean();
+    private final Object mutex = new Object();
+
+    private final int maxSize;
+    private final EvictionPolicyEvaluator<Data, QueryCacheRecord> evictionPolicyEvaluator;
+    private final EvictionStrategy<Data, QueryCacheRecord, QueryCacheRecordMap> evictionStrategy;
+    private final EvictionListener<Data, QueryCacheRecord> evictionListener = new LocalEvictionListener();
+
+    private List<PendingUpdate> pendingUpdates;
+    private String registrationId;
+    private volatile boolean destroyed;
+
+    /**
+     * @param partitionCount number of partitions of the cluster, sequences are tracked per partition.
+     * @param executor       executor of the asynchronous recoveries.
+     */
+    protected AbstractQueryCache(QueryCacheConfig config, IMap<K, V> delegate, SerializationService serializationService,
+                                 ClassLoader classLoader, int partitionCount, Executor executor) {
+        this.name = config.getName();
+        this.config = config;
+        this.delegate = delegate;
+        this.serializationService = serializationService;
+        this.classLoader = classLoader;
+        this.predicate = resolvePredicate(config, classLoader);
+        this.logger = Logger.getLogger(getClass());
+        this.sequences = new AtomicLongArray(partitionCount);
+        this.executor = executor;
+
+        EvictionConfig evictionConfig = config.getEvictionConfig();
+        if (evictionConfig.getMaximumSizePolicy() != EvictionConfig.MaxSizePolicy.ENTRY_COUNT) {
+            throw new IllegalArgumentException("Query cache " + name + " supports only the "
+                    + EvictionConfig.MaxSizePolicy.ENTRY_COUNT + " max-size policy, found "
+                    + evictionConfig.getMaximumSizePolicy());
+        }
+        this.maxSize = evictionConfig.getSize();
+        // policies without an evaluator, e.g. RANDOM, disable the eviction
+        this.evictionPolicyEvaluator = EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator(evictionConfig);
+        this.evictionStrategy = EvictionStrategyProvider.getEvictionStrategy(evictionConfig);
+    }
+
+    /**
+     * Subscribes to the updates of the underlying map.
+     *
+     * @return id of the subscription.
+     */
+    protected abstract String subscribe();
+
+    /**
+     * Removes the subscription created by {@link #subscribe()}.
+     */
+    protected abstract boolean unsubscribe(String registrationId);
+
+    /**
+     * Creates the filter to subscribe with, so the partition owners publish the updates of this cache.
+     */
+    protected QueryCacheEventFilter createEventFilter() {
+        return new QueryCacheEventFilter(predicate, config.isIncludeValue(), config.getBatchSize(),
+                config.getDelaySeconds(), config.isCoalesce());
+    }
+
+    /**
+     * Subscribes, creates the configured indexes and listeners and populates the cache if configured so.
+     * Subscription happens before the population, so no update is lost in between.
+     */
+    public void init() {
+        for (MapIndexConfig indexConfig : config.getIndexConfigs()) {
+            indexService.addOrGetIndex(indexConfig.getAttribute(), indexConfig.isOrdered());
+        }
+        for (EntryListenerConfig listenerConfig : config.getEntryListenerConfigs()) {
+            MapListener listener = initializeListener(listenerConfig);
+            if (listener != null) {
+                addEntryListener(listener, listenerConfig.isIncludeValue());
+            }
+        }
+        if (config.isPopulate()) {
+            beginPopulation(false);
+        }
+        registrationId = subscribe();
+        if (config.isPopulate()) {
+            populate();
+        }
+    }
+
+    /**
+     * Applies sequenced updates published by the partition owners.
+     *
+     * @param eventData a single {@link QueryCacheEventData} or a {@link BatchQueryCacheEventData}.
+     */
+    protected void onQueryCacheEvent(EventData eventData) {
+        if (eventData instanceof BatchQueryCacheEventData) {
+            for (QueryCacheEventData event : ((BatchQueryCacheEventData) eventData).getEvents()) {
+                applyEvent(event);
+            }
+        } else {
+            applyEvent((QueryCacheEventData) eventData);
+        }
+    }
+
+    /**
+     * Handles a map wide event of the underlying map, e.g. clear or evictAll.
+     */
+    protected void onMapEvent() {
+        // clear and evictAll events are not ordered with the per partition updates, so the cache
+        // cannot simply be cleared here: a repopulation gives the correct state.
+        scheduleRecovery();
+    }
+
+    private void applyEvent(QueryCacheEventData eventData) {
+        int partitionId = eventData.getPartitionId();
+        long sequence = eventData.getSequence();
+        long lastSequence = sequences.getAndSet(partitionId, sequence);
+        if (lastSequence != 0 && sequence != lastSequence + 1) {
+            logger.warning("Query cache " + name + " missed events of partition " + partitionId + ", expected sequence "
+                    + (lastSequence + 1) + " but received " + sequence + ". Recovering.");
+            scheduleRecovery();
+        }
+
+        if (eventData.getEventType() == EntryEventType.REMOVED.getType()) {
+            applyRemove(eventData.getDataKey());
+        } else {
+            applyUpdate(eventData.getDataKey(), eventData.getDataNewValue());
+        }
+    }
+
+    /**
+     * Recovers the cache asynchronously by repopulating it from the underlying map, e.g. after the subscription
+     * has been registered again on another member. Recoveries requested while one is pending are merged.
+     */
+    protected void scheduleRecovery() {
+        if (!recoveryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (!tryRecover()) {
+                        logger.warning("Query cache " + name + " could not be recovered");
+                    }
+                } finally {
+                    recoveryScheduled.set(false);
+                }
+            }
+        });
+    }
+
+    /**
+     * Puts or replaces the entry; the update is expected to match the predicate of this cache.
+     *
+     * @param key   key of the entry.
+     * @param value new value or {@code null} if this cache does not include values.
+     */
+    private void applyUpdate(Data key, Data value) {
+        synchronized (mutex) {
+            if (destroyed) {
+                return;
+            }
+            if (pendingUpdates != null) {
+                pendingUpdates.add(new PendingUpdate(key, value, false));
+                return;
+            }
+            doUpdate(key, value, true);
+        }
+    }
+
+    /**
+     * Removes the entry, e.g. after it has been removed from the underlying map or it does not match the predicate
+     * anymore.
+     */
+    private void applyRemove(Data key) {
+        synchronized (mutex) {
+            if (destroyed) {
+                return;
+            }
+            if (pendingUpdates != null) {
+                pendingUpdates.add(new PendingUpdate(key, null, true));
+                return;
+            }
+            doRemove(key, true);
+        }
+    }
+
+    private void doUpdate(Data key, Data value, boolean fireEvents) {
+        Object storedValue = toStoredValue(value);
+        QueryCacheRecord record = store.get(key);
+        Object oldValue = null;
+        if (record == null) {
+            store.put(key, new QueryCacheRecord(storedValue));
+        } else {
+            oldValue = record.getValue();
+            record.setValue(storedValue);
+        }
+        if (indexService.hasIndex()) {
+            indexService.saveEntryIndex(new QueryEntry(serializationService, key, key, toQueryValue(storedValue)));
+        }
+        if (fireEvents && !listeners.isEmpty()) {
+            EntryEventType eventType = record == null ? EntryEventType.ADDED : EntryEventType.UPDATED;
+            fireEvent(eventType, key, value, toData(oldValue));
+        }
+        if (record == null) {
+            evictIfRequired();
+        }
+    }
+
+    private void evictIfRequired() {
+        if (evictionPolicyEvaluator != null && evictionStrategy != null && store.size() > maxSize) {
+            evictionStrategy.evict(store, evictionPolicyEvaluator, EvictionChecker.EVICT_ALWAYS, evictionListener);
+        }
+    }
+
+    private void doRemove(Data key, boolean fireEvents) {
+        QueryCacheRecord record = store.remove(key);
+        if (record == null) {
+            return;
+        }
+        onRemoved(key, record, fireEvents ? EntryEventType.REMOVED : null);
+    }
+
+    private void onRemoved(Data key, QueryCacheRecord record, EntryEventType eventType) {
+        if (indexService.hasIndex()) {
+            indexService.removeEntryIndex(key);
+        }
+        if (eventType != null && !listeners.isEmpty()) {
+            fireEvent(eventType, key, null, toData(record.getValue()));
+        }
+    }
+
+    private void fireEvent(EntryEventType eventType, Data key, Data newValue, Data oldValue) {
+        Data testValue = eventType == EntryEventType.REMOVED || eventType == EntryEventType.EVICTED ? oldValue : newValue;
+        for (LocalListener listener : listeners.values()) {
+            if (listener.key != null && !listener.key.equals(key)) {
+                continue;
+            }
+            if (listener.predicate != null
+                    && !listener.predicate.apply(new QueryEntry(serializationService, key, key, testValue))) {
+                continue;
+            }
+            Data eventNewValue = listener.includeValue ? newValue : null;
+            Data eventOldValue = listener.includeValue ? oldValue : null;
+            DataAwareEntryEvent event = new DataAwareEntryEvent(null, eventType.getType(), name, key,
+                    eventNewValue, eventOldValue, null, serializationService);
+            listener.adapter.onEvent(event);
+        }
+    }
+
+    private void beginPopulation(boolean clear) {
+        synchronized (mutex) {
+            pendingUpdates = new ArrayList<PendingUpdate>();
+            if (clear) {
+                clearStore();
+            }
+        }
+    }
+
+    private void populate() {
+        try {
+            if (config.isIncludeValue()) {
+                Set<Map.Entry<K, V>> entries = delegate.entrySet(predicate);
+                synchronized (mutex) {
+                    for (Map.Entry<K, V> entry : entries) {
+                        doUpdate(toKeyData(entry.getKey()), serializationService.toData(entry.getValue()), false);
+                    }
+                }
+            } else {
+                Set<K> keys = delegate.keySet(predicate);
+                synchronized (mutex) {
+                    for (K key : keys) {
+                        doUpdate(toKeyData(key), null, false);
+                    }
+                }
+            }
+        } finally {
+            endPopulation();
+        }
+    }
+
+    private void endPopulation() {
+        synchronized (mutex) {
+            List<PendingUpdate> updates = pendingUpdates;
+            pendingUpdates = null;
+            for (PendingUpdate update : updates) {
+                if (update.remove) {
+                    doRemove(update.key, true);
+                } else {
+                    doUpdate(update.key, update.value, true);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean tryRecover() {
+        if (destroyed || !recovering.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            beginPopulation(true);
+            for (int i = 0; i < sequences.length(); i++) {
+                sequences.set(i, 0);
+            }
+            populate();
+            return true;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            recovering.set(false);
+        }
+    }
+
+    /**
+     * Removes all entries without firing events, e.g. after the underlying map has been cleared.
+     */
+    protected void clearInternal() {
+        synchronized (mutex) {
+            clearStore();
+            if (pendingUpdates != null) {
+                pendingUpdates.clear();
+            }
+        }
+    }
+
+    private void clearStore() {
+        store.clear();
+        for (Index index : indexService.getIndexes()) {
+            index.clear();
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "key cannot be null");
+
+        QueryCacheRecord record = store.get(toKeyData(key));
+        if (record == null) {
+            return null;
+        }
+        record.onAccess();
+        return toObject(record.getValue());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "key cannot be null");
+
+        return store.containsKey(toKeyData(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "value cannot be null");
+
+        for (QueryCacheRecord record : store.values()) {
+            if (value.equals(toObject(record.getValue()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+
+        synchronized (mutex) {
+            indexService.addOrGetIndex(attribute, ordered);
+            for (Map.Entry<Data, QueryCacheRecord> entry : store.entrySet()) {
+                Data key = entry.getKey();
+                indexService.saveEntryIndex(new QueryEntry(serializationService, key, key,
+                        toQueryValue(entry.getValue().getValue())));
+            }
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkNotNull(keys, "keys cannot be null");
+
+        Map<K, V> result = new HashMap<K, V>(keys.size());
+        for (K key : keys) {
+            QueryCacheRecord record = store.get(toKeyData(key));
+            if (record != null) {
+                record.onAccess();
+                result.put(key, toObject(record.getValue()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySet(TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public Set<K> keySet(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+
+        Set<K> result = new HashSet<K>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((K) entry.getKey());
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet(TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+
+        Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey(), (V) entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        return values(TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public Collection<V> values(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+
+        List<V> result = new ArrayList<V>();
+        for (QueryableEntry entry : query(predicate)) {
+            result.add((V) entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Uses the indexes of this cache if they can serve the predicate, otherwise scans all entries.
+     */
+    private Collection<QueryableEntry> query(Predicate predicate) {
+        if (!(predicate instanceof TruePredicate)) {
+            Set<QueryableEntry> indexed = indexService.query(predicate);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (Map.Entry<Data, QueryCacheRecord> entry : store.entrySet()) {
+            Data key = entry.getKey();
+            QueryEntry queryEntry = new QueryEntry(serializationService, key, key,
+                    toQueryValue(entry.getValue().getValue()));
+            if (predicate.apply(queryEntry)) {
+                result.add(queryEntry);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, boolean includeValue) {
+        return addEntryListenerInternal(listener, null, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, K key, boolean includeValue) {
+        checkNotNull(key, "key cannot be null");
+
+        return addEntryListenerInternal(listener, null, toKeyData(key), includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+
+        return addEntryListenerInternal(listener, predicate, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, K key, boolean includeValue) {
+        checkNotNull(predicate, "predicate cannot be null");
+        checkNotNull(key, "key cannot be null");
+
+        return addEntryListenerInternal(listener, predicate, toKeyData(key), includeValue);
+    }
+
+    private String addEntryListenerInternal(MapListener listener, Predicate predicate, Data key, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+
+        ListenerAdapter adapter = ListenerAdapters.createListenerAdapter(listener);
+        String id = UuidUtil.buildRandomUuidString();
+        listeners.put(id, new LocalListener(adapter, predicate, key, includeValue));
+        return id;
+    }
+
+    @Override
+    public boolean removeEntryListener(String id) {
+        checkNotNull(id, "listener id cannot be null");
+
+        return listeners.remove(id) != null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (mutex) {
+            if (destroyed) {
+                return;
+            }
+            destroyed = true;
+        }
+        if (registrationId != null) {
+            unsubscribe(registrationId);
+        }
+        listeners.clear();
+        clearInternal();
+    }
+
+    protected Data toKeyData(Object key) {
+        return serializationService.toData(key);
+    }
+
+    private Object toStoredValue(Data value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        if (config.getInMemoryFormat() == InMemoryFormat.OBJECT) {
+            return serializationService.toObject(value);
+        }
+        return value;
+    }
+
+    private Object toQueryValue(Object storedValue) {
+        return storedValue == NO_VALUE ? null : storedValue;
+    }
+
+    private Data toData(Object storedValue) {
+        if (storedValue == null || storedValue == NO_VALUE) {
+            return null;
+        }
+        return serializationService.toData(storedValue);
+    }
+
+    private V toObject(Object storedValue) {
+        if (storedValue == null || storedValue == NO_VALUE) {
+            return null;
+        }
+        return serializationService.toObject(storedValue);
+    }
+
+    private MapListener initializeListener(EntryListenerConfig listenerConfig) {
+        Object listener = listenerConfig.getImplementation();
+        if (listener == null && listenerConfig.getClassName() != null) {
+            try {
+                listener = ClassLoaderUtil.newInstance(classLoader, listenerConfig.getClassName());
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            }
+        }
+        return (MapListener) listener;
+    }
+
+    private static Predicate resolvePredicate(QueryCacheConfig config, ClassLoader classLoader) {
+        PredicateConfig predicateConfig = config.getPredicateConfig();
+        if (predicateConfig.getImplementation() != null) {
+            return predicateConfig.getImplementation();
+        }
+        if (predicateConfig.getSql() != null) {
+            return new SqlPredicate(predicateConfig.getSql());
+        }
+        if (predicateConfig.getClassName() != null) {
+            try {
+                return ClassLoaderUtil.newInstance(classLoader, predicateConfig.getClassName());
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            }
+        }
+        throw new IllegalArgumentException("No predicate is defined for query cache " + config.getName());
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCache{name='" + name + "', map='" + delegate.getName() + "'}";
+    }
+
+    /**
+     * Keeps the indexes in line with the evicted entries and notifies the listeners of this cache.
+     */
+    private final class LocalEvictionListener implements EvictionListener<Data, QueryCacheRecord> {
+
+        @Override
+        public void onEvict(Data key, QueryCacheRecord record) {
+            onRemoved(key, record, EntryEventType.EVICTED);
+        }
+    }
+
+    /**
+     * Listener registered on this query cache.
+     */
+    private static final class LocalListener {
+
+        private final ListenerAdapter adapter;
+        private final Predicate predicate;
+        private final Data key;
+        private final boolean includeValue;
+
+        LocalListener(ListenerAdapter adapter, Predicate predicate, Data key, boolean includeValue) {
+            this.adapter = adapter;
+            this.predicate = predicate;
+            this.key = key;
+            this.includeValue = includeValue;
+        }
+    }
+
+    /**
+     * Update received during the population of the cache.
+     */
+    private static final class PendingUpdate {
+
+        private final Data key;
+        private final Data value;
+        private final boolean remove;
+
+        PendingUpdate(Data key, Data value, boolean remove) {
+            this.key = key;
+            this.value = value;
+            this.remove = remove;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Batch of {@link QueryCacheEventData} of one partition, in sequence order.
+ * Fields shared by all events of the batch are serialized only once.
+ */
+public class BatchQueryCacheEventData implements EventData {
+
+    private String source;
+    private String mapName;
+    private Address caller;
+    private int partitionId;
+    private List<QueryCacheEventData> events;
+
+    public BatchQueryCacheEventData() {
+    }
+
+    public BatchQueryCacheEventData(String source, String mapName, Address caller, int partitionId,
+                                    List<QueryCacheEventData> events) {
+        this.source = source;
+        this.mapName = mapName;
+        this.caller = caller;
+        this.partitionId = partitionId;
+        this.events = events;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String getMapName() {
+        return mapName;
+    }
+
+    @Override
+    public Address getCaller() {
+        return caller;
+    }
+
+    /**
+     * A batch has no event type of its own, see {@link QueryCacheEventData#getEventType()} of its events.
+     */
+    @Override
+    public int getEventType() {
+        return 0;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public List<QueryCacheEventData> getEvents() {
+        return events == null ? Collections.<QueryCacheEventData>emptyList() : events;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(source);
+        out.writeUTF(mapName);
+        out.writeObject(caller);
+        out.writeInt(partitionId);
+        List<QueryCacheEventData> events = getEvents();
+        out.writeInt(events.size());
+        for (QueryCacheEventData event : events) {
+            out.writeInt(event.getEventType());
+            out.writeData(event.getDataKey());
+            out.writeData(event.getDataNewValue());
+            out.writeLong(event.getSequence());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        source = in.readUTF();
+        mapName = in.readUTF();
+        caller = in.readObject();
+        partitionId = in.readInt();
+        int size = in.readInt();
+        events = new ArrayList<QueryCacheEventData>(size);
+        for (int i = 0; i < size; i++) {
+            int eventType = in.readInt();
+            Data dataKey = in.readData();
+            Data dataNewValue = in.readData();
+            QueryCacheEventData event = new QueryCacheEventData(source, mapName, caller, eventType,
+                    dataKey, dataNewValue, partitionId);
+            event.setSequence(in.readLong());
+            events.add(event);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchQueryCacheEventData{"
+                + "mapName='" + mapName + '\''
+                + ", partitionId=" + partitionId
+                + ", size=" + getEvents().size()
+                + '}';
+    }
+}
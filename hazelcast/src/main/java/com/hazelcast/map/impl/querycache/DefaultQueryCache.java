@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.IMapEvent;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * {@link com.hazelcast.map.QueryCache} of a member, subscribed through the event service of the member.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public class DefaultQueryCache<K, V> extends AbstractQueryCache<K, V> {
+
+    private final NodeEngine nodeEngine;
+    private final PartitioningStrategy partitioningStrategy;
+
+    public DefaultQueryCache(QueryCacheConfig config, IMap<K, V> delegate, NodeEngine nodeEngine,
+                             PartitioningStrategy partitioningStrategy) {
+        super(config, delegate, nodeEngine.getSerializationService(), nodeEngine.getConfigClassLoader(),
+                nodeEngine.getPartitionService().getPartitionCount(),
+                nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR));
+        this.nodeEngine = nodeEngine;
+        this.partitioningStrategy = partitioningStrategy;
+    }
+
+    @Override
+    protected String subscribe() {
+        EventRegistration registration = nodeEngine.getEventService().registerListener(SERVICE_NAME, delegate.getName(),
+                createEventFilter(), new SubscriberListenerAdapter());
+        return registration.getId();
+    }
+
+    @Override
+    protected boolean unsubscribe(String registrationId) {
+        return nodeEngine.getEventService().deregisterListener(SERVICE_NAME, delegate.getName(), registrationId);
+    }
+
+    @Override
+    protected Data toKeyData(Object key) {
+        return serializationService.toData(key, partitioningStrategy);
+    }
+
+    /**
+     * Receives the updates of this cache and the map wide events of the underlying map.
+     */
+    private final class SubscriberListenerAdapter implements QueryCacheListenerAdapter {
+
+        @Override
+        public void onQueryCacheEvent(EventData eventData) {
+            DefaultQueryCache.this.onQueryCacheEvent(eventData);
+        }
+
+        @Override
+        public void onEvent(IMapEvent event) {
+            if (event instanceof MapEvent) {
+                onMapEvent();
+            }
+        }
+    }
+}
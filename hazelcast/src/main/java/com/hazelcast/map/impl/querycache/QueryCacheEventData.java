@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+
+/**
+ * A single {@link com.hazelcast.map.QueryCache} update. The event type is either
+ * {@link com.hazelcast.core.EntryEventType#ADDED}/{@link com.hazelcast.core.EntryEventType#UPDATED}, meaning
+ * the entry matches the predicate and should be in the cache, or {@link com.hazelcast.core.EntryEventType#REMOVED},
+ * meaning it should not.
+ * <p/>
+ * Every event carries the sequence assigned by the owner of its partition, which lets subscribers detect lost events.
+ */
+public class QueryCacheEventData implements EventData {
+
+    private String source;
+    private String mapName;
+    private Address caller;
+    private int eventType;
+    private Data dataKey;
+    private Data dataNewValue;
+    private int partitionId;
+    private long sequence;
+
+    public QueryCacheEventData() {
+    }
+
+    public QueryCacheEventData(String source, String mapName, Address caller, int eventType,
+                               Data dataKey, Data dataNewValue, int partitionId) {
+        this.source = source;
+        this.mapName = mapName;
+        this.caller = caller;
+        this.eventType = eventType;
+        this.dataKey = dataKey;
+        this.dataNewValue = dataNewValue;
+        this.partitionId = partitionId;
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String getMapName() {
+        return mapName;
+    }
+
+    @Override
+    public Address getCaller() {
+        return caller;
+    }
+
+    @Override
+    public int getEventType() {
+        return eventType;
+    }
+
+    public Data getDataKey() {
+        return dataKey;
+    }
+
+    public Data getDataNewValue() {
+        return dataNewValue;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(source);
+        out.writeUTF(mapName);
+        out.writeObject(caller);
+        out.writeInt(eventType);
+        out.writeData(dataKey);
+        out.writeData(dataNewValue);
+        out.writeInt(partitionId);
+        out.writeLong(sequence);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        source = in.readUTF();
+        mapName = in.readUTF();
+        caller = in.readObject();
+        eventType = in.readInt();
+        dataKey = in.readData();
+        dataNewValue = in.readData();
+        partitionId = in.readInt();
+        sequence = in.readLong();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventData{"
+                + "source='" + source + '\''
+                + ", mapName='" + mapName + '\''
+                + ", caller=" + caller
+                + ", eventType=" + eventType
+                + ", partitionId=" + partitionId
+                + ", sequence=" + sequence
+                + '}';
+    }
+}
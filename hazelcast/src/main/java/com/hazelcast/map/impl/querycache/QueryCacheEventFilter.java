@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.EventFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Event filter of a {@link com.hazelcast.map.QueryCache} registration. Events matching this filter are not
+ * published one by one to the subscriber but accumulated per partition, sequenced and sent in batches.
+ *
+ * @see QueryCachePublisher
+ */
+public class QueryCacheEventFilter implements EventFilter, DataSerializable {
+
+    private Predicate predicate;
+    private boolean includeValue;
+    private int batchSize;
+    private int delaySeconds;
+    private boolean coalesce;
+
+    public QueryCacheEventFilter() {
+    }
+
+    public QueryCacheEventFilter(Predicate predicate, boolean includeValue, int batchSize,
+                                 int delaySeconds, boolean coalesce) {
+        this.predicate = predicate;
+        this.includeValue = includeValue;
+        this.batchSize = batchSize;
+        this.delaySeconds = delaySeconds;
+        this.coalesce = coalesce;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public boolean isIncludeValue() {
+        return includeValue;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getDelaySeconds() {
+        return delaySeconds;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Returns {@code true} when events of this registration should be sent immediately instead of being buffered.
+     */
+    public boolean isImmediate() {
+        return batchSize <= 1 && delaySeconds <= 0;
+    }
+
+    @Override
+    public boolean eval(Object arg) {
+        return predicate.apply((Map.Entry) arg);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(predicate);
+        out.writeBoolean(includeValue);
+        out.writeInt(batchSize);
+        out.writeInt(delaySeconds);
+        out.writeBoolean(coalesce);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        predicate = in.readObject();
+        includeValue = in.readBoolean();
+        batchSize = in.readInt();
+        delaySeconds = in.readInt();
+        coalesce = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventFilter{"
+                + "predicate=" + predicate
+                + ", includeValue=" + includeValue
+                + ", batchSize=" + batchSize
+                + ", delaySeconds=" + delaySeconds
+                + ", coalesce=" + coalesce
+                + '}';
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.map.impl.EventData;
+import com.hazelcast.map.impl.ListenerAdapter;
+
+/**
+ * {@link ListenerAdapter} of a {@link com.hazelcast.map.QueryCache} subscription. Besides map wide events
+ * passed to {@link #onEvent(com.hazelcast.core.IMapEvent)}, it receives the sequenced updates of the cache.
+ */
+public interface QueryCacheListenerAdapter extends ListenerAdapter {
+
+    /**
+     * Handles sequenced query cache updates.
+     *
+     * @param eventData a single {@link QueryCacheEventData} or a {@link BatchQueryCacheEventData}.
+     */
+    void onQueryCacheEvent(EventData eventData);
+}
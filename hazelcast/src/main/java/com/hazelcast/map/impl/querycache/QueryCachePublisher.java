@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * Publisher side of {@link com.hazelcast.map.QueryCache}.
+ * <p/>
+ * Map events of registrations with a {@link QueryCacheEventFilter} are converted into
+ * {@link QueryCacheEventData}, accumulated per registration and partition, optionally coalesced by key,
+ * and published in sequence order when the batch size is reached or the configured delay has passed.
+ * Sequences are assigned at publish time, so coalescing never produces sequence gaps; a gap on the subscriber
+ * side therefore always means lost events (e.g. a dead owner) and triggers recovery. When a partition migrates,
+ * its sequences are handed over to the new owner by {@link #flushAndGetSequences(int)} and
+ * {@link #setSequences(int, Map)}, so the new owner continues them.
+ */
+public class QueryCachePublisher {
+
+    private static final long FLUSH_PERIOD_SECONDS = 1;
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final ConcurrentMap<String, RegistrationAccumulator> accumulators
+            = new ConcurrentHashMap<String, RegistrationAccumulator>();
+    private final AtomicBoolean flushTaskScheduled = new AtomicBoolean();
+
+    public QueryCachePublisher(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(QueryCachePublisher.class);
+    }
+
+    public void publish(EventRegistration registration, Address caller, String mapName, EntryEventType eventType,
+                        int partitionId, Data dataKey, Data dataOldValue, Data dataValue) {
+        QueryCacheEventFilter filter = (QueryCacheEventFilter) registration.getFilter();
+        QueryCacheEventData event = createEventData(filter, caller, mapName, eventType, partitionId,
+                dataKey, dataOldValue, dataValue);
+        if (event == null) {
+            return;
+        }
+        RegistrationAccumulator accumulator = getOrCreateAccumulator(registration, mapName);
+        accumulator.getPartitionAccumulator(partitionId).add(event);
+    }
+
+    /**
+     * Publishes all buffered events of the registrations on the given map, e.g. before a map wide event.
+     */
+    public void flush(String mapName) {
+        for (RegistrationAccumulator accumulator : accumulators.values()) {
+            if (accumulator.mapName.equals(mapName)) {
+                accumulator.flush(Long.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Publishes the buffered events of the partition and returns the current sequences of its registrations.
+     *
+     * @param partitionId id of the partition.
+     * @return sequences by registration id, grouped by map name.
+     */
+    public Map<String, Map<String, Long>> flushAndGetSequences(int partitionId) {
+        Map<String, Map<String, Long>> sequences = new HashMap<String, Map<String, Long>>();
+        for (RegistrationAccumulator accumulator : accumulators.values()) {
+            PartitionAccumulator partitionAccumulator = accumulator.partitions.get(partitionId);
+            if (partitionAccumulator == null) {
+                continue;
+            }
+            long sequence = partitionAccumulator.flushAndGetSequence();
+            Map<String, Long> mapSequences = sequences.get(accumulator.mapName);
+            if (mapSequences == null) {
+                mapSequences = new HashMap<String, Long>();
+                sequences.put(accumulator.mapName, mapSequences);
+            }
+            mapSequences.put(accumulator.registration.getId(), sequence);
+        }
+        return sequences;
+    }
+
+    /**
+     * Continues the sequences of the partition which are handed over by its previous owner.
+     * Sequences of registrations which are not known on this member are ignored.
+     *
+     * @param partitionId id of the partition.
+     * @param sequences   sequences by registration id, grouped by map name.
+     */
+    public void setSequences(int partitionId, Map<String, Map<String, Long>> sequences) {
+        EventService eventService = nodeEngine.getEventService();
+        for (Map.Entry<String, Map<String, Long>> mapSequences : sequences.entrySet()) {
+            String mapName = mapSequences.getKey();
+            for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+                Long sequence = mapSequences.getValue().get(registration.getId());
+                if (sequence != null && registration.getFilter() instanceof QueryCacheEventFilter) {
+                    getOrCreateAccumulator(registration, mapName).getPartitionAccumulator(partitionId)
+                            .setSequence(sequence);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the buffers and sequences of the partition, e.g. after it has migrated to another member.
+     */
+    public void clearPartition(int partitionId) {
+        for (RegistrationAccumulator accumulator : accumulators.values()) {
+            accumulator.partitions.set(partitionId, null);
+        }
+    }
+
+    private QueryCacheEventData createEventData(QueryCacheEventFilter filter, Address caller, String mapName,
+                                                EntryEventType eventType, int partitionId, Data dataKey,
+                                                Data dataOldValue, Data dataValue) {
+        boolean removal = eventType == EntryEventType.REMOVED || eventType == EntryEventType.EVICTED;
+        if (!removal && matches(filter, dataKey, dataValue)) {
+            Data value = filter.isIncludeValue() ? dataValue : null;
+            int type = dataOldValue == null ? EntryEventType.ADDED.getType() : EntryEventType.UPDATED.getType();
+            return new QueryCacheEventData(getThisNodesAddress(), mapName, caller, type, dataKey, value, partitionId);
+        }
+        if (eventType == EntryEventType.ADDED) {
+            return null;
+        }
+        // the old value is unknown or matched: the subscriber may have it cached, so it should be removed
+        if (dataOldValue == null || matches(filter, dataKey, dataOldValue)) {
+            return new QueryCacheEventData(getThisNodesAddress(), mapName, caller, EntryEventType.REMOVED.getType(),
+                    dataKey, null, partitionId);
+        }
+        return null;
+    }
+
+    private boolean matches(QueryCacheEventFilter filter, Data dataKey, Data dataValue) {
+        if (dataValue == null) {
+            return false;
+        }
+        QueryEntry entry = new QueryEntry(nodeEngine.getSerializationService(), dataKey, dataKey, dataValue);
+        return filter.eval(entry);
+    }
+
+    private RegistrationAccumulator getOrCreateAccumulator(EventRegistration registration, String mapName) {
+        String id = registration.getId();
+        RegistrationAccumulator accumulator = accumulators.get(id);
+        if (accumulator != null) {
+            return accumulator;
+        }
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        accumulator = new RegistrationAccumulator(registration, mapName, partitionCount);
+        RegistrationAccumulator existing = accumulators.putIfAbsent(id, accumulator);
+        if (existing != null) {
+            return existing;
+        }
+        scheduleFlushTaskIfNeeded();
+        return accumulator;
+    }
+
+    private void scheduleFlushTaskIfNeeded() {
+        if (flushTaskScheduled.compareAndSet(false, true)) {
+            nodeEngine.getExecutionService().scheduleWithFixedDelay(new FlushTask(),
+                    FLUSH_PERIOD_SECONDS, FLUSH_PERIOD_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void publishEventData(EventRegistration registration, Object eventData, int partitionId) {
+        EventService eventService = nodeEngine.getEventService();
+        eventService.publishEvent(SERVICE_NAME, registration, eventData, partitionId);
+    }
+
+    private String getThisNodesAddress() {
+        return nodeEngine.getThisAddress().toString();
+    }
+
+    /**
+     * Publishes expired buffers and drops the accumulators of deregistered query caches.
+     */
+    private final class FlushTask implements Runnable {
+
+        @Override
+        public void run() {
+            EventService eventService = nodeEngine.getEventService();
+            long now = Clock.currentTimeMillis();
+            Iterator<RegistrationAccumulator> iterator = accumulators.values().iterator();
+            while (iterator.hasNext()) {
+                RegistrationAccumulator accumulator = iterator.next();
+                Collection<EventRegistration> registrations = eventService.getRegistrations(SERVICE_NAME,
+                        accumulator.mapName);
+                if (!registrations.contains(accumulator.registration)) {
+                    iterator.remove();
+                    continue;
+                }
+                try {
+                    accumulator.flush(now);
+                } catch (Exception e) {
+                    logger.warning("Could not flush query cache events of map " + accumulator.mapName, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accumulators of all partitions of one query cache registration.
+     */
+    private final class RegistrationAccumulator {
+
+        private final EventRegistration registration;
+        private final QueryCacheEventFilter filter;
+        private final String mapName;
+        private final AtomicReferenceArray<PartitionAccumulator> partitions;
+
+        RegistrationAccumulator(EventRegistration registration, String mapName, int partitionCount) {
+            this.registration = registration;
+            this.filter = (QueryCacheEventFilter) registration.getFilter();
+            this.mapName = mapName;
+            this.partitions = new AtomicReferenceArray<PartitionAccumulator>(partitionCount);
+        }
+
+        PartitionAccumulator getPartitionAccumulator(int partitionId) {
+            PartitionAccumulator accumulator = partitions.get(partitionId);
+            if (accumulator == null) {
+                accumulator = new PartitionAccumulator(this, partitionId);
+                if (!partitions.compareAndSet(partitionId, null, accumulator)) {
+                    accumulator = partitions.get(partitionId);
+                }
+            }
+            return accumulator;
+        }
+
+        void flush(long now) {
+            long delayMillis = TimeUnit.SECONDS.toMillis(filter.getDelaySeconds());
+            for (int i = 0; i < partitions.length(); i++) {
+                PartitionAccumulator accumulator = partitions.get(i);
+                if (accumulator != null) {
+                    accumulator.flushIfOlderThan(now - delayMillis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffer and sequence of one registration on one partition. Normally only touched by the partition thread
+     * and the flush task, hence simple synchronization is sufficient.
+     */
+    private final class PartitionAccumulator {
+
+        private final RegistrationAccumulator owner;
+        private final int partitionId;
+        private final Map<Data, QueryCacheEventData> buffer = new LinkedHashMap<Data, QueryCacheEventData>();
+        private final List<QueryCacheEventData> list = new ArrayList<QueryCacheEventData>();
+        private long sequence;
+        private long firstEventTime;
+
+        PartitionAccumulator(RegistrationAccumulator owner, int partitionId) {
+            this.owner = owner;
+            this.partitionId = partitionId;
+        }
+
+        synchronized void add(QueryCacheEventData event) {
+            QueryCacheEventFilter filter = owner.filter;
+            if (filter.isImmediate()) {
+                event.setSequence(++sequence);
+                publishEventData(owner.registration, event, partitionId);
+                return;
+            }
+            if (size() == 0) {
+                firstEventTime = Clock.currentTimeMillis();
+            }
+            if (filter.isCoalesce()) {
+                // remove first, so the surviving event takes the position of the latest update
+                buffer.remove(event.getDataKey());
+                buffer.put(event.getDataKey(), event);
+            } else {
+                list.add(event);
+            }
+            if (size() >= filter.getBatchSize()) {
+                publishBuffered();
+            }
+        }
+
+        synchronized void flushIfOlderThan(long time) {
+            if (size() > 0 && firstEventTime <= time) {
+                publishBuffered();
+            }
+        }
+
+        synchronized long flushAndGetSequence() {
+            if (size() > 0) {
+                publishBuffered();
+            }
+            return sequence;
+        }
+
+        synchronized void setSequence(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private int size() {
+            return buffer.size() + list.size();
+        }
+
+        private void publishBuffered() {
+            List<QueryCacheEventData> events = new ArrayList<QueryCacheEventData>(size());
+            events.addAll(list);
+            events.addAll(buffer.values());
+            list.clear();
+            buffer.clear();
+            for (QueryCacheEventData event : events) {
+                event.setSequence(++sequence);
+            }
+            BatchQueryCacheEventData batch = new BatchQueryCacheEventData(getThisNodesAddress(), owner.mapName,
+                    nodeEngine.getThisAddress(), partitionId, events);
+            publishEventData(owner.registration, batch, partitionId);
+        }
+    }
+}
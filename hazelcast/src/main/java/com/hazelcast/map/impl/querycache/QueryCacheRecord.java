@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.cache.impl.eviction.Evictable;
+import com.hazelcast.util.Clock;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Entry of a {@link com.hazelcast.map.QueryCache}. Keeps the access statistics used by the eviction of the cache.
+ */
+class QueryCacheRecord implements Evictable {
+
+    private static final AtomicIntegerFieldUpdater<QueryCacheRecord> ACCESS_HIT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(QueryCacheRecord.class, "accessHit");
+
+    private final long creationTime;
+    private volatile Object value;
+    private volatile long accessTime;
+    private volatile int accessHit;
+
+    QueryCacheRecord(Object value) {
+        this.value = value;
+        this.creationTime = Clock.currentTimeMillis();
+        this.accessTime = creationTime;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    void setValue(Object value) {
+        this.value = value;
+    }
+
+    void onAccess() {
+        accessTime = Clock.currentTimeMillis();
+        ACCESS_HIT_UPDATER.addAndGet(this, 1);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public long getAccessTime() {
+        return accessTime;
+    }
+
+    @Override
+    public int getAccessHit() {
+        return accessHit;
+    }
+}
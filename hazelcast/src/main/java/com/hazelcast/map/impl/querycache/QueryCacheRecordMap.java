@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.cache.impl.eviction.Evictable;
+import com.hazelcast.cache.impl.eviction.EvictionCandidate;
+import com.hazelcast.cache.impl.eviction.EvictionListener;
+import com.hazelcast.cache.impl.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+/**
+ * Records of a {@link com.hazelcast.map.QueryCache}, sampled by the eviction of the cache.
+ */
+class QueryCacheRecordMap extends SampleableConcurrentHashMap<Data, QueryCacheRecord>
+        implements SampleableEvictableStore<Data, QueryCacheRecord> {
+
+    QueryCacheRecordMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Sampled record which can be evicted.
+     */
+    public class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate {
+
+        public EvictableSamplingEntry(Data key, QueryCacheRecord value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object getAccessor() {
+            return getKey();
+        }
+
+        @Override
+        public Evictable getEvictable() {
+            return getValue();
+        }
+    }
+
+    @Override
+    protected <E extends SamplingEntry> E createSamplingEntry(Data key, QueryCacheRecord value) {
+        return (E) new EvictableSamplingEntry(key, value);
+    }
+
+    @Override
+    public <C extends EvictionCandidate<Data, QueryCacheRecord>> int evict(Iterable<C> evictionCandidates,
+                                                                          EvictionListener<Data, QueryCacheRecord>
+                                                                                  evictionListener) {
+        if (evictionCandidates == null) {
+            return 0;
+        }
+        int evictedCount = 0;
+        for (EvictionCandidate<Data, QueryCacheRecord> evictionCandidate : evictionCandidates) {
+            if (remove(evictionCandidate.getAccessor()) != null) {
+                evictedCount++;
+                if (evictionListener != null) {
+                    evictionListener.onEvict(evictionCandidate.getAccessor(), evictionCandidate.getEvictable());
+                }
+            }
+        }
+        return evictedCount;
+    }
+
+    @Override
+    public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.PredicateConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.query.Predicate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Query caches of a map proxy. Shared by the member and client proxies, which only differ in where the
+ * configurations are looked up and how a cache subscribes to the updates of the map.
+ * <p/>
+ * A cache is created once per name and returned until it is destroyed; configured caches are created from a copy
+ * of their configuration, so the configuration of the instance is never modified.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public abstract class QueryCacheRegistry<K, V> {
+
+    private final String mapName;
+    private final ConcurrentMap<String, AbstractQueryCache<K, V>> queryCaches
+            = new ConcurrentHashMap<String, AbstractQueryCache<K, V>>();
+
+    protected QueryCacheRegistry(String mapName) {
+        this.mapName = mapName;
+    }
+
+    /**
+     * Returns the configured query cache with the given name.
+     *
+     * @throws IllegalArgumentException if no query cache with this name is configured for the map.
+     * @see com.hazelcast.core.IMap#getQueryCache(String)
+     */
+    public QueryCache<K, V> getQueryCache(String name) {
+        checkNotNull(name, "name cannot be null");
+
+        AbstractQueryCache<K, V> queryCache = queryCaches.get(name);
+        if (queryCache != null && !queryCache.isDestroyed()) {
+            return queryCache;
+        }
+        QueryCacheConfig queryCacheConfig = getQueryCacheConfig(name);
+        if (queryCacheConfig == null) {
+            throw new IllegalArgumentException("No query cache with name " + name + " is configured for map " + mapName);
+        }
+        return getOrCreate(new QueryCacheConfig(queryCacheConfig), null);
+    }
+
+    /**
+     * Returns the query cache with the given name, created with the given predicate on top of its configuration,
+     * if any.
+     *
+     * @see com.hazelcast.core.IMap#getQueryCache(String, MapListener, Predicate, boolean)
+     */
+    public QueryCache<K, V> getQueryCache(String name, MapListener listener, Predicate<K, V> predicate,
+                                          boolean includeValue) {
+        checkNotNull(name, "name cannot be null");
+        checkNotNull(predicate, "Predicate should not be null!");
+
+        QueryCacheConfig configured = getQueryCacheConfig(name);
+        QueryCacheConfig queryCacheConfig = configured == null
+                ? new QueryCacheConfig(name) : new QueryCacheConfig(configured);
+        queryCacheConfig.setPredicateConfig(new PredicateConfig(predicate));
+        queryCacheConfig.setIncludeValue(includeValue);
+        return getOrCreate(queryCacheConfig, listener);
+    }
+
+    /**
+     * Returns the configuration of the query cache with the given name, or null if it is not configured.
+     */
+    protected abstract QueryCacheConfig getQueryCacheConfig(String name);
+
+    /**
+     * Creates a query cache of the given configuration. The registry adds the listener and initializes it.
+     */
+    protected abstract AbstractQueryCache<K, V> createQueryCache(QueryCacheConfig queryCacheConfig);
+
+    private QueryCache<K, V> getOrCreate(QueryCacheConfig queryCacheConfig, MapListener listener) {
+        String cacheName = queryCacheConfig.getName();
+        AbstractQueryCache<K, V> queryCache = queryCaches.get(cacheName);
+        if (queryCache != null && !queryCache.isDestroyed()) {
+            return queryCache;
+        }
+        synchronized (queryCaches) {
+            queryCache = queryCaches.get(cacheName);
+            if (queryCache != null && !queryCache.isDestroyed()) {
+                return queryCache;
+            }
+            queryCache = createQueryCache(queryCacheConfig);
+            if (listener != null) {
+                queryCache.addEntryListener(listener, queryCacheConfig.isIncludeValue());
+            }
+            queryCache.init();
+            queryCaches.put(cacheName, queryCache);
+            return queryCache;
+        }
+    }
+}
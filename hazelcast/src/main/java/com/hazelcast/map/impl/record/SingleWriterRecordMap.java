@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Open-addressing hash table holding the records of a single partition record store.
+ * <p/>
+ * A partition record store is only mutated by its partition thread, so this map supports exactly one writer and any
+ * number of concurrent readers. Compared to a {@link java.util.concurrent.ConcurrentHashMap} it has no segments and no
+ * per-entry node objects: records are stored directly in the table and found by their key, which is taken from
+ * {@link Record#getKey()}. Hence the key passed to {@link #put(Data, Record)} must be equal to the key of the record.
+ * <p/>
+ * The table is allocated on the first put, shrunk when most of its records are removed and released when the map
+ * becomes empty, so empty record stores cost a few fields only. Collisions are resolved by linear probing. Removed
+ * slots are marked with a tombstone instead of shifting the following entries back, so a concurrent reader never
+ * misses an entry that is not being changed; tombstones are purged when the table is rehashed.
+ * <p/>
+ * Readers see a weakly consistent view, like the iterators of {@link java.util.concurrent.ConcurrentHashMap}.
+ * Iterators never throw {@link java.util.ConcurrentModificationException}; their {@code remove()} method may only be
+ * called by the writer thread.
+ */
+public class SingleWriterRecordMap extends AbstractMap<Data, Record> {
+
+    static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Maximum ratio of used slots, live and removed ones, before the table is rehashed.
+     */
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * The table is shrunk when less than 1/8 of its threshold is occupied by live records.
+     */
+    private static final int SHRINK_SHIFT = 3;
+
+    private static final Object TOMBSTONE = new Object();
+
+    // Because of JDK6 compatibility,
+    // we cannot use "java.util.concurrent.ThreadLocalRandom" (valid for JDK7+ versions).
+    private static final ThreadLocal<Random> THREAD_LOCAL_RANDOM =
+        new ThreadLocal<Random>() {
+            @Override
+            protected Random initialValue() {
+                return new Random();
+            }
+        };
+
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Table table;
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Record get(Object key) {
+        Table t = table;
+        if (t == null || !(key instanceof Data)) {
+            return null;
+        }
+        int index = t.indexOf((Data) key, key.hashCode());
+        return index < 0 ? null : (Record) t.slots.get(index);
+    }
+
+    @Override
+    public Record put(Data key, Record record) {
+        if (record == null) {
+            throw new NullPointerException("record");
+        }
+        Table t = table;
+        if (t == null) {
+            t = new Table(INITIAL_CAPACITY);
+            table = t;
+        }
+        int hash = key.hashCode();
+        int mask = t.mask;
+        int freeIndex = -1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object slot = t.slots.get(i);
+            if (slot == null) {
+                if (freeIndex < 0) {
+                    freeIndex = i;
+                    t.used++;
+                }
+                break;
+            }
+            if (slot == TOMBSTONE) {
+                if (freeIndex < 0) {
+                    freeIndex = i;
+                }
+            } else if (t.hashes[i] == hash && key.equals(((Record) slot).getKey())) {
+                t.slots.lazySet(i, record);
+                return (Record) slot;
+            }
+        }
+        // hash has to be visible before the record is published
+        t.hashes[freeIndex] = hash;
+        t.slots.lazySet(freeIndex, record);
+        // single writer, no need for an atomic increment
+        size.lazySet(size.get() + 1);
+        if (t.used > t.threshold) {
+            rehash(t);
+        }
+        return null;
+    }
+
+    @Override
+    public Record remove(Object key) {
+        Table t = table;
+        if (t == null || !(key instanceof Data)) {
+            return null;
+        }
+        int index = t.indexOf((Data) key, key.hashCode());
+        if (index < 0) {
+            return null;
+        }
+        Record removed = (Record) t.slots.get(index);
+        t.slots.lazySet(index, TOMBSTONE);
+        int newSize = size.get() - 1;
+        size.lazySet(newSize);
+        if (newSize == 0) {
+            table = null;
+        } else if (t.mask >= INITIAL_CAPACITY && newSize < t.threshold >> SHRINK_SHIFT) {
+            rehash(t);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        table = null;
+        size.lazySet(0);
+    }
+
+    @Override
+    public Set<Data> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Collection<Record> values() {
+        return new Values();
+    }
+
+    @Override
+    public Set<Map.Entry<Data, Record>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Adds up to {@code size} records, starting from the given cursor, to the given list.
+     * <p/>
+     * The cursor is not a slot index but the next hash bucket, and buckets are visited in reverse binary order of
+     * their index, like the {@code SCAN} command of Redis. Since buckets are defined by the low bits of the key hashes,
+     * the cursor stays valid when the table grows or shrinks between two calls, or when the records are moved to
+     * another map, e.g. on partition migration. A record that is in the map during the whole scan is fetched at least
+     * once; records may be fetched twice if the table shrinks.
+     * <p/>
+     * Records of a bucket are fetched together, so fewer than {@code size} records are returned if the next bucket
+     * does not fit, and more if a single bucket holds more than {@code size} records.
+     *
+     * @param cursor  cursor to resume from, {@code 0} to start from the beginning
+     * @param size    maximum number of records to fetch
+     * @param records list the fetched records are added to
+     * @return the cursor to resume from, {@code -1} if all buckets are visited
+     */
+    public int fetch(int cursor, int size, List<Record> records) {
+        Table t = table;
+        if (t == null || cursor < 0) {
+            return -1;
+        }
+        int mask = t.mask;
+        int bucket = cursor;
+        int count = 0;
+        do {
+            int fetched = fetchBucket(t, bucket & mask, records);
+            if (count > 0 && count + fetched > size) {
+                // the bucket does not fit into this page, it is fetched again by the next call
+                for (int i = 0; i < fetched; i++) {
+                    records.remove(records.size() - 1);
+                }
+                return bucket;
+            }
+            count += fetched;
+            bucket = nextBucket(bucket, mask);
+        } while (bucket != 0 && count < size);
+        return bucket == 0 ? -1 : bucket;
+    }
+
+    /**
+     * Adds the records whose key hash maps to the given bucket. With linear probing they are all found between the
+     * bucket and the next empty slot.
+     */
+    private static int fetchBucket(Table t, int bucket, List<Record> records) {
+        int mask = t.mask;
+        int count = 0;
+        for (int i = bucket, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+            Object slot = t.slots.get(i);
+            if (slot == null) {
+                break;
+            }
+            if (slot != TOMBSTONE && (t.hashes[i] & mask) == bucket) {
+                records.add((Record) slot);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Increments the reversed bits of the bucket index. Buckets sharing their low bits are visited next to each other,
+     * so no bucket is skipped when the table grows or shrinks between two calls.
+     */
+    private static int nextBucket(int bucket, int mask) {
+        int reversed = Integer.reverse(bucket | ~mask);
+        return Integer.reverse(reversed + 1);
+    }
+
+    /**
+     * Adds up to {@code sampleCount} records to the given list, scanning the current table from a random slot and
+     * wrapping around at its end.
+     * <p/>
+     * Since the table keeps at most {@code LOAD_FACTOR} of its slots used and shrinks when it gets sparse,
+     * a sample is found after scanning a number of slots proportional to {@code sampleCount}, independent of
+     * the number of records.
+     *
+     * @param sampleCount maximum number of records to add
+     * @param samples     list the sampled records are added to
+     */
+    public void sample(int sampleCount, List<Record> samples) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        Table t = table;
+        if (t == null || sampleCount == 0) {
+            return;
+        }
+        int mask = t.mask;
+        int start = THREAD_LOCAL_RANDOM.get().nextInt() & mask;
+        int index = start;
+        int count = 0;
+        do {
+            Object slot = t.slots.get(index);
+            if (slot != null && slot != TOMBSTONE) {
+                samples.add((Record) slot);
+                count++;
+            }
+            index = (index + 1) & mask;
+        } while (count < sampleCount && index != start);
+    }
+
+    /**
+     * Returns the number of slots of the current table, 0 if no table is allocated.
+     */
+    int capacity() {
+        Table t = table;
+        return t == null ? 0 : t.slots.length();
+    }
+
+    private void rehash(Table old) {
+        int capacity = Math.max(INITIAL_CAPACITY, nextPowerOfTwo((int) (2 * size.get() / LOAD_FACTOR)));
+        Table t = new Table(capacity);
+        int mask = t.mask;
+        for (int i = 0; i < old.slots.length(); i++) {
+            Object slot = old.slots.get(i);
+            if (slot == null || slot == TOMBSTONE) {
+                continue;
+            }
+            int hash = old.hashes[i];
+            int index = hash & mask;
+            while (t.slots.get(index) != null) {
+                index = (index + 1) & mask;
+            }
+            t.hashes[index] = hash;
+            t.slots.lazySet(index, slot);
+            t.used++;
+        }
+        table = t;
+    }
+
+    /**
+     * Slots and cached key hashes of the map. Slots are published with ordered writes after the hash is set,
+     * {@code used} and {@code threshold} are only accessed by the writer.
+     */
+    private static final class Table {
+
+        final AtomicReferenceArray<Object> slots;
+        final int[] hashes;
+        final int mask;
+        final int threshold;
+        int used;
+
+        Table(int capacity) {
+            slots = new AtomicReferenceArray<Object>(capacity);
+            hashes = new int[capacity];
+            mask = capacity - 1;
+            threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        int indexOf(Data key, int hash) {
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                Object slot = slots.get(i);
+                if (slot == null) {
+                    return -1;
+                }
+                if (slot != TOMBSTONE && hashes[i] == hash && key.equals(((Record) slot).getKey())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Iterates over the records of the table seen when the iterator was created.
+     */
+    private abstract class RecordIterator<E> implements Iterator<E> {
+
+        private final Table t = table;
+        private int index;
+        private Record next;
+        private Record lastReturned;
+
+        RecordIterator() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            if (t == null) {
+                return;
+            }
+            while (index < t.slots.length()) {
+                Object slot = t.slots.get(index++);
+                if (slot != null && slot != TOMBSTONE) {
+                    next = (Record) slot;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        Record nextRecord() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            SingleWriterRecordMap.this.remove(lastReturned.getKey());
+            lastReturned = null;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<Data> {
+
+        @Override
+        public Iterator<Data> iterator() {
+            return new RecordIterator<Data>() {
+                @Override
+                public Data next() {
+                    return nextRecord().getKey();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return SingleWriterRecordMap.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return SingleWriterRecordMap.this.remove(o) != null;
+        }
+
+        @Override
+        public void clear() {
+            SingleWriterRecordMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<Record> {
+
+        @Override
+        public Iterator<Record> iterator() {
+            return new RecordIterator<Record>() {
+                @Override
+                public Record next() {
+                    return nextRecord();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return SingleWriterRecordMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            SingleWriterRecordMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Data, Record>> {
+
+        @Override
+        public Iterator<Map.Entry<Data, Record>> iterator() {
+            return new RecordIterator<Map.Entry<Data, Record>>() {
+                @Override
+                public Map.Entry<Data, Record> next() {
+                    Record record = nextRecord();
+                    return new RecordEntry(record.getKey(), record);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return SingleWriterRecordMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            SingleWriterRecordMap.this.clear();
+        }
+    }
+
+    private final class RecordEntry extends SimpleEntry<Data, Record> {
+
+        RecordEntry(Data key, Record value) {
+            super(key, value);
+        }
+
+        @Override
+        public Record setValue(Record value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -198,6 +198,21 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getHeapCost();
 
+    /**
+     * Returns the number of keys this member has read from the MapLoader and sent to the partitions for loading.
+     * Only the member that loads the keys of the map counts them.
+     *
+     * @return number of keys sent for loading
+     */
+    long getLoadedKeyCount();
+
+    /**
+     * Returns the number of entries loaded from the MapLoader into the partitions owned by this member.
+     *
+     * @return number of loaded entries
+     */
+    long getLoadedEntryCount();
+
     /**
      * Returns statistics related to the Near Cache.
      *
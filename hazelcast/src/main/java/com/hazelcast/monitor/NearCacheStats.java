@@ -59,4 +59,18 @@ public interface NearCacheStats extends LocalInstanceStats {
      * @return hit/miss ratio of the locally owned entries.
      */
     double getRatio();
+
+    /**
+     * Returns the number of entries evicted from this near cache because it reached its maximum size.
+     *
+     * @return number of evicted entries.
+     */
+    long getEvictions();
+
+    /**
+     * Returns the total time spent evicting entries from this near cache, in nanoseconds.
+     *
+     * @return total eviction time in nanoseconds.
+     */
+    long getTotalEvictionTimeNanos();
 }
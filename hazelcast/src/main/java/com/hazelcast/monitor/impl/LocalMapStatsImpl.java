@@ -57,6 +57,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
             .newUpdater(LocalMapStatsImpl.class, "maxPutLatency");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_REMOVE_LATENCY_UPDATER = AtomicLongFieldUpdater
             .newUpdater(LocalMapStatsImpl.class, "maxRemoveLatency");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_KEY_COUNT_UPDATER = AtomicLongFieldUpdater
+            .newUpdater(LocalMapStatsImpl.class, "loadedKeyCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_ENTRY_COUNT_UPDATER = AtomicLongFieldUpdater
+            .newUpdater(LocalMapStatsImpl.class, "loadedEntryCount");
 
     // These fields are only accessed through the updaters
     private volatile long lastAccessTime;
@@ -73,6 +77,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long maxGetLatency;
     private volatile long maxPutLatency;
     private volatile long maxRemoveLatency;
+    private volatile long loadedKeyCount;
+    private volatile long loadedEntryCount;
 
     private volatile long creationTime;
     private volatile long ownedEntryCount;
@@ -292,6 +298,24 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.nearCacheStats = nearCacheStats;
     }
 
+    @Override
+    public long getLoadedKeyCount() {
+        return loadedKeyCount;
+    }
+
+    public void incrementLoadedKeys(long count) {
+        LOADED_KEY_COUNT_UPDATER.addAndGet(this, count);
+    }
+
+    @Override
+    public long getLoadedEntryCount() {
+        return loadedEntryCount;
+    }
+
+    public void incrementLoadedEntries(long count) {
+        LOADED_ENTRY_COUNT_UPDATER.addAndGet(this, count);
+    }
+
     @Override
     public JsonObject toJson() {
         JsonObject root = new JsonObject();
@@ -318,6 +342,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("maxPutLatency", maxPutLatency);
         root.add("maxRemoveLatency", maxRemoveLatency);
         root.add("heapCost", heapCost);
+        root.add("loadedKeyCount", loadedKeyCount);
+        root.add("loadedEntryCount", loadedEntryCount);
         if (nearCacheStats != null) {
             root.add("nearCacheStats", nearCacheStats.toJson());
         }
@@ -349,6 +375,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
         lockedEntryCount = getLong(json, "lockedEntryCount", -1L);
         dirtyEntryCount = getLong(json, "dirtyEntryCount", -1L);
         heapCost = getLong(json, "heapCost", -1L);
+        loadedKeyCount = getLong(json, "loadedKeyCount", -1L);
+        loadedEntryCount = getLong(json, "loadedEntryCount", -1L);
         JsonValue jsonNearCacheStats = json.get("nearCacheStats");
         if (jsonNearCacheStats != null) {
             nearCacheStats = new NearCacheStatsImpl();
@@ -433,6 +461,12 @@ public class LocalMapStatsImpl implements LocalMapStats {
         if (dirtyEntryCount != that.dirtyEntryCount) {
             return false;
         }
+        if (loadedKeyCount != that.loadedKeyCount) {
+            return false;
+        }
+        if (loadedEntryCount != that.loadedEntryCount) {
+            return false;
+        }
         if (backupCount != that.backupCount) {
             return false;
         }
@@ -467,6 +501,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
         result = 31 * result + (int) (heapCost ^ (heapCost >>> 32));
         result = 31 * result + (int) (lockedEntryCount ^ (lockedEntryCount >>> 32));
         result = 31 * result + (int) (dirtyEntryCount ^ (dirtyEntryCount >>> 32));
+        result = 31 * result + (int) (loadedKeyCount ^ (loadedKeyCount >>> 32));
+        result = 31 * result + (int) (loadedEntryCount ^ (loadedEntryCount >>> 32));
         result = 31 * result + backupCount;
         result = 31 * result + (nearCacheStats != null ? nearCacheStats.hashCode() : 0);
         return result;
@@ -495,6 +531,8 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", lockedEntryCount=" + lockedEntryCount
                 + ", dirtyEntryCount=" + dirtyEntryCount
                 + ", heapCost=" + heapCost
+                + ", loadedKeyCount=" + loadedKeyCount
+                + ", loadedEntryCount=" + loadedEntryCount
                 + '}';
     }
 }
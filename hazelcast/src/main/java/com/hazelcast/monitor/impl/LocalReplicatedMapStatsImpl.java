@@ -288,6 +288,16 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
     public void setHeapCost(long heapCost) {
     }
 
+    @Override
+    public long getLoadedKeyCount() {
+        return 0;
+    }
+
+    @Override
+    public long getLoadedEntryCount() {
+        return 0;
+    }
+
     @Override
     public NearCacheStatsImpl getNearCacheStats() {
         throw new UnsupportedOperationException("Replicated map has no Near Cache!");
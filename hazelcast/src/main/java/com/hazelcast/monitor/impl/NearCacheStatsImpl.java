@@ -36,12 +36,18 @@ public class NearCacheStatsImpl implements NearCacheStats {
             AtomicLongFieldUpdater.newUpdater(NearCacheStatsImpl.class, "hits");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> MISSES_UPDATER =
             AtomicLongFieldUpdater.newUpdater(NearCacheStatsImpl.class, "misses");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTIONS_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(NearCacheStatsImpl.class, "evictions");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> TOTAL_EVICTION_TIME_NANOS_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(NearCacheStatsImpl.class, "totalEvictionTimeNanos");
 
     private volatile long creationTime;
     private volatile long ownedEntryCount;
     private volatile long ownedEntryMemoryCost;
     private volatile long hits;
     private volatile long misses;
+    private volatile long evictions;
+    private volatile long totalEvictionTimeNanos;
 
     public NearCacheStatsImpl() {
         this.creationTime = Clock.currentTimeMillis();
@@ -112,6 +118,24 @@ public class NearCacheStatsImpl implements NearCacheStats {
         MISSES_UPDATER.incrementAndGet(this);
     }
 
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void incrementEvictions() {
+        EVICTIONS_UPDATER.incrementAndGet(this);
+    }
+
+    @Override
+    public long getTotalEvictionTimeNanos() {
+        return totalEvictionTimeNanos;
+    }
+
+    public void addEvictionTimeNanos(long evictionTimeNanos) {
+        TOTAL_EVICTION_TIME_NANOS_UPDATER.addAndGet(this, evictionTimeNanos);
+    }
+
     @Override
     public double getRatio() {
         if (misses == 0) {
@@ -133,6 +157,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
         root.add("creationTime", creationTime);
         root.add("hits", hits);
         root.add("misses", misses);
+        root.add("evictions", evictions);
+        root.add("totalEvictionTimeNanos", totalEvictionTimeNanos);
         return root;
     }
 
@@ -143,6 +169,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
         creationTime = getLong(json, "creationTime", -1L);
         hits = getLong(json, "hits", -1L);
         misses = getLong(json, "misses", -1L);
+        evictions = getLong(json, "evictions", -1L);
+        totalEvictionTimeNanos = getLong(json, "totalEvictionTimeNanos", -1L);
     }
 
     @Override
@@ -153,6 +181,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", creationTime=" + creationTime
                 + ", hits=" + hits
                 + ", misses=" + misses
+                + ", evictions=" + evictions
+                + ", totalEvictionTimeNanos=" + totalEvictionTimeNanos
                 + ", ratio=" + String.format("%.1f%%", getRatio())
                 + '}';
     }
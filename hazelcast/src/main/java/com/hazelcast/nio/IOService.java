@@ -84,6 +84,10 @@ public interface IOService {
 
     int getSocketSendBufferSize();
 
+    boolean isSocketBufferDirect();
+
+    int getSocketWriteGatheringBufferCount();
+
     int getSocketLingerSeconds();
 
     int getSocketConnectTimeoutSeconds();
@@ -200,6 +200,16 @@ public class NodeIOService implements IOService {
         return this.node.getGroupProperties().SOCKET_SEND_BUFFER_SIZE.getInteger();
     }
 
+    @Override
+    public boolean isSocketBufferDirect() {
+        return this.node.getGroupProperties().SOCKET_BUFFER_DIRECT.getBoolean();
+    }
+
+    @Override
+    public int getSocketWriteGatheringBufferCount() {
+        return this.node.getGroupProperties().SOCKET_WRITE_GATHERING_BUFFER_COUNT.getInteger();
+    }
+
     @Override
     public int getSocketLingerSeconds() {
         return this.node.getGroupProperties().SOCKET_LINGER_SECONDS.getInteger();
@@ -35,6 +35,10 @@ public final class DefaultData implements Data {
 
     private byte[] data;
 
+    // Murmur3 hash of the payload, computed on first use. Like String.hashCode, 0 means not computed yet;
+    // a racing thread computes the same value, so no synchronization is needed.
+    private int hash;
+
     public DefaultData() {
     }
 
@@ -136,7 +140,12 @@ public final class DefaultData implements Data {
 
     @Override
     public int hashCode() {
-        return HashUtil.MurmurHash3_x86_32(data, DATA_OFFSET, dataSize());
+        int h = hash;
+        if (h == 0) {
+            h = HashUtil.MurmurHash3_x86_32(data, DATA_OFFSET, dataSize());
+            hash = h;
+        }
+        return h;
     }
 
     @Override
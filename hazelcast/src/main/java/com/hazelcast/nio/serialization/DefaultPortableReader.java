@@ -296,6 +296,14 @@ public class DefaultPortableReader implements PortableReader {
         return readPosition(fd);
     }
 
+    /**
+     * Returns the absolute position of the given field's value in the underlying buffer.
+     * Used to update fixed-size fields of a serialized portable in place.
+     */
+    int getFieldPosition(String fieldName, FieldType type) throws IOException {
+        return readPosition(fieldName, type);
+    }
+
     private int readNestedPosition(String fieldName, FieldType type) throws IOException {
         String[] fieldNames = NESTED_FIELD_PATTERN.split(fieldName);
         if (fieldNames.length > 1) {
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.nio.Bits;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * Updates fixed-size fields of a serialized {@link Portable} without deserializing it.
+ * <p/>
+ * Field positions are resolved through the {@link ClassDefinition} of the original data and new values are
+ * written over a private copy of its bytes, so the given {@link Data} is never mutated. Since only fixed-size
+ * fields are supported, the layout of the portable does not change and positions stay valid across updates.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public final class PortableFieldUpdater {
+
+    private final DefaultPortableReader reader;
+    private final boolean bigEndian;
+    private byte[] buffer;
+    private Data data;
+
+    public PortableFieldUpdater(SerializationService serializationService, Data data) throws IOException {
+        this.reader = (DefaultPortableReader) serializationService.createPortableReader(data);
+        this.bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        this.data = data;
+    }
+
+    public void setInt(String fieldName, int value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.INT);
+        Bits.writeInt(writableBuffer(), pos, value, bigEndian);
+    }
+
+    public void setLong(String fieldName, long value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.LONG);
+        Bits.writeLong(writableBuffer(), pos, value, bigEndian);
+    }
+
+    public void setShort(String fieldName, short value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.SHORT);
+        Bits.writeShort(writableBuffer(), pos, value, bigEndian);
+    }
+
+    public void setChar(String fieldName, char value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.CHAR);
+        Bits.writeChar(writableBuffer(), pos, value, bigEndian);
+    }
+
+    public void setByte(String fieldName, byte value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.BYTE);
+        writableBuffer()[pos] = value;
+    }
+
+    public void setBoolean(String fieldName, boolean value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.BOOLEAN);
+        writableBuffer()[pos] = (byte) (value ? 1 : 0);
+    }
+
+    public void setFloat(String fieldName, float value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.FLOAT);
+        Bits.writeInt(writableBuffer(), pos, Float.floatToIntBits(value), bigEndian);
+    }
+
+    public void setDouble(String fieldName, double value) throws IOException {
+        int pos = reader.getFieldPosition(fieldName, FieldType.DOUBLE);
+        Bits.writeLong(writableBuffer(), pos, Double.doubleToLongBits(value), bigEndian);
+    }
+
+    /**
+     * Returns the data with all updates applied so far. When nothing has been updated
+     * the original data is returned.
+     */
+    public Data toData() {
+        if (data == null) {
+            data = new DefaultData(buffer);
+        }
+        return data;
+    }
+
+    private byte[] writableBuffer() {
+        if (data != null) {
+            // a data instance handed out must stay immutable, since it caches its hash
+            byte[] bytes = data.toByteArray();
+            buffer = new byte[bytes.length];
+            System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+            data = null;
+        }
+        return buffer;
+    }
+}
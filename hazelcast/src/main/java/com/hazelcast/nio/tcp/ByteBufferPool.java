@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of equally sized {@link ByteBuffer}s shared by the connections of a {@link TcpIpConnectionManager}.
+ * <p/>
+ * Direct buffers are expensive to create and their memory is only returned when they are garbage collected, so direct
+ * buffers of closed connections are kept for reuse. Heap buffers are not pooled.
+ */
+final class ByteBufferPool {
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooledCount = new AtomicInteger();
+    private final int bufferSize;
+    private final boolean direct;
+    private final int maxPooledCount;
+
+    ByteBufferPool(int bufferSize, boolean direct, int maxPooledCount) {
+        this.bufferSize = bufferSize;
+        this.direct = direct;
+        this.maxPooledCount = direct ? maxPooledCount : 0;
+    }
+
+    boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, or allocates a new one when the pool is empty.
+     *
+     * @return the buffer
+     */
+    ByteBuffer take() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer != null) {
+            pooledCount.decrementAndGet();
+            return buffer;
+        }
+        return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer should not be used by the caller anymore.
+     *
+     * @param buffer the buffer to return
+     */
+    void release(ByteBuffer buffer) {
+        if (pooledCount.incrementAndGet() > maxPooledCount) {
+            pooledCount.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    int getPooledCount() {
+        return pooledCount.get();
+    }
+}
@@ -26,7 +26,7 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
 
-public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
+public class DefaultSocketChannelWrapper implements GatheringSocketChannelWrapper {
 
     protected final SocketChannel socketChannel;
 
@@ -64,6 +64,11 @@ public class DefaultSocketChannelWrapper implements SocketChannelWrapper {
         return socketChannel.write(byteBuffer);
     }
 
+    @Override
+    public long write(ByteBuffer[] byteBuffers, int offset, int length) throws IOException {
+        return socketChannel.write(byteBuffers, offset, length);
+    }
+
     @Override
     public SelectableChannel configureBlocking(boolean b) throws IOException {
         return socketChannel.configureBlocking(b);
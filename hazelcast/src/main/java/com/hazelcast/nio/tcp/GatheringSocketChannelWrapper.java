@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link SocketChannelWrapper} that is able to write a sequence of buffers with a single call. Wrappers that need to
+ * transform the outgoing bytes, e.g. for encryption, don't need to implement it; the {@link WriteHandler} then writes
+ * one buffer at a time.
+ */
+public interface GatheringSocketChannelWrapper extends SocketChannelWrapper {
+
+    /**
+     * Writes the remaining bytes of the given buffers, in order, to the socket.
+     *
+     * @param byteBuffers the buffers to write
+     * @param offset      the index of the first buffer to write
+     * @param length      the number of buffers to write
+     * @return the number of bytes written
+     * @throws IOException if the write fails
+     * @see java.nio.channels.GatheringByteChannel#write(ByteBuffer[], int, int)
+     */
+    long write(ByteBuffer[] byteBuffers, int offset, int length) throws IOException;
+}
@@ -52,12 +52,19 @@ public class TcpIpConnectionManager implements ConnectionManager {
 
     private static final int DEFAULT_KILL_THREAD_MILLIS = 1000 * 10;
 
+    // number of closed connections whose output buffers are kept for reuse
+    private static final int POOLED_OUTPUT_BUFFER_CONNECTIONS = 16;
+
     final int socketReceiveBufferSize;
 
     final IOService ioService;
 
     final int socketSendBufferSize;
 
+    final int writeGatheringBufferCount;
+
+    final ByteBufferPool outputBufferPool;
+
     private final ConstructorFunction<Address, TcpIpConnectionMonitor> monitorConstructor
             = new ConstructorFunction<Address, TcpIpConnectionMonitor>() {
         public TcpIpConnectionMonitor createNew(Address endpoint) {
@@ -132,6 +139,9 @@ public class TcpIpConnectionManager implements ConnectionManager {
         this.logger = loggingService.getLogger(TcpIpConnectionManager.class.getName());
         this.socketReceiveBufferSize = ioService.getSocketReceiveBufferSize() * IOService.KILO_BYTE;
         this.socketSendBufferSize = ioService.getSocketSendBufferSize() * IOService.KILO_BYTE;
+        this.writeGatheringBufferCount = Math.max(1, ioService.getSocketWriteGatheringBufferCount());
+        this.outputBufferPool = new ByteBufferPool(socketSendBufferSize, ioService.isSocketBufferDirect(),
+                writeGatheringBufferCount * POOLED_OUTPUT_BUFFER_CONNECTIONS);
         this.socketLingerSeconds = ioService.getSocketLingerSeconds();
         this.socketConnectTimeoutSeconds = ioService.getSocketConnectTimeoutSeconds();
         this.socketKeepAlive = ioService.getSocketKeepAlive();
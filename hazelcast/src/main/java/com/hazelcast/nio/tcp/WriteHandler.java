@@ -44,12 +44,19 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
     private final Queue<SocketWritable> writeQueue = new ConcurrentLinkedQueue<SocketWritable>();
     private final Queue<SocketWritable> urgentWriteQueue = new ConcurrentLinkedQueue<SocketWritable>();
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
-    private final ByteBuffer outputBuffer;
+    // the buffers are filled in order; only the one at outputBufferIndex accepts new data
+    private final ByteBuffer[] outputBuffers;
+    private final GatheringSocketChannelWrapper gatheringSocketChannel;
+    private int outputBufferIndex;
     private SocketWritable currentPacket;
     private SocketWriter socketWriter;
     private volatile long lastHandle;
     //This field will be incremented by a single thread. It can be read by multiple threads.
     private volatile long eventCount;
+    //These fields will be incremented by a single thread. They can be read by multiple threads.
+    private volatile long bytesWritten;
+    private volatile long packetsWritten;
+    private volatile long writeCount;
     private boolean shutdown;
     // this field will be accessed by the IOSelector-thread or
     // it is accessed by any other thread but only that thread managed to cas the scheduled flag to true.
@@ -58,13 +65,52 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
     WriteHandler(TcpIpConnection connection, IOSelector ioSelector) {
         super(connection, ioSelector, SelectionKey.OP_WRITE);
-        this.outputBuffer = ByteBuffer.allocate(connectionManager.socketSendBufferSize);
+        ByteBufferPool bufferPool = connectionManager.outputBufferPool;
+        int bufferCount = 1;
+        if (socketChannel instanceof GatheringSocketChannelWrapper) {
+            this.gatheringSocketChannel = (GatheringSocketChannelWrapper) socketChannel;
+            bufferCount = connectionManager.writeGatheringBufferCount;
+        } else {
+            this.gatheringSocketChannel = null;
+        }
+        this.outputBuffers = new ByteBuffer[bufferCount];
+        for (int i = 0; i < bufferCount; i++) {
+            outputBuffers[i] = bufferPool.take();
+        }
     }
 
     long getLastHandle() {
         return lastHandle;
     }
 
+    /**
+     * Returns the number of bytes written to the socket.
+     *
+     * @return the number of bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of packets written to the output buffers.
+     *
+     * @return the number of packets written
+     */
+    public long getPacketsWritten() {
+        return packetsWritten;
+    }
+
+    /**
+     * Returns the number of writes made to the socket. Together with {@link #getBytesWritten()} and
+     * {@link #getPacketsWritten()} it shows how many bytes and packets are sent per system call.
+     *
+     * @return the number of socket writes
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
     public SocketWriter getSocketWriter() {
         return socketWriter;
     }
@@ -90,7 +136,7 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
         if (socketWriter == null) {
             if (Protocols.CLUSTER.equals(protocol)) {
                 socketWriter = new SocketPacketWriter(connection);
-                outputBuffer.put(stringToBytes(Protocols.CLUSTER));
+                outputBuffers[outputBufferIndex].put(stringToBytes(Protocols.CLUSTER));
                 registerOp(SelectionKey.OP_WRITE);
             } else if (Protocols.CLIENT_BINARY.equals(protocol)) {
                 socketWriter = new SocketClientDataWriter();
@@ -158,7 +204,7 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
      * Tries to unschedule this WriteHandler.
      * <p/>
      * It will only be unscheduled if:
-     * - the outputBuffer is empty
+     * - the outputBuffers are empty
      * - there are no pending packets.
      * <p/>
      * If the outputBuffer is dirty then it will register itself for an OP_WRITE since we are interested in knowing
@@ -234,6 +280,13 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
             logger.severe("Fatal Error at WriteHandler for endPoint: " + connection.getEndPoint(), t);
         }
 
+        if (shutdown) {
+            // nothing is written anymore, so the buffers can be used by other connections. This WriteHandler stays
+            // scheduled so it is never handled again.
+            releaseOutputBuffers();
+            return;
+        }
+
         if (newOwner == null) {
             unschedule();
         } else {
@@ -249,46 +302,85 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
      * @return true if dirty, false otherwise.
      */
     private boolean dirtyOutputBuffer() {
-        return outputBuffer.position() > 0;
+        // the first buffer is always filled first, so if it is empty, all buffers are empty.
+        return outputBuffers[0].position() > 0;
     }
 
     /**
-     * Writes to content of the outputBuffer to the socket.
+     * Writes to content of the outputBuffers to the socket. When more than one buffer is filled, they are written
+     * with a single gathering write.
      *
      * @throws Exception
      */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "the counters are accessed by a single thread only.")
     private void writeOutputBufferToSocket() throws Exception {
-        // So there is data for writing, so lets prepare the buffer for writing and then write it to the socketChannel.
-        outputBuffer.flip();
+        int bufferCount = outputBufferIndex + 1;
+        // So there is data for writing, so lets prepare the buffers for writing and then write them to the socketChannel.
+        for (int i = 0; i < bufferCount; i++) {
+            outputBuffers[i].flip();
+        }
+        long written;
         try {
-            socketChannel.write(outputBuffer);
+            if (bufferCount == 1) {
+                written = socketChannel.write(outputBuffers[0]);
+            } else {
+                written = gatheringSocketChannel.write(outputBuffers, 0, bufferCount);
+            }
         } catch (Exception e) {
             currentPacket = null;
             handleSocketException(e);
             return;
         }
+        writeCount++;
+        bytesWritten += written;
+
         // Now we verify if all data is written.
-        if (!outputBuffer.hasRemaining()) {
-            // We managed to fully write the outputBuffer to the socket, so we are done.
-            outputBuffer.clear();
-            return;
+        int drainedCount = 0;
+        while (drainedCount < bufferCount && !outputBuffers[drainedCount].hasRemaining()) {
+            outputBuffers[drainedCount].clear();
+            drainedCount++;
+        }
+        // We did not manage to write all data to the socket. So lets compact the remaining buffers so new data
+        // can be added at the end of the last one.
+        for (int i = drainedCount; i < bufferCount; i++) {
+            outputBuffers[i].compact();
+        }
+        // The drained buffers move to the back so the buffers that still contain data stay in front, in order.
+        for (int i = 0; i < drainedCount; i++) {
+            ByteBuffer drained = outputBuffers[0];
+            System.arraycopy(outputBuffers, 1, outputBuffers, 0, outputBuffers.length - 1);
+            outputBuffers[outputBuffers.length - 1] = drained;
+        }
+        outputBufferIndex = Math.max(0, bufferCount - 1 - drainedCount);
+    }
+
+    private void releaseOutputBuffers() {
+        ByteBufferPool bufferPool = connectionManager.outputBufferPool;
+        for (ByteBuffer outputBuffer : outputBuffers) {
+            bufferPool.release(outputBuffer);
         }
-        // We did not manage to write all data to the socket. So lets compact the buffer so new data
-        // can be added at the end.
-        outputBuffer.compact();
     }
 
     /**
-     * Fills the outBuffer with packets. This is done till there are no more packets or till there is no more space in the
-     * outputBuffer.
+     * Fills the outputBuffers with packets. This is done till there are no more packets or till there is no more space in
+     * the outputBuffers.
      *
      * @throws Exception
      */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "packetsWritten is accessed by a single thread only.")
     private void fillOutputBuffer() throws Exception {
         for (;;) {
+            ByteBuffer outputBuffer = outputBuffers[outputBufferIndex];
             if (!outputBuffer.hasRemaining()) {
-                // The buffer is completely filled, we are done.
-                return;
+                if (outputBufferIndex == outputBuffers.length - 1) {
+                    // The buffers are completely filled, we are done.
+                    return;
+                }
+                // Lets continue with the next buffer; it is written together with the filled ones.
+                outputBufferIndex++;
+                continue;
             }
 
             // If there currently is not packet sending, lets try to get one.
@@ -302,12 +394,17 @@ public final class WriteHandler extends AbstractSelectionHandler implements Runn
 
             // Lets write the currentPacket to the outputBuffer.
             if (!socketWriter.write(currentPacket, outputBuffer)) {
-                // We are done for this round because not all data of the current packet fits in the outputBuffer
-                return;
+                // Not all data of the current packet fits in the outputBuffer. If there is a next buffer the packet
+                // continues there, else we are done for this round.
+                if (outputBuffer.hasRemaining() || outputBufferIndex == outputBuffers.length - 1) {
+                    return;
+                }
+                continue;
             }
 
             // The current packet has been written completely. So lets null it and lets try to write another packet.
             currentPacket = null;
+            packetsWritten++;
         }
     }
 
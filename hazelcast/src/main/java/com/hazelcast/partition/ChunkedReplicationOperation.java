@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.spi.Operation;
+
+/**
+ * A replication operation, prepared by a {@link com.hazelcast.spi.MigrationAwareService}, whose data can be
+ * split off in bounded chunks. Migration and replica sync send the chunks one after the other, each one after the
+ * previous one is applied by the receiver, so neither side needs to hold all data of a partition at once.
+ * <p/>
+ * The chunks are taken on the partition thread of the sender and they are applied on the receiver in the order they
+ * are taken, before the replication operation itself, which then carries only the data that is not split off.
+ */
+public interface ChunkedReplicationOperation {
+
+    /**
+     * Splits off the next chunk of the replication data.
+     *
+     * @param maxChunkSize approximate maximum size of the chunk in bytes
+     * @return an operation applying the chunk on the receiver, {@code null} if no data is left to split off
+     */
+    Operation nextChunk(long maxChunkSize);
+
+    /**
+     * Tells whether data may be left to split off, without reading it. A {@code false} result lets the sender
+     * send the chunk it has just taken together with the replication operation itself.
+     *
+     * @return {@code false} if {@link #nextChunk(long)} would return {@code null}, {@code true} if it may return
+     * a chunk
+     */
+    boolean hasNextChunk();
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition;
+
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.PartitionReplicationEvent;
+
+/**
+ * A {@link MigrationAwareService} which, on replica sync, replicates only the data differing between the backup
+ * replica and the owner. The backup replica sends a digest of its data along with its sync request and the owner
+ * compares it with its own data.
+ */
+public interface ReplicaDigestAwareService extends MigrationAwareService {
+
+    /**
+     * Creates a digest of the data of this service in a backup replica. Called on the partition thread.
+     *
+     * @param partitionId  the partition id
+     * @param replicaIndex the replica index of this node
+     * @return the digest, {@code null} if there is no data to compare
+     */
+    Object createReplicaDigest(int partitionId, int replicaIndex);
+
+    /**
+     * Like {@link #prepareReplicationOperation(PartitionReplicationEvent)}, but the returned operation replicates
+     * only the data differing from the given digest of the backup replica.
+     *
+     * @param event  the replication event
+     * @param digest the digest created by the backup replica
+     * @return the replication operation, {@code null} if no data differs
+     */
+    Operation prepareReplicationOperation(PartitionReplicationEvent event, Object digest);
+}
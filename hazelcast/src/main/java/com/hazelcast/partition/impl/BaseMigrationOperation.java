@@ -16,20 +16,43 @@
 
 package com.hazelcast.partition.impl;
 
+import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.partition.MigrationCycleOperation;
+import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.partition.MigrationInfo;
 import com.hazelcast.spi.AbstractOperation;
 import com.hazelcast.spi.ExceptionAction;
+import com.hazelcast.spi.MigrationAwareService;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationAccessor;
 import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.PartitionMigrationEvent;
+import com.hazelcast.spi.ResponseHandler;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.io.IOException;
+import java.util.logging.Level;
 
 public abstract class BaseMigrationOperation extends AbstractOperation
         implements MigrationCycleOperation, PartitionAwareOperation {
 
+    private static final ResponseHandler ERROR_RESPONSE_HANDLER = new ResponseHandler() {
+        @Override
+        public void sendResponse(Object obj) {
+            throw new HazelcastException("Migration operations can not send response!");
+        }
+
+        @Override
+        public boolean isLocal() {
+            return true;
+        }
+    };
+
     protected MigrationInfo migrationInfo;
     protected boolean success;
 
@@ -55,6 +78,51 @@ public abstract class BaseMigrationOperation extends AbstractOperation
         return false;
     }
 
+    protected void assertMigrationInitiatorIsMaster() {
+        Address masterAddress = getNodeEngine().getMasterAddress();
+        if (!masterAddress.equals(migrationInfo.getMaster())) {
+            throw new RetryableHazelcastException("Migration initiator is not master node! => " + toString());
+        }
+    }
+
+    /**
+     * Replaces the migration info by the equal one which is already registered as the active migration of
+     * the partition, by a preceding {@link MigrationChunkOperation}, so that they share the processing state.
+     */
+    protected void useActiveMigration() {
+        InternalPartitionServiceImpl partitionService = getService();
+        MigrationInfo activeMigration = partitionService.getActiveMigration(migrationInfo.getPartitionId());
+        if (migrationInfo.equals(activeMigration)) {
+            migrationInfo = activeMigration;
+        }
+    }
+
+    protected void runMigrationTask(Operation op) throws Exception {
+        op.setNodeEngine(getNodeEngine())
+                .setPartitionId(getPartitionId())
+                .setReplicaIndex(getReplicaIndex());
+        op.setResponseHandler(ERROR_RESPONSE_HANDLER);
+        OperationAccessor.setCallerAddress(op, migrationInfo.getSource());
+        MigrationAwareService service = op.getService();
+        PartitionMigrationEvent event =
+                new PartitionMigrationEvent(MigrationEndpoint.DESTINATION, migrationInfo.getPartitionId());
+        service.beforeMigration(event);
+        op.beforeRun();
+        op.run();
+        op.afterRun();
+    }
+
+    protected void logMigrationFailure(Throwable e) {
+        Level level = Level.WARNING;
+        if (e instanceof IllegalStateException) {
+            level = Level.FINEST;
+        }
+        ILogger logger = getLogger();
+        if (logger.isLoggable(level)) {
+            logger.log(level, e.getMessage(), e);
+        }
+    }
+
     @Override
     public ExceptionAction onException(Throwable throwable) {
         if (throwable instanceof MemberLeftException) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.partition.ChunkedReplicationOperation;
+import com.hazelcast.spi.Callback;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+
+import java.util.List;
+
+/**
+ * Sends the replication tasks of a partition to another replica, splitting the data of the
+ * {@link ChunkedReplicationOperation}s off in chunks which are sent one after the other. Each chunk is taken and
+ * sent in the same step on the partition thread, and the next step only runs after the receiver has acknowledged
+ * the previous chunk. So the data of a partition is never held at once, a slow receiver is not flooded, and a
+ * chunk never carries values older than the backup operations sent after it. When no data is left to split off
+ * after a chunk, that last chunk is sent along with the tasks.
+ */
+abstract class ChunkedReplicationSender implements PartitionSpecificRunnable, Callback<Object> {
+
+    protected final NodeEngineImpl nodeEngine;
+    protected final int partitionId;
+    private final List<Operation> tasks;
+    private final long maxChunkSize;
+
+    ChunkedReplicationSender(NodeEngineImpl nodeEngine, int partitionId, List<Operation> tasks) {
+        this.nodeEngine = nodeEngine;
+        this.partitionId = partitionId;
+        this.tasks = tasks;
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+        this.maxChunkSize = partitionService.getMigrationChunkSize();
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    /**
+     * Takes and sends the next chunk or, when it is the last one, sends it along with the tasks. Must be called on
+     * the partition thread.
+     */
+    @Override
+    public final void run() {
+        try {
+            Operation chunk = takeChunk();
+            if (chunk == null || !hasNextChunk()) {
+                if (chunk != null) {
+                    tasks.add(0, chunk);
+                }
+                sendTasks(tasks);
+            } else {
+                sendChunk(chunk);
+            }
+        } catch (Throwable t) {
+            onFailure(t);
+        }
+    }
+
+    @Override
+    public final void notify(Object response) {
+        if (Boolean.TRUE.equals(response)) {
+            nodeEngine.getOperationService().execute(this);
+        } else {
+            onFailure(response);
+        }
+    }
+
+    private Operation takeChunk() {
+        for (Operation task : tasks) {
+            if (task instanceof ChunkedReplicationOperation) {
+                Operation chunk = ((ChunkedReplicationOperation) task).nextChunk(maxChunkSize);
+                if (chunk != null) {
+                    chunk.setServiceName(task.getServiceName());
+                    return chunk;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean hasNextChunk() {
+        for (Operation task : tasks) {
+            if (task instanceof ChunkedReplicationOperation && ((ChunkedReplicationOperation) task).hasNextChunk()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends a chunk to the receiver, using this sender as the callback of the invocation. The receiver responds
+     * {@code true} once it has applied the chunk.
+     */
+    protected abstract void sendChunk(Operation chunk) throws Exception;
+
+    /**
+     * Sends the tasks, preceded by the last chunk, to the receiver.
+     */
+    protected abstract void sendTasks(List<Operation> tasks) throws Exception;
+
+    /**
+     * Called when taking or sending a chunk fails or when the receiver fails to apply a chunk.
+     *
+     * @param cause the {@link Throwable} or the response of the receiver
+     */
+    protected abstract void onFailure(Object cause);
+}
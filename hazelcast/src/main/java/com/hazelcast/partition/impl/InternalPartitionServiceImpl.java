@@ -27,6 +27,7 @@ import com.hazelcast.instance.Node;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartition;
@@ -41,6 +42,7 @@ import com.hazelcast.partition.PartitionLostEvent;
 import com.hazelcast.partition.PartitionLostListener;
 import com.hazelcast.partition.PartitionRuntimeState;
 import com.hazelcast.partition.PartitionServiceProxy;
+import com.hazelcast.partition.ReplicaDigestAwareService;
 import com.hazelcast.partition.membergroup.MemberGroup;
 import com.hazelcast.partition.membergroup.MemberGroupFactory;
 import com.hazelcast.partition.membergroup.MemberGroupFactoryFactory;
@@ -56,7 +58,9 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionAwareService;
 import com.hazelcast.spi.ResponseHandler;
+import com.hazelcast.spi.ServiceInfo;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.ResponseHandlerFactory;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
@@ -127,6 +131,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final MigrationThread migrationThread;
     private final long partitionMigrationInterval;
     private final long partitionMigrationTimeout;
+    private final long migrationChunkSize;
     private final long backupSyncCheckInterval;
     private final int maxParallelReplications;
     private final PartitionStateGenerator partitionStateGenerator;
@@ -180,6 +185,9 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         partitionMigrationTimeout = TimeUnit.SECONDS.toMillis(
                 node.groupProperties.PARTITION_MIGRATION_TIMEOUT.getLong());
 
+        long chunkSize = node.groupProperties.PARTITION_MIGRATION_CHUNK_SIZE_KB.getLong();
+        migrationChunkSize = chunkSize > 0 ? MemoryUnit.KILOBYTES.toBytes(chunkSize) : Long.MAX_VALUE;
+
         migrationThread = new MigrationThread(node);
         proxy = new PartitionServiceProxy(this);
 
@@ -740,7 +748,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
             int partitionId = migrationInfo.getPartitionId();
             partitions[partitionId].setMigrating(true);
             MigrationInfo currentMigrationInfo = activeMigrations.putIfAbsent(partitionId, migrationInfo);
-            if (currentMigrationInfo != null) {
+            if (currentMigrationInfo != null && currentMigrationInfo != migrationInfo) {
                 boolean oldMaster = false;
                 MigrationInfo oldMigration;
                 MigrationInfo newMigration;
@@ -891,8 +899,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
                         + ", replicaIndex=" + replicaIndex);
             }
             replicaSyncScheduler.schedule(partitionMigrationTimeout, partitionId, syncInfo);
-            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex);
-            nodeEngine.getOperationService().send(syncRequest, target);
+            // the digests of the replica data are created on the partition thread
+            nodeEngine.getOperationService().execute(new SendReplicaSyncRequestTask(partitionId, replicaIndex, target));
             return true;
         }
         return false;
@@ -1299,6 +1307,14 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         return partitionMigrationTimeout;
     }
 
+    /**
+     * Returns the approximate maximum size in bytes of a chunk of replication data,
+     * {@link Long#MAX_VALUE} when chunking is disabled.
+     */
+    long getMigrationChunkSize() {
+        return migrationChunkSize;
+    }
+
     // called in operation threads
     // Caution: Returning version array without copying for performance reasons. Callers must not modify this array!
     @Override
@@ -1617,6 +1633,46 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         }
     }
 
+    /**
+     * Creates the digests of the replica data, on the partition thread, and sends the replica sync request.
+     */
+    private class SendReplicaSyncRequestTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final int replicaIndex;
+        private final Address target;
+
+        SendReplicaSyncRequestTask(int partitionId, int replicaIndex, Address target) {
+            this.partitionId = partitionId;
+            this.replicaIndex = replicaIndex;
+            this.target = target;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            Map<String, Object> replicaDigests = new HashMap<String, Object>();
+            for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(ReplicaDigestAwareService.class)) {
+                ReplicaDigestAwareService service = (ReplicaDigestAwareService) serviceInfo.getService();
+                try {
+                    Object replicaDigest = service.createReplicaDigest(partitionId, replicaIndex);
+                    if (replicaDigest != null) {
+                        replicaDigests.put(serviceInfo.getName(), replicaDigest);
+                    }
+                } catch (Throwable t) {
+                    logger.warning("Could not create replica digest of " + serviceInfo.getName()
+                            + " for partitionId=" + partitionId + ", replicaIndex=" + replicaIndex, t);
+                }
+            }
+            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex, replicaDigests);
+            nodeEngine.getOperationService().send(syncRequest, target);
+        }
+    }
+
     private class RepartitioningTask implements Runnable {
         @Override
         public void run() {
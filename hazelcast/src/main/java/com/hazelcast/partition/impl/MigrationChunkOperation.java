@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.partition.MigrationInfo;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Applies a chunk of the replication data of a migrating partition on the destination, ahead of the
+ * {@link MigrationOperation} which completes the migration. Registers the migration as active, so the chunks are
+ * rolled back if the migration fails.
+ *
+ * @see ChunkedReplicationSender
+ */
+public final class MigrationChunkOperation extends BaseMigrationOperation {
+
+    private Collection<Operation> tasks;
+
+    public MigrationChunkOperation() {
+    }
+
+    public MigrationChunkOperation(MigrationInfo migrationInfo, Collection<Operation> tasks) {
+        super(migrationInfo);
+        this.tasks = tasks;
+    }
+
+    @Override
+    public void run() throws Exception {
+        assertMigrationInitiatorIsMaster();
+
+        try {
+            useActiveMigration();
+            if (migrationInfo.startProcessing()) {
+                try {
+                    applyChunk();
+                } finally {
+                    migrationInfo.doneProcessing();
+                }
+            } else {
+                getLogger().warning("Migration is cancelled -> " + migrationInfo);
+            }
+        } catch (Throwable t) {
+            success = false;
+            logMigrationFailure(t);
+        }
+    }
+
+    private void applyChunk() {
+        InternalPartitionServiceImpl partitionService = getService();
+        partitionService.addActiveMigration(migrationInfo);
+
+        for (Operation op : tasks) {
+            try {
+                runMigrationTask(op);
+            } catch (Throwable e) {
+                getLogger().severe("An exception occurred while executing migration operation " + op, e);
+                return;
+            }
+        }
+        success = true;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(tasks.size());
+        for (Operation task : tasks) {
+            out.writeObject(task);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        tasks = new ArrayList<Operation>(size);
+        for (int i = 0; i < size; i++) {
+            Operation op = in.readObject();
+            tasks.add(op);
+        }
+    }
+}
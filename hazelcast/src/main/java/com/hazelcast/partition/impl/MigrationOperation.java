@@ -16,42 +16,20 @@
 
 package com.hazelcast.partition.impl;
 
-import com.hazelcast.core.HazelcastException;
-import com.hazelcast.logging.ILogger;
-import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.partition.InternalPartitionService;
-import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.partition.MigrationInfo;
-import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.Operation;
-import com.hazelcast.spi.OperationAccessor;
-import com.hazelcast.spi.PartitionMigrationEvent;
-import com.hazelcast.spi.ResponseHandler;
-import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.logging.Level;
 
 @edu.umd.cs.findbugs.annotations.SuppressWarnings("EI_EXPOSE_REP")
 public final class MigrationOperation extends BaseMigrationOperation {
 
-    private static final ResponseHandler ERROR_RESPONSE_HANDLER = new ResponseHandler() {
-        @Override
-        public void sendResponse(Object obj) {
-            throw new HazelcastException("Migration operations can not send response!");
-        }
-
-        @Override
-        public boolean isLocal() {
-            return true;
-        }
-    };
-
     private long[] replicaVersions;
     private Collection<Operation> tasks;
 
@@ -81,6 +59,7 @@ public final class MigrationOperation extends BaseMigrationOperation {
     }
 
     private void doRun() throws Exception {
+        useActiveMigration();
         if (startMigration()) {
             try {
                 migrate();
@@ -95,13 +74,6 @@ public final class MigrationOperation extends BaseMigrationOperation {
         }
     }
 
-    private void assertMigrationInitiatorIsMaster() {
-        Address masterAddress = getNodeEngine().getMasterAddress();
-        if (!masterAddress.equals(migrationInfo.getMaster())) {
-            throw new RetryableHazelcastException("Migration initiator is not master node! => " + toString());
-        }
-    }
-
     private boolean startMigration() {
         return migrationInfo.startProcessing();
     }
@@ -126,17 +98,6 @@ public final class MigrationOperation extends BaseMigrationOperation {
         migrationInfo.doneProcessing();
     }
 
-    private void logMigrationFailure(Throwable e) {
-        Level level = Level.WARNING;
-        if (e instanceof IllegalStateException) {
-            level = Level.FINEST;
-        }
-        ILogger logger = getLogger();
-        if (logger.isLoggable(level)) {
-            logger.log(level, e.getMessage(), e);
-        }
-    }
-
     private void migrate() throws Exception {
         addActiveMigration();
 
@@ -156,21 +117,6 @@ public final class MigrationOperation extends BaseMigrationOperation {
         partitionService.addActiveMigration(migrationInfo);
     }
 
-    private void runMigrationTask(Operation op) throws Exception {
-        op.setNodeEngine(getNodeEngine())
-                .setPartitionId(getPartitionId())
-                .setReplicaIndex(getReplicaIndex());
-        op.setResponseHandler(ERROR_RESPONSE_HANDLER);
-        OperationAccessor.setCallerAddress(op, migrationInfo.getSource());
-        MigrationAwareService service = op.getService();
-        PartitionMigrationEvent event =
-                new PartitionMigrationEvent(MigrationEndpoint.DESTINATION, migrationInfo.getPartitionId());
-        service.beforeMigration(event);
-        op.beforeRun();
-        op.run();
-        op.afterRun();
-    }
-
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -39,7 +39,9 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 
@@ -86,11 +88,10 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         try {
             verifyOwner(source, partition, owner);
             partitionService.addActiveMigration(migrationInfo);
-            Collection<Operation> tasks = prepareMigrationTasks();
+            List<Operation> tasks = prepareMigrationTasks();
             if (tasks.size() > 0) {
-                long[] replicaVersions = partitionService.getPartitionReplicaVersions(migrationInfo.getPartitionId());
-                invokeMigrationOperation(destination, replicaVersions, tasks);
                 returnResponse = false;
+                new MigrationDataSender(destination, tasks).run();
             } else {
                 success = true;
             }
@@ -140,13 +141,16 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
             throws IOException {
 
         MigrationOperation operation = new MigrationOperation(migrationInfo, replicaVersions, tasks);
+        invoke(destination, operation, new MigrationCallback(migrationInfo, getResponseHandler()));
+    }
 
+    private void invoke(Address destination, Operation operation, Callback<Object> callback) {
         NodeEngine nodeEngine = getNodeEngine();
         InternalPartitionServiceImpl partitionService = getService();
 
         nodeEngine.getOperationService()
                 .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, operation, destination)
-                .setCallback(new MigrationCallback(migrationInfo, getResponseHandler()))
+                .setCallback(callback)
                 .setResultDeserialized(true)
                 .setCallTimeout(partitionService.getPartitionMigrationTimeout())
                 .setTryPauseMillis(TRY_PAUSE_MILLIS)
@@ -189,13 +193,13 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return returnResponse;
     }
 
-    private Collection<Operation> prepareMigrationTasks() {
+    private List<Operation> prepareMigrationTasks() {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         PartitionReplicationEvent replicationEvent = new PartitionReplicationEvent(migrationInfo.getPartitionId(), 0);
         PartitionMigrationEvent migrationEvent
                 = new PartitionMigrationEvent(MigrationEndpoint.SOURCE, migrationInfo.getPartitionId());
 
-        Collection<Operation> tasks = new LinkedList<Operation>();
+        List<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(MigrationAwareService.class)) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
             service.beforeMigration(migrationEvent);
@@ -208,6 +212,52 @@ public final class MigrationRequestOperation extends BaseMigrationOperation {
         return tasks;
     }
 
+    /**
+     * Sends the chunks of the migration data, while the migration is still active on this node,
+     * and then the {@link MigrationOperation}.
+     */
+    private final class MigrationDataSender extends ChunkedReplicationSender {
+
+        private final Address destination;
+
+        private MigrationDataSender(Address destination, List<Operation> tasks) {
+            super((NodeEngineImpl) getNodeEngine(), migrationInfo.getPartitionId(), tasks);
+            this.destination = destination;
+        }
+
+        @Override
+        protected void sendChunk(Operation chunk) {
+            verifyMigrationActive();
+            List<Operation> tasks = Collections.singletonList(chunk);
+            invoke(destination, new MigrationChunkOperation(migrationInfo, tasks), this);
+        }
+
+        @Override
+        protected void sendTasks(List<Operation> tasks) throws IOException {
+            verifyMigrationActive();
+            InternalPartitionServiceImpl partitionService = getService();
+            long[] replicaVersions = partitionService.getPartitionReplicaVersions(partitionId);
+            invokeMigrationOperation(destination, replicaVersions, tasks);
+        }
+
+        private void verifyMigrationActive() {
+            InternalPartitionServiceImpl partitionService = getService();
+            if (!migrationInfo.isValid() || partitionService.getActiveMigration(partitionId) != migrationInfo) {
+                throw new HazelcastException("Migration is not active anymore! => " + migrationInfo);
+            }
+        }
+
+        @Override
+        protected void onFailure(Object cause) {
+            if (cause instanceof Throwable) {
+                logThrowable((Throwable) cause);
+            } else {
+                getLogger().warning("Failed to send migration data -> " + migrationInfo + ", response: " + cause);
+            }
+            getResponseHandler().sendResponse(Boolean.FALSE);
+        }
+    }
+
     private static final class MigrationCallback implements Callback<Object> {
 
         final MigrationInfo migrationInfo;
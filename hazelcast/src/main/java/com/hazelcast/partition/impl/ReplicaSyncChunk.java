@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.spi.Operation;
+
+import java.util.List;
+
+/**
+ * Applies a chunk of the replication data of a partition on a backup replica which requested a replica sync,
+ * ahead of the {@link ReplicaSyncResponse} which completes the sync. Responds {@code true} once the chunk is applied,
+ * so the owner sends the next one.
+ *
+ * @see ChunkedReplicationSender
+ */
+public final class ReplicaSyncChunk extends ReplicaSyncResponse {
+
+    private boolean applied;
+
+    public ReplicaSyncChunk() {
+    }
+
+    public ReplicaSyncChunk(List<Operation> tasks) {
+        super(tasks, null);
+    }
+
+    @Override
+    public void run() throws Exception {
+        InternalPartitionServiceImpl partitionService = getService();
+        int partitionId = getPartitionId();
+        int replicaIndex = getReplicaIndex();
+
+        InternalPartitionImpl partition = partitionService.getPartitionImpl(partitionId);
+        int currentReplicaIndex = partition.getReplicaIndex(getNodeEngine().getThisAddress());
+        if (replicaIndex == currentReplicaIndex) {
+            executeTasks();
+            applied = true;
+        } else {
+            logNodeNotOwnsBackup(partitionId, replicaIndex, currentReplicaIndex);
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return true;
+    }
+
+    @Override
+    public Object getResponse() {
+        return applied;
+    }
+}
@@ -23,7 +23,9 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.partition.MigrationCycleOperation;
+import com.hazelcast.partition.ReplicaDigestAwareService;
 import com.hazelcast.partition.ReplicaErrorLogger;
+import com.hazelcast.spi.Callback;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -36,17 +38,31 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public final class ReplicaSyncRequest extends Operation implements PartitionAwareOperation, MigrationCycleOperation {
 
+    private Map<String, Object> replicaDigests;
+
     public ReplicaSyncRequest() {
     }
 
     public ReplicaSyncRequest(int partitionId, int replicaIndex) {
+        this(partitionId, replicaIndex, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * @param replicaDigests digests of the replica data, created by the {@link ReplicaDigestAwareService}s of
+     *                       the requesting replica, mapped by service name
+     */
+    public ReplicaSyncRequest(int partitionId, int replicaIndex, Map<String, Object> replicaDigests) {
         setPartitionId(partitionId);
         setReplicaIndex(replicaIndex);
+        this.replicaDigests = replicaDigests;
     }
 
     @Override
@@ -78,16 +94,21 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
             return;
         }
 
+        boolean sending = false;
         try {
             List<Operation> tasks = createReplicationOperations();
             if (tasks.isEmpty()) {
                 logNoReplicaDataFound(partitionId, replicaIndex);
                 sendEmptyResponse();
             } else {
-                sendResponse(tasks);
+                // the sender releases the permit once it is done
+                sending = true;
+                new ReplicaSyncDataSender(nodeEngine, tasks).run();
             }
         } finally {
-            partitionService.releaseReplicaSyncPermit();
+            if (!sending) {
+                partitionService.releaseReplicaSyncPermit();
+            }
         }
     }
 
@@ -147,7 +168,13 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         List<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : services) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-            Operation op = service.prepareReplicationOperation(event);
+            Object replicaDigest = replicaDigests.get(serviceInfo.getName());
+            Operation op;
+            if (replicaDigest != null && service instanceof ReplicaDigestAwareService) {
+                op = ((ReplicaDigestAwareService) service).prepareReplicationOperation(event, replicaDigest);
+            } else {
+                op = service.prepareReplicationOperation(event);
+            }
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
                 tasks.add(op);
@@ -185,6 +212,20 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         return syncResponse;
     }
 
+    private void sendChunk(Operation chunk, Callback<Object> callback) {
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+
+        ReplicaSyncChunk syncChunk = new ReplicaSyncChunk(Collections.singletonList(chunk));
+        syncChunk.setPartitionId(getPartitionId()).setReplicaIndex(getReplicaIndex());
+        nodeEngine.getOperationService()
+                .createInvocationBuilder(InternalPartitionService.SERVICE_NAME, syncChunk, getCallerAddress())
+                .setCallback(callback)
+                .setResultDeserialized(true)
+                .setCallTimeout(partitionService.getPartitionMigrationTimeout())
+                .invoke();
+    }
+
     private void logNoReplicaDataFound(int partitionId, int replicaIndex) {
         NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
         ILogger logger = nodeEngine.getLogger(getClass());
@@ -220,14 +261,78 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(replicaDigests.size());
+        for (Map.Entry<String, Object> entry : replicaDigests.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        replicaDigests = new HashMap<String, Object>(size);
+        for (int i = 0; i < size; i++) {
+            String serviceName = in.readUTF();
+            Object replicaDigest = in.readObject();
+            replicaDigests.put(serviceName, replicaDigest);
+        }
     }
 
     @Override
     public String toString() {
         return getClass().getSimpleName() + "{partitionId=" + getPartitionId() + ", replicaIndex=" + getReplicaIndex() + '}';
     }
+
+    /**
+     * Sends the chunks of the replica data, while this node is still the owner of the partition,
+     * and then the {@link ReplicaSyncResponse}. On failure, the replica is asked to retry the sync.
+     */
+    private final class ReplicaSyncDataSender extends ChunkedReplicationSender {
+
+        private ReplicaSyncDataSender(NodeEngineImpl nodeEngine, List<Operation> tasks) {
+            super(nodeEngine, ReplicaSyncRequest.this.getPartitionId(), tasks);
+        }
+
+        @Override
+        protected void sendChunk(Operation chunk) {
+            verifyOwner();
+            ReplicaSyncRequest.this.sendChunk(chunk, this);
+        }
+
+        @Override
+        protected void sendTasks(List<Operation> tasks) throws IOException {
+            verifyOwner();
+            sendResponse(tasks);
+            releaseReplicaSyncPermit();
+        }
+
+        private void verifyOwner() {
+            InternalPartitionImpl partition = getPartitionService().getPartition(partitionId);
+            if (!nodeEngine.getThisAddress().equals(partition.getOwnerOrNull())) {
+                throw new IllegalStateException("This node is not owner of partitionId=" + partitionId + " anymore!");
+            }
+        }
+
+        @Override
+        protected void onFailure(Object cause) {
+            ILogger logger = getLogger();
+            if (logger.isFinestEnabled()) {
+                logger.finest("Failed to send replica data of " + ReplicaSyncRequest.this + ", response: " + cause);
+            }
+            try {
+                sendRetryResponse();
+            } finally {
+                releaseReplicaSyncPermit();
+            }
+        }
+
+        private void releaseReplicaSyncPermit() {
+            getPartitionService().releaseReplicaSyncPermit();
+        }
+
+        private InternalPartitionServiceImpl getPartitionService() {
+            return (InternalPartitionServiceImpl) nodeEngine.getPartitionService();
+        }
+    }
 }
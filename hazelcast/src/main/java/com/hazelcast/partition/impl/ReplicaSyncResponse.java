@@ -94,7 +94,7 @@ public class ReplicaSyncResponse extends Operation
         }
     }
 
-    private void logNodeNotOwnsBackup(int partitionId, int replicaIndex, int currentReplicaIndex) {
+    protected void logNodeNotOwnsBackup(int partitionId, int replicaIndex, int currentReplicaIndex) {
         ILogger logger = getLogger();
         if (logger.isFinestEnabled()) {
             logger.finest("This node is not backup replica of partitionId=" + partitionId + ", replicaIndex=" + replicaIndex
@@ -102,7 +102,7 @@ public class ReplicaSyncResponse extends Operation
         }
     }
 
-    private void executeTasks() {
+    protected void executeTasks() {
         int partitionId = getPartitionId();
         int replicaIndex = getReplicaIndex();
         if (tasks != null && tasks.size() > 0) {
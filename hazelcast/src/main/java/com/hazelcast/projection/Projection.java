@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import java.io.Serializable;
+
+/**
+ * Transforms the map entries matching a query into the data actually needed by the caller.
+ * <p/>
+ * The projection is executed on the members owning the entries, so only the projected values are sent back
+ * to the caller instead of the whole keys and values. On members the input is a
+ * {@link com.hazelcast.query.impl.QueryableEntry}, which extracts attributes of portable values without
+ * deserializing them.
+ * <p/>
+ * The same instance may be used by several partition threads at once, implementations must be thread-safe.
+ * <p/>
+ * Built-in projections are available in {@link Projections}.
+ *
+ * @param <I> input type, the map entry
+ * @param <O> output type
+ */
+public abstract class Projection<I, O> implements Serializable {
+
+    /**
+     * Transforms the given input.
+     *
+     * @param input the input to transform
+     * @return the projected value
+     */
+    public abstract O transform(I input);
+}
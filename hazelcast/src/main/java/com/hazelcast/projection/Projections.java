@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.projection.impl.MultiAttributeProjection;
+import com.hazelcast.projection.impl.SingleAttributeProjection;
+
+/**
+ * Factory of the built-in {@link Projection}s.
+ * <p/>
+ * The attribute paths are resolved the same way as in predicates, e.g. {@code "age"}, {@code "address.city"}
+ * or {@code "__key"}; {@code "this"} stands for the value itself.
+ */
+public final class Projections {
+
+    private Projections() {
+    }
+
+    /**
+     * @param attributePath path of the attribute
+     * @param <I>           input type
+     * @param <O>           type of the attribute
+     * @return a projection extracting a single attribute
+     */
+    public static <I, O> Projection<I, O> singleAttribute(String attributePath) {
+        return new SingleAttributeProjection<I, O>(attributePath);
+    }
+
+    /**
+     * @param attributePaths paths of the attributes
+     * @param <I>            input type
+     * @return a projection extracting the attributes into an array, in the given order
+     */
+    public static <I> Projection<I, Object[]> multiAttribute(String... attributePaths) {
+        return new MultiAttributeProjection<I>(attributePaths);
+    }
+}
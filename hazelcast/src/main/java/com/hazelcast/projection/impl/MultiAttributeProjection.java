@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.Extractors;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkHasText;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Projects multiple attributes of the entries into an array, in the order of the attribute paths.
+ *
+ * @param <I> input type
+ */
+public class MultiAttributeProjection<I> extends Projection<I, Object[]> implements DataSerializable {
+
+    private String[] attributePaths;
+
+    public MultiAttributeProjection() {
+    }
+
+    public MultiAttributeProjection(String... attributePaths) {
+        checkNotNull(attributePaths, "attributePaths must not be null");
+        checkTrue(attributePaths.length > 0, "At least one attributePath must be given");
+        for (String attributePath : attributePaths) {
+            checkHasText(attributePath, "attributePath must not be null or empty");
+        }
+        this.attributePaths = attributePaths.clone();
+    }
+
+    @Override
+    public Object[] transform(I input) {
+        Object[] result = new Object[attributePaths.length];
+        for (int i = 0; i < attributePaths.length; i++) {
+            result[i] = Extractors.extractAttribute(input, attributePaths[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(attributePaths.length);
+        for (String attributePath : attributePaths) {
+            out.writeUTF(attributePath);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attributePaths = new String[in.readInt()];
+        for (int i = 0; i < attributePaths.length; i++) {
+            attributePaths[i] = in.readUTF();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.Extractors;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkHasText;
+
+/**
+ * Projects a single attribute of the entries.
+ *
+ * @param <I> input type
+ * @param <O> type of the attribute
+ */
+public class SingleAttributeProjection<I, O> extends Projection<I, O> implements DataSerializable {
+
+    private String attributePath;
+
+    public SingleAttributeProjection() {
+    }
+
+    public SingleAttributeProjection(String attributePath) {
+        this.attributePath = checkHasText(attributePath, "attributePath must not be null or empty");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public O transform(I input) {
+        return (O) Extractors.extractAttribute(input, attributePath);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attributePath = in.readUTF();
+    }
+}
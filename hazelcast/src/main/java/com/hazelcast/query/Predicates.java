@@ -789,6 +789,14 @@ public final class Predicates {
             return entryValue.equals(value);
         }
 
+        /**
+         * Returns the value this predicate compares with, which is converted to the type of the attribute
+         * after the predicate has been applied to an entry with a non-null attribute value.
+         */
+        public Comparable getValue() {
+            return value;
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             super.writeData(out);
@@ -823,6 +831,10 @@ public final class Predicates {
             this.attribute = attribute;
         }
 
+        public String getAttribute() {
+            return attribute;
+        }
+
         protected Comparable convert(Map.Entry mapEntry, Comparable entryValue, Comparable attributeValue) {
             if (attributeValue == null) {
                 return null;
@@ -67,6 +67,13 @@ public class SqlPredicate extends AbstractPredicate implements IndexAwarePredica
         return predicate.apply(mapEntry);
     }
 
+    /**
+     * Returns the predicate the SQL string is converted to.
+     */
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         if (predicate instanceof IndexAwarePredicate) {
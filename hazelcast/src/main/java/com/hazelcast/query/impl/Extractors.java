@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.util.Map;
+
+/**
+ * Extracts attributes of entries outside of predicates, e.g. for aggregations and projections.
+ * <p/>
+ * On members the entries are {@link QueryableEntry}s and the attribute is extracted the same way as for
+ * predicates, straight from the serialized form for portables. Plain map entries and objects are handled by
+ * reflection on their value.
+ */
+public final class Extractors {
+
+    private Extractors() {
+    }
+
+    /**
+     * Extracts an attribute of the given input.
+     *
+     * @param input         a {@link QueryableEntry}, a map entry or any object
+     * @param attributePath path of the attribute, {@code null} to get the value of an entry or the input itself
+     * @return the extracted attribute, {@code null} if the value is {@code null}
+     * @throws QueryException if the attribute cannot be extracted
+     */
+    public static Object extractAttribute(Object input, String attributePath) {
+        if (attributePath == null) {
+            return input instanceof Map.Entry ? ((Map.Entry) input).getValue() : input;
+        }
+        if (input instanceof QueryableEntry) {
+            return ((QueryableEntry) input).getAttribute(attributePath);
+        }
+        Object target = input instanceof Map.Entry ? ((Map.Entry) input).getValue() : input;
+        if (target == null) {
+            return null;
+        }
+        try {
+            return ReflectionHelper.extractValue(target, attributePath);
+        } catch (QueryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new QueryException(e);
+        }
+    }
+}
@@ -44,9 +44,13 @@ public class IndexImpl implements Index {
     private volatile TypeConverter converter;
 
     public IndexImpl(String attribute, boolean ordered) {
+        this(attribute, ordered, (ordered) ? new SegmentedSortedIndexStore() : new UnsortedIndexStore());
+    }
+
+    IndexImpl(String attribute, boolean ordered, IndexStore indexStore) {
         this.attribute = attribute;
         this.ordered = ordered;
-        indexStore = (ordered) ? new SortedIndexStore() : new UnsortedIndexStore();
+        this.indexStore = indexStore;
     }
 
     @Override
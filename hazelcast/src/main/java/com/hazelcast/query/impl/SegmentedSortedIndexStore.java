@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.util.QuickMath.modPowerOfTwo;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Sorted index store split into segments by the partition hash of the index key.
+ * <p/>
+ * Unlike {@link SortedIndexStore}, there is no store wide lock: an update only locks the segment of its key, so
+ * updates coming from different partition threads rarely contend, and queries do not lock at all. Readers only
+ * traverse concurrent maps; the results of all segments are merged into a {@link MultiResultSet}.
+ * As with the other stores, query results are weakly consistent with concurrent updates.
+ */
+public class SegmentedSortedIndexStore implements IndexStore {
+
+    /**
+     * Default number of segments: a power of two large enough for the partition threads of a member.
+     */
+    public static final int DEFAULT_SEGMENT_COUNT = nextPowerOfTwo(Math.max(16, Runtime.getRuntime().availableProcessors()));
+
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private final Segment[] segments;
+
+    public SegmentedSortedIndexStore() {
+        this(DEFAULT_SEGMENT_COUNT);
+    }
+
+    public SegmentedSortedIndexStore(int segmentCount) {
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("segmentCount must be positive but was " + segmentCount);
+        }
+        segments = new Segment[nextPowerOfTwo(segmentCount)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    private Segment segmentFor(Data indexKey) {
+        return segments[modPowerOfTwo(indexKey.getPartitionHash() & Integer.MAX_VALUE, segments.length)];
+    }
+
+    @Override
+    public void newIndex(Comparable newValue, QueryableEntry entry) {
+        Segment segment = segmentFor(entry.getIndexKey());
+        segment.lock.lock();
+        try {
+            segment.add(newValue, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateIndex(Comparable oldValue, Comparable newValue, QueryableEntry entry) {
+        Data indexKey = entry.getIndexKey();
+        Segment segment = segmentFor(indexKey);
+        segment.lock.lock();
+        try {
+            segment.remove(oldValue, indexKey);
+            segment.add(newValue, entry);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void removeIndex(Comparable oldValue, Data indexKey) {
+        Segment segment = segmentFor(indexKey);
+        segment.lock.lock();
+        try {
+            segment.remove(oldValue, indexKey);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.recordsWithNullValue.clear();
+                segment.recordMap.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void getSubRecordsBetween(MultiResultSet results, Comparable from, Comparable to) {
+        for (Segment segment : segments) {
+            addAll(results, segment.recordMap.subMap(from, true, to, true));
+        }
+    }
+
+    @Override
+    public void getSubRecords(MultiResultSet results, ComparisonType comparisonType, Comparable searchedValue) {
+        for (Segment segment : segments) {
+            ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap = segment.recordMap;
+            switch (comparisonType) {
+                case LESSER:
+                    addAll(results, recordMap.headMap(searchedValue, false));
+                    break;
+                case LESSER_EQUAL:
+                    addAll(results, recordMap.headMap(searchedValue, true));
+                    break;
+                case GREATER:
+                    addAll(results, recordMap.tailMap(searchedValue, false));
+                    break;
+                case GREATER_EQUAL:
+                    addAll(results, recordMap.tailMap(searchedValue, true));
+                    break;
+                case NOT_EQUAL:
+                    for (Map.Entry<Comparable, ConcurrentMap<Data, QueryableEntry>> entry : recordMap.entrySet()) {
+                        if (!searchedValue.equals(entry.getKey())) {
+                            results.addResultSet(entry.getValue());
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+            }
+        }
+    }
+
+    private static void addAll(MultiResultSet results, SortedMap<Comparable, ConcurrentMap<Data, QueryableEntry>> subMap) {
+        for (ConcurrentMap<Data, QueryableEntry> records : subMap.values()) {
+            results.addResultSet(records);
+        }
+    }
+
+    /**
+     * Returns a snapshot merged from all segments, or {@code null} if no entry is indexed with the given value.
+     */
+    @Override
+    public ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable value) {
+        ConcurrentMap<Data, QueryableEntry> result = null;
+        for (Segment segment : segments) {
+            ConcurrentMap<Data, QueryableEntry> records = segment.getRecords(value);
+            if (records != null && !records.isEmpty()) {
+                if (result == null) {
+                    result = new ConcurrentHashMap<Data, QueryableEntry>(records);
+                } else {
+                    result.putAll(records);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        MultiResultSet results = new MultiResultSet();
+        for (Segment segment : segments) {
+            ConcurrentMap<Data, QueryableEntry> records = segment.getRecords(value);
+            if (records != null) {
+                results.addResultSet(records);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void getRecords(MultiResultSet results, Set<Comparable> values) {
+        for (Comparable value : values) {
+            for (Segment segment : segments) {
+                ConcurrentMap<Data, QueryableEntry> records = segment.getRecords(value);
+                if (records != null) {
+                    results.addResultSet(records);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.recordMap.size();
+        }
+        return "SegmentedSortedIndexStore{"
+                + "segments=" + segments.length
+                + ", recordMap=" + size
+                + '}';
+    }
+
+    /**
+     * One segment of the store. Mutations are done under {@link #lock}, so an empty record map is never removed
+     * while another update is adding to it; reads are lock free.
+     */
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final ConcurrentMap<Data, QueryableEntry> recordsWithNullValue
+                = new ConcurrentHashMap<Data, QueryableEntry>();
+
+        private final ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>> recordMap
+                = new ConcurrentSkipListMap<Comparable, ConcurrentMap<Data, QueryableEntry>>();
+
+        ConcurrentMap<Data, QueryableEntry> getRecords(Comparable value) {
+            if (value instanceof IndexImpl.NullObject) {
+                return recordsWithNullValue;
+            }
+            return recordMap.get(value);
+        }
+
+        void add(Comparable value, QueryableEntry entry) {
+            if (value instanceof IndexImpl.NullObject) {
+                recordsWithNullValue.put(entry.getIndexKey(), entry);
+                return;
+            }
+            ConcurrentMap<Data, QueryableEntry> records = recordMap.get(value);
+            if (records == null) {
+                records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
+                recordMap.put(value, records);
+            }
+            records.put(entry.getIndexKey(), entry);
+        }
+
+        void remove(Comparable value, Data indexKey) {
+            if (value instanceof IndexImpl.NullObject) {
+                recordsWithNullValue.remove(indexKey);
+                return;
+            }
+            ConcurrentMap<Data, QueryableEntry> records = recordMap.get(value);
+            if (records != null) {
+                records.remove(indexKey);
+                if (records.isEmpty()) {
+                    recordMap.remove(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.nio.Address;
+import com.hazelcast.util.Clock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues events for a single remote subscriber and sends them as {@link EventPacketBatch}es.
+ * <p/>
+ * A batch is sent when {@code batchSize} events have accumulated; events left over are sent by the periodic
+ * {@link #flush()} driven by {@link EventServiceImpl}. Flushing is done under the batcher's lock, so batches
+ * leave in the order events were queued.
+ * <p/>
+ * Flow control does not block publishers: on a sync point the pending events are sent followed by a
+ * {@link com.hazelcast.spi.impl.eventservice.impl.operations.SendEventBatchOperation} carrying the sync event,
+ * and no more batches are sent until the subscriber acknowledges it or {@code syncTimeoutMillis} passes.
+ * Meanwhile events accumulate up to {@code capacity}; events beyond that are rejected.
+ * <p/>
+ * The operation hands its batch to the same event thread as the batch packets sent before it, so the sync
+ * event cannot overtake them.
+ */
+final class EventBatcher {
+
+    private final EventServiceImpl eventService;
+    private final Address subscriber;
+    private final int batchSize;
+    private final int capacity;
+    private final long syncTimeoutMillis;
+    private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<PendingEvent>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // guarded by this
+    private long syncStartMillis;
+
+    EventBatcher(EventServiceImpl eventService, Address subscriber, int batchSize, int capacity,
+                 long syncTimeoutMillis) {
+        this.eventService = eventService;
+        this.subscriber = subscriber;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.syncTimeoutMillis = syncTimeoutMillis;
+    }
+
+    /**
+     * Queues the event, sending a batch if enough events have accumulated.
+     *
+     * @return {@code false} if the event was rejected since too many events are pending.
+     */
+    boolean offer(EventPacket eventPacket, int orderKey) {
+        if (pendingCount.get() >= capacity) {
+            return false;
+        }
+        queue.offer(new PendingEvent(eventPacket, orderKey));
+        if (pendingCount.incrementAndGet() >= batchSize) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Sends the pending events and then the given event in a batch operation, holding further batches
+     * until the operation completes.
+     */
+    synchronized void sync(EventPacket eventPacket, int orderKey) {
+        if (isAwaitingSync()) {
+            // previous sync is not acknowledged yet, no need to pile up another one.
+            offer(eventPacket, orderKey);
+            return;
+        }
+        sendPending();
+        syncStartMillis = Clock.currentTimeMillis();
+        List<EventPacket> eventPackets = new ArrayList<EventPacket>(1);
+        eventPackets.add(eventPacket);
+        EventPacketBatch batch = new EventPacketBatch(eventPackets, new int[]{orderKey});
+        eventService.sendEventBatchOperation(subscriber, batch, new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+                syncCompleted();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                syncCompleted();
+            }
+        });
+    }
+
+    /**
+     * Sends all pending events unless a sync is in progress.
+     */
+    synchronized void flush() {
+        if (isAwaitingSync()) {
+            return;
+        }
+        sendPending();
+    }
+
+    int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    private synchronized void syncCompleted() {
+        syncStartMillis = 0;
+        sendPending();
+    }
+
+    private boolean isAwaitingSync() {
+        if (syncStartMillis == 0) {
+            return false;
+        }
+        if (Clock.currentTimeMillis() - syncStartMillis > syncTimeoutMillis) {
+            syncStartMillis = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private void sendPending() {
+        List<EventPacket> eventPackets = null;
+        int[] orderKeys = null;
+        PendingEvent pendingEvent;
+        while ((pendingEvent = queue.poll()) != null) {
+            pendingCount.decrementAndGet();
+            if (eventPackets == null) {
+                eventPackets = new ArrayList<EventPacket>(batchSize);
+                orderKeys = new int[batchSize];
+            }
+            orderKeys[eventPackets.size()] = pendingEvent.orderKey;
+            eventPackets.add(pendingEvent.eventPacket);
+            if (eventPackets.size() == batchSize) {
+                send(eventPackets, orderKeys);
+                eventPackets = null;
+            }
+        }
+        if (eventPackets != null) {
+            send(eventPackets, orderKeys);
+        }
+    }
+
+    private void send(List<EventPacket> eventPackets, int[] orderKeys) {
+        eventService.sendEventBatch(subscriber, new EventPacketBatch(eventPackets, orderKeys));
+    }
+
+    private static final class PendingEvent {
+        private final EventPacket eventPacket;
+        private final int orderKey;
+
+        private PendingEvent(EventPacket eventPacket, int orderKey) {
+            this.eventPacket = eventPacket;
+            this.orderKey = orderKey;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries multiple {@link EventPacket}s, each with its own order key, to a remote subscriber in a single packet.
+ * <p/>
+ * The receiving side dispatches every contained event to the event thread selected by its order key,
+ * so ordering per key is the same as when events are sent one by one.
+ */
+public final class EventPacketBatch implements IdentifiedDataSerializable {
+
+    private List<EventPacket> eventPackets;
+    private int[] orderKeys;
+
+    public EventPacketBatch() {
+    }
+
+    EventPacketBatch(List<EventPacket> eventPackets, int[] orderKeys) {
+        this.eventPackets = eventPackets;
+        this.orderKeys = orderKeys;
+    }
+
+    public int size() {
+        return eventPackets.size();
+    }
+
+    public EventPacket getEventPacket(int index) {
+        return eventPackets.get(index);
+    }
+
+    public int getOrderKey(int index) {
+        return orderKeys[index];
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return SpiDataSerializerHook.EVENT_PACKET_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        int size = eventPackets.size();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            eventPackets.get(i).writeData(out);
+            out.writeInt(orderKeys[i]);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        eventPackets = new ArrayList<EventPacket>(size);
+        orderKeys = new int[size];
+        for (int i = 0; i < size; i++) {
+            EventPacket eventPacket = new EventPacket();
+            eventPacket.readData(in);
+            eventPackets.add(eventPacket);
+            orderKeys[i] = in.readInt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventPacketBatch{size=" + (eventPackets != null ? eventPackets.size() : 0) + '}';
+    }
+}
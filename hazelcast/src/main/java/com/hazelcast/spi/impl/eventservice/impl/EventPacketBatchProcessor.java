@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.util.executor.StripedRunnable;
+
+/**
+ * Hands the events of an {@link EventPacketBatch} received with an operation to the event threads selected by
+ * their order keys.
+ * <p/>
+ * It runs on the event thread that handles batch packets from the same sender, so the events are dispatched
+ * after the events of batches received earlier.
+ */
+public class EventPacketBatchProcessor implements StripedRunnable {
+    private final EventServiceImpl eventService;
+    private final EventPacketBatch batch;
+    private final int orderKey;
+
+    public EventPacketBatchProcessor(EventServiceImpl eventService, EventPacketBatch batch, int orderKey) {
+        this.eventService = eventService;
+        this.batch = batch;
+        this.orderKey = orderKey;
+    }
+
+    @Override
+    public void run() {
+        eventService.dispatchEventBatch(batch);
+    }
+
+    @Override
+    public int getKey() {
+        return orderKey;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPacketBatchProcessor{batch=" + batch + '}';
+    }
+}
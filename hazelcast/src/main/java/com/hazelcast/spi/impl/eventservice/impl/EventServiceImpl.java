@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.eventservice.impl;
 
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.instance.GroupProperties;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.MemberImpl;
@@ -28,12 +29,14 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.EventFilter;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.InternalEventService;
 import com.hazelcast.spi.impl.eventservice.impl.operations.DeregistrationOperation;
 import com.hazelcast.spi.impl.eventservice.impl.operations.PostJoinRegistrationOperation;
 import com.hazelcast.spi.impl.eventservice.impl.operations.RegistrationOperation;
+import com.hazelcast.spi.impl.eventservice.impl.operations.SendEventBatchOperation;
 import com.hazelcast.spi.impl.eventservice.impl.operations.SendEventOperation;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
@@ -51,11 +54,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
-import static com.hazelcast.util.EmptyStatement.ignore;
 import static com.hazelcast.util.FutureUtil.ExceptionHandler;
 import static com.hazelcast.util.FutureUtil.waitWithDeadline;
 
@@ -80,6 +83,10 @@ public class EventServiceImpl implements InternalEventService {
     private final int eventThreadCount;
     private final int eventQueueCapacity;
     private final AtomicLong totalFailures = new AtomicLong();
+    private final int eventBatchSize;
+    private final ConcurrentMap<Address, EventBatcher> batchers = new ConcurrentHashMap<Address, EventBatcher>();
+    private final ConstructorFunction<Address, EventBatcher> batcherConstructor;
+    private final ScheduledFuture<?> batchFlushFuture;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -101,6 +108,25 @@ public class EventServiceImpl implements InternalEventService {
         this.deregistrationExceptionHandler
                 = new FutureUtilExceptionHandler(logger, "Member left while de-registering listener...");
         this.segments = new ConcurrentHashMap<String, EventServiceSegment>();
+        this.eventBatchSize = groupProperties.EVENT_BATCH_SIZE.getInteger();
+        this.batcherConstructor = new ConstructorFunction<Address, EventBatcher>() {
+            @Override
+            public EventBatcher createNew(Address subscriber) {
+                return new EventBatcher(EventServiceImpl.this, subscriber, eventBatchSize, eventQueueCapacity,
+                        TimeUnit.SECONDS.toMillis(SEND_EVENT_TIMEOUT_SECONDS));
+            }
+        };
+        if (eventBatchSize > 1) {
+            long flushDelayMillis = groupProperties.EVENT_BATCH_MAX_DELAY_MILLIS.getLong();
+            this.batchFlushFuture = nodeEngine.getExecutionService().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    flushEventBatches();
+                }
+            }, flushDelayMillis, flushDelayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.batchFlushFuture = null;
+        }
     }
 
     @Override
@@ -337,7 +363,16 @@ public class EventServiceImpl implements InternalEventService {
         final EventServiceSegment segment = getSegment(serviceName, true);
         boolean sync = segment.incrementPublish() % EVENT_SYNC_FREQUENCY == 0;
 
-        if (sync) {
+        if (eventBatchSize > 1) {
+            EventBatcher batcher = ConcurrencyUtil.getOrPutIfAbsent(batchers, subscriber, batcherConstructor);
+            if (sync) {
+                batcher.sync(eventPacket, orderKey);
+            } else if (!batcher.offer(eventPacket, orderKey)) {
+                if (nodeEngine.isActive()) {
+                    logFailure("Event batch queue overloaded! Failed to send event packet to: %s", subscriber);
+                }
+            }
+        } else if (sync) {
             SendEventOperation op = new SendEventOperation(eventPacket, orderKey);
             Future f = nodeEngine.getOperationService()
                     .createInvocationBuilder(serviceName, op, subscriber)
@@ -345,19 +380,59 @@ public class EventServiceImpl implements InternalEventService {
             try {
                 f.get(SEND_EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             } catch (Exception ignored) {
-                ignore(ignored);
+                EmptyStatement.ignore(ignored);
             }
         } else {
-            final Packet packet = new Packet(nodeEngine.toData(eventPacket), orderKey);
-            packet.setHeader(Packet.HEADER_EVENT);
-            if (!nodeEngine.getPacketTransceiver().transmit(packet, subscriber)) {
-                if (nodeEngine.isActive()) {
-                    logFailure("IO Queue overloaded! Failed to send event packet to: %s", subscriber);
-                }
+            transmit(eventPacket, orderKey, subscriber);
+        }
+    }
+
+    void sendEventBatchOperation(Address subscriber, EventPacketBatch batch, ExecutionCallback<Object> callback) {
+        SendEventBatchOperation op = new SendEventBatchOperation(batch, getEventBatchOrderKey());
+        InternalCompletableFuture<Object> f = nodeEngine.getOperationService()
+                .createInvocationBuilder(batch.getEventPacket(0).getServiceName(), op, subscriber)
+                .setTryCount(SEND_RETRY_COUNT).invoke();
+        f.andThen(callback);
+    }
+
+    void sendEventBatch(Address subscriber, EventPacketBatch batch) {
+        transmit(batch, getEventBatchOrderKey(), subscriber);
+    }
+
+    /**
+     * All batches from this member, whether sent as packets or with a {@link SendEventBatchOperation},
+     * are handled by the same event thread on the subscriber. That keeps them in order before their
+     * events are dispatched by order key.
+     */
+    private int getEventBatchOrderKey() {
+        return nodeEngine.getThisAddress().hashCode();
+    }
+
+    /**
+     * Hands each event of the batch to the event thread selected by its order key.
+     */
+    void dispatchEventBatch(EventPacketBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            executeEventCallback(new EventPacketProcessor(this, batch.getEventPacket(i), batch.getOrderKey(i)));
+        }
+    }
+
+    private void transmit(Object eventPacket, int orderKey, Address subscriber) {
+        final Packet packet = new Packet(nodeEngine.toData(eventPacket), orderKey);
+        packet.setHeader(Packet.HEADER_EVENT);
+        if (!nodeEngine.getPacketTransceiver().transmit(packet, subscriber)) {
+            if (nodeEngine.isActive()) {
+                logFailure("IO Queue overloaded! Failed to send event packet to: %s", subscriber);
             }
         }
     }
 
+    private void flushEventBatches() {
+        for (EventBatcher batcher : batchers.values()) {
+            batcher.flush();
+        }
+    }
+
     public EventServiceSegment getSegment(String service, boolean forceCreate) {
         EventServiceSegment segment = segments.get(service);
         if (segment == null && forceCreate) {
@@ -417,6 +492,10 @@ public class EventServiceImpl implements InternalEventService {
     }
 
     public void shutdown() {
+        if (batchFlushFuture != null) {
+            batchFlushFuture.cancel(false);
+        }
+        batchers.clear();
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
@@ -427,6 +506,7 @@ public class EventServiceImpl implements InternalEventService {
 
     public void onMemberLeft(MemberImpl member) {
         final Address address = member.getAddress();
+        batchers.remove(address);
         for (EventServiceSegment segment : segments.values()) {
             segment.onMemberLeft(address);
         }
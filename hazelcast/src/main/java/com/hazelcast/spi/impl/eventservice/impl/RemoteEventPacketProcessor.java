@@ -34,8 +34,12 @@ public class RemoteEventPacketProcessor extends EventPacketProcessor implements
     public void run() {
         try {
             Data data = packet.getData();
-            EventPacket eventPacket = (EventPacket) eventService.nodeEngine.toObject(data);
-            process(eventPacket);
+            Object eventObject = eventService.nodeEngine.toObject(data);
+            if (eventObject instanceof EventPacketBatch) {
+                eventService.dispatchEventBatch((EventPacketBatch) eventObject);
+            } else {
+                process((EventPacket) eventObject);
+            }
         } catch (Exception e) {
             eventService.logger.warning("Error while logging processing event", e);
         }
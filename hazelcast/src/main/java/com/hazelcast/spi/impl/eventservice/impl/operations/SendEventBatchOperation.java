@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl.operations;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.impl.eventservice.impl.EventPacketBatch;
+import com.hazelcast.spi.impl.eventservice.impl.EventPacketBatchProcessor;
+import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
+
+import java.io.IOException;
+
+/**
+ * Sends an {@link EventPacketBatch} that the sender waits for, used as the flow control point of event batching.
+ * <p/>
+ * The batch goes through the event thread selected by {@code orderKey}, the same one that handles the batch
+ * packets of the sender, before its events are dispatched by their own order keys.
+ */
+public class SendEventBatchOperation extends AbstractOperation {
+    private EventPacketBatch batch;
+    private int orderKey;
+
+    public SendEventBatchOperation() {
+    }
+
+    public SendEventBatchOperation(EventPacketBatch batch, int orderKey) {
+        this.batch = batch;
+        this.orderKey = orderKey;
+    }
+
+    @Override
+    public void run() throws Exception {
+        EventServiceImpl eventService = (EventServiceImpl) getNodeEngine().getEventService();
+        eventService.executeEventCallback(new EventPacketBatchProcessor(eventService, batch, orderKey));
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        batch.writeData(out);
+        out.writeInt(orderKey);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        batch = new EventPacketBatch();
+        batch.readData(in);
+        orderKey = in.readInt();
+    }
+}
@@ -30,7 +30,12 @@ import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunnerFactory;
 import com.hazelcast.spi.impl.operationexecutor.ResponsePacketHandler;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
+import com.hazelcast.util.concurrent.YieldIdleStrategy;
 
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -60,6 +65,11 @@ public final class ClassicOperationExecutor implements OperationExecutor {
 
     public static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
+    private static final long IDLE_MAX_SPINS = 100;
+    private static final long IDLE_MAX_YIELDS = 100;
+    private static final long IDLE_MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long IDLE_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
     private final ILogger logger;
 
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
@@ -130,6 +140,25 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         return operationRunners;
     }
 
+    /**
+     * Creates the idle strategy for the partition threads, or returns null if the partition threads should block on
+     * their queue.
+     */
+    private IdleStrategy newIdleStrategy(GroupProperties properties) {
+        String strategy = properties.PARTITION_OPERATION_THREAD_IDLE_STRATEGY.getString().trim().toLowerCase(Locale.ENGLISH);
+        if ("block".equals(strategy)) {
+            return null;
+        } else if ("spin".equals(strategy)) {
+            return new BusySpinIdleStrategy();
+        } else if ("yield".equals(strategy)) {
+            return new YieldIdleStrategy();
+        } else if ("backoff".equals(strategy)) {
+            return new BackoffIdleStrategy(IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NANOS, IDLE_MAX_PARK_NANOS);
+        }
+        throw new IllegalArgumentException("Unknown partition operation thread idle strategy '" + strategy + "', expected"
+                + " one of block, spin, yield or backoff");
+    }
+
     private PartitionOperationThread[] initPartitionThreads(GroupProperties properties) {
         int threadCount = properties.PARTITION_OPERATION_THREAD_COUNT.getInteger();
         if (threadCount <= 0) {
@@ -138,10 +167,14 @@ public final class ClassicOperationExecutor implements OperationExecutor {
             threadCount = Math.max(2, coreSize);
         }
 
+        IdleStrategy idleStrategy = newIdleStrategy(properties);
+
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            ScheduleQueue scheduleQueue = new DefaultScheduleQueue();
+            ScheduleQueue scheduleQueue = idleStrategy == null
+                    ? new DefaultScheduleQueue()
+                    : new PollingScheduleQueue(idleStrategy);
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, scheduleQueue, logger,
                     threadGroup, nodeExtension, partitionOperationRunners);
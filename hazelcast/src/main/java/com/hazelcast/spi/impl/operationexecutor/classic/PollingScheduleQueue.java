@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.util.concurrent.IdleStrategy;
+import com.hazelcast.util.concurrent.MPSCQueue;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link ScheduleQueue} backed by lock-free {@link MPSCQueue}s, where the consumer polls for tasks and waits
+ * according to an {@link IdleStrategy} instead of blocking.
+ * <p/>
+ * Producers never take a lock and never unpark the consumer, so a hand-off from an IO thread costs a single atomic
+ * instruction. The price is paid by the idle consumer, which spins, yields or parks for short periods depending on
+ * the idle strategy.
+ * <p/>
+ * The consumer leaves {@link #take()} with an {@link InterruptedException} when it is interrupted.
+ */
+public final class PollingScheduleQueue implements ScheduleQueue {
+
+    private final MPSCQueue<Object> normalQueue = new MPSCQueue<Object>();
+    private final MPSCQueue<Object> priorityQueue = new MPSCQueue<Object>();
+    private final IdleStrategy idleStrategy;
+
+    public PollingScheduleQueue(IdleStrategy idleStrategy) {
+        this.idleStrategy = checkNotNull(idleStrategy, "idleStrategy");
+    }
+
+    @Override
+    public void add(Object task) {
+        normalQueue.offer(task);
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        priorityQueue.offer(task);
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        for (long idleCount = 0; ; idleCount++) {
+            Object task = priorityQueue.poll();
+            if (task != null) {
+                return task;
+            }
+
+            task = normalQueue.poll();
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            idleStrategy.idle(idleCount);
+        }
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size();
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalQueue.size() + priorityQueue.size();
+    }
+}
@@ -31,10 +31,9 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutRespons
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
+import com.hazelcast.util.ConcurrentLong2ObjectHashMap;
 import com.hazelcast.util.EmptyStatement;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
@@ -46,10 +45,12 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
  * <p/>
  * When an invocation is registered, a callId is determined. Based on this call-id, when a
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
- * appropriate invocation can be looked up.
+ * appropriate invocation can be looked up. The invocations are stored in a {@link ConcurrentLong2ObjectHashMap}
+ * so registering an invocation and matching a response to it don't box the call-id, and the lookup done for
+ * every response never locks.
  * <p/>
  * Some idea's:
- * - use an ringbuffer to store all invocations instead of a CHM. The call-id can be used as sequence-id for this
+ * - use an ringbuffer to store all invocations instead of a map. The call-id can be used as sequence-id for this
  * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
  * the sequence (although you now get sequence-gaps).
  * - pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
@@ -58,12 +59,12 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
 public class InvocationRegistry {
     private static final long SCHEDULE_DELAY = 1111;
     private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
+    private static final float LOAD_FACTOR = 0.5f;
     private static final int DELAY_MILLIS = 1000;
     private static final double HUNDRED_PERCENT = 100d;
 
     private final long backupTimeoutMillis;
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final ConcurrentLong2ObjectHashMap<Invocation> invocations;
     private final OperationServiceImpl operationService;
     private final NodeEngineImpl nodeEngine;
     private final ILogger logger;
@@ -78,7 +79,7 @@ public class InvocationRegistry {
 
         GroupProperties props = operationService.nodeEngine.getGroupProperties();
         this.backupTimeoutMillis = props.OPERATION_BACKUP_TIMEOUT_MILLIS.getLong();
-        this.invocations = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        this.invocations = new ConcurrentLong2ObjectHashMap<Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
         this.inspectionThread = new InspectionThread();
         inspectionThread.start();
     }
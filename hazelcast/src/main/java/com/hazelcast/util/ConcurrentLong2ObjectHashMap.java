@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Concurrent map specialised for primitive long keys, so keys are never boxed on put, get or remove.
+ * <p/>
+ * The map is split into segments. Each segment is an open addressing table with linear probing, like
+ * {@link com.hazelcast.client.impl.protocol.util.Int2ObjectHashMap}. Writers lock the segment of the key,
+ * readers never lock. To make lock-free reads safe, a slot keeps the key that claimed it for as long as the
+ * table lives: a remove leaves a tombstone instead of compacting the probe chain. When claimed slots reach the
+ * load factor, the segment builds a new table without the tombstones and publishes it in one volatile write.
+ * <p/>
+ * Like the iterators of {@link java.util.concurrent.ConcurrentHashMap}, {@link #values()} iterates weakly
+ * consistently and never throws {@link java.util.ConcurrentModificationException}.
+ *
+ * @param <V> type of the values, null values are not permitted
+ */
+public class ConcurrentLong2ObjectHashMap<V> {
+
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final Object TOMBSTONE = new Object();
+
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+    private final int segmentBits;
+
+    /**
+     * Creates a map with default capacity, load factor and concurrency level.
+     */
+    public ConcurrentLong2ObjectHashMap() {
+        this(MIN_SEGMENT_CAPACITY, 0.6f, MIN_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Creates a map.
+     *
+     * @param initialCapacity  the number of entries the map should hold without resizing
+     * @param loadFactor       fraction of the slots of a segment which may be claimed before it is rebuilt
+     * @param concurrencyLevel the estimated number of concurrently updating threads, rounded up to the
+     *                         next power of two to determine the number of segments
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLong2ObjectHashMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+        checkPositive(concurrencyLevel, "concurrencyLevel must be positive");
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1 exclusive, but was " + loadFactor);
+        }
+        int segmentCount = QuickMath.nextPowerOfTwo(concurrencyLevel);
+        this.segmentMask = segmentCount - 1;
+        this.segmentBits = Integer.numberOfTrailingZeros(segmentCount);
+        int segmentCapacity = capacityFor(Math.max(initialCapacity, 0) / segmentCount, loadFactor);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<V>(segmentCapacity, loadFactor, segmentBits);
+        }
+    }
+
+    /**
+     * Returns the value mapped to the key, or null if there is none. Never blocks.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int hash = hash(key);
+        Table table = segments[hash & segmentMask].table;
+        int index = table.index(hash >>> segmentBits);
+        for (;;) {
+            Object value = table.values.get(index);
+            if (value == null) {
+                return null;
+            }
+            if (table.keys[index] == key) {
+                return value == TOMBSTONE ? null : (V) value;
+            }
+            index = (index + 1) & table.mask;
+        }
+    }
+
+    /**
+     * Maps the key to the value.
+     *
+     * @return the previous value mapped to the key, or null if there was none
+     */
+    public V put(long key, V value) {
+        checkNotNull(value, "Null values are not permitted");
+        int hash = hash(key);
+        return segments[hash & segmentMask].put(key, hash >>> segmentBits, value);
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @return the removed value, or null if the key was not mapped
+     */
+    public V remove(long key) {
+        int hash = hash(key);
+        return segments[hash & segmentMask].remove(key, hash >>> segmentBits, null);
+    }
+
+    /**
+     * Removes the mapping of the key only if it is currently mapped to the given value.
+     *
+     * @return true if the mapping was removed
+     */
+    public boolean remove(long key, V value) {
+        checkNotNull(value, "Null values are not permitted");
+        int hash = hash(key);
+        return segments[hash & segmentMask].remove(key, hash >>> segmentBits, value) != null;
+    }
+
+    /**
+     * Returns the number of mappings. The result is only a snapshot while the map is modified concurrently.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Segment<V> segment : segments) {
+            if (segment.size != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a view of the values. Its iterator supports {@link Iterator#remove()}, which removes the mapping
+     * of the last returned value unless that mapping has changed in the meantime.
+     */
+    public Collection<V> values() {
+        return new ValueCollection();
+    }
+
+    private static int capacityFor(int entries, float loadFactor) {
+        int capacity = QuickMath.nextPowerOfTwo((int) (entries / loadFactor) + 1);
+        return Math.max(capacity, MIN_SEGMENT_CAPACITY);
+    }
+
+    private static int hash(long key) {
+        long hash = key * GOLDEN_RATIO;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Open addressing table of a segment. Once a slot has been claimed by a key, the key is never overwritten:
+     * a reader that observes a non-null value through the volatile read also observes the key written before it.
+     */
+    private static final class Table {
+        final long[] keys;
+        final AtomicReferenceArray<Object> values;
+        final int mask;
+        final int threshold;
+
+        Table(int capacity, float loadFactor) {
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<Object>(capacity);
+            this.mask = capacity - 1;
+            // the segment rebuilds once claimed slots reach the threshold, so with the threshold below the
+            // capacity at least one slot always stays free and lookups of absent keys terminate
+            this.threshold = Math.max(1, Math.min((int) (capacity * loadFactor), capacity - 1));
+        }
+
+        int index(int hash) {
+            return hash & mask;
+        }
+    }
+
+    private static final class Segment<V> {
+        final float loadFactor;
+        final int segmentBits;
+        volatile Table table;
+        volatile int size;
+        // slots holding a value or a tombstone, guarded by this
+        int claimed;
+
+        Segment(int capacity, float loadFactor, int segmentBits) {
+            this.loadFactor = loadFactor;
+            this.segmentBits = segmentBits;
+            this.table = new Table(capacity, loadFactor);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V put(long key, int hash, V value) {
+            Table table = this.table;
+            int index = table.index(hash);
+            for (;;) {
+                Object current = table.values.get(index);
+                if (current == null) {
+                    table.keys[index] = key;
+                    table.values.set(index, value);
+                    size++;
+                    if (++claimed >= table.threshold) {
+                        rebuild(table);
+                    }
+                    return null;
+                }
+                if (table.keys[index] == key) {
+                    table.values.set(index, value);
+                    if (current == TOMBSTONE) {
+                        size++;
+                        return null;
+                    }
+                    return (V) current;
+                }
+                index = (index + 1) & table.mask;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V remove(long key, int hash, Object expected) {
+            Table table = this.table;
+            int index = table.index(hash);
+            for (;;) {
+                Object current = table.values.get(index);
+                if (current == null) {
+                    return null;
+                }
+                if (table.keys[index] == key) {
+                    if (current == TOMBSTONE || (expected != null && current != expected)) {
+                        return null;
+                    }
+                    table.values.set(index, TOMBSTONE);
+                    size--;
+                    return (V) current;
+                }
+                index = (index + 1) & table.mask;
+            }
+        }
+
+        /**
+         * Copies the live entries into a fresh table. The capacity only grows when the live entries alone
+         * take more than half of the threshold, otherwise the rebuild just drops the tombstones.
+         */
+        private void rebuild(Table old) {
+            int capacity = old.keys.length;
+            if (size > old.threshold / 2) {
+                capacity = capacityFor(size * 2, loadFactor);
+            }
+            Table table = new Table(capacity, loadFactor);
+            for (int i = 0; i < old.keys.length; i++) {
+                Object value = old.values.get(i);
+                if (value == null || value == TOMBSTONE) {
+                    continue;
+                }
+                long key = old.keys[i];
+                int index = table.index(hash(key) >>> segmentBits);
+                while (table.values.get(index) != null) {
+                    index = (index + 1) & table.mask;
+                }
+                table.keys[index] = key;
+                table.values.set(index, value);
+            }
+            claimed = size;
+            this.table = table;
+        }
+    }
+
+    private final class ValueCollection extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentLong2ObjectHashMap.this.size();
+        }
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+        private int segmentIndex;
+        private Table table;
+        private int slot;
+        private long nextKey;
+        private V next;
+        private long lastKey;
+        private V last;
+
+        ValueIterator() {
+            table = segments[0].table;
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            for (;;) {
+                while (slot < table.keys.length) {
+                    Object value = table.values.get(slot);
+                    if (value != null && value != TOMBSTONE) {
+                        nextKey = table.keys[slot++];
+                        next = (V) value;
+                        return;
+                    }
+                    slot++;
+                }
+                if (++segmentIndex == segments.length) {
+                    next = null;
+                    return;
+                }
+                table = segments[segmentIndex].table;
+                slot = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            lastKey = nextKey;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentLong2ObjectHashMap.this.remove(lastKey, last);
+            last = null;
+        }
+    }
+}
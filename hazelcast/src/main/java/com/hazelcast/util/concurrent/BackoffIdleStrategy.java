@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Idle strategy which first spins, then yields and finally parks with an exponentially growing period.
+ * <p/>
+ * A thread which finds work again within the spin and yield phases picks it up without having been descheduled,
+ * while a thread which stays idle ends up parked for at most {@code maxParkPeriodNs} at a time.
+ */
+public final class BackoffIdleStrategy implements IdleStrategy {
+
+    private static final int MAX_SHIFT = 20;
+
+    private final long maxSpins;
+    private final long maxYields;
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+
+    /**
+     * @param maxSpins        number of idle steps spent spinning
+     * @param maxYields       number of idle steps spent yielding after spinning
+     * @param minParkPeriodNs park period of the first parking step
+     * @param maxParkPeriodNs maximum park period
+     */
+    public BackoffIdleStrategy(long maxSpins, long maxYields, long minParkPeriodNs, long maxParkPeriodNs) {
+        this.maxSpins = checkNotNegative(maxSpins, "maxSpins can't be negative");
+        this.maxYields = checkNotNegative(maxYields, "maxYields can't be negative");
+        this.minParkPeriodNs = checkPositive(minParkPeriodNs, "minParkPeriodNs must be positive");
+        this.maxParkPeriodNs = checkPositive(maxParkPeriodNs, "maxParkPeriodNs must be positive");
+        if (maxParkPeriodNs < minParkPeriodNs) {
+            throw new IllegalArgumentException("maxParkPeriodNs can't be smaller than minParkPeriodNs");
+        }
+    }
+
+    @Override
+    public void idle(long n) {
+        if (n < maxSpins) {
+            return;
+        }
+        if (n < maxSpins + maxYields) {
+            Thread.yield();
+            return;
+        }
+        LockSupport.parkNanos(parkTime(n));
+    }
+
+    long parkTime(long n) {
+        long parkStep = n - maxSpins - maxYields;
+        long parkTime = minParkPeriodNs << Math.min(parkStep, MAX_SHIFT);
+        return parkTime > 0 ? Math.min(parkTime, maxParkPeriodNs) : maxParkPeriodNs;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+/**
+ * Strategy of a thread polling for work on what to do when there is none.
+ * <p/>
+ * Implementations are stateless, the thread passes the number of consecutive calls made without finding work,
+ * so a single instance can be shared by many threads.
+ */
+public interface IdleStrategy {
+
+    /**
+     * Performs an idle step, e.g. spinning, yielding or parking.
+     *
+     * @param n number of consecutive idle steps taken so far, starting with 0
+     */
+    void idle(long n);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Unbounded lock-free multi-producer single-consumer queue.
+ * <p/>
+ * Producers append nodes by swapping the tail with a single atomic instruction, they never contend on a lock and
+ * never wake up the consumer; the consumer is expected to poll, see {@link IdleStrategy}. Unlike a
+ * {@link java.util.concurrent.LinkedBlockingQueue} a hand-off therefore involves no lock and no park/unpark.
+ * <p/>
+ * {@link #offer(Object)} may be called by any thread, {@link #poll()} must always be called by the same thread.
+ * A node is linked to its predecessor right after the tail swap, so for a very short time {@link #poll()} may return
+ * {@code null} although an offer has completed on another thread; the consumer sees the item on a later poll.
+ *
+ * @param <E> the type of items
+ */
+public final class MPSCQueue<E> {
+
+    private final AtomicReference<Node<E>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    // only accessed by the consumer
+    private Node<E> head;
+
+    public MPSCQueue() {
+        Node<E> stub = new Node<E>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<Node<E>>(stub);
+    }
+
+    /**
+     * Appends an item to the tail of this queue. This method is thread-safe.
+     *
+     * @param item the item to append
+     * @throws NullPointerException if the item is null
+     */
+    public void offer(E item) {
+        checkNotNull(item, "item can't be null");
+
+        Node<E> node = new Node<E>(item);
+        size.incrementAndGet();
+        Node<E> prev = tail.getAndSet(node);
+        prev.next = node;
+    }
+
+    /**
+     * Removes the item at the head of this queue. This method may only be called by the consumer thread.
+     *
+     * @return the removed item, {@code null} if no item is available
+     */
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E item = next.item;
+        // the consumed node becomes the new stub
+        next.item = null;
+        head = next;
+        size.decrementAndGet();
+        return item;
+    }
+
+    /**
+     * Returns the number of items in this queue. This method is thread-safe, but only returns a best effort
+     * value and should only be used for monitoring purposes.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return Math.max(0, size.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private static final class Node<E> {
+        volatile Node<E> next;
+        E item;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+}
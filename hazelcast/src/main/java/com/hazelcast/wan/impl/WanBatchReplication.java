@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.cluster.impl.operations.AuthorizationOperation;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.Node;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.wan.MapReplicationRemove;
+import com.hazelcast.map.impl.wan.MapReplicationUpdate;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.spi.InvocationBuilder;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.util.AddressUtil;
+import com.hazelcast.util.AddressUtil.AddressHolder;
+import com.hazelcast.util.Clock;
+import com.hazelcast.wan.ReplicationEventObject;
+import com.hazelcast.wan.WanReplicationEndpoint;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.WanReplicationService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching distribution implementation on WAN replication.
+ * <p/>
+ * Events are drained from a bounded queue into batches limited by {@link GroupProperties#PROP_WAN_BATCH_SIZE} and
+ * {@link GroupProperties#PROP_WAN_BATCH_MAX_DELAY_MILLIS}. Within a batch, events for the same map entry are coalesced
+ * so only the latest one is sent.
+ * <p/>
+ * The target applies batches in the order they arrive, and a later batch may hold an older value of an entry than the
+ * batch before it failed to apply. So batches are not sent freely in parallel: the events of a batch are split into
+ * {@link GroupProperties#PROP_WAN_BATCH_MAX_IN_FLIGHT} stripes by map entry, and each stripe has at most one
+ * unacknowledged batch in flight. A batch that is not acknowledged is resent before any newer batch of its stripe,
+ * so the events of an entry reach the target in the order they were published.
+ * <p/>
+ * Unlike {@link WanNoDelayReplication}, events are never dropped: when the queue is full the publishing thread is
+ * blocked until the replication thread catches up.
+ */
+public class WanBatchReplication
+        implements Runnable, WanReplicationEndpoint {
+
+    private static final int RETRY_CONNECTION_MAX = 10;
+    private static final int RETRY_CONNECTION_SLEEP_MILLIS = 1000;
+    private static final int PUBLISH_WAIT_SECONDS = 5;
+
+    private Node node;
+    private ILogger logger;
+    private String groupName;
+    private String password;
+    private final LinkedBlockingQueue<String> addressQueue = new LinkedBlockingQueue<String>();
+    private BlockingQueue<WanReplicationEvent> eventQueue;
+    private Stripe[] stripes;
+    private int batchSize;
+    private long maxDelayMillis;
+    private long ackTimeoutMillis;
+    private volatile boolean running = true;
+    private volatile Address target;
+
+    public void init(Node node, String groupName, String password, String... targets) {
+        this.node = node;
+        this.logger = node.getLogger(WanBatchReplication.class.getName());
+        this.groupName = groupName;
+        this.password = password;
+
+        GroupProperties groupProperties = node.groupProperties;
+        this.eventQueue = new ArrayBlockingQueue<WanReplicationEvent>(groupProperties.WAN_BATCH_QUEUE_CAPACITY.getInteger());
+        this.batchSize = groupProperties.WAN_BATCH_SIZE.getInteger();
+        this.maxDelayMillis = groupProperties.WAN_BATCH_MAX_DELAY_MILLIS.getLong();
+        this.ackTimeoutMillis = groupProperties.WAN_BATCH_ACK_TIMEOUT_MILLIS.getLong();
+        this.stripes = new Stripe[groupProperties.WAN_BATCH_MAX_IN_FLIGHT.getInteger()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        addressQueue.addAll(Arrays.asList(targets));
+        node.nodeEngine.getExecutionService().execute("hz:wan", this);
+    }
+
+    @Override
+    public void publishReplicationEvent(String serviceName, ReplicationEventObject eventObject) {
+        WanReplicationEvent replicationEvent = new WanReplicationEvent(serviceName, eventObject);
+        try {
+            while (running) {
+                if (eventQueue.offer(replicationEvent, PUBLISH_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    return;
+                }
+                logger.warning("WAN replication queue is full (" + eventQueue.size() + " events), publisher is blocked "
+                        + "until the target cluster catches up");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Interrupted while publishing replication event: " + replicationEvent);
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+
+    public void run() {
+        while (running) {
+            try {
+                List<List<WanReplicationEvent>> stripeBatches = split(drainBatch(), stripes.length);
+                for (int i = 0; i < stripes.length; i++) {
+                    List<WanReplicationEvent> batch = stripeBatches.get(i);
+                    stripes[i].send(batch.isEmpty() ? null : batch);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (Throwable e) {
+                if (logger != null) {
+                    logger.warning(e);
+                }
+                target = null;
+            }
+        }
+    }
+
+    private List<WanReplicationEvent> drainBatch() throws InterruptedException {
+        WanReplicationEvent first = eventQueue.poll(maxDelayMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return Collections.emptyList();
+        }
+
+        List<WanReplicationEvent> events = new ArrayList<WanReplicationEvent>(batchSize);
+        events.add(first);
+        long deadline = Clock.currentTimeMillis() + maxDelayMillis;
+        while (events.size() < batchSize) {
+            if (eventQueue.drainTo(events, batchSize - events.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - Clock.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            WanReplicationEvent event = eventQueue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (event == null) {
+                break;
+            }
+            events.add(event);
+        }
+        return coalesce(events);
+    }
+
+    /**
+     * Removes all but the latest event for every map entry in the batch. The position of the first event of an entry
+     * is kept, so the relative order of the events of a single entry is preserved.
+     */
+    static List<WanReplicationEvent> coalesce(List<WanReplicationEvent> events) {
+        Map<Object, WanReplicationEvent> coalesced = new LinkedHashMap<Object, WanReplicationEvent>(events.size());
+        for (WanReplicationEvent event : events) {
+            Object key = coalescingKey(event);
+            coalesced.put(key == null ? event : key, event);
+        }
+        if (coalesced.size() == events.size()) {
+            return events;
+        }
+        return new ArrayList<WanReplicationEvent>(coalesced.values());
+    }
+
+    /**
+     * Splits the events into {@code stripeCount} batches. All events of a map entry end up in the same batch, in their
+     * original order. Events that do not belong to a map entry go to the first batch.
+     */
+    static List<List<WanReplicationEvent>> split(List<WanReplicationEvent> events, int stripeCount) {
+        List<List<WanReplicationEvent>> batches = new ArrayList<List<WanReplicationEvent>>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            batches.add(new ArrayList<WanReplicationEvent>());
+        }
+        for (WanReplicationEvent event : events) {
+            Object key = coalescingKey(event);
+            int stripe = key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % stripeCount;
+            batches.get(stripe).add(event);
+        }
+        return batches;
+    }
+
+    private static Object coalescingKey(WanReplicationEvent event) {
+        Object eventObject = event.getEventObject();
+        if (eventObject instanceof MapReplicationUpdate) {
+            MapReplicationUpdate update = (MapReplicationUpdate) eventObject;
+            return new EntryKey(event.getServiceName(), update.getMapName(), update.getEntryView().getKey());
+        } else if (eventObject instanceof MapReplicationRemove) {
+            MapReplicationRemove remove = (MapReplicationRemove) eventObject;
+            return new EntryKey(event.getServiceName(), remove.getMapName(), remove.getKey());
+        }
+        return null;
+    }
+
+    private boolean send(List<WanReplicationEvent> batch, Stripe stripe) throws InterruptedException {
+        Address address = getTarget();
+        if (address == null) {
+            return false;
+        }
+
+        Operation operation = new WanBatchReplicationOperation(batch);
+        OperationService operationService = node.nodeEngine.getOperationService();
+        InvocationBuilder invocationBuilder = operationService
+                .createInvocationBuilder(WanReplicationService.SERVICE_NAME, operation, address);
+        invocationBuilder.setTryCount(1)
+                .setCallTimeout(ackTimeoutMillis)
+                .setExecutionCallback(new BatchCallback(batch, stripe, address))
+                .invoke();
+        return true;
+    }
+
+    private Address getTarget() throws InterruptedException {
+        Address address = target;
+        if (address != null) {
+            Connection conn = node.getConnectionManager().getConnection(address);
+            if (conn != null && conn.isAlive()) {
+                return address;
+            }
+        }
+
+        Connection conn = getConnection();
+        if (conn != null) {
+            conn = authorizeConnection(conn);
+        }
+        address = conn == null ? null : conn.getEndPoint();
+        target = address;
+        return address;
+    }
+
+    @SuppressWarnings("BusyWait")
+    Connection getConnection()
+            throws InterruptedException {
+        final int defaultPort = node.getConfig().getNetworkConfig().getPort();
+        while (running) {
+            String targetStr = addressQueue.take();
+            try {
+                final AddressHolder addressHolder = AddressUtil.getAddressHolder(targetStr, defaultPort);
+                final Address address = new Address(addressHolder.getAddress(), addressHolder.getPort());
+                final ConnectionManager connectionManager = node.getConnectionManager();
+                Connection conn = connectionManager.getOrConnect(address);
+                for (int i = 0; i < RETRY_CONNECTION_MAX; i++) {
+                    if (conn == null) {
+                        Thread.sleep(RETRY_CONNECTION_SLEEP_MILLIS);
+                    } else {
+                        return conn;
+                    }
+                    conn = connectionManager.getConnection(address);
+                }
+            } catch (Throwable e) {
+                Thread.sleep(RETRY_CONNECTION_SLEEP_MILLIS);
+            } finally {
+                addressQueue.offer(targetStr);
+            }
+        }
+        return null;
+    }
+
+    public boolean checkAuthorization(String groupName, String groupPassword, Address target) {
+        Operation authorizationCall = new AuthorizationOperation(groupName, groupPassword);
+        OperationService operationService = node.nodeEngine.getOperationService();
+        String serviceName = WanReplicationService.SERVICE_NAME;
+        InvocationBuilder invocationBuilder = operationService.createInvocationBuilder(serviceName, authorizationCall, target);
+        Future<Boolean> future = invocationBuilder.setTryCount(1).invoke();
+        try {
+            return future.get();
+        } catch (Exception ignored) {
+            logger.finest(ignored);
+        }
+        return false;
+    }
+
+    private Connection authorizeConnection(Connection conn) {
+        boolean authorized = checkAuthorization(groupName, password, conn.getEndPoint());
+        if (!authorized) {
+            conn.close();
+            if (logger != null) {
+                logger.severe("Invalid groupName or groupPassword! ");
+            }
+            return null;
+        }
+        return conn;
+    }
+
+    /**
+     * A share of the map entries with at most one batch in flight.
+     */
+    private final class Stripe {
+
+        private final Semaphore permit = new Semaphore(1);
+        private volatile List<WanReplicationEvent> failedBatch;
+
+        /**
+         * Sends the failed batch of the stripe, if there is one, and then the given batch. Each batch is sent only after
+         * the previous batch of the stripe has been acknowledged. Without a new batch, waiting for the batch in flight
+         * is skipped.
+         */
+        private void send(List<WanReplicationEvent> batch) throws InterruptedException {
+            while (running) {
+                if (batch != null) {
+                    permit.acquire();
+                } else if (failedBatch == null || !permit.tryAcquire()) {
+                    return;
+                }
+
+                List<WanReplicationEvent> next = failedBatch;
+                if (next != null) {
+                    failedBatch = null;
+                } else if (batch != null) {
+                    next = batch;
+                    batch = null;
+                } else {
+                    permit.release();
+                    return;
+                }
+
+                boolean sent = false;
+                try {
+                    sent = WanBatchReplication.this.send(next, this);
+                } catch (RuntimeException e) {
+                    logger.warning(e);
+                    target = null;
+                } finally {
+                    if (!sent) {
+                        failedBatch = next;
+                        permit.release();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the stripe of a batch once the target cluster acknowledged or failed it. A failed batch is kept by its
+     * stripe and resent before any newer batch of the stripe, so no event is lost or overtaken.
+     */
+    private final class BatchCallback implements ExecutionCallback<Object> {
+
+        private final List<WanReplicationEvent> batch;
+        private final Stripe stripe;
+        private final Address address;
+
+        private BatchCallback(List<WanReplicationEvent> batch, Stripe stripe, Address address) {
+            this.batch = batch;
+            this.stripe = stripe;
+            this.address = address;
+        }
+
+        @Override
+        public void onResponse(Object response) {
+            stripe.permit.release();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            logger.finest("WAN replication batch to " + address + " failed, it will be resent", t);
+            if (address.equals(target)) {
+                target = null;
+            }
+            stripe.failedBatch = batch;
+            stripe.permit.release();
+        }
+    }
+
+    /**
+     * Identifies a single map entry of a WAN replication event.
+     */
+    private static final class EntryKey {
+
+        private final String serviceName;
+        private final String mapName;
+        private final Object key;
+
+        private EntryKey(String serviceName, String mapName, Object key) {
+            this.serviceName = serviceName;
+            this.mapName = mapName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntryKey)) {
+                return false;
+            }
+            EntryKey that = (EntryKey) o;
+            return serviceName.equals(that.serviceName) && mapName.equals(that.mapName) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = serviceName.hashCode();
+            result = 31 * result + mapName.hashCode();
+            result = 31 * result + key.hashCode();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.cluster.impl.operations.WanReplicationOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.ReplicationSupportingService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.wan.WanReplicationEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries a batch of {@link WanReplicationEvent}s to the target cluster of a {@link WanBatchReplication}.
+ * <p/>
+ * The events are applied in order and the response is only sent after all of them have been applied, so it
+ * serves as the acknowledgement of the batch.
+ */
+public class WanBatchReplicationOperation extends AbstractOperation implements WanReplicationOperation {
+
+    private List<WanReplicationEvent> events;
+
+    public WanBatchReplicationOperation() {
+    }
+
+    public WanBatchReplicationOperation(List<WanReplicationEvent> events) {
+        this.events = events;
+    }
+
+    @Override
+    public void run() throws Exception {
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        for (WanReplicationEvent event : events) {
+            ReplicationSupportingService service = nodeEngine.getService(event.getServiceName());
+            service.onReplicationEvent(event);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(events.size());
+        for (WanReplicationEvent event : events) {
+            event.writeData(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        events = new ArrayList<WanReplicationEvent>(size);
+        for (int i = 0; i < size; i++) {
+            WanReplicationEvent event = new WanReplicationEvent();
+            event.readData(in);
+            events.add(event);
+        }
+    }
+}
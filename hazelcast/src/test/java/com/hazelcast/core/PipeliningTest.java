@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PipeliningTest extends HazelcastTestSupport {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenDepthZero() {
+        new Pipelining<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAdd_whenNull() throws Exception {
+        new Pipelining<String>(1).add(null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResults_inOrderOfAdd() throws Exception {
+        HazelcastInstance instance = createHazelcastInstance();
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+
+        Pipelining<String> pipelining = new Pipelining<String>(10);
+        for (int i = 0; i < 100; i++) {
+            pipelining.add((ICompletableFuture<String>) map.getAsync(i));
+        }
+
+        List<String> results = pipelining.results();
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value" + i, results.get(i));
+        }
+    }
+
+    @Test
+    public void testAdd_blocksWhileDepthCallsArePending() throws Exception {
+        final Pipelining<String> pipelining = new Pipelining<String>(2);
+        final List<TestFuture> futures = new ArrayList<TestFuture>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(new TestFuture());
+        }
+        pipelining.add(futures.get(0));
+        pipelining.add(futures.get(1));
+
+        final CountDownLatch added = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    pipelining.add(futures.get(2));
+                    added.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.start();
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, added.getCount());
+            }
+        }, 2);
+
+        futures.get(0).setResult("first");
+        assertOpenEventually(added);
+    }
+
+    @Test
+    public void testResults_whenCallFailed() throws Exception {
+        Pipelining<String> pipelining = new Pipelining<String>(2);
+        TestFuture succeeded = new TestFuture();
+        TestFuture failed = new TestFuture();
+        pipelining.add(succeeded);
+        pipelining.add(failed);
+
+        IllegalStateException failure = new IllegalStateException();
+        succeeded.setResult("value");
+        failed.setResult(failure);
+
+        try {
+            pipelining.results();
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+            return;
+        }
+        throw new AssertionError("expected the failure of the call to be rethrown");
+    }
+
+    private static final class TestFuture extends AbstractCompletableFuture<String> {
+
+        TestFuture() {
+            super((Executor) null, null);
+        }
+
+        @Override
+        public String get(long timeout, TimeUnit unit) throws ExecutionException {
+            if (!isDone()) {
+                throw new UnsupportedOperationException("Future is not done yet");
+            }
+            try {
+                return getResult();
+            } catch (Throwable t) {
+                throw new ExecutionException(t);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.storage.impl;
+
+import com.hazelcast.internal.storage.DataRef;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OffHeapStorageTest {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final int CAPACITY = 16 * PAGE_SIZE;
+
+    private SerializationService serializationService;
+    private OffHeapStorage storage;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        storage = new OffHeapStorage(CAPACITY, PAGE_SIZE, MIN_BLOCK_SIZE);
+    }
+
+    @Test
+    public void putAndGet() {
+        Data data = serializationService.toData("value");
+
+        DataRef ref = storage.put(data.getPartitionHash(), data);
+
+        assertEquals(data.totalSize(), ref.size());
+        assertEquals(data, storage.get(data.getPartitionHash(), ref));
+        assertEquals("value", serializationService.toObject(storage.get(data.getPartitionHash(), ref)));
+    }
+
+    @Test
+    public void putAndGet_whenValueLargerThanPage() {
+        char[] chars = new char[PAGE_SIZE * 3];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        Data data = serializationService.toData(value);
+
+        DataRef ref = storage.put(1, data);
+
+        assertEquals(data, storage.get(1, ref));
+        assertEquals(value, serializationService.toObject(storage.get(1, ref)));
+    }
+
+    @Test
+    public void remove_releasesBlock() {
+        Data data = serializationService.toData("value");
+        DataRef ref = storage.put(1, data);
+        long committed = storage.getCommittedMemory();
+        assertTrue(storage.getUsedMemory() > 0);
+
+        storage.remove(1, ref);
+
+        assertNull(storage.get(1, ref));
+        assertEquals(0, storage.getUsedMemory());
+
+        storage.put(1, data);
+        assertEquals(committed, storage.getCommittedMemory());
+    }
+
+    @Test
+    public void remove_whenAlreadyRemoved() {
+        DataRef ref = storage.put(1, serializationService.toData("value"));
+
+        storage.remove(1, ref);
+        storage.remove(1, ref);
+
+        assertEquals(0, storage.getUsedMemory());
+    }
+
+    @Test
+    public void sizeClasses() {
+        assertEquals(0, storage.sizeClassOf(1));
+        assertEquals(0, storage.sizeClassOf(MIN_BLOCK_SIZE));
+        assertEquals(1, storage.sizeClassOf(MIN_BLOCK_SIZE + 1));
+        assertEquals(8, storage.sizeClassOf(PAGE_SIZE));
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void put_whenCapacityExhausted() {
+        char[] chars = new char[PAGE_SIZE];
+        Arrays.fill(chars, 'x');
+        Data data = serializationService.toData(new String(chars));
+
+        for (int i = 0; i <= CAPACITY / PAGE_SIZE; i++) {
+            storage.put(i, data);
+        }
+    }
+
+    @Test
+    public void put_whenValueSizesAlternate_nearCapacity() {
+        Data small = dataOfLength(100);
+        Data large = dataOfLength(1500);
+        for (int round = 0; round < 6; round++) {
+            Data data = round % 2 == 0 ? small : large;
+            // a different segment each round, so freed pages move between segments and size classes
+            int hash = round;
+            int blockSize = nextPowerOfTwo(data.totalSize());
+            int count = CAPACITY / blockSize;
+
+            List<DataRef> refs = new ArrayList<DataRef>(count);
+            for (int i = 0; i < count; i++) {
+                refs.add(storage.put(hash, data));
+            }
+            assertEquals(CAPACITY, storage.getCommittedMemory());
+            assertEquals(CAPACITY, storage.getUsedMemory());
+            assertEquals(data, storage.get(hash, refs.get(count - 1)));
+
+            for (DataRef ref : refs) {
+                storage.remove(hash, ref);
+            }
+            assertEquals(0, storage.getUsedMemory());
+        }
+    }
+
+    @Test
+    public void destroy_whenPagesWereReleased() {
+        DataRef ref = storage.put(1, serializationService.toData("value"));
+        storage.remove(1, ref);
+
+        storage.destroy();
+
+        assertEquals(0, storage.getCommittedMemory());
+    }
+
+    @Test
+    public void destroy() {
+        DataRef ref = storage.put(1, serializationService.toData("value"));
+
+        storage.destroy();
+
+        assertNull(storage.get(1, ref));
+        assertEquals(0, storage.getUsedMemory());
+        assertEquals(0, storage.getCommittedMemory());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void put_whenDestroyed() {
+        storage.destroy();
+
+        storage.put(1, serializationService.toData("value"));
+    }
+
+    private Data dataOfLength(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'x');
+        return serializationService.toData(new String(chars));
+    }
+}
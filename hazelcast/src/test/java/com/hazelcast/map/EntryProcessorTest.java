@@ -33,10 +33,13 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.query.EntryObject;
+import com.hazelcast.query.IndexAwarePredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.PredicateBuilder;
 import com.hazelcast.query.Predicates;
 import com.hazelcast.query.SampleObjects;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -164,6 +167,86 @@ public class EntryProcessorTest extends HazelcastTestSupport {
         assertEquals("The predicate should be applied to only one entry if indexing works!", entries.size(), 1);
     }
 
+    @Test
+    public void testExecuteOnEntriesWithPredicate_visitsOnlyIndexedMatches() {
+        Config cfg = new Config();
+        cfg.getMapConfig("test").addMapIndexConfig(new MapIndexConfig("attr1", false));
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(cfg);
+        nodeFactory.newHazelcastInstance(cfg);
+        IMap<String, TempData> map = instance1.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, new TempData(i % 10 == 0 ? "foo" : "bar", "value" + i));
+        }
+
+        Map<String, Object> entries = map.executeOnEntries(new LoggingEntryProcessor(), new IndexOnlyPredicate("foo"));
+
+        assertEquals(10, entries.size());
+        for (String key : entries.keySet()) {
+            assertEquals("foo", map.get(key).getAttr1());
+        }
+    }
+
+    @Test
+    public void testExecuteOnEntriesWithPredicate_queriesIndexOncePerMember() {
+        Config cfg = new Config();
+        cfg.getMapConfig("test").addMapIndexConfig(new MapIndexConfig("attr1", false));
+        HazelcastInstance instance = createHazelcastInstance(cfg);
+        IMap<String, TempData> map = instance.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, new TempData(i % 10 == 0 ? "foo" : "bar", "value" + i));
+        }
+
+        CountingIndexOnlyPredicate predicate = new CountingIndexOnlyPredicate("foo");
+        Map<String, Object> entries = map.executeOnEntries(new LoggingEntryProcessor(), predicate);
+
+        assertEquals(10, entries.size());
+        assertEquals(1, CountingIndexOnlyPredicate.FILTER_COUNT.get());
+    }
+
+    private static class CountingIndexOnlyPredicate extends IndexOnlyPredicate {
+
+        static final AtomicInteger FILTER_COUNT = new AtomicInteger();
+
+        CountingIndexOnlyPredicate(String value) {
+            super(value);
+        }
+
+        @Override
+        public Set<QueryableEntry> filter(QueryContext queryContext) {
+            FILTER_COUNT.incrementAndGet();
+            return super.filter(queryContext);
+        }
+    }
+
+    /**
+     * Matches every entry it is applied to, so only the entries returned from the index
+     * are processed if the index is used to select them.
+     */
+    private static class IndexOnlyPredicate implements IndexAwarePredicate {
+
+        private final String value;
+
+        IndexOnlyPredicate(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean apply(Map.Entry mapEntry) {
+            return true;
+        }
+
+        @Override
+        public Set<QueryableEntry> filter(QueryContext queryContext) {
+            return queryContext.getIndex("attr1").getRecords(value);
+        }
+
+        @Override
+        public boolean isIndexed(QueryContext queryContext) {
+            return queryContext.getIndex("attr1") != null;
+        }
+    }
+
     /**
      * Reproducer for https://github.com/hazelcast/hazelcast/issues/1854
      * Similar to above tests but with executeOnKeys instead.
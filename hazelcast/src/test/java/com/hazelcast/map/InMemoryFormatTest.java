@@ -21,6 +21,8 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
@@ -128,6 +130,30 @@ public class InMemoryFormatTest extends HazelcastTestSupport {
         assertTrue(objectMap2.containsValue(v1));
     }
 
+    @Test
+    public void nativeFormat() {
+        Config config = new Config();
+        config.getNativeMemoryConfig().setEnabled(true).setSize(new MemorySize(16, MemoryUnit.MEGABYTES));
+        config.addMapConfig(new MapConfig("nativeMap").setInMemoryFormat(InMemoryFormat.NATIVE));
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        IMap<String, Pair> nativeMap = hz.getMap("nativeMap");
+        for (int i = 0; i < 100; i++) {
+            nativeMap.put(String.valueOf(i), new Pair("a" + i, "1"));
+        }
+        nativeMap.put("0", new Pair("b", "2"));
+        nativeMap.remove("1");
+
+        assertEquals(99, nativeMap.size());
+        assertEquals(new Pair("b", "2"), nativeMap.get("0"));
+        assertEquals(new Pair("a2", "1"), nativeMap.get("2"));
+        assertTrue(nativeMap.containsValue(new Pair("a3", "1")));
+        assertTrue(getNode(hz).getNodeExtension().getMemoryStats().getUsedNativeMemory() > 0);
+
+        nativeMap.clear();
+        assertEquals(0, getNode(hz).getNodeExtension().getMemoryStats().getUsedNativeMemory());
+    }
+
     public static final class Pair implements Serializable {
         private final String significant;
         private final String insignificant;
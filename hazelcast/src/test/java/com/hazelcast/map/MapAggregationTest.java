@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setup() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name" + i, i % 100, i % 2 == 0, i));
+        }
+    }
+
+    @Test
+    public void count() {
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count()));
+    }
+
+    @Test
+    public void aggregateWithPredicate() {
+        Predicate<Integer, Employee> predicate = Predicates.lessThan("age", 10);
+
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count(), predicate));
+        assertEquals(Long.valueOf(450), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longSum("age"), predicate));
+        assertEquals(4.5d, map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longAvg("age"), predicate), 0d);
+        assertEquals(Long.valueOf(0), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longMin("age"), predicate));
+        assertEquals(Long.valueOf(9), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longMax("age"), predicate));
+    }
+
+    @Test
+    public void doubleAggregators() {
+        double expectedSum = ENTRY_COUNT * (ENTRY_COUNT - 1) / 2d;
+
+        assertEquals(expectedSum, map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleSum("salary")), 0d);
+        assertEquals(expectedSum / ENTRY_COUNT,
+                map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleAvg("salary")), 0d);
+        assertEquals(0d, map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleMin("salary")), 0d);
+        assertEquals(ENTRY_COUNT - 1d, map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleMax("salary")), 0d);
+    }
+
+    @Test
+    public void aggregateWithIndex() {
+        map.addIndex("age", true);
+        Predicate<Integer, Employee> predicate = Predicates.between("age", 10, 19);
+
+        assertEquals(Long.valueOf(200), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count(), predicate));
+        assertEquals(Long.valueOf(2900), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longSum("age"), predicate));
+    }
+
+    @Test
+    public void aggregate_whenNothingMatches() {
+        Predicate<Integer, Employee> predicate = Predicates.greaterThan("age", 1000);
+
+        assertEquals(Long.valueOf(0), map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count(), predicate));
+        assertNull(map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>longAvg("age"), predicate));
+        assertNull(map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>doubleMax("salary"), predicate));
+    }
+
+    @Test
+    public void aggregate_doesNotModifyGivenAggregator() {
+        Aggregator<Map.Entry<Integer, Employee>, Long> aggregator = Aggregators.count();
+
+        map.aggregate(aggregator);
+
+        assertEquals(Long.valueOf(0), aggregator.aggregate());
+    }
+
+    @Test
+    public void customAggregator() {
+        assertEquals(Integer.valueOf(ENTRY_COUNT / 2), map.aggregate(new ActiveCountAggregator()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aggregate_whenPagingPredicate() {
+        map.aggregate(Aggregators.<Map.Entry<Integer, Employee>>count(), new PagingPredicate(10));
+    }
+
+    static class ActiveCountAggregator extends Aggregator<Map.Entry<Integer, Employee>, Integer> {
+
+        private int count;
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Employee> input) {
+            if (input.getValue().isActive()) {
+                count++;
+            }
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+            count += ((ActiveCountAggregator) aggregator).count;
+        }
+
+        @Override
+        public Integer aggregate() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleObjects.Employee;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapProjectionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setup() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name" + i, i % 100, i % 2 == 0, i));
+        }
+    }
+
+    @Test
+    public void singleAttribute() {
+        Collection<String> names = map.project(Projections.<Map.Entry<Integer, Employee>, String>singleAttribute("name"));
+
+        assertEquals(ENTRY_COUNT, names.size());
+        assertEquals(ENTRY_COUNT, new HashSet<String>(names).size());
+        assertTrue(names.contains("name0"));
+        assertTrue(names.contains("name999"));
+    }
+
+    @Test
+    public void singleAttribute_withDuplicates() {
+        Collection<Integer> ages = map.project(Projections.<Map.Entry<Integer, Employee>, Integer>singleAttribute("age"));
+
+        assertEquals(ENTRY_COUNT, ages.size());
+        assertEquals(100, new HashSet<Integer>(ages).size());
+    }
+
+    @Test
+    public void multiAttribute_withPredicate() {
+        Predicate<Integer, Employee> predicate = Predicates.equal("age", 42);
+
+        Collection<Object[]> result = map.project(
+                Projections.<Map.Entry<Integer, Employee>>multiAttribute("__key", "name", "age"), predicate);
+
+        assertEquals(10, result.size());
+        for (Object[] projected : result) {
+            assertEquals(3, projected.length);
+            assertEquals("name" + projected[0], projected[1]);
+            assertEquals(42, projected[2]);
+        }
+    }
+
+    @Test
+    public void projectWithIndex() {
+        map.addIndex("age", true);
+        Predicate<Integer, Employee> predicate = Predicates.between("age", 10, 19);
+
+        Collection<Long> ids = map.project(Projections.<Map.Entry<Integer, Employee>, Long>singleAttribute("id"), predicate);
+
+        assertEquals(200, ids.size());
+        for (Long id : ids) {
+            assertTrue(id % 100 >= 10 && id % 100 <= 19);
+        }
+    }
+
+    @Test
+    public void project_whenNothingMatches() {
+        Predicate<Integer, Employee> predicate = Predicates.greaterThan("age", 1000);
+
+        Collection<String> names = map.project(Projections.<Map.Entry<Integer, Employee>, String>singleAttribute("name"),
+                predicate);
+
+        assertTrue(names.isEmpty());
+    }
+
+    @Test
+    public void customProjection() {
+        Collection<Integer> keys = map.project(new KeyProjection(), Predicates.equal("active", true));
+
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<Integer>(keys));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void project_whenPagingPredicate() {
+        map.project(Projections.<Map.Entry<Integer, Employee>, String>singleAttribute("name"), new PagingPredicate(10));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void project_whenNullProjection() {
+        map.project(null);
+    }
+
+    static class KeyProjection extends Projection<Map.Entry<Integer, Employee>, Integer> {
+
+        @Override
+        public Integer transform(Map.Entry<Integer, Employee> input) {
+            return input.getKey();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapQueryIteratorTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "11");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void iterator_returnsAllEntries() {
+        Set<Integer> keys = new HashSet<Integer>();
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(7);
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            assertEquals(entry.getKey(), entry.getValue());
+            assertTrue(keys.add(entry.getKey()));
+        }
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void iterator_withPredicate() {
+        Set<Integer> keys = new HashSet<Integer>();
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10, Predicates.greaterEqual("this", 900));
+        while (iterator.hasNext()) {
+            assertTrue(keys.add(iterator.next().getKey()));
+        }
+
+        assertEquals(100, keys.size());
+        for (Integer key : keys) {
+            assertTrue(key >= 900);
+        }
+    }
+
+    @Test
+    public void iterator_whenNothingMatches() {
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10, Predicates.greaterThan("this", ENTRY_COUNT));
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void iterator_whenEmptyMap() {
+        map.clear();
+
+        assertFalse(map.iterator(10).hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void next_whenExhausted() {
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10, Predicates.greaterThan("this", ENTRY_COUNT));
+
+        iterator.next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void remove_isNotSupported() {
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.iterator(10);
+        iterator.next();
+
+        iterator.remove();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void iterator_whenFetchSizeNotPositive() {
+        map.iterator(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void iterator_whenPagingPredicate() {
+        map.iterator(10, new PagingPredicate(10));
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PortableEntryProcessorTest extends HazelcastTestSupport {
+
+    private static final int FACTORY_ID = 1;
+    private static final AtomicInteger DESERIALIZATION_COUNT = new AtomicInteger();
+
+    private HazelcastInstance instance1;
+    private HazelcastInstance instance2;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.getSerializationConfig().addPortableFactory(FACTORY_ID, new CounterPortableFactory());
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance1 = factory.newHazelcastInstance(config);
+        instance2 = factory.newHazelcastInstance(config);
+    }
+
+    @Test
+    public void testExecuteOnKey_updatesFieldWithoutDeserialization() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        map.put(1, new Counter("c1", 1));
+        DESERIALIZATION_COUNT.set(0);
+
+        Object result = map.executeOnKey(1, new IncrementProcessor());
+
+        assertEquals(1, result);
+        assertEquals(0, DESERIALIZATION_COUNT.get());
+        Counter counter = map.get(1);
+        assertEquals(2, counter.count);
+        assertEquals("c1", counter.name);
+    }
+
+    @Test
+    public void testExecuteOnEntries_updatesAllValues() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Counter("c" + i, i));
+        }
+        DESERIALIZATION_COUNT.set(0);
+
+        Map<Integer, Object> results = map.executeOnEntries(new IncrementProcessor());
+
+        assertEquals(100, results.size());
+        assertEquals(0, DESERIALIZATION_COUNT.get());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, map.get(i).count);
+        }
+    }
+
+    @Test
+    public void testExecuteOnEntries_withPredicate() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 10; i++) {
+            map.put(i, new Counter("c" + i, i));
+        }
+
+        map.executeOnEntries(new IncrementProcessor(), new SqlPredicate("count >= 5"));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i < 5 ? i : i + 1, map.get(i).count);
+        }
+    }
+
+    @Test
+    public void testExecuteOnKeys_updatesGivenKeys() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, new Counter("c" + i, i));
+            keys.add(i);
+        }
+
+        map.executeOnKeys(keys, new IncrementProcessor());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1, map.get(i).count);
+        }
+    }
+
+    @Test
+    public void testBackupProcessor_updatesBackups() {
+        String mapName = randomMapName();
+        IMap<Integer, Counter> map = instance1.getMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Counter("c" + i, i));
+        }
+
+        map.executeOnEntries(new IncrementProcessor());
+        instance1.shutdown();
+
+        IMap<Integer, Counter> survivingMap = instance2.getMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, survivingMap.get(i).count);
+        }
+    }
+
+    @Test
+    public void testSetValue_afterFieldUpdate() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        map.put(1, new Counter("c1", 1));
+
+        map.executeOnKey(1, new ReplacingProcessor());
+
+        Counter counter = map.get(1);
+        assertEquals("replaced", counter.name);
+        assertEquals(100, counter.count);
+    }
+
+    @Test
+    public void testSetValueNull_removesEntry() {
+        IMap<Integer, Counter> map = instance1.getMap(randomMapName());
+        map.put(1, new Counter("c1", 1));
+
+        map.executeOnKey(1, new RemovingProcessor());
+
+        assertNull(map.get(1));
+    }
+
+    static class IncrementProcessor implements EntryProcessor<Integer, Object>,
+            EntryBackupProcessor<Integer, Object>, PortableEntryAware {
+
+        @Override
+        public Object process(Map.Entry<Integer, Object> entry) {
+            return increment(entry);
+        }
+
+        @Override
+        public void processBackup(Map.Entry<Integer, Object> entry) {
+            increment(entry);
+        }
+
+        @Override
+        public EntryBackupProcessor<Integer, Object> getBackupProcessor() {
+            return this;
+        }
+
+        private Object increment(Map.Entry<Integer, Object> entry) {
+            PortableEntry portableEntry = (PortableEntry) entry;
+            try {
+                int count = portableEntry.getReader().readInt("count");
+                portableEntry.setInt("count", count + 1);
+                return count;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    static class ReplacingProcessor extends AbstractEntryProcessor<Integer, Object> implements PortableEntryAware {
+
+        @Override
+        public Object process(Map.Entry<Integer, Object> entry) {
+            PortableEntry portableEntry = (PortableEntry) entry;
+            try {
+                portableEntry.setInt("count", 5);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            entry.setValue(new Counter("replaced", 100));
+            return null;
+        }
+    }
+
+    static class RemovingProcessor extends AbstractEntryProcessor<Integer, Object> implements PortableEntryAware {
+
+        @Override
+        public Object process(Map.Entry<Integer, Object> entry) {
+            entry.setValue(null);
+            return null;
+        }
+    }
+
+    static class Counter implements Portable {
+
+        static final int CLASS_ID = 1;
+
+        String name;
+        int count;
+
+        Counter() {
+        }
+
+        Counter(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("count", count);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            DESERIALIZATION_COUNT.incrementAndGet();
+            name = reader.readUTF("name");
+            count = reader.readInt("count");
+        }
+    }
+
+    static class CounterPortableFactory implements PortableFactory {
+
+        @Override
+        public Portable create(int classId) {
+            if (Counter.CLASS_ID == classId) {
+                return new Counter();
+            }
+            return null;
+        }
+    }
+}
@@ -24,7 +24,9 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
 import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -154,6 +156,52 @@ public class QueryListenerTest extends HazelcastTestSupport {
         assertEquals(50, addCount.get());
     }
 
+    @Test
+    public void testManyEqualityListeners_eachReceivesOnlyMatchingEvents() {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance();
+        nodeFactory.newHazelcastInstance();
+        final IMap<Object, Object> map = instance1.getMap(randomMapName());
+
+        final int listenerCount = 20;
+        final AtomicInteger[] counts = new AtomicInteger[listenerCount];
+        for (int i = 0; i < listenerCount; i++) {
+            counts[i] = new AtomicInteger();
+            Predicate predicate = i % 2 == 0 ? new SqlPredicate("age = " + i) : Predicates.equal("age", i);
+            map.addEntryListener(new CountingListener(counts[i]), predicate, i % 3 == 0);
+        }
+        final AtomicInteger removedListenerCount = new AtomicInteger();
+        String removedId = map.addEntryListener(new CountingListener(removedListenerCount), Predicates.equal("age", 1), true);
+        map.removeEntryListener(removedId);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Person("name", i % listenerCount));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int i = 0; i < listenerCount; i++) {
+                    assertEquals("listener of age " + i, 5, counts[i].get());
+                }
+            }
+        });
+        assertEquals(0, removedListenerCount.get());
+    }
+
+    static class CountingListener extends EntryAdapter<Object, Object> {
+
+        private final AtomicInteger count;
+
+        CountingListener(AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<Object, Object> event) {
+            count.incrementAndGet();
+        }
+    }
 
     static class Person implements Serializable {
         String name;
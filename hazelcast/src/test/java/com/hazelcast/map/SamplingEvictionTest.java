@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class SamplingEvictionTest extends HazelcastTestSupport {
+
+    private static final int PER_NODE_MAX_SIZE = 1000;
+
+    @Test
+    public void testSamplingEviction_keepsSizeBounded() {
+        String mapName = randomMapName();
+        Config cfg = newConfig(mapName, EvictionPolicy.LRU, false);
+        HazelcastInstance instance = createHazelcastInstance(cfg);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < 10 * PER_NODE_MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue("map size is " + map.size(), map.size() <= PER_NODE_MAX_SIZE + PER_NODE_MAX_SIZE / 10);
+    }
+
+    @Test
+    public void testSamplingEvictionLRU_mostlySweepsLeastRecentlyUseds() {
+        String mapName = randomMapName();
+        Config cfg = newConfig(mapName, EvictionPolicy.LRU, false);
+        HazelcastInstance instance = createHazelcastInstance(cfg);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        int recentlyUsedEvicted = fillAndCountEvictedHotEntries(map, 1);
+
+        // sampling only approximates LRU, a few recently used entries may be evicted
+        assertTrue("evicted " + recentlyUsedEvicted + " recently used entries", recentlyUsedEvicted < PER_NODE_MAX_SIZE / 20);
+    }
+
+    @Test
+    public void testSamplingEvictionLFU_withFrequencySketch_mostlySweepsLeastFrequentlyUseds() {
+        String mapName = randomMapName();
+        Config cfg = newConfig(mapName, EvictionPolicy.LFU, true);
+        HazelcastInstance instance = createHazelcastInstance(cfg);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        int frequentlyUsedEvicted = fillAndCountEvictedHotEntries(map, 3);
+
+        assertTrue("evicted " + frequentlyUsedEvicted + " frequently used entries",
+                frequentlyUsedEvicted < PER_NODE_MAX_SIZE / 20);
+    }
+
+    private int fillAndCountEvictedHotEntries(IMap<Integer, Integer> map, int accessCount) {
+        // 1. use only first half of entries by getting them
+        for (int i = 0; i < PER_NODE_MAX_SIZE / 2; i++) {
+            map.put(i, i);
+            for (int j = 0; j < accessCount; j++) {
+                map.get(i);
+            }
+        }
+        // 2. over fill map to trigger eviction
+        for (int i = PER_NODE_MAX_SIZE / 2; i < 5 * PER_NODE_MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+        // 3. count the evicted hot entries
+        int evicted = 0;
+        for (int i = 0; i < PER_NODE_MAX_SIZE / 2; i++) {
+            if (!map.containsKey(i)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private Config newConfig(String mapName, EvictionPolicy evictionPolicy, boolean frequencySketchEnabled) {
+        Config cfg = new Config();
+        cfg.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        cfg.setProperty(GroupProperties.PROP_MAP_EVICTION_SAMPLE_COUNT, "16");
+        cfg.setProperty(GroupProperties.PROP_MAP_EVICTION_FREQUENCY_SKETCH_ENABLED, String.valueOf(frequencySketchEnabled));
+        MapConfig mc = cfg.getMapConfig(mapName);
+        mc.setEvictionPolicy(evictionPolicy);
+        mc.setEvictionPercentage(20);
+        mc.setMinEvictionCheckMillis(0L);
+        MaxSizeConfig msc = new MaxSizeConfig();
+        msc.setMaxSizePolicy(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+        msc.setSize(PER_NODE_MAX_SIZE);
+        mc.setMaxSizeConfig(msc);
+        return cfg;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapReplicaDigestTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance;
+    private MapServiceContext mapServiceContext;
+    private IMap<Integer, Integer> map1;
+    private IMap<Integer, Integer> map2;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        instance = createHazelcastInstance(config);
+        map1 = instance.getMap(randomMapName());
+        map2 = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map1.put(i, i);
+            map2.put(i, i);
+        }
+        mapServiceContext = ((MapService) ((MapProxyImpl) map1).getService()).getMapServiceContext();
+    }
+
+    @Test
+    public void testRangeCount() {
+        assertEquals(1, MapReplicaDigest.rangeCount(0));
+        assertEquals(1, MapReplicaDigest.rangeCount(10));
+        assertEquals(32, MapReplicaDigest.rangeCount(1000));
+        assertEquals(1024, MapReplicaDigest.rangeCount(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testDifferingRanges_whenRecordsAreEqual() {
+        assertNull(differingRanges());
+    }
+
+    @Test
+    public void testDifferingRanges_whenValueDiffers() {
+        map2.put(42, -1);
+
+        MapReplicaDigest.Ranges ranges = differingRanges();
+
+        assertNotNull(ranges);
+        assertTrue(ranges.contains(toData(42)));
+        // only the keys sharing the range of the changed key are replicated again
+        assertTrue(countKeysInRanges(ranges) < ENTRY_COUNT / 4);
+    }
+
+    @Test
+    public void testDifferingRanges_whenRecordIsMissing() {
+        map2.remove(7);
+
+        MapReplicaDigest.Ranges ranges = differingRanges();
+
+        assertNotNull(ranges);
+        assertTrue(ranges.contains(toData(7)));
+        assertFalse(ranges.contains(toData(findKeyInOtherRange(ranges))));
+    }
+
+    @Test
+    public void testCreate_returnsNull_whenNoRecords() {
+        map1.clear();
+        map2.clear();
+
+        assertNull(MapReplicaDigest.create(mapServiceContext, mapServiceContext.getPartitionContainer(0), 1));
+    }
+
+    private MapReplicaDigest.Ranges differingRanges() {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(0);
+        MapReplicaDigest digest = MapReplicaDigest.create(mapServiceContext, container, 1);
+        long[] rangeHashes = digest.getRangeHashes(map1.getName());
+        return MapReplicaDigest.differingRanges(mapServiceContext, container.getRecordStore(map2.getName()), rangeHashes);
+    }
+
+    private int countKeysInRanges(MapReplicaDigest.Ranges ranges) {
+        int count = 0;
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (ranges.contains(toData(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int findKeyInOtherRange(MapReplicaDigest.Ranges ranges) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (!ranges.contains(toData(i))) {
+                return i;
+            }
+        }
+        throw new AssertionError("All keys are in the differing ranges");
+    }
+
+    private Data toData(Object object) {
+        return mapServiceContext.toData(object);
+    }
+}
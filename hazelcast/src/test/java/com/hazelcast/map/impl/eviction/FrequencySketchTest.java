@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class FrequencySketchTest {
+
+    @Test
+    public void frequency_whenNeverIncremented() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void increment_countsUpToMaximum() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 1; i <= 20; i++) {
+            sketch.increment(42);
+            assertEquals(Math.min(i, 15), sketch.frequency(42));
+        }
+    }
+
+    @Test
+    public void frequency_separatesHotFromColdKeys() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int key = 0; key < 1000; key++) {
+            sketch.increment(key);
+        }
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(7);
+        }
+
+        assertTrue(sketch.frequency(7) > sketch.frequency(8));
+    }
+
+    @Test
+    public void reset_halvesCounters() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(42);
+        }
+
+        sketch.reset();
+
+        assertEquals(5, sketch.frequency(42));
+    }
+
+    @Test
+    public void increment_agesCountsPeriodically() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment(42);
+        }
+        // far more distinct increments than the sketch width triggers at least one reset
+        for (int key = 0; key < 10000; key++) {
+            sketch.increment(key + 1000);
+        }
+
+        assertTrue(sketch.frequency(42) < 15);
+    }
+
+    @Test
+    public void ensureCapacity_growsAndHalvesCounts() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+
+        sketch.ensureCapacity(1024);
+
+        assertEquals(4, sketch.frequency(42));
+    }
+
+    @Test
+    public void ensureCapacity_keepsHotKeysApartFromColdKeys() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int size = 16; size <= 4096; size <<= 1) {
+            sketch.ensureCapacity(size);
+            for (int i = 0; i < 4; i++) {
+                sketch.increment(7);
+            }
+        }
+        for (int key = 100; key < 4096; key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency(7) > sketch.frequency(100));
+    }
+}
@@ -0,0 +1,69 @@
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class AdaptiveWriteBatchSizeTest {
+
+    private static final long TARGET_LATENCY_MILLIS = 100;
+
+    private final AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(64, TARGET_LATENCY_MILLIS);
+
+    @Test
+    public void testInitialBatchSize_isMax() {
+        assertEquals(64, batchSize.get());
+    }
+
+    @Test
+    public void testShrinks_whenSlow() {
+        batchSize.update(64, millis(TARGET_LATENCY_MILLIS * 2));
+        assertEquals(32, batchSize.get());
+
+        batchSize.update(10, millis(TARGET_LATENCY_MILLIS * 2));
+        assertEquals(5, batchSize.get());
+    }
+
+    @Test
+    public void testNeverShrinksBelowOne() {
+        for (int i = 0; i < 10; i++) {
+            batchSize.update(batchSize.get(), millis(TARGET_LATENCY_MILLIS * 2));
+        }
+        assertEquals(1, batchSize.get());
+    }
+
+    @Test
+    public void testGrows_whenFullBatchIsFast() {
+        batchSize.update(64, millis(TARGET_LATENCY_MILLIS * 2));
+        batchSize.update(32, millis(TARGET_LATENCY_MILLIS / 4));
+
+        assertEquals(64, batchSize.get());
+    }
+
+    @Test
+    public void testDoesNotGrow_whenPartialBatchIsFast() {
+        batchSize.update(64, millis(TARGET_LATENCY_MILLIS * 2));
+        batchSize.update(10, millis(TARGET_LATENCY_MILLIS / 4));
+
+        assertEquals(32, batchSize.get());
+    }
+
+    @Test
+    public void testNeverGrowsAboveMax() {
+        batchSize.update(64, millis(TARGET_LATENCY_MILLIS / 4));
+
+        assertEquals(64, batchSize.get());
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
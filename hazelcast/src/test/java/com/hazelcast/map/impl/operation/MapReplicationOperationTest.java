@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MapReplicationOperationTest extends HazelcastTestSupport {
+
+    @Test
+    public void testNextChunk_splitsOffEveryRecord() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        MapReplicationOperation operation = createReplicationOperation(map);
+        assertFalse(operation.isEmpty());
+
+        int chunkCount = 0;
+        while (operation.nextChunk(1) != null) {
+            chunkCount++;
+            // the last record empties the pending maps, no further chunk is announced
+            assertEquals(chunkCount < 100, operation.hasNextChunk());
+        }
+
+        // with a maximum chunk size of one byte, every chunk carries one record
+        assertEquals(100, chunkCount);
+        assertNull(operation.nextChunk(1));
+    }
+
+    @Test
+    public void testHasNextChunk_whenAllRecordsFitInOneChunk() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        MapReplicationOperation operation = createReplicationOperation(map);
+        assertTrue(operation.hasNextChunk());
+
+        assertNotNull(operation.nextChunk(Long.MAX_VALUE));
+
+        // the sender sends this chunk along with the replication operation, without reading ahead
+        assertFalse(operation.hasNextChunk());
+    }
+
+    @Test
+    public void testNextChunk_splitsOffEmptyMap() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        map.put(1, 1);
+        map.remove(1);
+        MapReplicationOperation operation = createReplicationOperation(map);
+
+        // the empty map still needs a chunk, which resets its record store on the replica
+        Operation chunk = operation.nextChunk(Long.MAX_VALUE);
+        assertNotNull(chunk);
+        assertNull(operation.nextChunk(Long.MAX_VALUE));
+    }
+
+    private static MapReplicationOperation createReplicationOperation(IMap map) {
+        MapService mapService = (MapService) ((MapProxyImpl) map).getService();
+        PartitionContainer container = mapService.getMapServiceContext().getPartitionContainer(0);
+        return new MapReplicationOperation(mapService, container, 0, 1);
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class QueryCacheTest extends HazelcastTestSupport {
+
+    @Test
+    public void testQueryCache_isPopulatedWithMatchingEntries() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        assertEquals(50, cache.size());
+        assertEquals(50, (int) cache.get(50));
+        assertNull(cache.get(49));
+    }
+
+    @Test
+    public void testQueryCache_followsUpdatesOfAllPartitions() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance node1 = factory.newHazelcastInstance();
+        HazelcastInstance node2 = factory.newHazelcastInstance();
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = node2.getMap(mapName);
+        final QueryCache<Integer, Integer> cache = node1.<Integer, Integer>getMap(mapName)
+                .getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        // leaves the predicate
+        map.put(60, 0);
+        map.remove(70);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(48, cache.size());
+                assertFalse(cache.containsKey(60));
+                assertFalse(cache.containsKey(70));
+                assertEquals(99, (int) cache.get(99));
+            }
+        });
+    }
+
+    @Test
+    public void testQueryCache_followsUpdatesAfterMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance node1 = factory.newHazelcastInstance();
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = node1.getMap(mapName);
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 0"), true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        HazelcastInstance node2 = factory.newHazelcastInstance();
+        waitAllForSafeState(node1, node2);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i + 1);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, cache.size());
+                for (int i = 0; i < 100; i++) {
+                    assertEquals(i + 1, (int) cache.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testQueryCache_evictsBeyondMaxSize() {
+        Config config = new Config();
+        String mapName = randomMapName();
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache");
+        queryCacheConfig.setEvictionConfig(new EvictionConfig(10, EvictionConfig.MaxSizePolicy.ENTRY_COUNT,
+                EvictionPolicy.LRU));
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        final CountDownLatch evicted = new CountDownLatch(90);
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 0"), true);
+        cache.addEntryListener(new EntryEvictedListener<Integer, Integer>() {
+            @Override
+            public void entryEvicted(EntryEvent<Integer, Integer> event) {
+                evicted.countDown();
+            }
+        }, true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertOpenEventually(evicted);
+        assertEquals(10, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQueryCache_whenMaxSizePolicyNotEntryCount() {
+        Config config = new Config();
+        String mapName = randomMapName();
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache");
+        queryCacheConfig.setEvictionConfig(new EvictionConfig(10, EvictionConfig.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE,
+                EvictionPolicy.LRU));
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        map.getQueryCache("cache");
+    }
+
+    @Test
+    public void testQueryCache_withBatchingAndCoalescing() {
+        Config config = new Config();
+        String mapName = randomMapName();
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache");
+        queryCacheConfig.setBatchSize(64);
+        queryCacheConfig.setDelaySeconds(1);
+        queryCacheConfig.setCoalesce(true);
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 0"), true);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 100; i++) {
+                map.put(i, round);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, cache.size());
+                for (int i = 0; i < 100; i++) {
+                    assertEquals(9, (int) cache.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testQueryCache_indexedQuery() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+        cache.addIndex("this", true);
+
+        assertEquals(10, cache.keySet(new SqlPredicate("this >= 90")).size());
+        assertEquals(0, cache.values(new SqlPredicate("this < 50")).size());
+    }
+
+    @Test
+    public void testQueryCache_firesLocalListeners() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        final CountDownLatch latch = new CountDownLatch(10);
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+        cache.addEntryListener(new EntryAddedListener<Integer, Integer>() {
+            @Override
+            public void entryAdded(EntryEvent<Integer, Integer> event) {
+                latch.countDown();
+            }
+        }, true);
+
+        for (int i = 40; i < 60; i++) {
+            map.put(i, i);
+        }
+
+        assertOpenEventually(latch);
+    }
+
+    @Test
+    public void testQueryCache_recoversAfterClear() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        final QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        map.clear();
+        map.put(80, 80);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, cache.size());
+                assertTrue(cache.containsKey(80));
+            }
+        });
+    }
+
+    @Test
+    public void testQueryCache_sameInstanceUntilDestroyed() {
+        IMap<Integer, Integer> map = createHazelcastInstance().getMap(randomMapName());
+        QueryCache<Integer, Integer> cache = map.getQueryCache("cache", new SqlPredicate("this >= 50"), true);
+
+        assertTrue(cache == map.getQueryCache("cache"));
+        cache.destroy();
+        assertFalse(cache == map.getQueryCache("cache", new SqlPredicate("this >= 50"), true));
+    }
+}
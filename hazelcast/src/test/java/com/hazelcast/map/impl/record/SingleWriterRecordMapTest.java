@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SingleWriterRecordMapTest {
+
+    private SerializationService serializationService;
+    private SingleWriterRecordMap map;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        map = new SingleWriterRecordMap();
+    }
+
+    @Test
+    public void emptyMap_hasNoTable() {
+        assertEquals(0, map.capacity());
+        assertTrue(map.isEmpty());
+        assertNull(map.get(key(1)));
+        assertFalse(map.values().iterator().hasNext());
+    }
+
+    @Test
+    public void putAndGet() {
+        Record record = record(1);
+
+        assertNull(map.put(key(1), record));
+
+        assertEquals(1, map.size());
+        assertSame(record, map.get(key(1)));
+        assertTrue(map.containsKey(key(1)));
+        assertFalse(map.containsKey(key(2)));
+    }
+
+    @Test
+    public void put_replacesExistingRecord() {
+        Record first = record(1);
+        Record second = record(1);
+        map.put(key(1), first);
+
+        assertSame(first, map.put(key(1), second));
+
+        assertEquals(1, map.size());
+        assertSame(second, map.get(key(1)));
+    }
+
+    @Test
+    public void remove() {
+        Record record = record(1);
+        map.put(key(1), record);
+        map.put(key(2), record(2));
+
+        assertSame(record, map.remove(key(1)));
+
+        assertNull(map.remove(key(1)));
+        assertNull(map.get(key(1)));
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(key(2)));
+    }
+
+    @Test
+    public void remove_lastRecordReleasesTable() {
+        map.put(key(1), record(1));
+
+        map.remove(key(1));
+
+        assertEquals(0, map.capacity());
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void growsAndShrinksOnRehash() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            map.put(key(i), record(i));
+        }
+        assertEquals(count, map.size());
+        int grownCapacity = map.capacity();
+        assertTrue(grownCapacity > count);
+
+        for (int i = 0; i < count - 1; i++) {
+            assertNotNullRecord(i);
+            map.remove(key(i));
+        }
+        assertTrue(map.capacity() < grownCapacity);
+
+        // re-adding removed keys reuses tombstones
+        for (int i = 0; i < 10 * count; i++) {
+            map.put(key(i % 10), record(i % 10));
+            map.remove(key(i % 10));
+        }
+        assertEquals(1, map.size());
+        assertNotNullRecord(count - 1);
+    }
+
+    @Test
+    public void clear() {
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), record(i));
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(0, map.capacity());
+        assertNull(map.get(key(1)));
+    }
+
+    @Test
+    public void iterators() {
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), record(i));
+            expected.add(key(i));
+        }
+
+        assertEquals(expected, new HashSet<Data>(map.keySet()));
+        assertEquals(100, map.values().size());
+        assertEquals(100, map.entrySet().size());
+    }
+
+    @Test
+    public void iteratorRemove() {
+        for (int i = 0; i < 100; i++) {
+            map.put(key(i), record(i));
+        }
+
+        Iterator<Record> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            if (serializationService.<Integer>toObject(record.getKey()) % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(50, map.size());
+        assertNull(map.get(key(2)));
+        assertNotNullRecord(3);
+    }
+
+    @Test
+    public void keySetRemoveAll() {
+        for (int i = 0; i < 10; i++) {
+            map.put(key(i), record(i));
+        }
+        Set<Data> toRemove = new HashSet<Data>();
+        toRemove.add(key(1));
+        toRemove.add(key(2));
+
+        map.keySet().removeAll(toRemove);
+
+        assertEquals(8, map.size());
+        assertFalse(map.containsKey(key(1)));
+    }
+
+    @Test
+    public void concurrentReader_seesStableRecords() throws Exception {
+        final int stableCount = 100;
+        for (int i = 0; i < stableCount; i++) {
+            map.put(key(i), record(i));
+        }
+        final Data[] stableKeys = new Data[stableCount];
+        for (int i = 0; i < stableCount; i++) {
+            stableKeys[i] = key(i);
+        }
+        final CountDownLatch writerDone = new CountDownLatch(1);
+        final AtomicReference<Data> missing = new AtomicReference<Data>();
+        Thread reader = new Thread() {
+            @Override
+            public void run() {
+                while (writerDone.getCount() > 0) {
+                    for (Data key : stableKeys) {
+                        if (map.get(key) == null) {
+                            missing.set(key);
+                        }
+                    }
+                }
+            }
+        };
+        reader.start();
+
+        for (int i = stableCount; i < stableCount + 20000; i++) {
+            map.put(key(i), record(i));
+            if (i % 3 == 0) {
+                map.remove(key(i - 1));
+            }
+        }
+        writerDone.countDown();
+        reader.join();
+
+        assertNull(missing.get());
+    }
+
+    @Test
+    public void fetch_resumesFromReturnedCursor() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(key(i), record(i));
+        }
+
+        Set<Data> fetchedKeys = new HashSet<Data>();
+        List<Record> page = new ArrayList<Record>();
+        int cursor = 0;
+        while (cursor >= 0) {
+            page.clear();
+            cursor = map.fetch(cursor, 100, page);
+            assertTrue(page.size() <= 100);
+            for (Record record : page) {
+                assertTrue(fetchedKeys.add(record.getKey()));
+            }
+        }
+        assertEquals(1000, fetchedKeys.size());
+    }
+
+    @Test
+    public void fetch_doesNotMissRecords_whenTableIsRehashedBetweenPages() {
+        int stableCount = 1000;
+        for (int i = 0; i < stableCount; i++) {
+            map.put(key(i), record(i));
+        }
+
+        Set<Data> fetchedKeys = new HashSet<Data>();
+        List<Record> page = new ArrayList<Record>();
+        int cursor = 0;
+        int pageCount = 0;
+        while (cursor >= 0) {
+            page.clear();
+            cursor = map.fetch(cursor, 50, page);
+            for (Record record : page) {
+                fetchedKeys.add(record.getKey());
+            }
+            // alternately grow and shrink the table between pages
+            if (pageCount++ % 2 == 0) {
+                for (int i = stableCount; i < 10 * stableCount; i++) {
+                    map.put(key(i), record(i));
+                }
+            } else {
+                for (int i = stableCount; i < 10 * stableCount; i++) {
+                    map.remove(key(i));
+                }
+            }
+        }
+        for (int i = 0; i < stableCount; i++) {
+            assertTrue(fetchedKeys.contains(key(i)));
+        }
+    }
+
+    @Test
+    public void fetch_whenEmpty() {
+        List<Record> page = new ArrayList<Record>();
+
+        assertEquals(-1, map.fetch(0, 100, page));
+        assertTrue(page.isEmpty());
+    }
+
+    @Test
+    public void sample_returnsDistinctLiveRecords() {
+        for (int i = 0; i < 1000; i++) {
+            map.put(key(i), record(i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.remove(key(i));
+        }
+
+        List<Record> samples = new ArrayList<Record>();
+        map.sample(16, samples);
+
+        assertEquals(16, samples.size());
+        Set<Data> sampledKeys = new HashSet<Data>();
+        for (Record record : samples) {
+            assertTrue(sampledKeys.add(record.getKey()));
+            assertSame(record, map.get(record.getKey()));
+        }
+    }
+
+    @Test
+    public void sample_whenFewerRecordsThanSampleCount() {
+        for (int i = 0; i < 5; i++) {
+            map.put(key(i), record(i));
+        }
+
+        List<Record> samples = new ArrayList<Record>();
+        map.sample(16, samples);
+
+        assertEquals(5, samples.size());
+    }
+
+    @Test
+    public void sample_whenEmpty() {
+        List<Record> samples = new ArrayList<Record>();
+        map.sample(16, samples);
+
+        assertTrue(samples.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sample_whenNegativeSampleCount() {
+        map.sample(-1, new ArrayList<Record>());
+    }
+
+    private void assertNotNullRecord(int i) {
+        Record record = map.get(key(i));
+        assertEquals(key(i), record.getKey());
+    }
+
+    private Data key(int i) {
+        return serializationService.toData(i);
+    }
+
+    private Record record(int i) {
+        return new DataRecord(key(i), serializationService.toData("value" + i));
+    }
+}
@@ -6,6 +6,8 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapStore;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.TestHazelcastInstanceFactory;
@@ -102,6 +104,36 @@ public class LoadAllTest extends HazelcastTestSupport {
         assertEquals(itemCount, map.size());
     }
 
+    @Test
+    public void testLoadProgressInLocalMapStats_whenLoadingAllOnMultipleInstances() throws Exception {
+        String mapName = randomMapName();
+        Config config = createNewConfig(mapName);
+
+        final HazelcastInstance[] nodes = createHazelcastInstanceFactory(3).newInstances(config);
+        final IMap<Object, Object> map = nodes[0].getMap(mapName);
+
+        final int itemCount = 1000;
+        populateMap(map, itemCount);
+        map.evictAll();
+        map.loadAll(true);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                long loadedKeyCount = 0;
+                long loadedEntryCount = 0;
+                for (HazelcastInstance node : nodes) {
+                    LocalMapStats localMapStats = node.getMap(map.getName()).getLocalMapStats();
+                    loadedKeyCount += localMapStats.getLoadedKeyCount();
+                    loadedEntryCount += localMapStats.getLoadedEntryCount();
+                }
+                // the initial load may also have loaded keys that were stored by then
+                assertTrue(loadedKeyCount >= itemCount);
+                assertTrue(loadedEntryCount >= itemCount);
+            }
+        });
+    }
+
     @Test
     public void testItemsNotOverwritten_whenLoadingWithoutReplacing() throws Exception {
         String mapName = randomMapName();
@@ -37,6 +37,12 @@ public class TestMapUsingMapStoreBuilder<K, V> {
 
     private long writeBehindQueueCapacity;
 
+    private int writeBehindWorkerCount;
+
+    private long writeBatchTargetLatencyMillis;
+
+    private boolean boundedCoalescingQueue;
+
     private TestHazelcastInstanceFactory instanceFactory;
 
     private TestMapUsingMapStoreBuilder() {
@@ -100,6 +106,21 @@ public class TestMapUsingMapStoreBuilder<K, V> {
         return this;
     }
 
+    public TestMapUsingMapStoreBuilder<K, V> withWriteBehindWorkerCount(int writeBehindWorkerCount) {
+        this.writeBehindWorkerCount = writeBehindWorkerCount;
+        return this;
+    }
+
+    public TestMapUsingMapStoreBuilder<K, V> withWriteBatchTargetLatencyMillis(long writeBatchTargetLatencyMillis) {
+        this.writeBatchTargetLatencyMillis = writeBatchTargetLatencyMillis;
+        return this;
+    }
+
+
+    public TestMapUsingMapStoreBuilder<K, V> withBoundedCoalescingQueue(boolean boundedCoalescingQueue) {
+        this.boundedCoalescingQueue = boundedCoalescingQueue;
+        return this;
+    }
 
     public TestMapUsingMapStoreBuilder<K, V> withMapStore(MapStore<K, V> mapStore) {
         this.mapStore = mapStore;
@@ -152,6 +173,16 @@ public class TestMapUsingMapStoreBuilder<K, V> {
             config.setProperty(GroupProperties.PROP_MAP_WRITE_BEHIND_QUEUE_CAPACITY,
                     String.valueOf(writeBehindQueueCapacity));
         }
+        if (writeBehindWorkerCount > 0) {
+            config.setProperty(GroupProperties.PROP_MAP_WRITE_BEHIND_WORKER_COUNT, String.valueOf(writeBehindWorkerCount));
+        }
+        if (writeBatchTargetLatencyMillis > 0) {
+            config.setProperty(GroupProperties.PROP_MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS,
+                    String.valueOf(writeBatchTargetLatencyMillis));
+        }
+        if (boundedCoalescingQueue) {
+            config.setProperty(GroupProperties.PROP_MAP_WRITE_BEHIND_COALESCING_QUEUE_BOUNDED, "true");
+        }
 
 
         config.setProperty(GroupProperties.PROP_PARTITION_COUNT, String.valueOf(partitionCount));
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.mapstore.writebehind;
+
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindBackpressure;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class WriteBehindBackpressureTest extends HazelcastTestSupport {
+
+    private static final int MAX_CAPACITY = 10;
+
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    @Test
+    public void testAwaitCapacity_whenQueuesHaveRoom() {
+        WriteBehindBackpressure backpressure = new WriteBehindBackpressure(counter, MAX_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        counter.set(MAX_CAPACITY - 1);
+
+        long elapsedMillis = timeAwaitCapacity(backpressure);
+
+        assertTrue("elapsed " + elapsedMillis, elapsedMillis < TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Test
+    public void testAwaitCapacity_waitsUntilQueuesAreDrained() throws Exception {
+        WriteBehindBackpressure backpressure = new WriteBehindBackpressure(counter, MAX_CAPACITY, TimeUnit.MINUTES.toMillis(1));
+        counter.set(MAX_CAPACITY);
+        Thread drainer = new Thread() {
+            @Override
+            public void run() {
+                sleepMillis(500);
+                counter.decrementAndGet();
+            }
+        };
+        drainer.start();
+
+        long elapsedMillis = timeAwaitCapacity(backpressure);
+
+        assertTrue("elapsed " + elapsedMillis, elapsedMillis >= 400);
+        assertTrue("elapsed " + elapsedMillis, elapsedMillis < TimeUnit.SECONDS.toMillis(30));
+        drainer.join();
+    }
+
+    @Test
+    public void testAwaitCapacity_whenSaturated_doesNotWaitAgain() {
+        WriteBehindBackpressure backpressure = new WriteBehindBackpressure(counter, MAX_CAPACITY, 500);
+        counter.set(MAX_CAPACITY);
+
+        long firstWaitMillis = timeAwaitCapacity(backpressure);
+        long secondWaitMillis = timeAwaitCapacity(backpressure);
+
+        assertTrue("first wait " + firstWaitMillis, firstWaitMillis >= 400);
+        assertTrue("second wait " + secondWaitMillis, secondWaitMillis < 400);
+    }
+
+    @Test
+    public void testAwaitCapacity_waitsAgain_afterQueuesWereBelowCapacity() {
+        WriteBehindBackpressure backpressure = new WriteBehindBackpressure(counter, MAX_CAPACITY, 500);
+        counter.set(MAX_CAPACITY);
+        timeAwaitCapacity(backpressure);
+
+        counter.set(MAX_CAPACITY - 1);
+        timeAwaitCapacity(backpressure);
+        counter.set(MAX_CAPACITY);
+        long waitMillis = timeAwaitCapacity(backpressure);
+
+        assertTrue("wait " + waitMillis, waitMillis >= 400);
+    }
+
+    private static long timeAwaitCapacity(WriteBehindBackpressure backpressure) {
+        long start = System.nanoTime();
+        backpressure.awaitCapacity();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
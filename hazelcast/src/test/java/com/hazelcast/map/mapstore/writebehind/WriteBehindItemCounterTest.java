@@ -80,6 +80,51 @@ public class WriteBehindItemCounterTest extends HazelcastTestSupport {
         populateMap(map, 2 * maxCapacityPerNode);
     }
 
+    @Test
+    public void testCounter_doesNotBoundCoalescingQueues_byDefault() throws Exception {
+        final int maxCapacityPerNode = 100;
+        final IMap<Object, Object> map = buildCoalescingMap(maxCapacityPerNode, false);
+
+        populateMap(map, 2 * maxCapacityPerNode);
+
+        assertEquals(2 * maxCapacityPerNode, map.size());
+    }
+
+    @Test(expected = ReachedMaxSizeException.class)
+    public void testCounter_whenMaxCapacityExceeded_withBoundedWriteCoalescing() throws Exception {
+        final int maxCapacityPerNode = 100;
+        final IMap<Object, Object> map = buildCoalescingMap(maxCapacityPerNode, true);
+
+        // exceed max write-behind queue capacity per node, the coalescing queues are bounded on request.
+        populateMap(map, 2 * maxCapacityPerNode);
+    }
+
+    @Test
+    public void testCounter_whenKeysUpdated_withBoundedWriteCoalescing() throws Exception {
+        final int maxCapacityPerNode = 100;
+        final IMap<Object, Object> map = buildCoalescingMap(maxCapacityPerNode, true);
+
+        // updates are coalesced into the queued entries, so they do not use up capacity.
+        populateMap(map, maxCapacityPerNode);
+        populateMap(map, maxCapacityPerNode);
+
+        assertEquals(maxCapacityPerNode, map.size());
+    }
+
+    private IMap<Object, Object> buildCoalescingMap(int maxCapacityPerNode, boolean bounded) {
+        final MapStoreWithCounter mapStore = new MapStoreWithCounter<Integer, String>();
+        final TestMapUsingMapStoreBuilder builder = TestMapUsingMapStoreBuilder.create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withBackupCount(0)
+                .withWriteCoalescing(true)
+                .withBoundedCoalescingQueue(bounded)
+                .withWriteBehindQueueCapacity(maxCapacityPerNode)
+                .withWriteDelaySeconds(100);
+        return builder.build();
+    }
+
     private void populateMap(IMap map, int numberOfItems) {
         for (int i = 0; i < numberOfItems; i++) {
             map.put(i, i);
@@ -0,0 +1,73 @@
+package com.hazelcast.map.mapstore.writebehind;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WriteBehindParallelStoreWorkersTest extends HazelcastTestSupport {
+
+    @Test
+    public void testAllEntriesStored_withParallelStoreWorkers() throws Exception {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(1)
+                .withWriteBehindWorkerCount(4)
+                .build();
+
+        final int numberOfItems = 1000;
+        populateMap(map, numberOfItems, 0);
+        populateMap(map, numberOfItems, 1);
+
+        assertStoredEventually(mapStore, numberOfItems, 1);
+    }
+
+    @Test
+    public void testAllEntriesStored_withAdaptiveBatchSize() throws Exception {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        final IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(1)
+                .withWriteBatchSize(64)
+                .withWriteBehindWorkerCount(2)
+                .withWriteBatchTargetLatencyMillis(1)
+                .build();
+
+        final int numberOfItems = 1000;
+        populateMap(map, numberOfItems, 0);
+
+        assertStoredEventually(mapStore, numberOfItems, 0);
+    }
+
+    private void assertStoredEventually(final MapStoreWithCounter<Integer, Integer> mapStore, final int numberOfItems,
+                                        final int valueOffset) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(numberOfItems, mapStore.size());
+                for (int i = 0; i < numberOfItems; i++) {
+                    assertEquals(Integer.valueOf(i + valueOffset), mapStore.load(i));
+                }
+            }
+        });
+    }
+
+    private void populateMap(IMap<Integer, Integer> map, int numberOfItems, int valueOffset) {
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i + valueOffset);
+        }
+    }
+}
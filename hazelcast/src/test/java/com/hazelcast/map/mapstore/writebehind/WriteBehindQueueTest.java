@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createBoundedCoalescedWriteBehindQueue;
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createBoundedWriteBehindQueue;
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueues.createDefaultWriteBehindQueue;
 import static org.junit.Assert.assertEquals;
@@ -72,6 +73,44 @@ public class WriteBehindQueueTest extends HazelcastTestSupport {
         addEnd(91, queue4);
     }
 
+    @Test(expected = ReachedMaxSizeException.class)
+    public void testCoalescedWBQMaxSizeException() {
+        final WriteBehindQueue<DelayedEntry> queue = createBoundedCoalescedWBQ(new AtomicInteger(0));
+        // put total 1001 distinct keys. Max allowed is 1000.
+        addEnd(1001, queue);
+    }
+
+    @Test
+    public void testCoalescedWBQ_counter_countsUpdatedKeysOnce() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        final WriteBehindQueue<DelayedEntry> queue = createBoundedCoalescedWBQ(counter);
+        addEnd(1000, queue);
+        addEnd(1000, queue);
+
+        assertEquals(1000, queue.size());
+        assertEquals(1000, counter.intValue());
+
+        queue.drainTo(new ArrayList<DelayedEntry>(1000));
+
+        assertEquals(0, counter.intValue());
+    }
+
+    @Test
+    public void testBoundedWBQ_addForcibly_whenFull_countsWithoutException() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        final WriteBehindQueue<DelayedEntry> queue = createBoundedWBQ(counter);
+        addEnd(1000, queue);
+
+        queue.addForcibly(createDelayedEntryList(1).get(0));
+
+        assertEquals(1001, queue.size());
+        assertEquals(1001, counter.intValue());
+
+        queue.drainTo(new ArrayList<DelayedEntry>(1001));
+
+        assertEquals(0, counter.intValue());
+    }
+
     @Test
     public void testWBQ_counter_is_zero() {
         final AtomicInteger counter = new AtomicInteger(0);
@@ -215,6 +254,11 @@ public class WriteBehindQueueTest extends HazelcastTestSupport {
         return createBoundedWriteBehindQueue(maxSizePerNode, counter);
     }
 
+    private WriteBehindQueue createBoundedCoalescedWBQ(AtomicInteger counter) {
+        final int maxSizePerNode = 1000;
+        return createBoundedCoalescedWriteBehindQueue(maxSizePerNode, counter);
+    }
+
     private WriteBehindQueue createWBQ() {
         return createDefaultWriteBehindQueue();
     }
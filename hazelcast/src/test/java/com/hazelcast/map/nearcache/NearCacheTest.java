@@ -513,7 +513,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, ownedEntryCount <= maxSize);
             }
         });
     }
@@ -533,7 +533,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, ownedEntryCount <= maxSize);
             }
         });
     }
@@ -553,7 +553,7 @@ public class NearCacheTest extends HazelcastTestSupport {
                 NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
                 long ownedEntryCount = stats.getOwnedEntryCount();
                 triggerNearCacheEviction(map);
-                assertTrue("owned entry count " + ownedEntryCount, maxSize > ownedEntryCount);
+                assertTrue("owned entry count " + ownedEntryCount, ownedEntryCount <= maxSize);
             }
         });
     }
@@ -577,6 +577,35 @@ public class NearCacheTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void testNearCacheStats_countsEvictions_whenMaxSizeExceeded() throws Exception {
+        int mapSize = 2000;
+        int maxSize = 1000;
+        IMap map = getMapConfiguredWithMaxSizeAndPolicy("LRU", maxSize);
+
+        populateMap(map, mapSize);
+        pullEntriesToNearCache(map, mapSize);
+
+        NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
+        assertTrue("owned entry count " + stats.getOwnedEntryCount(), stats.getOwnedEntryCount() <= maxSize);
+        assertTrue("evictions " + stats.getEvictions(), stats.getEvictions() >= mapSize - maxSize);
+        assertTrue(stats.getTotalEvictionTimeNanos() > 0);
+    }
+
+    @Test
+    public void testNearCache_whenMaxSizeIsOne_keepsLastEntry() throws Exception {
+        for (String evictionPolicy : new String[]{"LRU", "LFU", "RANDOM"}) {
+            IMap map = getMapConfiguredWithMaxSizeAndPolicy(evictionPolicy, 1);
+
+            populateMap(map, 10);
+            pullEntriesToNearCache(map, 10);
+
+            NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
+            assertEquals(evictionPolicy, 1, stats.getOwnedEntryCount());
+            assertEquals(evictionPolicy, 9, stats.getEvictions());
+        }
+    }
+
     /**
      * There is a time-window that an "is-near-cache-evictable" check may return false but
      * in reality near-cache size is bigger than the configured near-cache max-size, this can happen because eviction
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.HashUtil;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class DefaultDataTest {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testHashCode_isMurmurHashOfPayload() {
+        Data data = serializationService.toData("key");
+        byte[] bytes = data.toByteArray();
+
+        int expected = HashUtil.MurmurHash3_x86_32(bytes, DefaultData.DATA_OFFSET, data.dataSize());
+
+        assertEquals(expected, data.hashCode());
+        assertEquals(expected, data.hashCode());
+    }
+
+    @Test
+    public void testHashCode_ofEmptyData() {
+        int expected = HashUtil.MurmurHash3_x86_32(new byte[0], DefaultData.DATA_OFFSET, 0);
+
+        assertEquals(expected, new DefaultData().hashCode());
+        assertEquals(expected, new DefaultData(new byte[0]).hashCode());
+    }
+
+    @Test
+    public void testHashCode_equalForEqualData() {
+        Data data1 = serializationService.toData(12345L);
+        Data data2 = new DefaultData(data1.toByteArray().clone());
+
+        // the hash of data1 is cached before the one of data2 is computed
+        data1.hashCode();
+
+        assertEquals(data1, data2);
+        assertEquals(data1.hashCode(), data2.hashCode());
+        assertEquals(data1.getPartitionHash(), data2.getPartitionHash());
+    }
+
+    @Test
+    public void testLookup() {
+        Map<Data, Integer> map = new HashMap<Data, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(serializationService.toData(i), i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), map.get(serializationService.toData(i)));
+        }
+    }
+}
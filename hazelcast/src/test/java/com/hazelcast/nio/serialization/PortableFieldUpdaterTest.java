@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class PortableFieldUpdaterTest {
+
+    private static final int FACTORY_ID = 1;
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder()
+            .addPortableFactory(FACTORY_ID, new TestPortableFactory()).build();
+
+    @Test
+    public void testToData_whenNothingUpdated() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        assertSame(data, updater.toData());
+    }
+
+    @Test
+    public void testUpdateFixedSizeFields() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        updater.setInt("count", 10);
+        updater.setLong("balance", 20L);
+        updater.setDouble("rate", 1.5d);
+        updater.setBoolean("active", true);
+
+        Account account = ss.toObject(updater.toData());
+        assertEquals("acc", account.name);
+        assertEquals(10, account.count);
+        assertEquals(20L, account.balance);
+        assertEquals(1.5d, account.rate, 0d);
+        assertTrue(account.active);
+    }
+
+    @Test
+    public void testUpdate_doesNotMutateOriginalData() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        byte[] original = data.toByteArray().clone();
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        updater.setInt("count", 10);
+
+        assertArrayEquals(original, data.toByteArray());
+    }
+
+    @Test
+    public void testUpdate_afterToData_doesNotMutateReturnedData() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        updater.setInt("count", 10);
+        Data first = updater.toData();
+        int firstHash = first.hashCode();
+        updater.setInt("count", 20);
+        Data second = updater.toData();
+
+        assertEquals(10, ((Account) ss.toObject(first)).count);
+        assertEquals(20, ((Account) ss.toObject(second)).count);
+        assertEquals(firstHash, first.hashCode());
+        assertFalse(first.equals(second));
+    }
+
+    @Test
+    public void testUpdatedData_equalsSerializedObject() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        updater.setInt("count", 10);
+
+        assertEquals(ss.toData(new Account("acc", 10, 2L, 0.5d, false)), updater.toData());
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testUpdate_withWrongFieldType() throws IOException {
+        Data data = ss.toData(new Account("acc", 1, 2L, 0.5d, false));
+        PortableFieldUpdater updater = new PortableFieldUpdater(ss, data);
+
+        updater.setLong("count", 10L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_withNonPortableData() throws IOException {
+        new PortableFieldUpdater(ss, ss.toData("value"));
+    }
+
+    static class Account implements Portable {
+
+        static final int CLASS_ID = 1;
+
+        String name;
+        int count;
+        long balance;
+        double rate;
+        boolean active;
+
+        Account() {
+        }
+
+        Account(String name, int count, long balance, double rate, boolean active) {
+            this.name = name;
+            this.count = count;
+            this.balance = balance;
+            this.rate = rate;
+            this.active = active;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("count", count);
+            writer.writeLong("balance", balance);
+            writer.writeDouble("rate", rate);
+            writer.writeBoolean("active", active);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readUTF("name");
+            count = reader.readInt("count");
+            balance = reader.readLong("balance");
+            rate = reader.readDouble("rate");
+            active = reader.readBoolean("active");
+        }
+    }
+
+    static class TestPortableFactory implements PortableFactory {
+
+        @Override
+        public Portable create(int classId) {
+            if (Account.CLASS_ID == classId) {
+                return new Account();
+            }
+            return null;
+        }
+    }
+}
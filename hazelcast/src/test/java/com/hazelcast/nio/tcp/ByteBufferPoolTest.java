@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ByteBufferPoolTest {
+
+    @Test
+    public void testTake_allocatesDirectBuffer() {
+        ByteBufferPool pool = new ByteBufferPool(128, true, 2);
+
+        ByteBuffer buffer = pool.take();
+
+        assertTrue(buffer.isDirect());
+        assertEquals(128, buffer.capacity());
+    }
+
+    @Test
+    public void testRelease_buffersAreReused() {
+        ByteBufferPool pool = new ByteBufferPool(128, true, 2);
+        ByteBuffer buffer = pool.take();
+        buffer.putInt(1);
+
+        pool.release(buffer);
+        ByteBuffer reused = pool.take();
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    public void testRelease_whenPoolFull() {
+        ByteBufferPool pool = new ByteBufferPool(128, true, 1);
+        ByteBuffer buffer1 = pool.take();
+        ByteBuffer buffer2 = pool.take();
+
+        pool.release(buffer1);
+        pool.release(buffer2);
+
+        assertEquals(1, pool.getPooledCount());
+        assertSame(buffer1, pool.take());
+        assertNotSame(buffer2, pool.take());
+    }
+
+    @Test
+    public void testHeapBuffers_areNotPooled() {
+        ByteBufferPool pool = new ByteBufferPool(128, false, 2);
+        ByteBuffer buffer = pool.take();
+        assertFalse(buffer.isDirect());
+
+        pool.release(buffer);
+
+        assertEquals(0, pool.getPooledCount());
+        assertNotSame(buffer, pool.take());
+    }
+}
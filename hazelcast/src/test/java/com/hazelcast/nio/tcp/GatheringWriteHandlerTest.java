@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class GatheringWriteHandlerTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 200;
+    private static final int VALUE_SIZE = 10 * 1024;
+
+    @Before
+    @After
+    public void killAllHazelcastInstances() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testDirectGatheringWrites() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_SEND_BUFFER_SIZE, "1");
+        config.setProperty(GroupProperties.PROP_SOCKET_BUFFER_DIRECT, "true");
+        config.setProperty(GroupProperties.PROP_SOCKET_WRITE_GATHERING_BUFFER_COUNT, "4");
+
+        HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(config);
+        HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(config);
+
+        IMap<Integer, byte[]> map1 = instance1.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map1.put(i, value(i));
+        }
+
+        IMap<Integer, byte[]> map2 = instance2.getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertArrayEquals(value(i), map2.get(i));
+        }
+
+        TcpIpConnectionManager connectionManager = (TcpIpConnectionManager) getConnectionManager(instance1);
+        assertTrue(connectionManager.outputBufferPool.isDirect());
+        TcpIpConnection connection = (TcpIpConnection) connectionManager.getConnection(getAddress(instance2));
+        WriteHandler writeHandler = connection.getWriteHandler();
+        assertTrue(writeHandler.getWriteCount() > 0);
+        assertTrue(writeHandler.getPacketsWritten() > 0);
+        assertTrue(writeHandler.getBytesWritten() > (long) ENTRY_COUNT * VALUE_SIZE / 2);
+    }
+
+    @Test
+    public void testOutputBuffersReleased_whenConnectionClosed() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_SOCKET_BUFFER_DIRECT, "true");
+        config.setProperty(GroupProperties.PROP_SOCKET_WRITE_GATHERING_BUFFER_COUNT, "2");
+
+        HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(config);
+        HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1);
+
+        final TcpIpConnectionManager connectionManager = (TcpIpConnectionManager) getConnectionManager(instance1);
+        instance2.shutdown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(connectionManager.outputBufferPool.getPooledCount() >= 2);
+            }
+        });
+    }
+
+    private static byte[] value(int i) {
+        byte[] value = new byte[VALUE_SIZE];
+        Arrays.fill(value, (byte) i);
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.partition.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ChunkedMigrationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testMigrationAndReplicaSync_whenDataIsSentInChunks() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_PARTITION_COUNT, "5");
+        config.setProperty(GroupProperties.PROP_PARTITION_MIGRATION_CHUNK_SIZE_KB, "1");
+        String mapName = randomMapName();
+        String emptyMapName = randomMapName();
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        IMap<Integer, String> map = hz1.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, valueOf(i));
+        }
+        hz1.getMap(emptyMapName).put(0, "0");
+        hz1.getMap(emptyMapName).remove(0);
+
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(hz1, hz2);
+        hz1.shutdown();
+        assertEntries(hz2.<Integer, String>getMap(mapName));
+
+        HazelcastInstance hz3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(hz2, hz3);
+        hz2.getLifecycleService().terminate();
+        waitAllForSafeState(hz3);
+        assertEntries(hz3.<Integer, String>getMap(mapName));
+        assertEquals(0, hz3.getMap(emptyMapName).size());
+    }
+
+    private static void assertEntries(IMap<Integer, String> map) {
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(valueOf(i), map.get(i));
+        }
+    }
+
+    private static String valueOf(int i) {
+        StringBuilder sb = new StringBuilder("value-").append(i);
+        while (sb.length() < 100) {
+            sb.append('x');
+        }
+        return sb.toString();
+    }
+}
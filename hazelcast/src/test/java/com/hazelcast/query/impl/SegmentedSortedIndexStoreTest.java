@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class SegmentedSortedIndexStoreTest {
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testQueries_mergeAllSegments() {
+        SegmentedSortedIndexStore store = new SegmentedSortedIndexStore(8);
+        for (int i = 0; i < 1000; i++) {
+            store.newIndex(i % 100, newEntry(i, i % 100));
+        }
+
+        assertEquals(10, store.getRecords(5).size());
+        assertEquals(10, store.getRecordMap(5).size());
+        assertEquals(110, betweenCount(store, 10, 20));
+        assertEquals(100, subRecords(store, ComparisonType.LESSER, 10));
+        assertEquals(990, subRecords(store, ComparisonType.NOT_EQUAL, 10));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        SegmentedSortedIndexStore store = new SegmentedSortedIndexStore(8);
+        QueryEntry entry = newEntry(1, 10);
+        store.newIndex(10, entry);
+        store.updateIndex(10, 20, newEntry(1, 20));
+
+        assertNull(store.getRecordMap(10));
+        assertEquals(1, store.getRecords(20).size());
+
+        store.removeIndex(20, entry.getIndexKey());
+        assertNull(store.getRecordMap(20));
+        assertEquals(0, betweenCount(store, 0, 100));
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndRangeQueries() throws Exception {
+        final SegmentedSortedIndexStore store = new SegmentedSortedIndexStore(4);
+        final int keyCount = 1000;
+        final int threadCount = 4;
+        final CountDownLatch writersDone = new CountDownLatch(threadCount);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = thread; i < keyCount; i += threadCount) {
+                            store.newIndex(0, newEntry(i, 0));
+                            store.updateIndex(0, i, newEntry(i, i));
+                        }
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    } finally {
+                        writersDone.countDown();
+                    }
+                }
+            }.start();
+        }
+        while (writersDone.getCount() > 0) {
+            betweenCount(store, 0, keyCount);
+        }
+        writersDone.await();
+
+        assertNull(failure.get());
+        assertEquals(keyCount, betweenCount(store, 0, keyCount));
+    }
+
+    private QueryEntry newEntry(int key, int value) {
+        Data keyData = ss.toData(key);
+        return new QueryEntry(ss, keyData, key, value);
+    }
+
+    private static int betweenCount(SegmentedSortedIndexStore store, Comparable from, Comparable to) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecordsBetween(results, from, to);
+        return results.size();
+    }
+
+    private static int subRecords(SegmentedSortedIndexStore store, ComparisonType comparisonType, Comparable value) {
+        MultiResultSet results = new MultiResultSet();
+        store.getSubRecords(results, comparisonType, value);
+        return results.size();
+    }
+}
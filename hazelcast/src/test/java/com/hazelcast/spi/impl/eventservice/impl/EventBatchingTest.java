@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class EventBatchingTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 100;
+    private static final int UPDATE_COUNT = 20;
+
+    private HazelcastInstance publisher;
+    private HazelcastInstance subscriber;
+
+    @Before
+    public void setUp() {
+        Config config = new Config();
+        config.setProperty(GroupProperties.PROP_EVENT_BATCH_SIZE, "16");
+        config.setProperty(GroupProperties.PROP_EVENT_BATCH_MAX_DELAY_MILLIS, "10");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        publisher = factory.newHazelcastInstance(config);
+        subscriber = factory.newHazelcastInstance(config);
+    }
+
+    @Test
+    public void testEventsDelivered_inOrderPerKey() {
+        String mapName = randomMapName();
+        final OrderCheckingListener listener = new OrderCheckingListener();
+        subscriber.getMap(mapName).addEntryListener(listener, true);
+
+        IMap<Integer, Integer> map = publisher.getMap(mapName);
+        for (int update = 0; update < UPDATE_COUNT; update++) {
+            for (int key = 0; key < KEY_COUNT; key++) {
+                map.put(key, update);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(KEY_COUNT * UPDATE_COUNT, listener.eventCount.get());
+            }
+        });
+        assertEquals(0, listener.outOfOrderCount.get());
+    }
+
+    @Test
+    public void testPartialBatchDelivered_afterMaxDelay() {
+        String mapName = randomMapName();
+        final OrderCheckingListener listener = new OrderCheckingListener();
+        subscriber.getMap(mapName).addEntryListener(listener, true);
+
+        publisher.getMap(mapName).put(1, 1);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, listener.eventCount.get());
+            }
+        });
+    }
+
+    private static class OrderCheckingListener extends EntryAdapter<Integer, Integer> {
+
+        private final ConcurrentMap<Integer, Integer> lastValues = new ConcurrentHashMap<Integer, Integer>();
+        private final AtomicInteger eventCount = new AtomicInteger();
+        private final AtomicInteger outOfOrderCount = new AtomicInteger();
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            onEvent(event);
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Integer, Integer> event) {
+            onEvent(event);
+        }
+
+        private void onEvent(EntryEvent<Integer, Integer> event) {
+            Integer previous = lastValues.put(event.getKey(), event.getValue());
+            if (previous != null && previous >= event.getValue()) {
+                outOfOrderCount.incrementAndGet();
+            }
+            eventCount.incrementAndGet();
+        }
+    }
+}
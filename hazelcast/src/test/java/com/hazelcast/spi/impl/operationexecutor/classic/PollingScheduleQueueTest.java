@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.util.concurrent.YieldIdleStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class PollingScheduleQueueTest extends HazelcastTestSupport {
+
+    private PollingScheduleQueue queue;
+
+    @Before
+    public void setup() {
+        queue = new PollingScheduleQueue(new YieldIdleStrategy());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_construct_whenNullIdleStrategy() {
+        new PollingScheduleQueue(null);
+    }
+
+    // ================== add =====================
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test
+    public void test_add_whenPriority() {
+        queue.addUrgent(new Object());
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenNormal() {
+        queue.add(new Object());
+
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    // ================== take =====================
+
+    @Test
+    public void test_take_priorityIsRetrievedFirst() throws InterruptedException {
+        Object priorityTask1 = "priority1";
+        Object priorityTask2 = "priority2";
+        Object normalTask1 = "normalTask1";
+        Object normalTask2 = "normalTask2";
+
+        queue.add(normalTask1);
+        queue.addUrgent(priorityTask1);
+        queue.add(normalTask2);
+        queue.addUrgent(priorityTask2);
+
+        assertSame(priorityTask1, queue.take());
+        assertSame(priorityTask2, queue.take());
+        assertSame(normalTask1, queue.take());
+        assertSame(normalTask2, queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_waitsForTaskFromOtherThread() throws Exception {
+        queue = new PollingScheduleQueue(new BusySpinIdleStrategy());
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = new Thread() {
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                } catch (InterruptedException e) {
+                    taken.set(e);
+                }
+                done.countDown();
+            }
+        };
+        consumer.start();
+
+        Object task = new Object();
+        queue.add(task);
+
+        assertOpenEventually(done);
+        assertSame(task, taken.get());
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = new Thread() {
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                } catch (InterruptedException e) {
+                    taken.set(e);
+                }
+                done.countDown();
+            }
+        };
+        consumer.start();
+        consumer.interrupt();
+
+        assertOpenEventually(done);
+        assertTrue(taken.get() instanceof InterruptedException);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class ConcurrentLong2ObjectHashMapTest extends HazelcastTestSupport {
+
+    private final ConcurrentLong2ObjectHashMap<String> map = new ConcurrentLong2ObjectHashMap<String>(16, 0.5f, 4);
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(-1, "b"));
+        assertNull(map.put(Long.MAX_VALUE, "c"));
+
+        assertEquals("a", map.get(1));
+        assertEquals("b", map.get(-1));
+        assertEquals("c", map.get(Long.MAX_VALUE));
+        assertNull(map.get(2));
+        assertEquals(3, map.size());
+
+        assertEquals("a", map.put(1, "d"));
+        assertEquals("d", map.get(1));
+        assertEquals(3, map.size());
+
+        assertEquals("d", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPut_afterRemove_reusesKey() {
+        map.put(1, "a");
+        map.remove(1);
+
+        assertNull(map.put(1, "b"));
+
+        assertEquals("b", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemove_withValue() {
+        map.put(1, "a");
+
+        assertFalse(map.remove(1, "b"));
+        assertEquals("a", map.get(1));
+
+        assertTrue(map.remove(1, "a"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPut_whenNullValue() {
+        map.put(1, null);
+    }
+
+    @Test
+    public void testGrowAndPurgeTombstones() {
+        int count = 10000;
+        for (long i = 0; i < count; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        assertEquals(count, map.size());
+        for (long i = 0; i < count; i++) {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+
+        // a sliding window of keys, like call-ids of in-flight invocations, keeps leaving tombstones behind
+        for (long i = count; i < count * 10; i++) {
+            map.put(i, String.valueOf(i));
+            assertEquals(String.valueOf(i - count), map.remove(i - count));
+        }
+        assertEquals(count, map.size());
+        for (long i = count * 9; i < count * 10; i++) {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+        assertNull(map.get(0));
+    }
+
+    @Test(timeout = 30000)
+    public void testGet_absentKey_whenLoadFactorCloseToOne() {
+        ConcurrentLong2ObjectHashMap<String> map = new ConcurrentLong2ObjectHashMap<String>(16, 0.99f, 1);
+        for (long i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+            assertNull(map.get(-1 - i));
+        }
+        for (long i = 0; i < 100; i++) {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testValues() {
+        Set<String> expected = new HashSet<String>();
+        for (long i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+            expected.add(String.valueOf(i));
+        }
+
+        assertEquals(expected, new HashSet<String>(map.values()));
+        assertEquals(100, map.values().size());
+    }
+
+    @Test
+    public void testValues_iteratorRemove() {
+        for (long i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+
+        Iterator<String> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            if (Long.parseLong(iterator.next()) % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(50, map.size());
+        assertNull(map.get(0));
+        assertEquals("1", map.get(1));
+    }
+
+    @Test
+    public void testConcurrentRegisterAndLookup() throws Exception {
+        final ConcurrentLong2ObjectHashMap<Long> map = new ConcurrentLong2ObjectHashMap<Long>(16, 0.5f, 4);
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final int threadCount = 4;
+        final int operationsPerThread = 100000;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < operationsPerThread; i++) {
+                            Long id = sequence.incrementAndGet();
+                            map.put(id, id);
+                            assertEquals(id, map.get(id));
+                            assertSame(id, map.remove(id.longValue()));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        assertOpenEventually(done);
+
+        assertNull(failure.get());
+        assertTrue(map.isEmpty());
+    }
+}
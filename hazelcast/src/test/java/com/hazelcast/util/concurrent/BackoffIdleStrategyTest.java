@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class BackoffIdleStrategyTest {
+
+    @Test
+    public void test_parkTime_growsExponentiallyUpToMax() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(10, 10, 1, 64);
+
+        assertEquals(1, strategy.parkTime(20));
+        assertEquals(2, strategy.parkTime(21));
+        assertEquals(4, strategy.parkTime(22));
+        assertEquals(64, strategy.parkTime(26));
+        assertEquals(64, strategy.parkTime(1000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_whenMaxParkSmallerThanMin() {
+        new BackoffIdleStrategy(10, 10, 100, 10);
+    }
+
+    @Test
+    public void test_idle_doesNotBlockLong() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(1, 1, 1, 1000);
+        for (int n = 0; n < 100; n++) {
+            strategy.idle(n);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCQueueTest extends HazelcastTestSupport {
+
+    @Test
+    public void test_poll_whenEmpty() {
+        MPSCQueue<String> queue = new MPSCQueue<String>();
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void test_offerAndPoll_isFifo() {
+        MPSCQueue<String> queue = new MPSCQueue<String>();
+        queue.offer("1");
+        queue.offer("2");
+        queue.offer("3");
+
+        assertEquals(3, queue.size());
+        assertEquals("1", queue.poll());
+        assertEquals("2", queue.poll());
+        assertEquals("3", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_offer_whenNull() {
+        new MPSCQueue<String>().offer(null);
+    }
+
+    @Test
+    public void test_concurrentProducers() throws Exception {
+        final MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+        final int producerCount = 4;
+        final int itemsPerProducer = 10000;
+
+        Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            final int producerId = p;
+            producers[p] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        queue.offer(producerId * itemsPerProducer + i);
+                    }
+                }
+            };
+            producers[p].start();
+        }
+
+        // items of a single producer must be consumed in the order they were offered
+        int[] lastSeen = new int[producerCount];
+        for (int p = 0; p < producerCount; p++) {
+            lastSeen[p] = -1;
+        }
+        int consumed = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ASSERT_TRUE_EVENTUALLY_TIMEOUT);
+        while (consumed < producerCount * itemsPerProducer) {
+            Integer item = queue.poll();
+            if (item == null) {
+                assertTrue("timed out after consuming " + consumed + " items", System.nanoTime() < deadline);
+                continue;
+            }
+            int producerId = item / itemsPerProducer;
+            int sequence = item % itemsPerProducer;
+            assertTrue(sequence > lastSeen[producerId]);
+            lastSeen[producerId] = sequence;
+            consumed++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2008-2015, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.wan.MapReplicationRemove;
+import com.hazelcast.map.impl.wan.MapReplicationUpdate;
+import com.hazelcast.map.merge.PassThroughMergePolicy;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.SerializationService;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.wan.WanReplicationEvent;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WanBatchReplicationTest {
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testCoalesce_keepsLatestEventPerKey() {
+        WanReplicationEvent update1 = update("map", 1, "a");
+        WanReplicationEvent update2 = update("map", 2, "b");
+        WanReplicationEvent update3 = update("map", 1, "c");
+        WanReplicationEvent remove = remove("map", 2);
+
+        List<WanReplicationEvent> coalesced = WanBatchReplication.coalesce(
+                Arrays.asList(update1, update2, update3, remove));
+
+        assertEquals(2, coalesced.size());
+        assertSame(update3, coalesced.get(0));
+        assertSame(remove, coalesced.get(1));
+    }
+
+    @Test
+    public void testCoalesce_doesNotMergeKeysOfDifferentMaps() {
+        WanReplicationEvent update1 = update("map1", 1, "a");
+        WanReplicationEvent update2 = update("map2", 1, "b");
+
+        List<WanReplicationEvent> coalesced = WanBatchReplication.coalesce(Arrays.asList(update1, update2));
+
+        assertEquals(Arrays.asList(update1, update2), coalesced);
+    }
+
+    @Test
+    public void testCoalesce_keepsUnknownEvents() {
+        WanReplicationEvent event1 = new WanReplicationEvent("service", null);
+        WanReplicationEvent event2 = new WanReplicationEvent("service", null);
+
+        List<WanReplicationEvent> coalesced = WanBatchReplication.coalesce(Arrays.asList(event1, event2));
+
+        assertEquals(Arrays.asList(event1, event2), coalesced);
+    }
+
+    @Test
+    public void testSplit_keepsEventsOfAnEntryInOneStripeInOrder() {
+        int stripeCount = 4;
+        List<WanReplicationEvent> events = new ArrayList<WanReplicationEvent>();
+        for (int i = 0; i < 100; i++) {
+            events.add(update("map", i % 10, "value" + i));
+        }
+
+        List<List<WanReplicationEvent>> stripes = WanBatchReplication.split(events, stripeCount);
+
+        assertEquals(stripeCount, stripes.size());
+        int total = 0;
+        for (List<WanReplicationEvent> stripe : stripes) {
+            total += stripe.size();
+        }
+        assertEquals(events.size(), total);
+        for (int i = 0; i < events.size(); i++) {
+            for (int k = i + 10; k < events.size(); k += 10) {
+                int stripeOfFirst = stripeOf(stripes, events.get(i));
+                int stripeOfSecond = stripeOf(stripes, events.get(k));
+                assertEquals(stripeOfFirst, stripeOfSecond);
+                List<WanReplicationEvent> stripe = stripes.get(stripeOfFirst);
+                assertTrue(stripe.indexOf(events.get(i)) < stripe.indexOf(events.get(k)));
+            }
+        }
+    }
+
+    @Test
+    public void testSplit_putsUnknownEventsInFirstStripe() {
+        WanReplicationEvent event1 = new WanReplicationEvent("service", null);
+        WanReplicationEvent event2 = new WanReplicationEvent("service", null);
+
+        List<List<WanReplicationEvent>> stripes = WanBatchReplication.split(Arrays.asList(event1, event2), 4);
+
+        assertEquals(Arrays.asList(event1, event2), stripes.get(0));
+    }
+
+    private static int stripeOf(List<List<WanReplicationEvent>> stripes, WanReplicationEvent event) {
+        for (int i = 0; i < stripes.size(); i++) {
+            if (stripes.get(i).contains(event)) {
+                return i;
+            }
+        }
+        throw new AssertionError("event is in no stripe: " + event);
+    }
+
+    private WanReplicationEvent update(String mapName, int key, String value) {
+        SimpleEntryView<Data, Data> entryView = new SimpleEntryView<Data, Data>(serializationService.toData(key),
+                serializationService.toData(value));
+        MapReplicationUpdate update = new MapReplicationUpdate(mapName, new PassThroughMergePolicy(), entryView);
+        return new WanReplicationEvent(MapService.SERVICE_NAME, update);
+    }
+
+    private WanReplicationEvent remove(String mapName, int key) {
+        MapReplicationRemove remove = new MapReplicationRemove(mapName, serializationService.toData(key), 0);
+        return new WanReplicationEvent(MapService.SERVICE_NAME, remove);
+    }
+}